@@ -0,0 +1,127 @@
+package no.unit.nva.doi;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import javax.ws.rs.core.HttpHeaders;
+import nva.commons.core.Environment;
+
+/**
+ * Body handlers reading a response body into a byte array of bounded size. The body is collected as the buffers
+ * handed over by the HttpClient and copied once into the resulting array. A response declaring or delivering more
+ * bytes than allowed is cancelled and completes exceptionally with an {@link IOException}.
+ */
+final class BoundedBodyHandlers {
+
+    public static final String DOI_MAX_RESPONSE_BYTES_ENV = "DOI_MAX_RESPONSE_BYTES";
+    public static final int DEFAULT_MAX_RESPONSE_BYTES = 16 * 1024 * 1024;
+    public static final String RESPONSE_TOO_LARGE_MESSAGE = "Response body exceeds the limit of %d bytes";
+    private static final long UNKNOWN_LENGTH = -1L;
+
+    private BoundedBodyHandlers() {
+    }
+
+    /**
+     * Reads the maximum response body size from the environment variable DOI_MAX_RESPONSE_BYTES.
+     *
+     * @param environment the environment.
+     * @return the configured maximum, or {@link #DEFAULT_MAX_RESPONSE_BYTES} when it is not set.
+     */
+    static int maxResponseBytes(Environment environment) {
+        return environment.readEnvOpt(DOI_MAX_RESPONSE_BYTES_ENV)
+                   .map(Integer::parseInt)
+                   .orElse(DEFAULT_MAX_RESPONSE_BYTES);
+    }
+
+    /**
+     * Creates a body handler reading at most maxBytes bytes of the response body.
+     *
+     * @param maxBytes the largest accepted body.
+     * @return the body handler.
+     */
+    static BodyHandler<byte[]> ofByteArray(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative: " + maxBytes);
+        }
+        return responseInfo -> new BoundedByteArraySubscriber(
+            maxBytes, responseInfo.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(UNKNOWN_LENGTH));
+    }
+
+    private static final class BoundedByteArraySubscriber implements BodySubscriber<byte[]> {
+
+        private final int maxBytes;
+        private final long declaredLength;
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private long receivedBytes;
+
+        private BoundedByteArraySubscriber(int maxBytes, long declaredLength) {
+            this.maxBytes = maxBytes;
+            this.declaredLength = declaredLength;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (declaredLength > maxBytes) {
+                rejectTooLargeBody();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                receivedBytes += item.remaining();
+                buffers.add(item);
+            }
+            if (receivedBytes > maxBytes) {
+                rejectTooLargeBody();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            buffers.clear();
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (body.isDone()) {
+                return;
+            }
+            byte[] bytes = new byte[(int) receivedBytes];
+            int offset = 0;
+            for (ByteBuffer buffer : buffers) {
+                int length = buffer.remaining();
+                buffer.get(bytes, offset, length);
+                offset += length;
+            }
+            buffers.clear();
+            body.complete(bytes);
+        }
+
+        private void rejectTooLargeBody() {
+            subscription.cancel();
+            buffers.clear();
+            body.completeExceptionally(new IOException(String.format(RESPONSE_TOO_LARGE_MESSAGE, maxBytes)));
+        }
+    }
+}
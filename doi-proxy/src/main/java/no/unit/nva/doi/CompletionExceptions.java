@@ -0,0 +1,60 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for turning the failures of asynchronous registration agency requests back into checked exceptions.
+ */
+final class CompletionExceptions {
+
+    private CompletionExceptions() {
+    }
+
+    /**
+     * Returns the exception a future failed with, which is wrapped in a CompletionException by the stages that
+     * depend on the future.
+     *
+     * @param exception the exception a stage completed with.
+     * @return the cause of a CompletionException, or else the exception itself.
+     */
+    static Throwable causeOf(Throwable exception) {
+        return exception instanceof CompletionException && nonNull(exception.getCause())
+                   ? exception.getCause()
+                   : exception;
+    }
+
+    /**
+     * Unwraps the IOException a request failed with. Runtime exceptions other than unchecked IOExceptions are
+     * rethrown.
+     *
+     * @param exception the exception a future completed with.
+     * @return the IOException the request failed with.
+     */
+    static IOException unwrap(CompletionException exception) {
+        return asIOException(exception.getCause());
+    }
+
+    /**
+     * Returns the failure of a request as an IOException. Runtime exceptions other than unchecked IOExceptions are
+     * rethrown.
+     *
+     * @param cause the exception a request failed with.
+     * @return the IOException the request failed with.
+     */
+    static IOException asIOException(Throwable cause) {
+        if (cause instanceof UncheckedIOException uncheckedIoException) {
+            return uncheckedIoException.getCause();
+        }
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        return new IOException(cause);
+    }
+}
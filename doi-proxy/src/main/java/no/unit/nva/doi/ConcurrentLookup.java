@@ -0,0 +1,95 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.isNull;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks a DOI up at Crossref and Datacite at the same time.
+ */
+final class ConcurrentLookup {
+
+    public static final String CONCURRENT_LOOKUP_INTERRUPTED = "Concurrent lookup was interrupted for doi: ";
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentLookup.class);
+
+    private final CrossRefClient crossRefClient;
+    private final DataciteClient dataciteClient;
+
+    ConcurrentLookup(CrossRefClient crossRefClient, DataciteClient dataciteClient) {
+        this.crossRefClient = crossRefClient;
+        this.dataciteClient = dataciteClient;
+    }
+
+    /**
+     * Races Crossref against Datacite. The first agency answering with metadata wins and the other request is
+     * cancelled. If Crossref already has an answer when Datacite answers, Crossref is preferred, as in the sequential
+     * lookup. When neither agency has metadata and one of them could not be asked, the lookup fails.
+     */
+    MetadataAndContentLocation lookup(String doiUrl, DataciteContentType dataciteContentType) throws IOException {
+        long startTime = System.nanoTime();
+        CompletableFuture<Optional<MetadataAndContentLocation>> crossRefLookup =
+            crossRefClient.lookupDataForDoiAsync(doiUrl, null);
+        CompletableFuture<MetadataAndContentLocation> dataciteRequest =
+            dataciteClient.fetchMetadataAsync(doiUrl, dataciteContentType);
+        CompletableFuture<Optional<MetadataAndContentLocation>> dataciteLookup = dataciteRequest
+            .thenApply(Optional::ofNullable)
+            .exceptionally(exception -> emptyWhenDataciteHasNoEntry(doiUrl, exception));
+
+        CompletableFuture<MetadataAndContentLocation> firstAnswer = new CompletableFuture<>();
+        CompletableFuture<Void> crossRefHandled =
+            crossRefLookup.thenAccept(result -> result.ifPresent(firstAnswer::complete));
+        CompletableFuture<Void> dataciteHandled =
+            dataciteLookup.thenAccept(result -> result.filter(metadata -> !hasAnswer(crossRefLookup))
+                                                    .ifPresent(firstAnswer::complete));
+        CompletableFuture.allOf(crossRefHandled, dataciteHandled)
+            .whenComplete((ignored, exception) -> completeWithoutAnswer(firstAnswer, exception));
+        try {
+            return firstAnswer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(CONCURRENT_LOOKUP_INTERRUPTED + doiUrl);
+        } catch (ExecutionException e) {
+            throw CompletionExceptions.asIOException(e.getCause());
+        } finally {
+            crossRefLookup.cancel(true);
+            dataciteRequest.cancel(true);
+            logger.info("Received response from concurrent lookup after {} ms",
+                        DoiProxyService.elapsedMillis(startTime, System.nanoTime()));
+        }
+    }
+
+    private static Optional<MetadataAndContentLocation> emptyWhenDataciteHasNoEntry(String doiUrl,
+                                                                                   Throwable exception) {
+        Throwable cause = CompletionExceptions.causeOf(exception);
+        Throwable failure = cause instanceof UncheckedIOException ? cause.getCause() : cause;
+        if (failure instanceof FileNotFoundException) {
+            logger.info(DoiProxyService.DATACITE_HAS_NO_ENTRY, doiUrl);
+            return Optional.empty();
+        }
+        logger.warn(DoiProxyService.DATACITE_LOOKUP_FAILED, doiUrl, failure);
+        throw new CompletionException(failure);
+    }
+
+    private static void completeWithoutAnswer(CompletableFuture<MetadataAndContentLocation> firstAnswer,
+                                              Throwable exception) {
+        if (isNull(exception)) {
+            firstAnswer.complete(null);
+        } else {
+            firstAnswer.completeExceptionally(exception);
+        }
+    }
+
+    private static boolean hasAnswer(CompletableFuture<Optional<MetadataAndContentLocation>> lookup) {
+        return lookup.isDone() && !lookup.isCompletedExceptionally() && lookup.join().isPresent();
+    }
+}
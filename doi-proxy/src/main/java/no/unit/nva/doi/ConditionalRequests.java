@@ -0,0 +1,52 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.nonNull;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Helpers for revalidating cached metadata with conditional requests.
+ */
+final class ConditionalRequests {
+
+    public static final String IF_NONE_MATCH = "If-None-Match";
+    public static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final int HTTP_NOT_MODIFIED = HttpURLConnection.HTTP_NOT_MODIFIED;
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Adds If-None-Match and If-Modified-Since headers for the validators of the cached metadata, if any.
+     *
+     * @param builder        the request builder.
+     * @param cachedMetadata the cached metadata, or null.
+     * @return the request builder.
+     */
+    static HttpRequest.Builder withValidators(HttpRequest.Builder builder, MetadataAndContentLocation cachedMetadata) {
+        if (nonNull(cachedMetadata) && nonNull(cachedMetadata.getEtag())) {
+            builder.header(IF_NONE_MATCH, cachedMetadata.getEtag());
+        }
+        if (nonNull(cachedMetadata) && nonNull(cachedMetadata.getLastModified())) {
+            builder.header(IF_MODIFIED_SINCE, cachedMetadata.getLastModified());
+        }
+        return builder;
+    }
+
+    static boolean isNotModified(HttpResponse<?> response, MetadataAndContentLocation cachedMetadata) {
+        return nonNull(cachedMetadata) && response.statusCode() == HTTP_NOT_MODIFIED;
+    }
+
+    static MetadataAndContentLocation toMetadata(String contentLocation, byte[] json, HttpResponse<?> response) {
+        return MetadataAndContentLocation.fromBytes(contentLocation, json,
+                                                    header(response, HttpHeaders.ETAG),
+                                                    header(response, HttpHeaders.LAST_MODIFIED));
+    }
+
+    private static String header(HttpResponse<?> response, String name) {
+        return response.headers().firstValue(name).orElse(null);
+    }
+}
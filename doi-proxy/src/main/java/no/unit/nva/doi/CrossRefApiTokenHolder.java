@@ -0,0 +1,157 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.isNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import nva.commons.core.Environment;
+import nva.commons.secrets.ErrorReadingSecretException;
+import nva.commons.secrets.SecretsReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the Crossref Plus API token in memory, so that Secrets Manager is not asked for it on every DOI lookup.
+ *
+ * <p>The token is refreshed in the background once it has reached {@link #REFRESH_AHEAD_FRACTION} of its TTL, while
+ * the cached value is still served. If the token expires without having been refreshed, it is fetched again
+ * synchronously by one caller while concurrent callers wait for it, and the stale token is used when that fetch
+ * fails.
+ */
+public class CrossRefApiTokenHolder {
+
+    public static final String CROSSREFPLUSAPITOKEN_TTL_SECONDS_ENV = "CROSSREFPLUSAPITOKEN_TTL_SECONDS";
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+    public static final double REFRESH_AHEAD_FRACTION = 0.8;
+    public static final String USING_STALE_TOKEN_MESSAGE = "Could not refresh Crossref API token, using cached token";
+
+    private static final Logger logger = LoggerFactory.getLogger(CrossRefApiTokenHolder.class);
+    private final SecretsReader secretsReader;
+    private final String secretName;
+    private final String secretKey;
+    private final Duration ttl;
+    private final Duration refreshAfter;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile CachedToken cachedToken;
+
+    /**
+     * Creates a token holder configured from the environment.
+     *
+     * @param environment   the environment with the name and key of the secret, and optionally its TTL.
+     * @param secretsReader the reader fetching the secret.
+     */
+    public CrossRefApiTokenHolder(Environment environment, SecretsReader secretsReader) {
+        this(secretsReader,
+             environment.readEnv(CrossRefClient.CROSSREFPLUSAPITOKEN_NAME_ENV),
+             environment.readEnv(CrossRefClient.CROSSREFPLUSAPITOKEN_KEY_ENV),
+             readTtl(environment),
+             Clock.systemUTC(),
+             Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Constructor for CrossRefApiTokenHolder.
+     *
+     * @param secretsReader   the reader fetching the secret.
+     * @param secretName      the name of the secret.
+     * @param secretKey       the key of the token within the secret.
+     * @param ttl             how long a fetched token is used.
+     * @param clock           clock used for expiring the token.
+     * @param refreshExecutor executor running the background refresh.
+     */
+    public CrossRefApiTokenHolder(SecretsReader secretsReader, String secretName, String secretKey, Duration ttl,
+                                  Clock clock, Executor refreshExecutor) {
+        this.secretsReader = secretsReader;
+        this.secretName = secretName;
+        this.secretKey = secretKey;
+        this.ttl = ttl;
+        this.refreshAfter = Duration.ofMillis((long) (ttl.toMillis() * REFRESH_AHEAD_FRACTION));
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Returns the Crossref Plus API token.
+     *
+     * @return the token.
+     * @throws RuntimeException when the token has never been fetched and Secrets Manager does not have it.
+     */
+    public String getToken() {
+        CachedToken token = cachedToken;
+        if (isNull(token)) {
+            return fetchFirstToken();
+        }
+        Instant now = clock.instant();
+        if (!now.isBefore(token.fetchedAt().plus(ttl))) {
+            return refreshExpiredToken(token);
+        }
+        if (!now.isBefore(token.fetchedAt().plus(refreshAfter))) {
+            refreshInBackground();
+        }
+        return token.value();
+    }
+
+    private synchronized String fetchFirstToken() {
+        if (isNull(cachedToken)) {
+            try {
+                cachedToken = fetchToken();
+            } catch (ErrorReadingSecretException e) {
+                logger.error(CrossRefClient.CROSSREF_API_KEY_SECRET_NOT_FOUND_TEMPLATE, secretName, secretKey);
+                throw new RuntimeException(e);
+            }
+        }
+        return cachedToken.value();
+    }
+
+    // Callers finding the same expired token wait for one fetch. When it fails, the stale token is kept until the
+    // next background refresh, so that Secrets Manager is not asked by every caller during an outage
+    private synchronized String refreshExpiredToken(CachedToken expiredToken) {
+        if (!expiredToken.equals(cachedToken)) {
+            return cachedToken.value();
+        }
+        try {
+            cachedToken = fetchToken();
+        } catch (ErrorReadingSecretException | RuntimeException e) {
+            logger.warn(USING_STALE_TOKEN_MESSAGE, e);
+            cachedToken = new CachedToken(expiredToken.value(), clock.instant().minus(refreshAfter));
+        }
+        return cachedToken.value();
+    }
+
+    private void refreshInBackground() {
+        if (refreshing.compareAndSet(false, true)) {
+            refreshExecutor.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        try {
+            cachedToken = fetchToken();
+        } catch (ErrorReadingSecretException | RuntimeException e) {
+            logger.warn(USING_STALE_TOKEN_MESSAGE, e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private CachedToken fetchToken() throws ErrorReadingSecretException {
+        return new CachedToken(secretsReader.fetchSecret(secretName, secretKey), clock.instant());
+    }
+
+    private static Duration readTtl(Environment environment) {
+        return environment.readEnvOpt(CROSSREFPLUSAPITOKEN_TTL_SECONDS_ENV)
+                   .map(Long::parseLong)
+                   .map(Duration::ofSeconds)
+                   .orElse(DEFAULT_TTL);
+    }
+
+    private record CachedToken(String value, Instant fetchedAt) {
+
+    }
+}
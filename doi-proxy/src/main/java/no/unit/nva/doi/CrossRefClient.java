@@ -1,23 +1,28 @@
 package no.unit.nva.doi;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import javax.ws.rs.BadRequestException;
-import javax.ws.rs.NotFoundException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 import nva.commons.core.paths.UriWrapper;
 import nva.commons.core.useragent.UserAgent;
-import nva.commons.secrets.ErrorReadingSecretException;
 import nva.commons.secrets.SecretsReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,11 +31,17 @@ public class CrossRefClient {
 
     public static final String CROSSREF_LINK = "https://api.crossref.org";
     public static final String WORKS = "works";
+    public static final String FILTER = "filter";
+    public static final String ROWS = "rows";
+    public static final String DOI_FILTER = "doi:";
+    public static final String FILTER_SEPARATOR = ",";
+    public static final int MAX_DOIS_PER_QUERY = 50;
 
     public static final int TIMEOUT_DURATION = 30;
     public static final String COULD_NOT_FIND_ENTRY_WITH_DOI = "Could not find entry with DOI:";
     public static final String UNKNOWN_ERROR_MESSAGE = "Something went wrong. StatusCode:";
     public static final String FETCH_ERROR = "CrossRefClient failed while trying to fetch:";
+    public static final String QUERY_ERROR = "Crossref works query failed for {} DOIs: {}";
     public static final String CROSSREF_USER_AGENT = getUserAgent();
     public static final String ADDING_TOKEN_IN_HEADER =
         "CrossRef Api PLUS token is present, adding token in header";
@@ -46,9 +57,8 @@ public class CrossRefClient {
     public static final String ILLEGAL_DOI_MESSAGE = "Illegal DOI:%s. Valid examples:" + DOI_EXAMPLES;
     private static final Logger logger = LoggerFactory.getLogger(CrossRefClient.class);
     private final transient HttpClient httpClient;
-    private final String secretName;
-    private final String secretKey;
-    private final SecretsReader secretsReader;
+    private final CrossRefApiTokenHolder apiTokenHolder;
+    private final int maxResponseBytes;
 
     @JacocoGenerated
     public CrossRefClient() {
@@ -56,10 +66,25 @@ public class CrossRefClient {
     }
 
     public CrossRefClient(HttpClient httpClient, Environment environment, SecretsReader secretsReader) {
+        this(httpClient, new CrossRefApiTokenHolder(environment, secretsReader),
+             BoundedBodyHandlers.maxResponseBytes(environment));
+    }
+
+    public CrossRefClient(HttpClient httpClient, CrossRefApiTokenHolder apiTokenHolder) {
+        this(httpClient, apiTokenHolder, BoundedBodyHandlers.DEFAULT_MAX_RESPONSE_BYTES);
+    }
+
+    /**
+     * Constructor for CrossRefClient.
+     *
+     * @param httpClient       the client used for requests to Crossref.
+     * @param apiTokenHolder   the holder of the Crossref Plus API token.
+     * @param maxResponseBytes the largest response body accepted from Crossref.
+     */
+    public CrossRefClient(HttpClient httpClient, CrossRefApiTokenHolder apiTokenHolder, int maxResponseBytes) {
         this.httpClient = httpClient;
-        this.secretsReader = secretsReader;
-        secretName = environment.readEnv(CROSSREFPLUSAPITOKEN_NAME_ENV);
-        secretKey = environment.readEnv(CROSSREFPLUSAPITOKEN_KEY_ENV);
+        this.apiTokenHolder = apiTokenHolder;
+        this.maxResponseBytes = maxResponseBytes;
     }
 
     /**
@@ -70,8 +95,147 @@ public class CrossRefClient {
      * @return FetchResult contains the JSON object and the location from where it was fetched.
      */
     public Optional<MetadataAndContentLocation> fetchDataForDoi(String doi) {
+        try {
+            return fetchDataForDoiAsync(doi).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #fetchDataForDoi(String)}. Cancelling the returned future aborts the underlying
+     * HTTP exchange, so a caller racing several registration agencies can drop the losing request.
+     *
+     * @param doi a doi identifier or URL.
+     * @return a future completing with the metadata, or with an empty Optional when Crossref has no entry for the DOI.
+     *     The future completes exceptionally when the Crossref Plus API token cannot be read.
+     */
+    public CompletableFuture<Optional<MetadataAndContentLocation>> fetchDataForDoiAsync(String doi) {
+        return fetchDataForDoiAsync(doi, null);
+    }
+
+    /**
+     * Variant of {@link #fetchDataForDoiAsync(String)} revalidating previously fetched metadata. The request carries
+     * the ETag and Last-Modified validators of the cached metadata, and the cached metadata is returned when Crossref
+     * answers that it has not been modified.
+     *
+     * @param doi            a doi identifier or URL.
+     * @param cachedMetadata metadata previously fetched from Crossref, or null.
+     * @return a future completing with the metadata, or with an empty Optional when Crossref has no entry for the DOI.
+     */
+    public CompletableFuture<Optional<MetadataAndContentLocation>> fetchDataForDoiAsync(
+        String doi, MetadataAndContentLocation cachedMetadata) {
         URI targetUri = createUrlToCrossRef(doi);
-        return fetchJson(targetUri);
+        CompletableFuture<Optional<MetadataAndContentLocation>> lookup = fetchJson(targetUri, cachedMetadata);
+        CompletableFuture<Optional<MetadataAndContentLocation>> result =
+            lookup.exceptionally(exception -> logFetchError(targetUri, exception));
+        result.whenComplete((value, exception) -> abortRequestIfCancelled(result, lookup));
+        return result;
+    }
+
+    /**
+     * Variant of {@link #fetchDataForDoi(String)} telling a DOI Crossref has no entry for apart from a lookup that
+     * failed.
+     *
+     * @param doi a doi identifier or URL.
+     * @return the metadata, or an empty Optional when Crossref has no entry for the DOI.
+     * @throws IOException when Crossref could not be reached or answered with an error.
+     */
+    public Optional<MetadataAndContentLocation> lookupDataForDoi(String doi) throws IOException {
+        return lookupDataForDoi(doi, null);
+    }
+
+    /**
+     * Variant of {@link #lookupDataForDoi(String)} revalidating previously fetched metadata.
+     *
+     * @param doi            a doi identifier or URL.
+     * @param cachedMetadata metadata previously fetched from Crossref, or null.
+     * @return the metadata, or an empty Optional when Crossref has no entry for the DOI.
+     * @throws IOException when Crossref could not be reached or answered with an error.
+     */
+    public Optional<MetadataAndContentLocation> lookupDataForDoi(String doi, MetadataAndContentLocation cachedMetadata)
+        throws IOException {
+        try {
+            return lookupDataForDoiAsync(doi, cachedMetadata).join();
+        } catch (CompletionException e) {
+            throw CompletionExceptions.unwrap(e);
+        }
+    }
+
+    /**
+     * Variant of {@link #fetchDataForDoiAsync(String, MetadataAndContentLocation)} telling a DOI Crossref has no entry
+     * for apart from a lookup that failed.
+     *
+     * @param doi            a doi identifier or URL.
+     * @param cachedMetadata metadata previously fetched from Crossref, or null.
+     * @return a future completing with the metadata, with an empty Optional when Crossref has no entry for the DOI, or
+     *     exceptionally when Crossref could not be reached or answered with an error.
+     */
+    public CompletableFuture<Optional<MetadataAndContentLocation>> lookupDataForDoiAsync(
+        String doi, MetadataAndContentLocation cachedMetadata) {
+        return fetchJson(createUrlToCrossRef(doi), cachedMetadata);
+    }
+
+    /**
+     * Fetches the metadata of several DOIs with one works list query per {@link #MAX_DOIS_PER_QUERY} DOIs instead of
+     * one request per DOI. The items of each answer are split back into the metadata of single works, in the same form
+     * as {@link #fetchDataForDoi(String)} returns them.
+     *
+     * @param dois doi identifiers or URLs.
+     * @return the answer for each DOI Crossref was asked about, keyed by the DOI as given: the metadata, or an empty
+     *     Optional when a successful answer lacks the DOI. DOIs a works list cannot be filtered on, and all DOIs of a
+     *     query that failed, are left out and have to be looked up one by one.
+     */
+    public Map<String, Optional<MetadataAndContentLocation>> fetchDataForDois(Collection<String> dois) {
+        Map<String, List<String>> doisByName = new LinkedHashMap<>();
+        for (String doi : dois) {
+            CrossRefWorksList.doiName(doi)
+                .ifPresent(name -> doisByName.computeIfAbsent(name, key -> new ArrayList<>()).add(doi));
+        }
+        List<String> names = new ArrayList<>(doisByName.keySet());
+        List<CompletableFuture<Map<String, Optional<byte[]>>>> queries = new ArrayList<>();
+        for (int start = 0; start < names.size(); start += MAX_DOIS_PER_QUERY) {
+            queries.add(fetchWorks(names.subList(start, Math.min(start + MAX_DOIS_PER_QUERY, names.size()))));
+        }
+        Map<String, Optional<MetadataAndContentLocation>> metadata = new LinkedHashMap<>();
+        for (CompletableFuture<Map<String, Optional<byte[]>>> query : queries) {
+            query.join().forEach((name, work) -> {
+                var workMetadata = work.map(bytes -> MetadataAndContentLocation.fromBytes(CROSSREF_LINK, bytes,
+                                                                                          null, null));
+                doisByName.get(name).forEach(doi -> metadata.put(doi, workMetadata));
+            });
+        }
+        return metadata;
+    }
+
+    // Every name of a successful query gets an answer, so that a DOI missing from it is known to be missing
+    private CompletableFuture<Map<String, Optional<byte[]>>> fetchWorks(List<String> names) {
+        return send(CrossRefWorksList.queryUri(names), null)
+                   .thenApply(CrossRefClient::readWorks)
+                   .thenApply(works -> answerForEachName(names, works))
+                   .exceptionally(exception -> logQueryError(names, exception));
+    }
+
+    private static Map<String, Optional<byte[]>> answerForEachName(List<String> names, Map<String, byte[]> works) {
+        Map<String, Optional<byte[]>> answers = new LinkedHashMap<>();
+        names.forEach(name -> answers.put(name, Optional.ofNullable(works.get(name))));
+        return answers;
+    }
+
+    private static Map<String, byte[]> readWorks(HttpResponse<byte[]> response) {
+        if (!responseIsSuccessful(response)) {
+            throw new UncheckedIOException(unexpectedStatus(response));
+        }
+        try {
+            return CrossRefWorksList.splitItems(new ByteArrayInputStream(response.body()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Optional<byte[]>> logQueryError(List<String> names, Throwable exception) {
+        logger.warn(QUERY_ERROR, names.size(), CompletionExceptions.causeOf(exception).getMessage());
+        return Map.of();
     }
 
     protected URI createUrlToCrossRef(String doi) {
@@ -85,23 +249,44 @@ public class CrossRefClient {
             .orElseThrow(() -> new IllegalArgumentException(String.format(ILLEGAL_DOI_MESSAGE,doi)));
     }
 
-    private Optional<MetadataAndContentLocation> fetchJson(URI doiUri) {
-        HttpRequest request = createRequest(doiUri);
+    private CompletableFuture<Optional<MetadataAndContentLocation>> fetchJson(
+        URI doiUri, MetadataAndContentLocation cachedMetadata) {
+        CompletableFuture<HttpResponse<byte[]>> response = send(doiUri, cachedMetadata);
+        CompletableFuture<Optional<MetadataAndContentLocation>> result = response
+            .thenApply(httpResponse -> readMetadata(doiUri, httpResponse, cachedMetadata));
+        result.whenComplete((value, exception) -> abortRequestIfCancelled(result, response));
+        return result;
+    }
+
+    // A request that cannot be created, as when the API token cannot be read, fails the future instead of the caller
+    private CompletableFuture<HttpResponse<byte[]>> send(URI uri, MetadataAndContentLocation cachedMetadata) {
         try {
-            return Optional.ofNullable(getFromWeb(request))
-                .map(json -> new MetadataAndContentLocation(CROSSREF_LINK, json));
-        } catch (InterruptedException
-                     | ExecutionException
-                     | NotFoundException
-                     | BadRequestException e) {
-            String details = FETCH_ERROR + doiUri;
-            logger.warn(details);
-            logger.warn(e.getMessage());
-            return Optional.empty();
+            return httpClient.sendAsync(createRequest(uri, cachedMetadata),
+                                        BoundedBodyHandlers.ofByteArray(maxResponseBytes));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static void abortRequestIfCancelled(CompletableFuture<?> result, CompletableFuture<?> response) {
+        if (result.isCancelled()) {
+            response.cancel(true);
         }
     }
 
-    private HttpRequest createRequest(URI doiUri) {
+    // Only failures to reach Crossref are logged away; a missing API token is passed on to the caller
+    private Optional<MetadataAndContentLocation> logFetchError(URI doiUri, Throwable exception) {
+        Throwable cause = CompletionExceptions.causeOf(exception);
+        if (!(cause instanceof IOException || cause instanceof UncheckedIOException)) {
+            throw new CompletionException(cause);
+        }
+        String details = FETCH_ERROR + doiUri;
+        logger.warn(details);
+        logger.warn(cause.getMessage());
+        return Optional.empty();
+    }
+
+    private HttpRequest createRequest(URI doiUri, MetadataAndContentLocation cachedMetadata) {
         HttpRequest.Builder builder = HttpRequest.newBuilder(doiUri)
             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
             .header(HttpHeaders.USER_AGENT, CROSSREF_USER_AGENT)
@@ -110,9 +295,9 @@ public class CrossRefClient {
 
         logger.info(ADDING_TOKEN_IN_HEADER);
         builder.setHeader(CROSSREF_PLUSAPI_HEADER,
-                          String.format(CROSSREF_PLUSAPI_AUTHORZATION_HEADER_BASE, getCrossRefApiPlusToken()));
+                          String.format(CROSSREF_PLUSAPI_AUTHORZATION_HEADER_BASE, apiTokenHolder.getToken()));
 
-        return builder.build();
+        return ConditionalRequests.withValidators(builder, cachedMetadata).build();
     }
 
     private static String getUserAgent() {
@@ -126,33 +311,25 @@ public class CrossRefClient {
                 .build().toString();
     }
 
-    private String getFromWeb(HttpRequest request)
-        throws InterruptedException, ExecutionException {
-        HttpResponse<String> response = httpClient.sendAsync(request, BodyHandlers.ofString()).get();
+    private static Optional<MetadataAndContentLocation> readMetadata(URI doiUri, HttpResponse<byte[]> response,
+                                                                     MetadataAndContentLocation cachedMetadata) {
         if (responseIsSuccessful(response)) {
-            return response.body();
+            return Optional.of(ConditionalRequests.toMetadata(CROSSREF_LINK, response.body(), response));
+        } else if (ConditionalRequests.isNotModified(response, cachedMetadata)) {
+            return Optional.of(cachedMetadata);
+        } else if (response.statusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+            logger.info(COULD_NOT_FIND_ENTRY_WITH_DOI + doiUri);
+            return Optional.empty();
         } else {
-            return handleError(request, response);
+            throw new UncheckedIOException(unexpectedStatus(response));
         }
     }
 
-    private String handleError(HttpRequest request, HttpResponse<String> response) {
-        if (response.statusCode() == HttpURLConnection.HTTP_NOT_FOUND) {
-            throw new NotFoundException(COULD_NOT_FIND_ENTRY_WITH_DOI + request.uri().toString());
-        }
-        throw new BadRequestException(UNKNOWN_ERROR_MESSAGE + response.statusCode());
+    private static IOException unexpectedStatus(HttpResponse<byte[]> response) {
+        return new IOException(UNKNOWN_ERROR_MESSAGE + response.statusCode());
     }
 
-    private boolean responseIsSuccessful(HttpResponse<String> response) {
+    private static boolean responseIsSuccessful(HttpResponse<byte[]> response) {
         return response.statusCode() == HttpURLConnection.HTTP_OK;
     }
-
-    private String getCrossRefApiPlusToken() {
-        try {
-            return secretsReader.fetchSecret(secretName, secretKey);
-        } catch (ErrorReadingSecretException e) {
-            logger.error(CROSSREF_API_KEY_SECRET_NOT_FOUND_TEMPLATE, secretName, secretKey);
-            throw new RuntimeException(e);
-        }
-    }
 }
@@ -0,0 +1,143 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.nonNull;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import nva.commons.core.paths.UriWrapper;
+
+/**
+ * Builds Crossref works list queries filtering on DOIs, and splits their responses into one works response per item.
+ * Each item is rewrapped as the "message" of a single work, the form {@code /works/{doi}} answers with, so it can be
+ * read by the same code.
+ */
+final class CrossRefWorksList {
+
+    public static final String MESSAGE_FIELD = "message";
+    public static final String ITEMS_FIELD = "items";
+    public static final String DOI_FIELD = "DOI";
+    public static final String STATUS_FIELD = "status";
+    public static final String STATUS_OK = "ok";
+    public static final String MESSAGE_TYPE_FIELD = "message-type";
+    public static final String WORK_MESSAGE_TYPE = "work";
+
+    private CrossRefWorksList() {
+
+    }
+
+    /**
+     * Returns the DOI name a works list can be filtered on. Names containing the filter separator can only be fetched
+     * one by one.
+     *
+     * @param doi a doi identifier or URL.
+     * @return the normalized DOI, or empty when the works list cannot be filtered on it.
+     */
+    static Optional<String> doiName(String doi) {
+        return Optional.ofNullable(doi)
+                   .map(DoiMetadataCache::normalizeDoi)
+                   .filter(name -> !name.isBlank())
+                   .filter(name -> !name.contains(CrossRefClient.FILTER_SEPARATOR));
+    }
+
+    /**
+     * Creates a works list query for the works with the given DOI names.
+     *
+     * @param names DOI names as returned by {@link #doiName(String)}.
+     * @return the query URI.
+     */
+    static URI queryUri(List<String> names) {
+        String filter = String.join(CrossRefClient.FILTER_SEPARATOR,
+                                    names.stream().map(name -> CrossRefClient.DOI_FILTER + name).toList());
+        return UriWrapper.fromUri(CrossRefClient.CROSSREF_LINK)
+                   .addChild(CrossRefClient.WORKS)
+                   .addQueryParameter(CrossRefClient.FILTER, filter)
+                   .addQueryParameter(CrossRefClient.ROWS, Integer.toString(names.size()))
+                   .getUri();
+    }
+
+    /**
+     * Reads the items of a works list response.
+     *
+     * @param body a Crossref works list response encoded as JSON.
+     * @return a single work response per item, keyed by the normalized DOI of the item.
+     * @throws IOException when the body is not a valid Crossref works list response.
+     */
+    static Map<String, byte[]> splitItems(InputStream body) throws IOException {
+        Map<String, byte[]> works = new LinkedHashMap<>();
+        try (JsonParser parser = Json.createParser(body)) {
+            if (moveTo(parser, MESSAGE_FIELD) && moveTo(parser, ITEMS_FIELD)
+                && parser.nextToken() == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readItem(parser, works);
+                }
+            }
+        }
+        return works;
+    }
+
+    /**
+     * Moves the parser into the next object and on to its field with the given name.
+     */
+    private static boolean moveTo(JsonParser parser, String fieldName) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String currentName = parser.currentName();
+            if (fieldName.equals(currentName)) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static void readItem(JsonParser parser, Map<String, byte[]> works) throws IOException {
+        try (TokenBuffer item = new TokenBuffer(parser)) {
+            item.copyCurrentStructure(parser);
+            String doi = readDoi(item, parser);
+            if (nonNull(doi)) {
+                works.putIfAbsent(DoiMetadataCache.normalizeDoi(doi), toWorkResponse(item));
+            }
+        }
+    }
+
+    private static String readDoi(TokenBuffer item, JsonParser source) throws IOException {
+        try (JsonParser parser = item.asParser(source.getCodec())) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (DOI_FIELD.equals(fieldName) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static byte[] toWorkResponse(TokenBuffer item) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = Json.createGenerator(output)) {
+            generator.writeStartObject();
+            generator.writeStringField(STATUS_FIELD, STATUS_OK);
+            generator.writeStringField(MESSAGE_TYPE_FIELD, WORK_MESSAGE_TYPE);
+            generator.writeFieldName(MESSAGE_FIELD);
+            item.serialize(generator);
+            generator.writeEndObject();
+        }
+        return output.toByteArray();
+    }
+}
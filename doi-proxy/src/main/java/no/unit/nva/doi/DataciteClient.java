@@ -1,41 +1,179 @@
 package no.unit.nva.doi;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import javax.ws.rs.core.HttpHeaders;
+import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 
 public class DataciteClient {
 
     public static final String DATACITE_BASE_URL_STRING = "https://data.datacite.org";
+    public static final int CONNECT_TIMEOUT_DURATION = 5;
+    public static final int TIMEOUT_DURATION = 30;
+    public static final String COULD_NOT_FIND_ENTRY_WITH_DOI = "Could not find entry with DOI:";
+    public static final String UNKNOWN_ERROR_MESSAGE = "Something went wrong. StatusCode:";
+    private static final String PATH_SEPARATOR = "/";
+
+    private final transient HttpClient httpClient;
+    private final int maxResponseBytes;
 
     @JacocoGenerated
     public DataciteClient() {
+        this(defaultHttpClient(), BoundedBodyHandlers.maxResponseBytes(new Environment()));
+    }
+
+    public DataciteClient(HttpClient httpClient) {
+        this(httpClient, BoundedBodyHandlers.DEFAULT_MAX_RESPONSE_BYTES);
+    }
+
+    /**
+     * Constructor for DataciteClient.
+     *
+     * @param httpClient       the client used for requests to Datacite.
+     * @param maxResponseBytes the largest response body accepted from Datacite.
+     */
+    public DataciteClient(HttpClient httpClient, int maxResponseBytes) {
+        this.httpClient = httpClient;
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    /**
+     * Creates an HttpClient suitable for sharing between the registration agency clients: HTTP/2 with keep-alive
+     * connection reuse, a bounded connect timeout, and redirects followed as DOI content negotiation requires.
+     *
+     * @return a new HttpClient.
+     */
+    @JacocoGenerated
+    public static HttpClient defaultHttpClient() {
+        return HttpClient.newBuilder()
+                   .version(HttpClient.Version.HTTP_2)
+                   .connectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT_DURATION))
+                   .followRedirects(HttpClient.Redirect.NORMAL)
+                   .build();
     }
 
-    protected URL createRequestUrl(String doiUrlString, DataciteContentType dataciteContentType)
-        throws MalformedURLException {
-        URL dataciteBaseUrl = new URL(DATACITE_BASE_URL_STRING);
-        URL doiUrl = new URL(doiUrlString);
-        return new URL(dataciteBaseUrl,
-                       String.join("",
-                                   dataciteContentType.getContentType(),
-                                   doiUrl.getPath()));
+    protected URI createRequestUri(String doiUrlString, DataciteContentType dataciteContentType)
+        throws URISyntaxException {
+        URI dataciteBaseUri = URI.create(DATACITE_BASE_URL_STRING);
+        String doiPath = new URI(doiUrlString).getPath();
+        return new URI(dataciteBaseUri.getScheme(), dataciteBaseUri.getHost(),
+                       String.join("", PATH_SEPARATOR, dataciteContentType.getContentType(), doiPath), null);
     }
 
+    /**
+     * Fetches the metadata of a DOI from Datacite.
+     *
+     * @param doiUrlString        a DOI URL.
+     * @param dataciteContentType the format of the metadata.
+     * @return the metadata and the location it was fetched from.
+     * @throws IOException when Datacite cannot be reached, or FileNotFoundException when it has no entry for the
+     *                     DOI.
+     */
     public MetadataAndContentLocation fetchMetadata(String doiUrlString, DataciteContentType dataciteContentType)
         throws IOException {
-        String json = readStringFromUrl(createRequestUrl(doiUrlString, dataciteContentType));
-        return new MetadataAndContentLocation(DATACITE_BASE_URL_STRING, json);
+        return fetchMetadata(doiUrlString, dataciteContentType, null);
+    }
+
+    /**
+     * Variant of {@link #fetchMetadata(String, DataciteContentType)} revalidating previously fetched metadata.
+     *
+     * @param doiUrlString        a DOI URL.
+     * @param dataciteContentType the format of the metadata.
+     * @param cachedMetadata      metadata previously fetched from Datacite, or null.
+     * @return the metadata and the location it was fetched from.
+     * @throws IOException when Datacite cannot be reached, or FileNotFoundException when it has no entry for the
+     *                     DOI.
+     */
+    public MetadataAndContentLocation fetchMetadata(String doiUrlString, DataciteContentType dataciteContentType,
+                                                    MetadataAndContentLocation cachedMetadata) throws IOException {
+        try {
+            return fetchMetadataAsync(doiUrlString, dataciteContentType, cachedMetadata).join();
+        } catch (CompletionException e) {
+            throw CompletionExceptions.unwrap(e);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #fetchMetadata(String, DataciteContentType)}. Cancelling the returned future
+     * aborts the underlying HTTP exchange.
+     *
+     * @param doiUrlString        a DOI URL.
+     * @param dataciteContentType the format of the metadata.
+     * @return a future completing with the metadata, or exceptionally when Datacite has no entry for the DOI.
+     */
+    public CompletableFuture<MetadataAndContentLocation> fetchMetadataAsync(String doiUrlString,
+                                                                          DataciteContentType dataciteContentType) {
+        return fetchMetadataAsync(doiUrlString, dataciteContentType, null);
+    }
+
+    /**
+     * Variant of {@link #fetchMetadataAsync(String, DataciteContentType)} revalidating previously fetched metadata.
+     * The request carries the ETag and Last-Modified validators of the cached metadata, and the cached metadata is
+     * returned when Datacite answers that it has not been modified.
+     *
+     * @param doiUrlString        a DOI URL.
+     * @param dataciteContentType the format of the metadata.
+     * @param cachedMetadata      metadata previously fetched from Datacite, or null.
+     * @return a future completing with the metadata, or exceptionally when Datacite has no entry for the DOI.
+     */
+    public CompletableFuture<MetadataAndContentLocation> fetchMetadataAsync(String doiUrlString,
+                                                                          DataciteContentType dataciteContentType,
+                                                                          MetadataAndContentLocation cachedMetadata) {
+        HttpRequest request;
+        try {
+            request = createRequest(createRequestUri(doiUrlString, dataciteContentType), dataciteContentType,
+                                    cachedMetadata);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(new IOException(e));
+        }
+        CompletableFuture<HttpResponse<byte[]>> response =
+            httpClient.sendAsync(request, BoundedBodyHandlers.ofByteArray(maxResponseBytes));
+        CompletableFuture<MetadataAndContentLocation> result = response
+            .thenApply(httpResponse -> readResponse(request, httpResponse, cachedMetadata));
+        result.whenComplete((value, exception) -> abortRequestIfCancelled(result, response));
+        return result;
+    }
+
+    private static HttpRequest createRequest(URI uri, DataciteContentType dataciteContentType,
+                                             MetadataAndContentLocation cachedMetadata) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                                          .header(HttpHeaders.ACCEPT, dataciteContentType.getContentType())
+                                          .timeout(Duration.ofSeconds(TIMEOUT_DURATION))
+                                          .GET();
+        return ConditionalRequests.withValidators(builder, cachedMetadata).build();
+    }
+
+    private MetadataAndContentLocation readResponse(HttpRequest request, HttpResponse<byte[]> response,
+                                                    MetadataAndContentLocation cachedMetadata) {
+        if (response.statusCode() == HttpURLConnection.HTTP_OK) {
+            return ConditionalRequests.toMetadata(DATACITE_BASE_URL_STRING, response.body(), response);
+        }
+        if (ConditionalRequests.isNotModified(response, cachedMetadata)) {
+            return cachedMetadata;
+        }
+        throw new UncheckedIOException(error(request, response));
+    }
+
+    private static IOException error(HttpRequest request, HttpResponse<byte[]> response) {
+        return response.statusCode() == HttpURLConnection.HTTP_NOT_FOUND
+                   ? new FileNotFoundException(COULD_NOT_FIND_ENTRY_WITH_DOI + request.uri())
+                   : new IOException(UNKNOWN_ERROR_MESSAGE + response.statusCode());
     }
 
-    protected String readStringFromUrl(URL url) throws IOException {
-        try (Scanner scanner = new Scanner(url.openStream(),
-                                           StandardCharsets.UTF_8.toString())) {
-            scanner.useDelimiter("\\A");
-            return scanner.hasNext() ? scanner.next() : "";
+    private static void abortRequestIfCancelled(CompletableFuture<?> result, CompletableFuture<?> response) {
+        if (result.isCancelled()) {
+            response.cancel(true);
         }
     }
 }
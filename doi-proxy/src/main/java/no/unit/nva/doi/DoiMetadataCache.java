@@ -0,0 +1,336 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.doi.MetadataSegmentStore.StoredMetadata;
+import no.unit.nva.doi.fetch.cache.TtlLruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-memory cache of the raw metadata fetched from the registration agencies, so that a DOI that is previewed
+ * and then imported is only downloaded once.
+ *
+ * <p>Entries are keyed by the normalized DOI and the requested content type, and evicted in least recently used
+ * order. A fresh entry is served directly. A stale entry is still served for the stale-while-revalidate period while
+ * it is refreshed in the background; after that it is revalidated before it is served. The loader receives the stale
+ * metadata so that it can revalidate it with a conditional request. DOIs no agency has metadata for are remembered
+ * as negative entries. A loader that fails is not remembered: the expired metadata, if any, is served and kept until
+ * a later load succeeds. Given a {@link MetadataSegmentStore}, the cache also keeps the metadata it loads on disk and
+ * consults the store before fetching metadata that is not on the heap.
+ */
+public class DoiMetadataCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 500;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_STALE_WHILE_REVALIDATE = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(1);
+    public static final String CACHE_STATISTICS_MESSAGE =
+        "DOI metadata cache hits: {}, stale hits: {}, misses: {}, hit ratio: {}";
+    public static final String BACKGROUND_REFRESH_FAILED = "Background refresh of cached metadata failed for doi: {}";
+    public static final String SEGMENT_STORE_FAILED = "Metadata segment store failed for key: {}";
+    public static final String SERVING_STALE_METADATA = "Could not load metadata, serving stale metadata for key: {}";
+    private static final String KEY_SEPARATOR = " ";
+    private static final String ALL_KEYS = "*";
+    private static final char PATH_SEPARATOR = '/';
+    private static final Logger logger = LoggerFactory.getLogger(DoiMetadataCache.class);
+
+    // Kept until evicted: expired metadata is still needed to revalidate it, so freshness is decided here
+    private final TtlLruCache<String, Entry> entries;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long staleWhileRevalidateMillis;
+    private final long negativeTtlMillis;
+    private final Executor refreshExecutor;
+    private final MetadataSegmentStore segmentStore;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DoiMetadataCache() {
+        this(null);
+    }
+
+    /**
+     * Creates a cache with the default settings that keeps its entries in a segment store as well.
+     *
+     * @param segmentStore the store keeping entries beyond the lifetime of the heap, or null.
+     */
+    public DoiMetadataCache(MetadataSegmentStore segmentStore) {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_STALE_WHILE_REVALIDATE, DEFAULT_NEGATIVE_TTL,
+             Clock.systemUTC(), Executors.newVirtualThreadPerTaskExecutor(), segmentStore);
+    }
+
+    /**
+     * Constructor for DoiMetadataCache.
+     *
+     * @param maxEntries           the maximum number of entries kept.
+     * @param ttl                  how long fetched metadata is served without revalidation.
+     * @param staleWhileRevalidate how long expired metadata is still served while it is refreshed in the background.
+     * @param negativeTtl          how long a DOI without metadata is remembered.
+     * @param clock                clock used for expiring entries.
+     * @param refreshExecutor      executor running the background refreshes.
+     */
+    public DoiMetadataCache(int maxEntries, Duration ttl, Duration staleWhileRevalidate, Duration negativeTtl,
+                            Clock clock, Executor refreshExecutor) {
+        this(maxEntries, ttl, staleWhileRevalidate, negativeTtl, clock, refreshExecutor, null);
+    }
+
+    /**
+     * Constructor for DoiMetadataCache backed by a segment store. Entries missing on the heap are looked up in the
+     * store before the loader is called, and loaded metadata is written to it.
+     *
+     * @param maxEntries           the maximum number of entries kept on the heap.
+     * @param ttl                  how long fetched metadata is served without revalidation.
+     * @param staleWhileRevalidate how long expired metadata is still served while it is refreshed in the background.
+     * @param negativeTtl          how long a DOI without metadata is remembered.
+     * @param clock                clock used for expiring entries.
+     * @param refreshExecutor      executor running the background refreshes.
+     * @param segmentStore         the store keeping entries beyond the lifetime of the heap, or null.
+     */
+    public DoiMetadataCache(int maxEntries, Duration ttl, Duration staleWhileRevalidate, Duration negativeTtl,
+                            Clock clock, Executor refreshExecutor, MetadataSegmentStore segmentStore) {
+        this.segmentStore = segmentStore;
+        this.entries = new TtlLruCache<>(maxEntries, clock);
+        this.ttlMillis = ttl.toMillis();
+        this.staleWhileRevalidateMillis = staleWhileRevalidate.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Returns the metadata of a DOI, calling the loader when there is no usable cache entry.
+     *
+     * @param doi                 a doi identifier or URL.
+     * @param dataciteContentType the requested content type.
+     * @param loader              fetches the metadata from the registration agencies.
+     * @return the metadata, or null when no registration agency has metadata for the DOI.
+     * @throws IOException when the loader fails and there is no expired metadata to serve instead.
+     */
+    public MetadataAndContentLocation get(String doi, DataciteContentType dataciteContentType,
+                                          MetadataLoader loader) throws IOException {
+        String key = cacheKey(doi, dataciteContentType);
+        Entry entry = getEntry(key);
+        long now = clock.millis();
+        if (nonNull(entry) && now < entry.freshUntil()) {
+            hits.increment();
+            return entry.metadata();
+        }
+        if (nonNull(entry) && now < entry.staleUntil()) {
+            staleHits.increment();
+            refreshInBackground(key, entry, loader);
+            return entry.metadata();
+        }
+        misses.increment();
+        return load(key, isNull(entry) ? null : entry.metadata(), loader);
+    }
+
+    /**
+     * Tells whether {@link #get} can answer for a DOI without waiting for the registration agencies, because there is
+     * a fresh entry, or a stale entry that would be refreshed in the background. The counters are not updated.
+     *
+     * @param doi                 a doi identifier or URL.
+     * @param dataciteContentType the requested content type.
+     * @return true when the DOI has a usable cache entry.
+     */
+    public boolean isCached(String doi, DataciteContentType dataciteContentType) {
+        Entry entry = getEntry(cacheKey(doi, dataciteContentType));
+        return nonNull(entry) && clock.millis() < entry.staleUntil();
+    }
+
+    /**
+     * Removes all cached metadata of a DOI.
+     *
+     * @param doi a doi identifier or URL.
+     */
+    public void purge(String doi) {
+        for (DataciteContentType dataciteContentType : DataciteContentType.values()) {
+            String key = cacheKey(doi, dataciteContentType);
+            entries.remove(key);
+            updateSegmentStore(key, store -> store.delete(key));
+        }
+    }
+
+    /**
+     * Removes all cached metadata.
+     */
+    public void purgeAll() {
+        entries.clear();
+        updateSegmentStore(ALL_KEYS, MetadataSegmentStore::clear);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of lookups served from the cache, including stale entries served while being refreshed.
+     *
+     * @return the hit ratio, or 0 when there has not been any lookup.
+     */
+    public double getHitRatio() {
+        long served = getHitCount() + getStaleHitCount();
+        long total = served + getMissCount();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    /**
+     * Logs the hit and miss counters of the cache.
+     */
+    public void logStatistics() {
+        logger.info(CACHE_STATISTICS_MESSAGE, getHitCount(), getStaleHitCount(), getMissCount(), getHitRatio());
+    }
+
+    /**
+     * Normalizes a DOI or DOI URL to its lower-cased "prefix/suffix" form, as DOIs are case-insensitive.
+     *
+     * @param doi a doi identifier or URL.
+     * @return the normalized DOI.
+     */
+    public static String normalizeDoi(String doi) {
+        String path;
+        try {
+            path = URI.create(doi.strip()).getPath();
+        } catch (IllegalArgumentException e) {
+            path = doi.strip();
+        }
+        String withoutLeadingSlash = path.indexOf(PATH_SEPARATOR) == 0 ? path.substring(1) : path;
+        return withoutLeadingSlash.toLowerCase(Locale.ROOT);
+    }
+
+    private static String cacheKey(String doi, DataciteContentType dataciteContentType) {
+        return normalizeDoi(doi) + KEY_SEPARATOR + dataciteContentType.getContentType();
+    }
+
+    private Entry getEntry(String key) {
+        Entry entry = entries.get(key);
+        if (isNull(entry) && nonNull(segmentStore)) {
+            entry = readFromSegmentStore(key);
+        }
+        return entry;
+    }
+
+    private Entry readFromSegmentStore(String key) {
+        try {
+            Optional<StoredMetadata> stored = segmentStore.read(key);
+            if (stored.isEmpty()) {
+                return null;
+            }
+            Entry entry = positiveEntry(stored.get().metadata(), stored.get().storedAt());
+            entries.putIfAbsent(key, entry);
+            return entry;
+        } catch (IOException e) {
+            logger.warn(SEGMENT_STORE_FAILED, key, e);
+            return null;
+        }
+    }
+
+    private void updateSegmentStore(String key, SegmentStoreUpdate update) {
+        if (nonNull(segmentStore)) {
+            try {
+                update.apply(segmentStore);
+            } catch (IOException e) {
+                logger.warn(SEGMENT_STORE_FAILED, key, e);
+            }
+        }
+    }
+
+    private Entry positiveEntry(MetadataAndContentLocation metadata, long storedAt) {
+        return new Entry(metadata, storedAt + ttlMillis, storedAt + ttlMillis + staleWhileRevalidateMillis);
+    }
+
+    private MetadataAndContentLocation load(String key, MetadataAndContentLocation staleMetadata,
+                                            MetadataLoader loader) throws IOException {
+        MetadataAndContentLocation metadata;
+        try {
+            metadata = loader.load(staleMetadata);
+        } catch (IOException e) {
+            if (isNull(staleMetadata)) {
+                throw e;
+            }
+            logger.warn(SERVING_STALE_METADATA, key, e);
+            return staleMetadata;
+        }
+        long now = clock.millis();
+        Entry entry = isNull(metadata)
+                          ? new Entry(null, now + negativeTtlMillis, now + negativeTtlMillis)
+                          : positiveEntry(metadata, now);
+        entries.put(key, entry);
+        updateSegmentStore(key, store -> {
+            if (isNull(metadata)) {
+                store.delete(key);
+            } else {
+                store.write(key, metadata, now);
+            }
+        });
+        return metadata;
+    }
+
+    private void refreshInBackground(String key, Entry entry, MetadataLoader loader) {
+        if (refreshing.add(key)) {
+            refreshExecutor.execute(() -> refresh(key, entry, loader));
+        }
+    }
+
+    private void refresh(String key, Entry entry, MetadataLoader loader) {
+        try {
+            load(key, entry.metadata(), loader);
+        } catch (IOException | RuntimeException e) {
+            logger.warn(BACKGROUND_REFRESH_FAILED, key, e);
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Fetches the metadata of a DOI from the registration agencies.
+     */
+    @FunctionalInterface
+    public interface MetadataLoader {
+
+        /**
+         * Fetches the metadata.
+         *
+         * @param staleMetadata the expired metadata of the DOI to revalidate, or null.
+         * @return the metadata, or null when no registration agency has metadata for the DOI.
+         * @throws IOException when the registration agencies cannot be reached.
+         */
+        MetadataAndContentLocation load(MetadataAndContentLocation staleMetadata) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface SegmentStoreUpdate {
+
+        void apply(MetadataSegmentStore segmentStore) throws IOException;
+    }
+
+    private record Entry(MetadataAndContentLocation metadata, long freshUntil, long staleUntil) {
+
+    }
+}
@@ -0,0 +1,233 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.nonNull;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers which registration agency each DOI prefix belongs to, so that a lookup can go straight to the right
+ * client instead of collecting a 404 from Crossref first.
+ *
+ * <p>Prefixes (e.g. 10.5281) only consist of digits and dots, so they are kept in a trie with eleven-way nodes that
+ * share the common "10." stem. Entries learnt from successful lookups or from the doi.org RA endpoint live for
+ * {@code ttl}; prefixes the RA endpoint could not place are kept as negative entries for the shorter
+ * {@code negativeTtl}, so that doi.org is not asked again for every DOI. Nothing is kept when the RA endpoint could
+ * not be reached.
+ */
+public class DoiPrefixRoutingTable {
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(10);
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final String DOI_DIRECTORY_INDICATOR = "10.";
+    public static final String ROUTING_STATISTICS_MESSAGE = "DOI prefix routing table hits: {}, misses: {}";
+    private static final String PREFIX_ALPHABET = "0123456789.";
+    private static final char PATH_SEPARATOR = '/';
+    private static final Logger logger = LoggerFactory.getLogger(DoiPrefixRoutingTable.class);
+
+    private final RegistrationAgencyClient registrationAgencyClient;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+    private final Node root = new Node();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private int size;
+
+    /**
+     * Creates a routing table that only learns from the results of previous lookups.
+     */
+    public DoiPrefixRoutingTable() {
+        this(null);
+    }
+
+    /**
+     * Creates a routing table that asks the doi.org RA endpoint about prefixes it has not seen before.
+     *
+     * @param registrationAgencyClient client for the doi.org RA endpoint.
+     */
+    @JacocoGenerated
+    public DoiPrefixRoutingTable(RegistrationAgencyClient registrationAgencyClient) {
+        this(registrationAgencyClient, Clock.systemUTC(), DEFAULT_TTL, DEFAULT_NEGATIVE_TTL, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor for DoiPrefixRoutingTable.
+     *
+     * @param registrationAgencyClient client for the doi.org RA endpoint, or null to only learn from lookups.
+     * @param clock                    clock used for expiring entries.
+     * @param ttl                      how long a known registration agency is remembered.
+     * @param negativeTtl              how long a prefix without a known registration agency is remembered.
+     * @param maxEntries               the maximum number of prefixes kept in the table.
+     */
+    public DoiPrefixRoutingTable(RegistrationAgencyClient registrationAgencyClient, Clock clock, Duration ttl,
+                                 Duration negativeTtl, int maxEntries) {
+        this.registrationAgencyClient = registrationAgencyClient;
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Finds the registration agency for the prefix of a DOI. Prefixes not in the table are looked up at the doi.org
+     * RA endpoint when the table has a client for it.
+     *
+     * @param doi a doi identifier or URL.
+     * @return the registration agency, or UNKNOWN when the lookup should ask every agency.
+     */
+    public RegistrationAgency route(String doi) {
+        Optional<String> prefix = extractPrefix(doi);
+        if (prefix.isEmpty()) {
+            return RegistrationAgency.UNKNOWN;
+        }
+        Optional<RegistrationAgency> knownAgency = lookup(prefix.get());
+        if (knownAgency.isPresent()) {
+            hits.increment();
+            return knownAgency.get();
+        }
+        misses.increment();
+        return nonNull(registrationAgencyClient) ? resolve(prefix.get()) : RegistrationAgency.UNKNOWN;
+    }
+
+    /**
+     * Remembers the registration agency that delivered metadata for a DOI.
+     *
+     * @param doi               a doi identifier or URL.
+     * @param registrationAgency the registration agency that had an entry for the DOI.
+     */
+    public void learn(String doi, RegistrationAgency registrationAgency) {
+        if (RegistrationAgency.UNKNOWN != registrationAgency) {
+            extractPrefix(doi).ifPresent(prefix -> store(prefix, registrationAgency));
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Logs the hit and miss counters of the table.
+     */
+    public void logStatistics() {
+        logger.info(ROUTING_STATISTICS_MESSAGE, getHitCount(), getMissCount());
+    }
+
+    /**
+     * Extracts the prefix (the part before the first slash) of a DOI or DOI URL.
+     *
+     * @param doi a doi identifier or URL.
+     * @return the lower-cased prefix, or empty if the input is not a DOI.
+     */
+    public static Optional<String> extractPrefix(String doi) {
+        return Optional.ofNullable(doi)
+                   .map(DoiPrefixRoutingTable::toPath)
+                   .map(path -> path.startsWith(String.valueOf(PATH_SEPARATOR)) ? path.substring(1) : path)
+                   .filter(path -> path.indexOf(PATH_SEPARATOR) > 0)
+                   .map(path -> path.substring(0, path.indexOf(PATH_SEPARATOR)).toLowerCase(Locale.ROOT))
+                   .filter(DoiPrefixRoutingTable::isValidPrefix);
+    }
+
+    private static String toPath(String doi) {
+        try {
+            return URI.create(doi).getPath();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isValidPrefix(String prefix) {
+        return prefix.startsWith(DOI_DIRECTORY_INDICATOR)
+               && prefix.length() > DOI_DIRECTORY_INDICATOR.length()
+               && prefix.chars().allMatch(character -> PREFIX_ALPHABET.indexOf(character) >= 0);
+    }
+
+    // A prefix is only stored when doi.org answered, so that an outage does not leave negative entries behind
+    private RegistrationAgency resolve(String prefix) {
+        Optional<RegistrationAgency> registrationAgency = registrationAgencyClient.fetchRegistrationAgency(prefix);
+        registrationAgency.ifPresent(agency -> store(prefix, agency));
+        return registrationAgency.orElse(RegistrationAgency.UNKNOWN);
+    }
+
+    // An expired entry is cleared from its node, as the node may be on the path to other prefixes
+    @SuppressWarnings("PMD.NullAssignment")
+    private synchronized Optional<RegistrationAgency> lookup(String prefix) {
+        Node node = findNode(prefix);
+        if (nonNull(node) && nonNull(node.registrationAgency)) {
+            if (node.expiresAt > clock.millis()) {
+                return Optional.of(node.registrationAgency);
+            }
+            node.registrationAgency = null;
+            size--;
+        }
+        return Optional.empty();
+    }
+
+    private synchronized void store(String prefix, RegistrationAgency registrationAgency) {
+        Node node = findNode(prefix);
+        boolean isNewEntry = node == null || node.registrationAgency == null;
+        if (isNewEntry && size >= maxEntries) {
+            return;
+        }
+        if (node == null) {
+            node = createNode(prefix);
+        }
+        if (isNewEntry) {
+            size++;
+        }
+        long timeToLive = RegistrationAgency.UNKNOWN == registrationAgency ? negativeTtlMillis : ttlMillis;
+        node.registrationAgency = registrationAgency;
+        node.expiresAt = clock.millis() + timeToLive;
+    }
+
+    private Node findNode(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && nonNull(node); i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private Node createNode(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static final class Node {
+
+        private Node[] children;
+        private RegistrationAgency registrationAgency;
+        private long expiresAt;
+
+        private Node child(char character) {
+            return nonNull(children) ? children[PREFIX_ALPHABET.indexOf(character)] : null;
+        }
+
+        private Node childOrCreate(char character) {
+            if (children == null) {
+                children = new Node[PREFIX_ALPHABET.length()];
+            }
+            int index = PREFIX_ALPHABET.indexOf(character);
+            if (children[index] == null) {
+                children[index] = new Node();
+            }
+            return children[index];
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package no.unit.nva.doi;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import no.unit.nva.doi.fetch.exceptions.MetadataNotFoundException;
 
 import nva.commons.core.Environment;
@@ -19,9 +28,18 @@ public class DoiProxyService {
     public static final String ERROR_READING_METADATA = "Could not get publication metadata.DOI:";
     public static final String SPACE = " ";
     public static final String GETING_DOI_METADATA_INFO_MESSAGE = "getting doi metadata for doi:";
+    public static final String DATACITE_LOOKUP_FAILED = "Datacite lookup failed for doi: {}";
+    public static final String DATACITE_HAS_NO_ENTRY = "Datacite has no entry for doi: {}";
+    public static final String FOUND_METADATA_INFO_MESSAGE = "Found {} bytes of metadata from {}";
+    public static final String CROSSREF_LOOKUP_FAILED = "Crossref lookup failed for doi: {}";
+    public static final String ROUTED_LOOKUP_FAILED = "Crossref lookup failed, asking every agency for doi: {}";
 
     private final CrossRefClient crossRefClient;
     private final DataciteClient dataciteClient;
+    private final LookupMode lookupMode;
+    private final DoiPrefixRoutingTable routingTable;
+    private final DoiMetadataCache metadataCache;
+    private final ConcurrentLookup concurrentLookup;
 
     private static final Logger logger = LoggerFactory.getLogger(DoiProxyService.class);
 
@@ -32,8 +50,50 @@ public class DoiProxyService {
      * @param dataciteClient dataciteClient
      */
     public DoiProxyService(CrossRefClient crossRefClient, DataciteClient dataciteClient) {
+        this(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL);
+    }
+
+    /**
+     * Constructor for DoiProxyService.
+     *
+     * @param crossRefClient crossRefClient
+     * @param dataciteClient dataciteClient
+     * @param lookupMode     whether the registration agencies are asked one after another or in parallel
+     */
+    public DoiProxyService(CrossRefClient crossRefClient, DataciteClient dataciteClient, LookupMode lookupMode) {
+        this(crossRefClient, dataciteClient, lookupMode, new DoiPrefixRoutingTable());
+    }
+
+    /**
+     * Constructor for DoiProxyService.
+     *
+     * @param crossRefClient crossRefClient
+     * @param dataciteClient dataciteClient
+     * @param lookupMode     whether the registration agencies are asked one after another or in parallel
+     * @param routingTable   the table sending DOIs with a known prefix straight to their registration agency
+     */
+    public DoiProxyService(CrossRefClient crossRefClient, DataciteClient dataciteClient, LookupMode lookupMode,
+                           DoiPrefixRoutingTable routingTable) {
+        this(crossRefClient, dataciteClient, lookupMode, routingTable, new DoiMetadataCache());
+    }
+
+    /**
+     * Constructor for DoiProxyService.
+     *
+     * @param crossRefClient crossRefClient
+     * @param dataciteClient dataciteClient
+     * @param lookupMode     whether the registration agencies are asked one after another or in parallel
+     * @param routingTable   the table sending DOIs with a known prefix straight to their registration agency
+     * @param metadataCache  the cache of metadata fetched from the registration agencies
+     */
+    public DoiProxyService(CrossRefClient crossRefClient, DataciteClient dataciteClient, LookupMode lookupMode,
+                           DoiPrefixRoutingTable routingTable, DoiMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
         this.crossRefClient = crossRefClient;
         this.dataciteClient = dataciteClient;
+        this.lookupMode = lookupMode;
+        this.routingTable = routingTable;
+        this.concurrentLookup = new ConcurrentLookup(crossRefClient, dataciteClient);
     }
 
     /**
@@ -41,7 +101,16 @@ public class DoiProxyService {
      */
     @JacocoGenerated
     public DoiProxyService(Environment environment) {
-        this(new CrossRefClient(HttpClient.newHttpClient(), environment, new SecretsReader()), new DataciteClient());
+        this(environment, DataciteClient.defaultHttpClient());
+    }
+
+    @JacocoGenerated
+    private DoiProxyService(Environment environment, HttpClient httpClient) {
+        this(new CrossRefClient(httpClient, environment, new SecretsReader()),
+             new DataciteClient(httpClient, BoundedBodyHandlers.maxResponseBytes(environment)),
+             LookupMode.fromEnvironment(environment),
+             new DoiPrefixRoutingTable(new RegistrationAgencyClient(httpClient)),
+             new DoiMetadataCache(MetadataSegmentStore.openDefault().orElse(null)));
     }
 
     /**
@@ -57,24 +126,191 @@ public class DoiProxyService {
     public MetadataAndContentLocation lookupDoiMetadata(String doiUrl, DataciteContentType dataciteContentType)
         throws MetadataNotFoundException, IOException, URISyntaxException {
         logger.info(GETING_DOI_METADATA_INFO_MESSAGE + doiUrl);
-        MetadataAndContentLocation metadataAndContentLocation;
+        MetadataAndContentLocation metadataAndContentLocation = metadataCache.get(
+            doiUrl, dataciteContentType, staleMetadata -> loadMetadata(doiUrl, dataciteContentType, staleMetadata));
+        routingTable.logStatistics();
+        metadataCache.logStatistics();
+
+        if (isNull(metadataAndContentLocation)) {
+            throw new MetadataNotFoundException(ERROR_READING_METADATA + SPACE + doiUrl);
+        }
+        logger.info(FOUND_METADATA_INFO_MESSAGE, metadataAndContentLocation.getJsonLength(),
+                    metadataAndContentLocation.getContentHeader());
+        return metadataAndContentLocation;
+    }
+
+    /**
+     * Look up metadata for several doi urls. DOIs that are neither cached nor known to be registered at Datacite are
+     * fetched from Crossref with as few requests as possible, and DOIs missing from the Crossref answers are looked up
+     * at Datacite. DOIs the batch could not ask Crossref about are looked up one by one.
+     *
+     * @param doiUrls             doiUrls
+     * @param dataciteContentType dataciteContentType
+     * @return metadata and content location of each doi url that has metadata, keyed by the doi url
+     * @throws IOException when error reading from IO
+     */
+    public Map<String, MetadataAndContentLocation> lookupDoiMetadata(Collection<String> doiUrls,
+                                                                     DataciteContentType dataciteContentType)
+        throws IOException {
+        Set<String> crossRefCandidates = doiUrls.stream()
+                                             .filter(doiUrl -> !metadataCache.isCached(doiUrl, dataciteContentType))
+                                             .filter(doiUrl -> !isRoutedToDatacite(doiUrl))
+                                             .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, Optional<MetadataAndContentLocation>> crossRefMetadata =
+            crossRefCandidates.isEmpty() ? Map.of() : crossRefClient.fetchDataForDois(crossRefCandidates);
+        Map<String, MetadataAndContentLocation> metadata = new LinkedHashMap<>();
+        for (String doiUrl : doiUrls) {
+            MetadataAndContentLocation metadataAndContentLocation = metadataCache.get(
+                doiUrl, dataciteContentType,
+                staleMetadata -> crossRefMetadata.containsKey(doiUrl)
+                                     ? fromCrossRefBatch(doiUrl, dataciteContentType, crossRefMetadata.get(doiUrl))
+                                     : loadMetadata(doiUrl, dataciteContentType, staleMetadata));
+            if (nonNull(metadataAndContentLocation)) {
+                metadata.put(doiUrl, metadataAndContentLocation);
+            }
+        }
+        routingTable.logStatistics();
+        metadataCache.logStatistics();
+        return metadata;
+    }
+
+    private boolean isRoutedToDatacite(String doiUrl) {
+        return RegistrationAgency.DATACITE.equals(routingTable.route(doiUrl));
+    }
+
+    private MetadataAndContentLocation fromCrossRefBatch(String doiUrl, DataciteContentType dataciteContentType,
+                                                         Optional<MetadataAndContentLocation> crossRefMetadata)
+        throws IOException {
+        if (crossRefMetadata.isPresent()) {
+            routingTable.learn(doiUrl, RegistrationAgency.CROSSREF);
+            return crossRefMetadata.get();
+        }
+        MetadataAndContentLocation dataciteMetadata = fetchFromDatacite(doiUrl, dataciteContentType);
+        if (nonNull(dataciteMetadata)) {
+            routingTable.learn(doiUrl, RegistrationAgency.DATACITE);
+        }
+        return dataciteMetadata;
+    }
+
+    private MetadataAndContentLocation loadMetadata(String doiUrl, DataciteContentType dataciteContentType,
+                                                    MetadataAndContentLocation staleMetadata) throws IOException {
+        Optional<MetadataAndContentLocation> revalidated = nonNull(staleMetadata)
+                                                               ? revalidate(doiUrl, dataciteContentType, staleMetadata)
+                                                               : Optional.empty();
+        return revalidated.isPresent() ? revalidated.get() : lookupUpstream(doiUrl, dataciteContentType);
+    }
+
+    /**
+     * Asks the registration agency that delivered the stale metadata whether it has changed. A failure is passed on,
+     * so that the cache serves the stale metadata instead of dropping it.
+     */
+    private Optional<MetadataAndContentLocation> revalidate(String doiUrl, DataciteContentType dataciteContentType,
+                                                            MetadataAndContentLocation staleMetadata)
+        throws IOException {
+        return switch (RegistrationAgency.fromContentLocation(staleMetadata.getContentHeader())) {
+            case CROSSREF -> crossRefClient.lookupDataForDoi(doiUrl, staleMetadata);
+            case DATACITE -> revalidateAtDatacite(doiUrl, dataciteContentType, staleMetadata);
+            case UNKNOWN -> Optional.empty();
+        };
+    }
+
+    private MetadataAndContentLocation lookupUpstream(String doiUrl, DataciteContentType dataciteContentType)
+        throws IOException {
+        RegistrationAgency registrationAgency = routingTable.route(doiUrl);
+        return switch (registrationAgency) {
+            case CROSSREF -> fetchFromCrossRef(doiUrl, dataciteContentType);
+            case DATACITE -> fetchFromDatacite(doiUrl, dataciteContentType);
+            case UNKNOWN -> lookupAtAllAgencies(doiUrl, dataciteContentType);
+        };
+    }
+
+    /**
+     * Asks Crossref about a DOI routed to it. When Crossref cannot be asked, the DOI is looked up at every agency
+     * instead, as the answer would otherwise be taken to mean that the DOI is not registered.
+     */
+    private MetadataAndContentLocation fetchFromCrossRef(String doiUrl, DataciteContentType dataciteContentType)
+        throws IOException {
+        try {
+            return crossRefClient.lookupDataForDoi(doiUrl).orElse(null);
+        } catch (IOException e) {
+            logger.warn(ROUTED_LOOKUP_FAILED, doiUrl, e);
+            return lookupAtAllAgencies(doiUrl, dataciteContentType);
+        }
+    }
+
+    private MetadataAndContentLocation fetchFromDatacite(String doiUrl, DataciteContentType dataciteContentType)
+        throws IOException {
+        try {
+            return dataciteClient.fetchMetadata(doiUrl, dataciteContentType);
+        } catch (FileNotFoundException e) {
+            logger.info(DATACITE_HAS_NO_ENTRY, doiUrl);
+            return null;
+        }
+    }
+
+    private Optional<MetadataAndContentLocation> revalidateAtDatacite(String doiUrl,
+                                                                      DataciteContentType dataciteContentType,
+                                                                      MetadataAndContentLocation staleMetadata)
+        throws IOException {
+        try {
+            return Optional.ofNullable(dataciteClient.fetchMetadata(doiUrl, dataciteContentType, staleMetadata));
+        } catch (FileNotFoundException e) {
+            logger.info(DATACITE_HAS_NO_ENTRY, doiUrl);
+            return Optional.empty();
+        }
+    }
+
+    private MetadataAndContentLocation lookupAtAllAgencies(String doiUrl, DataciteContentType dataciteContentType)
+        throws IOException {
+        MetadataAndContentLocation metadataAndContentLocation =
+            LookupMode.CONCURRENT.equals(lookupMode)
+                ? concurrentLookup.lookup(doiUrl, dataciteContentType)
+                : lookupSequentially(doiUrl, dataciteContentType);
+        if (nonNull(metadataAndContentLocation)) {
+            routingTable.learn(doiUrl,
+                               RegistrationAgency.fromContentLocation(metadataAndContentLocation.getContentHeader()));
+        }
+        return metadataAndContentLocation;
+    }
+
+    private MetadataAndContentLocation lookupSequentially(String doiUrl, DataciteContentType dataciteContentType)
+        throws IOException {
         long crossRefStartTime = System.nanoTime();
-        Optional<MetadataAndContentLocation> crossRefResult = crossRefClient.fetchDataForDoi(doiUrl);
-        long crossRefEndTime = System.nanoTime();
-        logger.info("Received response from Crossref after {} ms", (crossRefEndTime - crossRefStartTime) / 1000);
-        if (crossRefResult.isEmpty()) {
-            long dataciteStartTime = System.nanoTime();
-            metadataAndContentLocation = dataciteClient.fetchMetadata(doiUrl, dataciteContentType);
-            long dataciteEndTime = System.nanoTime();
-            logger.info("Received response from Datacite after {} ms", (dataciteEndTime - dataciteStartTime) / 1000);
-        } else {
-            metadataAndContentLocation = crossRefResult.get();
+        Optional<MetadataAndContentLocation> crossRefResult;
+        try {
+            crossRefResult = crossRefClient.lookupDataForDoi(doiUrl);
+        } catch (IOException e) {
+            logger.warn(CROSSREF_LOOKUP_FAILED, doiUrl, e);
+            return lookupAtDataciteAfterCrossRefFailure(doiUrl, dataciteContentType, e);
         }
+        long crossRefEndTime = System.nanoTime();
+        logger.info("Received response from Crossref after {} ms", elapsedMillis(crossRefStartTime, crossRefEndTime));
+        return crossRefResult.isPresent() ? crossRefResult.get() : lookupAtDatacite(doiUrl, dataciteContentType);
+    }
+
+    private MetadataAndContentLocation lookupAtDatacite(String doiUrl, DataciteContentType dataciteContentType)
+        throws IOException {
+        long dataciteStartTime = System.nanoTime();
+        MetadataAndContentLocation metadataAndContentLocation = fetchFromDatacite(doiUrl, dataciteContentType);
+        long dataciteEndTime = System.nanoTime();
+        logger.info("Received response from Datacite after {} ms", elapsedMillis(dataciteStartTime, dataciteEndTime));
+        return metadataAndContentLocation;
+    }
 
+    // Without an answer from Crossref, a DOI Datacite has no entry for is not known to be unregistered
+    private MetadataAndContentLocation lookupAtDataciteAfterCrossRefFailure(String doiUrl,
+                                                                            DataciteContentType dataciteContentType,
+                                                                            IOException crossRefFailure)
+        throws IOException {
+        MetadataAndContentLocation metadataAndContentLocation = lookupAtDatacite(doiUrl, dataciteContentType);
         if (isNull(metadataAndContentLocation)) {
-            throw new MetadataNotFoundException(ERROR_READING_METADATA + SPACE + doiUrl);
+            throw crossRefFailure;
         }
-        logger.info("metadataAndContentLocation.getJson()={}", metadataAndContentLocation.getJson());
         return metadataAndContentLocation;
     }
+
+    static long elapsedMillis(long startNanos, long endNanos) {
+        return Duration.ofNanos(endNanos - startNanos).toMillis();
+    }
+
 }
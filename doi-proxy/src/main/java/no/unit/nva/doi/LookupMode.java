@@ -0,0 +1,31 @@
+package no.unit.nva.doi;
+
+import java.util.Locale;
+import nva.commons.core.Environment;
+
+public enum LookupMode {
+
+    /**
+     * Ask Crossref first and fall back to Datacite only when Crossref has no entry for the DOI.
+     */
+    SEQUENTIAL,
+    /**
+     * Ask Crossref and Datacite in parallel and use the first registration agency that answers.
+     */
+    CONCURRENT;
+
+    public static final String DOI_LOOKUP_MODE_ENV = "DOI_LOOKUP_MODE";
+
+    /**
+     * Reads the lookup mode from the environment, defaulting to {@link #SEQUENTIAL} when it is not set.
+     *
+     * @param environment the environment.
+     * @return the configured LookupMode.
+     */
+    public static LookupMode fromEnvironment(Environment environment) {
+        return environment.readEnvOpt(DOI_LOOKUP_MODE_ENV)
+                   .map(value -> value.toUpperCase(Locale.ROOT))
+                   .map(LookupMode::valueOf)
+                   .orElse(SEQUENTIAL);
+    }
+}
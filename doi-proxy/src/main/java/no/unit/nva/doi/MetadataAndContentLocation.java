@@ -1,21 +1,96 @@
 package no.unit.nva.doi;
 
+import static java.util.Objects.isNull;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Metadata fetched from a registration agency. The metadata is kept as the UTF-8 bytes of the response body, so it
+ * can be handed to a JSON parser without being decoded to a String first. The bytes are never modified once the
+ * object is created.
+ */
+@SuppressWarnings({"PMD.ArrayIsStoredDirectly", "PMD.MethodReturnsInternalArray"})
 public class MetadataAndContentLocation {
 
     private final String contentHeader;
-    private final String json;
+    private final byte[] json;
+    private final String etag;
+    private final String lastModified;
 
     public MetadataAndContentLocation(String contentHeader, String json) {
+        this(contentHeader, json, null, null);
+    }
+
+    /**
+     * Constructor for MetadataAndContentLocation keeping the validators the upstream service sent with the metadata.
+     *
+     * @param contentHeader the location the metadata was fetched from.
+     * @param json          the metadata.
+     * @param etag          the ETag of the upstream response, or null.
+     * @param lastModified  the Last-Modified header of the upstream response, or null.
+     */
+    public MetadataAndContentLocation(String contentHeader, String json, String etag, String lastModified) {
+        this(contentHeader, isNull(json) ? null : json.getBytes(StandardCharsets.UTF_8), etag, lastModified);
+    }
+
+    private MetadataAndContentLocation(String contentHeader, byte[] json, String etag, String lastModified) {
         this.contentHeader = contentHeader;
         this.json = json;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Creates a MetadataAndContentLocation from the raw bytes of a response body without copying them. The caller
+     * must not modify the array afterwards.
+     *
+     * @param contentHeader the location the metadata was fetched from.
+     * @param json          the metadata as UTF-8 bytes.
+     * @param etag          the ETag of the upstream response, or null.
+     * @param lastModified  the Last-Modified header of the upstream response, or null.
+     * @return the metadata.
+     */
+    public static MetadataAndContentLocation fromBytes(String contentHeader, byte[] json, String etag,
+                                                       String lastModified) {
+        return new MetadataAndContentLocation(contentHeader, json, etag, lastModified);
     }
 
     public String getContentHeader() {
         return contentHeader;
     }
 
+    /**
+     * Decodes the metadata to a String. Prefer {@link #getJsonStream()} when the metadata is only going to be parsed.
+     *
+     * @return the metadata, or null.
+     */
     public String getJson() {
-        return json;
+        return isNull(json) ? null : new String(json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a stream over the UTF-8 bytes of the metadata, backed by the bytes held by this object.
+     *
+     * @return a stream over the metadata, or null.
+     */
+    public InputStream getJsonStream() {
+        return isNull(json) ? null : new ByteArrayInputStream(json);
+    }
+
+    public int getJsonLength() {
+        return isNull(json) ? 0 : json.length;
+    }
+
+    public String getEtag() {
+        return etag;
     }
 
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    byte[] getJsonBytes() {
+        return json;
+    }
 }
@@ -0,0 +1,420 @@
+package no.unit.nva.doi;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store of fetched metadata in a single segment file, normally under the Lambda /tmp directory, so that
+ * cached metadata survives the heap of a recycled handler.
+ *
+ * <p>Each record is written as its length, a CRC32C checksum and the deflated record itself. The file is read through
+ * a memory mapping, and only the offsets of the live records are kept on the heap. Deleting a DOI appends a
+ * tombstone. When the file grows beyond {@code maxBytes} it is compacted: the newest live records are copied to a
+ * new segment, which replaces the old one, until half of the size limit is used. Records whose checksum does not
+ * match are treated as missing, and a damaged tail is cut off when the segment is opened. A compaction that fails
+ * leaves the current segment in place.
+ */
+@SuppressWarnings("PMD.GodClass")
+public class MetadataSegmentStore {
+
+    public static final Path DEFAULT_SEGMENT_FILE = Path.of(System.getProperty("java.io.tmpdir"),
+                                                            "doi-metadata-cache", "metadata.segment");
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE / 2;
+    public static final String INVALID_MAX_BYTES_MESSAGE = "Segment size limit must be between 1 and 1 GiB, was: ";
+    public static final String CORRUPT_RECORD_MESSAGE = "Ignoring corrupt record in metadata segment for key: {}";
+    public static final String DAMAGED_TAIL_MESSAGE = "Cutting off damaged metadata segment tail at offset: {}";
+    public static final String COULD_NOT_OPEN_MESSAGE = "Could not open metadata segment: {}";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int NULL_LENGTH = -1;
+    private static final String COMPACTION_SUFFIX = ".compacting";
+    private static final Logger logger = LoggerFactory.getLogger(MetadataSegmentStore.class);
+
+    private final Path segmentFile;
+    private final long maxBytes;
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    /**
+     * Opens the segment file, creating it if needed, and indexes the records it contains.
+     *
+     * @param segmentFile the segment file.
+     * @param maxBytes    the size at which the segment is compacted, at most {@link #MAX_SEGMENT_BYTES} since the
+     *                    segment is addressed through a single mapping.
+     * @throws IOException when the segment file cannot be opened.
+     */
+    public MetadataSegmentStore(Path segmentFile, long maxBytes) throws IOException {
+        if (maxBytes <= 0 || maxBytes > MAX_SEGMENT_BYTES) {
+            throw new IllegalArgumentException(INVALID_MAX_BYTES_MESSAGE + maxBytes);
+        }
+        this.segmentFile = segmentFile;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(segmentFile.toAbsolutePath().getParent());
+        openSegment();
+        indexSegment();
+    }
+
+    /**
+     * Opens the default segment store in the temporary directory.
+     *
+     * @return the store, or empty if the temporary directory cannot be used.
+     */
+    @JacocoGenerated
+    public static Optional<MetadataSegmentStore> openDefault() {
+        try {
+            return Optional.of(new MetadataSegmentStore(DEFAULT_SEGMENT_FILE, DEFAULT_MAX_BYTES));
+        } catch (IOException e) {
+            logger.warn(COULD_NOT_OPEN_MESSAGE, DEFAULT_SEGMENT_FILE, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the metadata stored for a key.
+     *
+     * @param key the cache key.
+     * @return the metadata and the time it was stored, or empty if there is no valid record for the key.
+     * @throws IOException when the segment cannot be read.
+     */
+    public synchronized Optional<StoredMetadata> read(String key) throws IOException {
+        IndexEntry entry = index.get(key);
+        if (isNull(entry)) {
+            return Optional.empty();
+        }
+        Optional<Record> record = readRecord(entry.offset());
+        if (record.isEmpty() || !record.get().key().equals(key)) {
+            logger.warn(CORRUPT_RECORD_MESSAGE, key);
+            index.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(new StoredMetadata(record.get().metadata(), record.get().storedAt()));
+    }
+
+    /**
+     * Appends the metadata for a key, replacing earlier records for it.
+     *
+     * @param key      the cache key.
+     * @param metadata the metadata.
+     * @param storedAt the time the metadata was fetched, in epoch milliseconds.
+     * @throws IOException when the segment cannot be written.
+     */
+    public synchronized void write(String key, MetadataAndContentLocation metadata, long storedAt)
+        throws IOException {
+        long offset = append(new Record(key, storedAt, metadata));
+        index.put(key, new IndexEntry(offset, storedAt));
+        if (channel.size() > maxBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Deletes the metadata for a key by appending a tombstone.
+     *
+     * @param key the cache key.
+     * @throws IOException when the segment cannot be written.
+     */
+    public synchronized void delete(String key) throws IOException {
+        if (nonNull(index.remove(key))) {
+            append(new Record(key, 0, null));
+        }
+    }
+
+    /**
+     * Deletes all stored metadata.
+     *
+     * @throws IOException when the segment cannot be truncated.
+     */
+    public synchronized void clear() throws IOException {
+        index.clear();
+        channel.truncate(0);
+        unmap();
+    }
+
+    public synchronized int entryCount() {
+        return index.size();
+    }
+
+    public synchronized long sizeInBytes() throws IOException {
+        return channel.size();
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE);
+        unmap();
+    }
+
+    private void indexSegment() throws IOException {
+        index.clear();
+        long offset = 0;
+        long size = channel.size();
+        while (offset < size) {
+            Optional<Record> record = readRecord(offset);
+            if (record.isEmpty()) {
+                logger.warn(DAMAGED_TAIL_MESSAGE, offset);
+                channel.truncate(offset);
+                unmap();
+                break;
+            }
+            if (record.get().isTombstone()) {
+                index.remove(record.get().key());
+            } else {
+                index.put(record.get().key(), new IndexEntry(offset, record.get().storedAt()));
+            }
+            offset += HEADER_BYTES + mappedRecordLength(offset);
+        }
+    }
+
+    private long append(Record record) throws IOException {
+        return append(channel, record);
+    }
+
+    private static long append(FileChannel target, Record record) throws IOException {
+        byte[] payload = compress(record.serialize());
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length)
+                                .putInt(payload.length)
+                                .putInt((int) checksum.getValue())
+                                .put(payload)
+                                .flip();
+        long offset = target.size();
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += target.write(buffer, position);
+        }
+        return offset;
+    }
+
+    private Optional<Record> readRecord(long offset) throws IOException {
+        if (offset + HEADER_BYTES > channel.size()) {
+            return Optional.empty();
+        }
+        int length = mappedRecordLength(offset);
+        if (length < 0 || offset + HEADER_BYTES + length > channel.size()) {
+            return Optional.empty();
+        }
+        MappedByteBuffer buffer = mapping(offset + HEADER_BYTES + length);
+        int expectedChecksum = buffer.getInt((int) offset + Integer.BYTES);
+        byte[] payload = new byte[length];
+        buffer.get((int) offset + HEADER_BYTES, payload);
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        if ((int) checksum.getValue() != expectedChecksum) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Record.deserialize(decompress(payload)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private int mappedRecordLength(long offset) throws IOException {
+        return mapping(offset + HEADER_BYTES).getInt((int) offset);
+    }
+
+    private MappedByteBuffer mapping(long requiredSize) throws IOException {
+        if (isNull(mapped) || mapped.capacity() < requiredSize) {
+            mapped = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        return mapped;
+    }
+
+    // The segment is mapped again on the next read, after it was truncated or replaced
+    @SuppressWarnings("PMD.NullAssignment")
+    private void unmap() {
+        mapped = null;
+    }
+
+    private void compact() throws IOException {
+        List<Map.Entry<String, IndexEntry>> newestFirst = new ArrayList<>(index.entrySet());
+        newestFirst.sort(Comparator.comparingLong(
+            (Map.Entry<String, IndexEntry> entry) -> entry.getValue().storedAt()).reversed());
+        List<Record> kept = new ArrayList<>();
+        long keptBytes = 0;
+        for (Map.Entry<String, IndexEntry> entry : newestFirst) {
+            Optional<Record> record = readRecord(entry.getValue().offset());
+            long recordBytes = HEADER_BYTES + mappedRecordLength(entry.getValue().offset());
+            if (record.isPresent() && keptBytes + recordBytes <= maxBytes / 2) {
+                kept.add(record.get());
+                keptBytes += recordBytes;
+            }
+        }
+        final Map<String, IndexEntry> compactedIndex = writeCompactedSegment(kept);
+        try {
+            Files.move(compactedFile(), segmentFile, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(compactedFile());
+            throw e;
+        }
+        channel.close();
+        openSegment();
+        index.clear();
+        index.putAll(compactedIndex);
+    }
+
+    // The current segment stays open and indexed until the compacted one has replaced it
+    private Map<String, IndexEntry> writeCompactedSegment(List<Record> newestFirst) throws IOException {
+        Files.deleteIfExists(compactedFile());
+        Map<String, IndexEntry> compactedIndex = new HashMap<>();
+        try (FileChannel compacted = openCompactedSegment()) {
+            for (int i = newestFirst.size() - 1; i >= 0; i--) {
+                Record record = newestFirst.get(i);
+                compactedIndex.put(record.key(), new IndexEntry(append(compacted, record), record.storedAt()));
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(compactedFile());
+            throw e;
+        }
+        return compactedIndex;
+    }
+
+    FileChannel openCompactedSegment() throws IOException {
+        return FileChannel.open(compactedFile(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private Path compactedFile() {
+        return segmentFile.resolveSibling(segmentFile.getFileName() + COMPACTION_SUFFIX);
+    }
+
+    private static byte[] compress(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] input) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IOException("Truncated metadata record");
+                }
+                output.write(buffer, 0, inflated);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Metadata read from the segment together with the time it was fetched.
+     *
+     * @param metadata the metadata.
+     * @param storedAt the time the metadata was fetched, in epoch milliseconds.
+     */
+    public record StoredMetadata(MetadataAndContentLocation metadata, long storedAt) {
+
+    }
+
+    private record IndexEntry(long offset, long storedAt) {
+
+    }
+
+    private record Record(String key, long storedAt, MetadataAndContentLocation metadata) {
+
+        private boolean isTombstone() {
+            return isNull(metadata);
+        }
+
+        private byte[] serialize() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                writeString(output, key);
+                output.writeLong(storedAt);
+                output.writeBoolean(isTombstone());
+                if (!isTombstone()) {
+                    writeString(output, metadata.getContentHeader());
+                    writeBytes(output, metadata.getJsonBytes());
+                    writeString(output, metadata.getEtag());
+                    writeString(output, metadata.getLastModified());
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        private static Record deserialize(byte[] bytes) throws IOException {
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                String key = readString(input);
+                long storedAt = input.readLong();
+                if (input.readBoolean()) {
+                    return new Record(key, storedAt, null);
+                }
+                MetadataAndContentLocation metadata = MetadataAndContentLocation.fromBytes(
+                    readString(input), readBytes(input), readString(input), readString(input));
+                return new Record(key, storedAt, metadata);
+            }
+        }
+
+        private static void writeString(DataOutputStream output, String value) throws IOException {
+            writeBytes(output, isNull(value) ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+            if (isNull(bytes)) {
+                output.writeInt(NULL_LENGTH);
+            } else {
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+
+        private static String readString(DataInputStream input) throws IOException {
+            byte[] bytes = readBytes(input);
+            return isNull(bytes) ? null : new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static byte[] readBytes(DataInputStream input) throws IOException {
+            int length = input.readInt();
+            return length == NULL_LENGTH ? null : input.readNBytes(length);
+        }
+    }
+}
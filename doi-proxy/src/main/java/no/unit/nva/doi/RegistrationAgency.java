@@ -0,0 +1,50 @@
+package no.unit.nva.doi;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+public enum RegistrationAgency {
+
+    CROSSREF("crossref", CrossRefClient.CROSSREF_LINK),
+    DATACITE("datacite", DataciteClient.DATACITE_BASE_URL_STRING),
+    /**
+     * The registration agency is not one we have a dedicated client for, or it could not be determined.
+     */
+    UNKNOWN(null, null);
+
+    private final String agencyName;
+    private final String contentLocation;
+
+    RegistrationAgency(String agencyName, String contentLocation) {
+        this.agencyName = agencyName;
+        this.contentLocation = contentLocation;
+    }
+
+    /**
+     * Maps the agency name reported by the doi.org RA endpoint (e.g. "Crossref", "DataCite") to a
+     * RegistrationAgency.
+     *
+     * @param agencyName the name of the registration agency.
+     * @return the matching RegistrationAgency, or UNKNOWN.
+     */
+    public static RegistrationAgency fromAgencyName(String agencyName) {
+        String normalizedName = agencyName == null ? null : agencyName.toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                   .filter(agency -> agency.agencyName != null && agency.agencyName.equals(normalizedName))
+                   .findAny()
+                   .orElse(UNKNOWN);
+    }
+
+    /**
+     * Finds the registration agency that delivered the metadata, based on its content location.
+     *
+     * @param contentLocation the content location of a {@link MetadataAndContentLocation}.
+     * @return the matching RegistrationAgency, or UNKNOWN.
+     */
+    public static RegistrationAgency fromContentLocation(String contentLocation) {
+        return Arrays.stream(values())
+                   .filter(agency -> agency.contentLocation != null && agency.contentLocation.equals(contentLocation))
+                   .findAny()
+                   .orElse(UNKNOWN);
+    }
+}
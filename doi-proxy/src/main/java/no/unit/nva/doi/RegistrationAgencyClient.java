@@ -0,0 +1,79 @@
+package no.unit.nva.doi;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.paths.UriWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asks the doi.org RA endpoint which registration agency a DOI prefix belongs to.
+ */
+public class RegistrationAgencyClient {
+
+    public static final String DOI_RA_LINK = "https://doi.org/ra";
+    public static final String REGISTRATION_AGENCY_FIELD = "RA";
+    public static final int TIMEOUT_DURATION = 5;
+    public static final String FETCH_ERROR = "Could not fetch registration agency for prefix: {}";
+    public static final String UNEXPECTED_STATUS = "Unexpected status from doi.org for prefix {}: {}";
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationAgencyClient.class);
+    private final transient HttpClient httpClient;
+
+    @JacocoGenerated
+    public RegistrationAgencyClient() {
+        this(HttpClient.newHttpClient());
+    }
+
+    public RegistrationAgencyClient(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Fetches the registration agency for a DOI prefix.
+     *
+     * @param doiPrefix a DOI prefix, e.g. 10.5281
+     * @return the registration agency, which is UNKNOWN when doi.org does not know the prefix, or empty when doi.org
+     *     could not be asked.
+     */
+    public Optional<RegistrationAgency> fetchRegistrationAgency(String doiPrefix) {
+        HttpRequest request = createRequest(doiPrefix);
+        try {
+            HttpResponse<String> response = httpClient.sendAsync(request, BodyHandlers.ofString()).join();
+            if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+                logger.warn(UNEXPECTED_STATUS, doiPrefix, response.statusCode());
+                return Optional.empty();
+            }
+            return Optional.of(readRegistrationAgency(response.body()));
+        } catch (CompletionException | JsonProcessingException e) {
+            logger.warn(FETCH_ERROR, doiPrefix, e);
+            return Optional.empty();
+        }
+    }
+
+    private HttpRequest createRequest(String doiPrefix) {
+        URI uri = UriWrapper.fromUri(DOI_RA_LINK).addChild(doiPrefix).getUri();
+        return HttpRequest.newBuilder(uri)
+                   .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON)
+                   .timeout(Duration.ofSeconds(TIMEOUT_DURATION))
+                   .GET()
+                   .build();
+    }
+
+    private static RegistrationAgency readRegistrationAgency(String body) throws JsonProcessingException {
+        JsonNode agencyName = Json.readTree(body).path(0).path(REGISTRATION_AGENCY_FIELD);
+        return RegistrationAgency.fromAgencyName(agencyName.isTextual() ? agencyName.textValue() : null);
+    }
+}
@@ -0,0 +1,139 @@
+package no.unit.nva.doi;
+
+import static no.unit.nva.doi.BoundedBodyHandlers.DEFAULT_MAX_RESPONSE_BYTES;
+import static no.unit.nva.doi.BoundedBodyHandlers.DOI_MAX_RESPONSE_BYTES_ENV;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.Test;
+
+public class BoundedBodyHandlersTest {
+
+    public static final int MAX_BYTES = 8;
+
+    @Test
+    public void ofByteArrayJoinsReceivedBuffersIntoOneArray() throws Exception {
+        var subscription = mock(Flow.Subscription.class);
+        var subscriber = subscribe(MAX_BYTES, null, subscription);
+
+        subscriber.onNext(List.of(buffer("abc"), buffer("de")));
+        subscriber.onNext(List.of(buffer("fgh")));
+        subscriber.onComplete();
+
+        assertThat(new String(body(subscriber).get(), StandardCharsets.UTF_8), is(equalTo("abcdefgh")));
+        verify(subscription, never()).cancel();
+    }
+
+    @Test
+    public void ofByteArrayCancelsResponseDeclaringTooLargeBody() {
+        var subscription = mock(Flow.Subscription.class);
+        var subscriber = subscribe(MAX_BYTES, String.valueOf(MAX_BYTES + 1), subscription);
+
+        var exception = assertThrows(ExecutionException.class, () -> body(subscriber).get());
+
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+        assertThat(exception.getCause().getMessage(), containsString(String.valueOf(MAX_BYTES)));
+        verify(subscription).cancel();
+    }
+
+    @Test
+    public void ofByteArrayCancelsResponseDeliveringTooLargeBody() {
+        var subscription = mock(Flow.Subscription.class);
+        var subscriber = subscribe(MAX_BYTES, null, subscription);
+
+        subscriber.onNext(List.of(buffer("abcde")));
+        subscriber.onNext(List.of(buffer("fghij")));
+        subscriber.onNext(List.of(buffer("klmno")));
+        subscriber.onComplete();
+
+        var exception = assertThrows(ExecutionException.class, () -> body(subscriber).get());
+        assertThat(exception.getCause(), is(instanceOf(IOException.class)));
+        verify(subscription).cancel();
+    }
+
+    @Test
+    public void ofByteArrayPassesOnFailureOfTheExchange() {
+        var subscriber = subscribe(MAX_BYTES, null, mock(Flow.Subscription.class));
+        var failure = new IOException("Connection reset");
+
+        subscriber.onError(failure);
+
+        var exception = assertThrows(ExecutionException.class, () -> body(subscriber).get());
+        assertThat(exception.getCause(), is(equalTo(failure)));
+    }
+
+    @Test
+    public void ofByteArrayRejectsNegativeLimit() {
+        assertThrows(IllegalArgumentException.class, () -> BoundedBodyHandlers.ofByteArray(-1));
+    }
+
+    @Test
+    public void maxResponseBytesReturnsConfiguredLimit() {
+        var environment = mock(Environment.class);
+        when(environment.readEnvOpt(DOI_MAX_RESPONSE_BYTES_ENV)).thenReturn(Optional.of("1024"));
+
+        assertThat(BoundedBodyHandlers.maxResponseBytes(environment), is(equalTo(1024)));
+    }
+
+    @Test
+    public void maxResponseBytesReturnsDefaultWhenLimitIsNotConfigured() {
+        var environment = mock(Environment.class);
+        when(environment.readEnvOpt(DOI_MAX_RESPONSE_BYTES_ENV)).thenReturn(Optional.empty());
+
+        assertThat(BoundedBodyHandlers.maxResponseBytes(environment), is(equalTo(DEFAULT_MAX_RESPONSE_BYTES)));
+    }
+
+    private static BodySubscriber<byte[]> subscribe(int maxBytes, String contentLength,
+                                                    Flow.Subscription subscription) {
+        Map<String, List<String>> headerMap = contentLength == null
+                                                  ? Map.of()
+                                                  : Map.of("Content-Length", List.of(contentLength));
+        var headers = HttpHeaders.of(headerMap, (name, value) -> true);
+        var subscriber = BoundedBodyHandlers.ofByteArray(maxBytes).apply(new StaticResponseInfo(headers));
+        subscriber.onSubscribe(subscription);
+        return subscriber;
+    }
+
+    private static CompletableFuture<byte[]> body(BodySubscriber<byte[]> subscriber) {
+        return subscriber.getBody().toCompletableFuture();
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record StaticResponseInfo(HttpHeaders headers) implements ResponseInfo {
+
+        @Override
+        public int statusCode() {
+            return 200;
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_2;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import no.unit.nva.doi.utils.CountingSecretsReader;
+import no.unit.nva.doi.utils.MutableClock;
+import no.unit.nva.doi.utils.QueuedExecutor;
+import nva.commons.secrets.ErrorReadingSecretException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CrossRefApiTokenHolderTest {
+
+    public static final String NAME = "name";
+    public static final String KEY = "key";
+    public static final String FIRST_TOKEN = "first token";
+    public static final String SECOND_TOKEN = "second token";
+    public static final Duration TTL = Duration.ofMinutes(10);
+    public static final Duration BEFORE_REFRESH = Duration.ofMinutes(7);
+    public static final Duration WITHIN_REFRESH_WINDOW = Duration.ofMinutes(9);
+    public static final int CONCURRENT_CALLERS = 8;
+
+    private MutableClock clock;
+    private QueuedExecutor refreshExecutor;
+
+    @BeforeEach
+    public void init() {
+        clock = new MutableClock();
+        refreshExecutor = new QueuedExecutor();
+    }
+
+    @Test
+    public void getTokenFetchesSecretOnlyOnceWithinTtl() {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN);
+        var tokenHolder = newTokenHolder(secretsReader);
+
+        tokenHolder.getToken();
+        clock.advance(BEFORE_REFRESH);
+        var actual = tokenHolder.getToken();
+
+        assertThat(actual, is(equalTo(FIRST_TOKEN)));
+        assertThat(secretsReader.getFetchCount(), is(equalTo(1)));
+        assertThat(refreshExecutor.pendingTasks(), is(equalTo(0)));
+    }
+
+    @Test
+    public void getTokenServesCachedTokenAndRefreshesInBackgroundShortlyBeforeExpiry() {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN, SECOND_TOKEN);
+        var tokenHolder = newTokenHolder(secretsReader);
+        tokenHolder.getToken();
+
+        clock.advance(WITHIN_REFRESH_WINDOW);
+        assertThat(tokenHolder.getToken(), is(equalTo(FIRST_TOKEN)));
+        assertThat(tokenHolder.getToken(), is(equalTo(FIRST_TOKEN)));
+        assertThat(refreshExecutor.pendingTasks(), is(equalTo(1)));
+
+        refreshExecutor.runAll();
+        assertThat(tokenHolder.getToken(), is(equalTo(SECOND_TOKEN)));
+        assertThat(secretsReader.getFetchCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getTokenKeepsCachedTokenWhenBackgroundRefreshFails() {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN, null, SECOND_TOKEN);
+        var tokenHolder = newTokenHolder(secretsReader);
+        tokenHolder.getToken();
+
+        clock.advance(WITHIN_REFRESH_WINDOW);
+        tokenHolder.getToken();
+        refreshExecutor.runAll();
+        assertThat(tokenHolder.getToken(), is(equalTo(FIRST_TOKEN)));
+
+        refreshExecutor.runAll();
+        assertThat(tokenHolder.getToken(), is(equalTo(SECOND_TOKEN)));
+    }
+
+    @Test
+    public void getTokenFetchesTokenAgainWhenItHasExpired() {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN, SECOND_TOKEN);
+        var tokenHolder = newTokenHolder(secretsReader);
+        tokenHolder.getToken();
+
+        clock.advance(TTL);
+
+        assertThat(tokenHolder.getToken(), is(equalTo(SECOND_TOKEN)));
+        assertThat(secretsReader.getFetchCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getTokenReturnsStaleTokenWhenRefreshOfExpiredTokenFails() {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN, null);
+        var tokenHolder = newTokenHolder(secretsReader);
+        tokenHolder.getToken();
+
+        clock.advance(TTL);
+
+        assertThat(tokenHolder.getToken(), is(equalTo(FIRST_TOKEN)));
+        assertThat(secretsReader.getFetchCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getTokenFetchesExpiredTokenOnceForConcurrentCallers() throws InterruptedException {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN, SECOND_TOKEN);
+        var tokenHolder = newTokenHolder(secretsReader);
+        tokenHolder.getToken();
+
+        clock.advance(TTL);
+        var tokens = getTokenConcurrently(tokenHolder);
+
+        assertThat(tokens, everyItem(is(equalTo(SECOND_TOKEN))));
+        assertThat(secretsReader.getFetchCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getTokenFetchesExpiredTokenOnceForConcurrentCallersWhenFetchFails() throws InterruptedException {
+        var secretsReader = new CountingSecretsReader(FIRST_TOKEN, null);
+        var tokenHolder = newTokenHolder(secretsReader);
+        tokenHolder.getToken();
+
+        clock.advance(TTL);
+        var tokens = getTokenConcurrently(tokenHolder);
+
+        assertThat(tokens, everyItem(is(equalTo(FIRST_TOKEN))));
+        assertThat(secretsReader.getFetchCount(), is(equalTo(2)));
+    }
+
+    @Test
+    public void getTokenThrowsWhenNoTokenHasEverBeenFetched() {
+        var tokenHolder = newTokenHolder(new CountingSecretsReader((String) null));
+
+        var exception = assertThrows(RuntimeException.class, tokenHolder::getToken);
+
+        assertThat(exception.getCause().getClass(), is(equalTo(ErrorReadingSecretException.class)));
+    }
+
+    private static List<String> getTokenConcurrently(CrossRefApiTokenHolder tokenHolder)
+        throws InterruptedException {
+        var start = new CountDownLatch(1);
+        var tokens = new ConcurrentLinkedQueue<String>();
+        var callers = new ArrayList<Thread>();
+        for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                awaitQuietly(start);
+                tokens.add(tokenHolder.getToken());
+            }));
+        }
+        start.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CrossRefApiTokenHolder newTokenHolder(CountingSecretsReader secretsReader) {
+        return new CrossRefApiTokenHolder(secretsReader, NAME, KEY, TTL, clock, refreshExecutor);
+    }
+}
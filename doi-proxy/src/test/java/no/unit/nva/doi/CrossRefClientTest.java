@@ -9,6 +9,7 @@ import static no.unit.nva.doi.CrossRefClient.WORKS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -16,20 +17,31 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.net.HttpHeaders;
+import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.utils.CountingSecretsReader;
 import no.unit.nva.doi.utils.HttpResponseStatus200;
+import no.unit.nva.doi.utils.HttpResponseStatus304;
 import no.unit.nva.doi.utils.HttpResponseStatus404;
 import no.unit.nva.doi.utils.HttpResponseStatus500;
 import no.unit.nva.doi.utils.MockHttpClient;
@@ -60,6 +72,8 @@ public class CrossRefClientTest {
     public static final String NAME = "name";
     public static final String KEY = "key";
     public static final String PATH_DELIMITER = "/";
+    public static final String ETAG = "\"etag\"";
+    public static final String LAST_MODIFIED = "Mon, 01 Jan 2024 00:00:00 GMT";
 
     @DisplayName("createTargetUrl returns a valid Url for DOI strings that are not DOI URLs")
     @Test
@@ -81,7 +95,7 @@ public class CrossRefClientTest {
     @Test
     void crossRefHttpClientIsConfiguredToUseUserAgent() throws URISyntaxException, JsonProcessingException {
         var responseBody = IoUtils.stringFromResources(CROSS_REF_SAMPLE_PATH);
-        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(responseBody));
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(toBytes(responseBody)));
         getConfiguredCrossrefClient(httpClient).fetchDataForDoi(DOI_STRING);
         var httpRequest = httpClient.getHttpRequest();
         var actual = httpRequest.headers().map();
@@ -192,6 +206,15 @@ public class CrossRefClientTest {
         assertThat(cause.getMessage(), is(nullValue()));
     }
 
+    @Test
+    void fetchDataForDoiAsyncCompletesExceptionallyWhenSecretsManagerLacksSecret() throws JsonProcessingException {
+        var crossRefClient = getConfiguredCrossrefClient(mock(HttpClient.class), true, true, false);
+
+        var actual = crossRefClient.fetchDataForDoiAsync(DOI_STRING);
+
+        assertThat(actual.isCompletedExceptionally(), is(true));
+    }
+
     @Test
     void crossrefClientLogsMissingSecretsInSecretsManager() {
         var log = LogUtils.getTestingAppenderForRootLogger();
@@ -208,7 +231,7 @@ public class CrossRefClientTest {
     void fetchDataForDoiReturnsNotFoundWhenInputDoiDoesNotDereference() throws URISyntaxException,
                                                                                JsonProcessingException {
         var httpClient = mock(HttpClient.class);
-        var httpResponse = new HttpResponseStatus404<>("Not found");
+        var httpResponse = new HttpResponseStatus404<>(toBytes("Not found"));
         var completableFuture = CompletableFuture.supplyAsync(() -> httpResponse);
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
             .thenReturn(completableFuture);
@@ -216,6 +239,128 @@ public class CrossRefClientTest {
         assertThat(actual, equalTo(Optional.empty()));
     }
 
+    @Test
+    void fetchDataForDoiReadsCrossrefApiTokenFromSecretsManagerOnlyOnceForSeveralLookups() {
+        var secretsReader = new CountingSecretsReader("token");
+        var tokenHolder = new CrossRefApiTokenHolder(secretsReader, NAME, KEY, Duration.ofMinutes(15),
+                                                     Clock.systemUTC(), Runnable::run);
+        var crossRefClient = new CrossRefClient(mockHttpClientWithNonEmptyResponse(), tokenHolder);
+
+        crossRefClient.fetchDataForDoi(DOI_STRING);
+        crossRefClient.fetchDataForDoi(DOI_STRING);
+
+        assertThat(secretsReader.getFetchCount(), is(equalTo(1)));
+    }
+
+    @Test
+    void fetchDataForDoiKeepsValidatorsOfCrossrefResponse() throws JsonProcessingException {
+        var response = new HttpResponseStatus200<>(toBytes("{}"))
+                           .withHeader(HttpHeaders.ETAG, ETAG)
+                           .withHeader(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+
+        var actual = getConfiguredCrossrefClient(new MockHttpClient<>(response)).fetchDataForDoi(DOI_STRING)
+                         .orElseThrow();
+
+        assertThat(actual.getEtag(), is(equalTo(ETAG)));
+        assertThat(actual.getLastModified(), is(equalTo(LAST_MODIFIED)));
+    }
+
+    @Test
+    void fetchDataForDoiAsyncRevalidatesCachedMetadataAndReturnsItWhenNotModified() throws JsonProcessingException {
+        var cachedMetadata = new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, "{}", ETAG, LAST_MODIFIED);
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus304<>(toBytes("")));
+
+        var actual = getConfiguredCrossrefClient(httpClient).fetchDataForDoiAsync(DOI_STRING, cachedMetadata).join();
+
+        assertThat(actual.orElseThrow(), is(sameInstance(cachedMetadata)));
+        var request = httpClient.getHttpRequest();
+        assertThat(request.headers().firstValue(HttpHeaders.IF_NONE_MATCH).orElseThrow(), is(equalTo(ETAG)));
+        assertThat(request.headers().firstValue(HttpHeaders.IF_MODIFIED_SINCE).orElseThrow(),
+                   is(equalTo(LAST_MODIFIED)));
+    }
+
+    @Test
+    void fetchDataForDoiReturnsEmptyOptionalWhenCrossrefAnswersNotModifiedWithoutCachedMetadata()
+        throws JsonProcessingException {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus304<>(toBytes("")));
+
+        var actual = getConfiguredCrossrefClient(httpClient).fetchDataForDoi(DOI_STRING);
+
+        assertThat(actual, is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void lookupDataForDoiReturnsEmptyOptionalWhenCrossrefHasNoEntry() throws IOException {
+        var actual = crossRefClientReceives404().lookupDataForDoi(DOI_STRING);
+
+        assertThat(actual, is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void lookupDataForDoiThrowsIoExceptionWhenCrossrefAnswersWithError() throws JsonProcessingException {
+        var crossRefClient = crossRefClientReceives500();
+
+        var exception = assertThrows(IOException.class, () -> crossRefClient.lookupDataForDoi(DOI_STRING));
+
+        assertThat(exception.getMessage(), containsString(CrossRefClient.UNKNOWN_ERROR_MESSAGE));
+    }
+
+    @Test
+    void fetchDataForDoisSplitsWorksListIntoMetadataOfEachDoi() throws Exception {
+        var otherDoi = "10.1000/182";
+        var missingDoi = "10.1000/missing";
+        var body = worksList(DOI_STRING, otherDoi.toUpperCase());
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(toBytes(body)));
+        var doiUrl = String.join(PATH_DELIMITER, DOI_URL_PREFIX, DOI_STRING);
+
+        var actual = getConfiguredCrossrefClient(httpClient).fetchDataForDois(List.of(doiUrl, otherDoi, missingDoi));
+
+        assertThat(actual.keySet(), is(equalTo(Set.of(doiUrl, otherDoi, missingDoi))));
+        assertThat(messageDoi(actual.get(doiUrl).orElseThrow()), is(equalTo(DOI_STRING)));
+        assertThat(messageDoi(actual.get(otherDoi).orElseThrow()), is(equalTo(otherDoi.toUpperCase())));
+        assertThat(actual.get(otherDoi).orElseThrow().getContentHeader(), is(equalTo(CrossRefClient.CROSSREF_LINK)));
+        assertThat(actual.get(missingDoi).isEmpty(), is(true));
+        var query = httpClient.getHttpRequest().uri().getQuery();
+        assertThat(query, containsString(CrossRefClient.DOI_FILTER + DOI_STRING.toLowerCase()));
+        assertThat(query, containsString(CrossRefClient.DOI_FILTER + missingDoi));
+        assertThat(query, containsString(CrossRefClient.ROWS + "=3"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void fetchDataForDoisSendsOneQueryPerChunkOfDois() throws Exception {
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                new HttpResponseStatus200<>(toBytes(worksList()))));
+        var dois = new ArrayList<String>();
+        for (int i = 0; i <= CrossRefClient.MAX_DOIS_PER_QUERY; i++) {
+            dois.add("10.1000/" + i);
+        }
+
+        var actual = getConfiguredCrossrefClient(httpClient).fetchDataForDois(dois);
+
+        assertThat(actual.size(), is(equalTo(dois.size())));
+        assertThat(actual.values().stream().allMatch(Optional::isEmpty), is(true));
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void fetchDataForDoisLeavesOutDoisOfQueryThatFailed() throws JsonProcessingException {
+        var actual = crossRefClientReceives500().fetchDataForDois(List.of(DOI_STRING));
+
+        assertThat(actual.isEmpty(), is(true));
+    }
+
+    @Test
+    void fetchDataForDoisLeavesOutDoisThatCannotBeFiltered() throws JsonProcessingException {
+        var httpClient = mock(HttpClient.class);
+
+        var actual = getConfiguredCrossrefClient(httpClient).fetchDataForDois(List.of("10.1000/a,b", " "));
+
+        assertThat(actual.isEmpty(), is(true));
+    }
+
     private CrossRefClient getConfiguredCrossrefClient() throws JsonProcessingException {
         var httpClient = mockHttpClientWithNonEmptyResponse();
         return getConfiguredCrossrefClient(httpClient);
@@ -267,21 +412,36 @@ public class CrossRefClientTest {
 
     private HttpClient mockHttpClientWithNonEmptyResponse() {
         var responseBody = IoUtils.stringFromResources(CROSS_REF_SAMPLE_PATH);
-        var response = new HttpResponseStatus200<>(responseBody);
+        var response = new HttpResponseStatus200<>(toBytes(responseBody));
         return new MockHttpClient<>(response);
     }
 
     private CrossRefClient crossRefClientReceives404() throws JsonProcessingException {
-        var errorResponse = new HttpResponseStatus404<>(
-            ERROR_MESSAGE);
+        var errorResponse = new HttpResponseStatus404<>(toBytes(ERROR_MESSAGE));
         var mockHttpClient = new MockHttpClient<>(errorResponse);
         return getConfiguredCrossrefClient(mockHttpClient);
     }
 
     private CrossRefClient crossRefClientReceives500() throws JsonProcessingException {
-        var errorResponse = new HttpResponseStatus500<>(
-            ERROR_MESSAGE);
+        var errorResponse = new HttpResponseStatus500<>(toBytes(ERROR_MESSAGE));
         var mockHttpClient = new MockHttpClient<>(errorResponse);
         return getConfiguredCrossrefClient(mockHttpClient);
     }
+
+    private static String worksList(String... dois) throws JsonProcessingException {
+        var items = new ArrayList<Map<String, Object>>();
+        for (String doi : dois) {
+            items.add(Map.of("DOI", doi, "title", List.of("Title of " + doi)));
+        }
+        return Json.writeValueAsString(Map.of("status", "ok", "message-type", "work-list",
+                                              "message", Map.of("total-results", dois.length, "items", items)));
+    }
+
+    private static String messageDoi(MetadataAndContentLocation metadata) throws JsonProcessingException {
+        return Json.readTree(metadata.getJson()).path("message").path("DOI").asText();
+    }
+
+    private static byte[] toBytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,61 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class CrossRefWorksListTest {
+
+    @Test
+    public void splitItemsRewrapsEachItemAsSingleWorkKeyedByNormalizedDoi() throws IOException {
+        var body = """
+            {"status": "ok", "message-type": "work-list",
+             "message": {"facets": {}, "total-results": 2,
+                         "items": [{"title": ["First"], "DOI": "10.1000/ABC", "reference": [{"key": "ref1"}]},
+                                   {"DOI": "10.1000/def", "title": ["Second"]}]}}
+            """;
+
+        var works = split(body);
+
+        assertThat(works.keySet(), is(equalTo(Set.of("10.1000/abc", "10.1000/def"))));
+        var first = Json.readTree(new String(works.get("10.1000/abc"), StandardCharsets.UTF_8));
+        assertThat(first.path(CrossRefWorksList.STATUS_FIELD).asText(), is(equalTo(CrossRefWorksList.STATUS_OK)));
+        assertThat(first.path(CrossRefWorksList.MESSAGE_TYPE_FIELD).asText(),
+                   is(equalTo(CrossRefWorksList.WORK_MESSAGE_TYPE)));
+        assertThat(first.path("message").path("title").get(0).asText(), is(equalTo("First")));
+        assertThat(first.path("message").path("reference").get(0).path("key").asText(), is(equalTo("ref1")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "[]",
+        "{\"status\": \"ok\"}",
+        "{\"message\": []}",
+        "{\"message\": {\"items\": {}}}",
+        "{\"message\": {\"items\": [{\"title\": [\"Without DOI\"]}, {\"DOI\": [\"10.1000/1\"]}]}}"
+    })
+    public void splitItemsReturnsNoWorksWhenThereAreNoItemsWithDoi(String body) throws IOException {
+        assertThat(split(body), is(anEmptyMap()));
+    }
+
+    @Test
+    public void splitItemsThrowsExceptionWhenBodyIsNotJson() {
+        assertThrows(JsonProcessingException.class, () -> split("{\"message\": {\"items\": [{"));
+    }
+
+    private static Map<String, byte[]> split(String body) throws IOException {
+        return CrossRefWorksList.splitItems(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,70 +1,211 @@
 package no.unit.nva.doi;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import javax.ws.rs.core.HttpHeaders;
+import no.unit.nva.doi.utils.HttpResponseStatus200;
+import no.unit.nva.doi.utils.HttpResponseStatus304;
+import no.unit.nva.doi.utils.HttpResponseStatus404;
+import no.unit.nva.doi.utils.HttpResponseStatus500;
+import no.unit.nva.doi.utils.MockHttpClient;
 import nva.commons.core.ioutils.IoUtils;
 import org.junit.jupiter.api.Test;
 
 public class DataciteClientTest {
 
-    public static final String EXAMPLE_URL = "http://example.org";
+    public static final String EXAMPLE_URL = "https://doi.org/10.1000/182";
     public static final String SAMPLE_RESPONSE_RESOURCE = "dataciteResponseSample.json";
     public static final String EMPTY_RESPONSE_RESOURCE = "emptyResponse";
     public static final String MOCK_URL_CONTENT = "Some content for the example URL";
     public static final String EMPTY_STRING = "";
+    public static final String ETAG = "\"etag\"";
+    public static final String LAST_MODIFIED = "Mon, 01 Jan 2024 00:00:00 GMT";
 
+    @Test
+    public void createRequestUriReturnsDataciteContentNegotiationUriForDoi() throws URISyntaxException {
+        var dataciteClient = new DataciteClient(mock(HttpClient.class));
 
+        var actual = dataciteClient.createRequestUri(EXAMPLE_URL, DataciteContentType.CITEPROC_JSON);
 
+        assertThat(actual.toString(),
+                   is(equalTo("https://data.datacite.org/application/vnd.citationstyles.csl+json/10.1000/182")));
+    }
 
     @Test
     public void fetchMetadataReturnsUrlContentForSomeUrl() throws IOException {
-        DataciteClient dataciteClient = mock(DataciteClient.class);
-        when(dataciteClient.createRequestUrl(anyString(), any(DataciteContentType.class))).thenCallRealMethod();
-        when(dataciteClient.fetchMetadata(anyString(), any(DataciteContentType.class))).thenCallRealMethod();
-        when(dataciteClient.readStringFromUrl(any(URL.class))).thenReturn(MOCK_URL_CONTENT);
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(toBytes(MOCK_URL_CONTENT)));
 
-        MetadataAndContentLocation metadata = dataciteClient
+        MetadataAndContentLocation metadata = new DataciteClient(httpClient)
             .fetchMetadata(EXAMPLE_URL, DataciteContentType.CITEPROC_JSON);
 
         assertNotNull(metadata);
         assertThat(metadata.getJson(), is(equalTo(MOCK_URL_CONTENT)));
+        assertThat(metadata.getContentHeader(), is(equalTo(DataciteClient.DATACITE_BASE_URL_STRING)));
+    }
+
+    @Test
+    public void fetchMetadataAsksForTheRequestedContentTypeWithinTimeout() throws IOException {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(toBytes(MOCK_URL_CONTENT)));
+
+        new DataciteClient(httpClient).fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON);
+
+        var request = httpClient.getHttpRequest();
+        assertThat(request.headers().firstValue(HttpHeaders.ACCEPT).orElseThrow(),
+                   is(equalTo(DataciteContentType.DATACITE_JSON.getContentType())));
+        assertThat(request.timeout().isPresent(), is(true));
     }
 
     @Test
-    public void testValidResponseUrl() throws IOException, URISyntaxException {
-        Path resourceAbsolutePath = Path.of(resourceAbsolutePathString(SAMPLE_RESPONSE_RESOURCE));
-        DataciteClient dataciteClient = mock(DataciteClient.class);
-        when(dataciteClient.readStringFromUrl(any(URL.class))).thenCallRealMethod();
-        String actualContent = dataciteClient.readStringFromUrl(resourceAbsolutePath.toUri().toURL());
+    public void testValidResponseUrl() throws IOException {
+        var httpClient = new MockHttpClient<>(
+            new HttpResponseStatus200<>(toBytes(IoUtils.stringFromResources(Path.of(SAMPLE_RESPONSE_RESOURCE)))));
+
+        String actualContent = new DataciteClient(httpClient)
+                                   .fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON)
+                                   .getJson();
+
         String expected = IoUtils.stringFromResources(Path.of(SAMPLE_RESPONSE_RESOURCE));
         assertThat(actualContent, is(equalTo(expected)));
-
     }
 
     @Test
-    public void testEmptyResponseUrl() throws IOException, URISyntaxException {
-        Path resourceAbsolutePath = Path.of(resourceAbsolutePathString(EMPTY_RESPONSE_RESOURCE));
-        DataciteClient dataciteClient = mock(DataciteClient.class);
-        when(dataciteClient.readStringFromUrl(any(URL.class))).thenCallRealMethod();
-        String stringFromUrl = dataciteClient.readStringFromUrl(resourceAbsolutePath.toUri().toURL());
+    public void testEmptyResponseUrl() throws IOException {
+        var httpClient = new MockHttpClient<>(
+            new HttpResponseStatus200<>(toBytes(IoUtils.stringFromResources(Path.of(EMPTY_RESPONSE_RESOURCE)))));
+
+        String stringFromUrl = new DataciteClient(httpClient)
+                                   .fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON)
+                                   .getJson();
+
         assertEquals(EMPTY_STRING, stringFromUrl);
     }
 
-    private String resourceAbsolutePathString(String resource) throws URISyntaxException {
-        URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
-        return new File(url.toURI()).toPath().toString(); //is there an easier way?
+    @Test
+    public void fetchMetadataThrowsIOExceptionWhenDataciteHasNoEntryForDoi() {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus404<>(toBytes(EMPTY_STRING)));
+        var dataciteClient = new DataciteClient(httpClient);
+
+        var exception = assertThrows(FileNotFoundException.class,
+                                     () -> dataciteClient.fetchMetadata(EXAMPLE_URL,
+                                                                        DataciteContentType.DATACITE_JSON));
+
+        assertThat(exception.getMessage(), containsString(DataciteClient.COULD_NOT_FIND_ENTRY_WITH_DOI));
+    }
+
+    @Test
+    public void fetchMetadataThrowsIOExceptionWhenDataciteRespondsWithError() {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus500<>(toBytes(EMPTY_STRING)));
+        var dataciteClient = new DataciteClient(httpClient);
+
+        var exception = assertThrows(IOException.class,
+                                     () -> dataciteClient.fetchMetadata(EXAMPLE_URL,
+                                                                        DataciteContentType.DATACITE_JSON));
+
+        assertThat(exception.getMessage(), containsString(DataciteClient.UNKNOWN_ERROR_MESSAGE));
+    }
+
+    @Test
+    public void fetchMetadataThrowsIOExceptionWhenDataciteCannotBeReached() {
+        var dataciteClient = new DataciteClient(httpClientFailingWith(new IOException("Connection refused")));
+
+        assertThrows(IOException.class,
+                     () -> dataciteClient.fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON));
+    }
+
+    @Test
+    public void fetchMetadataWrapsCheckedExceptionsInIOException() {
+        var dataciteClient = new DataciteClient(httpClientFailingWith(new Exception()));
+
+        assertThrows(IOException.class,
+                     () -> dataciteClient.fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON));
+    }
+
+    @Test
+    public void fetchMetadataRethrowsRuntimeExceptions() {
+        var dataciteClient = new DataciteClient(httpClientFailingWith(new IllegalStateException()));
+
+        assertThrows(IllegalStateException.class,
+                     () -> dataciteClient.fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON));
+    }
+
+    @Test
+    public void fetchMetadataThrowsIOExceptionWhenDoiUrlIsInvalid() {
+        var dataciteClient = new DataciteClient(mock(HttpClient.class));
+
+        assertThrows(IOException.class,
+                     () -> dataciteClient.fetchMetadata("https://doi.org/10.1000/<invalid>",
+                                                        DataciteContentType.DATACITE_JSON));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void cancellingFetchMetadataAsyncAbortsTheHttpExchange() {
+        var pendingResponse = new CompletableFuture<HttpResponse<Object>>();
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.sendAsync(any(), any())).thenReturn(pendingResponse);
+
+        new DataciteClient(httpClient)
+            .fetchMetadataAsync(EXAMPLE_URL, DataciteContentType.DATACITE_JSON)
+            .cancel(true);
+
+        assertThat(pendingResponse.isCancelled(), is(true));
+    }
+
+    @Test
+    public void fetchMetadataKeepsValidatorsOfDataciteResponse() throws IOException {
+        var response = new HttpResponseStatus200<>(toBytes(MOCK_URL_CONTENT))
+                           .withHeader(HttpHeaders.ETAG, ETAG)
+                           .withHeader(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+
+        var actual = new DataciteClient(new MockHttpClient<>(response))
+                         .fetchMetadata(EXAMPLE_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual.getEtag(), is(equalTo(ETAG)));
+        assertThat(actual.getLastModified(), is(equalTo(LAST_MODIFIED)));
+    }
+
+    @Test
+    public void fetchMetadataAsyncRevalidatesCachedMetadataAndReturnsItWhenNotModified() {
+        var cachedMetadata =
+            new MetadataAndContentLocation(DataciteClient.DATACITE_BASE_URL_STRING, MOCK_URL_CONTENT, ETAG, null);
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus304<>(toBytes(EMPTY_STRING)));
+
+        var actual = new DataciteClient(httpClient)
+                         .fetchMetadataAsync(EXAMPLE_URL, DataciteContentType.DATACITE_JSON, cachedMetadata)
+                         .join();
+
+        assertThat(actual, is(sameInstance(cachedMetadata)));
+        var request = httpClient.getHttpRequest();
+        assertThat(request.headers().firstValue(HttpHeaders.IF_NONE_MATCH).orElseThrow(), is(equalTo(ETAG)));
+        assertThat(request.headers().firstValue(HttpHeaders.IF_MODIFIED_SINCE).isPresent(), is(false));
+    }
+
+    private static byte[] toBytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpClient httpClientFailingWith(Throwable throwable) {
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.failedFuture(throwable));
+        return httpClient;
     }
 }
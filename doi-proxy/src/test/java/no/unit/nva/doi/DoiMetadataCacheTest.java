@@ -0,0 +1,301 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import no.unit.nva.doi.DoiMetadataCache.MetadataLoader;
+import no.unit.nva.doi.utils.MutableClock;
+import no.unit.nva.doi.utils.QueuedExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DoiMetadataCacheTest {
+
+    public static final String DOI_URL = "https://doi.org/10.1000/ABC";
+    public static final String SAME_DOI = "10.1000/abc";
+    public static final String OTHER_DOI = "10.1000/def";
+    public static final Duration TTL = Duration.ofMinutes(5);
+    public static final Duration STALE_WHILE_REVALIDATE = Duration.ofMinutes(10);
+    public static final Duration NEGATIVE_TTL = Duration.ofMinutes(1);
+    public static final int MAX_ENTRIES = 2;
+    public static final long MAX_SEGMENT_BYTES = 1024 * 1024;
+    public static final DataciteContentType CONTENT_TYPE = DataciteContentType.DATACITE_JSON;
+    public static final MetadataAndContentLocation FIRST_METADATA =
+        new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, "first", "\"etag\"", null);
+    public static final MetadataAndContentLocation SECOND_METADATA =
+        new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, "second");
+
+    @TempDir
+    Path directory;
+    private MutableClock clock;
+    private QueuedExecutor refreshExecutor;
+    private DoiMetadataCache cache;
+
+    @BeforeEach
+    public void init() {
+        clock = new MutableClock();
+        refreshExecutor = new QueuedExecutor();
+        cache = new DoiMetadataCache(MAX_ENTRIES, TTL, STALE_WHILE_REVALIDATE, NEGATIVE_TTL, clock, refreshExecutor);
+    }
+
+    @Test
+    public void getServesFreshEntryWithoutCallingLoaderForSameNormalizedDoi() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA);
+
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        var actual = cache.get(SAME_DOI, CONTENT_TYPE, loader);
+
+        assertThat(actual, is(equalTo(FIRST_METADATA)));
+        assertThat(loader.calls.size(), is(equalTo(1)));
+        assertThat(cache.getHitCount(), is(equalTo(1L)));
+        assertThat(cache.getMissCount(), is(equalTo(1L)));
+        assertThat(cache.getHitRatio(), is(closeTo(0.5, 0.001)));
+    }
+
+    @Test
+    public void getServesStaleEntryAndRefreshesItInBackgroundWithinStaleWhileRevalidate() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA, SECOND_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        clock.advance(TTL);
+
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(equalTo(FIRST_METADATA)));
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(equalTo(FIRST_METADATA)));
+        assertThat(refreshExecutor.pendingTasks(), is(equalTo(1)));
+
+        refreshExecutor.runAll();
+
+        assertThat(loader.calls.get(1), is(equalTo(FIRST_METADATA)));
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(equalTo(SECOND_METADATA)));
+        assertThat(cache.getStaleHitCount(), is(equalTo(2L)));
+    }
+
+    @Test
+    public void getKeepsStaleEntryWhenBackgroundRefreshFails() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        clock.advance(TTL);
+
+        cache.get(DOI_URL, CONTENT_TYPE, staleMetadata -> {
+            throw new IOException("Upstream unavailable");
+        });
+        refreshExecutor.runAll();
+
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(equalTo(FIRST_METADATA)));
+        assertThat(refreshExecutor.pendingTasks(), is(equalTo(1)));
+    }
+
+    @Test
+    public void getPassesExpiredEntryToLoaderForRevalidationAfterStaleWhileRevalidate() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA, SECOND_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE));
+
+        var actual = cache.get(DOI_URL, CONTENT_TYPE, loader);
+
+        assertThat(actual, is(equalTo(SECOND_METADATA)));
+        assertThat(loader.calls, is(equalTo(listOf(null, FIRST_METADATA))));
+    }
+
+    @Test
+    public void getRemembersDoisWithoutMetadataUntilNegativeTtlHasPassed() throws IOException {
+        var loader = new RecordingLoader(null, FIRST_METADATA);
+
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(nullValue()));
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(nullValue()));
+        assertThat(loader.calls.size(), is(equalTo(1)));
+
+        clock.advance(NEGATIVE_TTL);
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(equalTo(FIRST_METADATA)));
+    }
+
+    @Test
+    public void getDoesNotCacheFailedLoads() throws IOException {
+        assertThrows(IOException.class, () -> cache.get(DOI_URL, CONTENT_TYPE, staleMetadata -> {
+            throw new IOException("Upstream unavailable");
+        }));
+
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void getServesExpiredMetadataWhenRevalidationFails() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA, SECOND_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE));
+
+        var actual = cache.get(DOI_URL, CONTENT_TYPE, staleMetadata -> {
+            throw new IOException("Upstream unavailable");
+        });
+
+        assertThat(actual, is(equalTo(FIRST_METADATA)));
+        assertThat(cache.get(DOI_URL, CONTENT_TYPE, loader), is(equalTo(SECOND_METADATA)));
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsedEntryWhenFull() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        cache.get(OTHER_DOI, CONTENT_TYPE, loader);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+
+        cache.get("10.1000/ghi", CONTENT_TYPE, loader);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        cache.get(OTHER_DOI, CONTENT_TYPE, loader);
+
+        assertThat(cache.size(), is(equalTo(MAX_ENTRIES)));
+        assertThat(loader.calls.size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void purgeRemovesAllEntriesOfDoi() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        cache.get(DOI_URL, DataciteContentType.CITEPROC_JSON, loader);
+
+        cache.purge(SAME_DOI);
+
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void purgeAllRemovesAllEntries() throws IOException {
+        var loader = new RecordingLoader(FIRST_METADATA);
+        cache.get(DOI_URL, CONTENT_TYPE, loader);
+        cache.get(OTHER_DOI, CONTENT_TYPE, loader);
+
+        cache.purgeAll();
+
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void getHitRatioIsZeroBeforeAnyLookup() {
+        assertThat(cache.getHitRatio(), is(equalTo(0.0)));
+    }
+
+    @Test
+    public void normalizeDoiReturnsLowerCasedDoiForDoiUrlsAndBareDois() {
+        assertThat(DoiMetadataCache.normalizeDoi(DOI_URL), is(equalTo(SAME_DOI)));
+        assertThat(DoiMetadataCache.normalizeDoi(" 10.1000/ABC "), is(equalTo(SAME_DOI)));
+        assertThat(DoiMetadataCache.normalizeDoi("10.1000/a b"), is(equalTo("10.1000/a b")));
+    }
+
+    @Test
+    public void getServesMetadataFromSegmentStoreWithoutCallingLoaderAfterRestart() throws IOException {
+        var segmentFile = directory.resolve("metadata.segment");
+        var loader = new RecordingLoader(FIRST_METADATA);
+        cacheWithSegmentStore(segmentFile).get(DOI_URL, CONTENT_TYPE, loader);
+
+        var actual = cacheWithSegmentStore(segmentFile).get(SAME_DOI, CONTENT_TYPE, loader);
+
+        assertThat(actual.getJson(), is(equalTo(FIRST_METADATA.getJson())));
+        assertThat(actual.getEtag(), is(equalTo(FIRST_METADATA.getEtag())));
+        assertThat(loader.calls.size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void getRevalidatesExpiredMetadataFromSegmentStore() throws IOException {
+        var segmentFile = directory.resolve("metadata.segment");
+        var loader = new RecordingLoader(FIRST_METADATA, SECOND_METADATA);
+        cacheWithSegmentStore(segmentFile).get(DOI_URL, CONTENT_TYPE, loader);
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE));
+
+        var actual = cacheWithSegmentStore(segmentFile).get(DOI_URL, CONTENT_TYPE, loader);
+
+        assertThat(actual, is(equalTo(SECOND_METADATA)));
+        assertThat(loader.calls.get(1).getJson(), is(equalTo(FIRST_METADATA.getJson())));
+    }
+
+    @Test
+    public void purgeAndNegativeEntriesRemoveMetadataFromSegmentStore() throws IOException {
+        var segmentFile = directory.resolve("metadata.segment");
+        var cacheWithStore = cacheWithSegmentStore(segmentFile);
+        cacheWithStore.get(DOI_URL, CONTENT_TYPE, new RecordingLoader(FIRST_METADATA));
+        cacheWithStore.get(OTHER_DOI, CONTENT_TYPE, new RecordingLoader(FIRST_METADATA));
+        cacheWithStore.purge(DOI_URL);
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE));
+        cacheWithStore.get(OTHER_DOI, CONTENT_TYPE, new RecordingLoader((MetadataAndContentLocation) null));
+
+        assertThat(new MetadataSegmentStore(segmentFile, MAX_SEGMENT_BYTES).entryCount(), is(equalTo(0)));
+    }
+
+    @Test
+    public void failedLoadsKeepMetadataInSegmentStore() throws IOException {
+        var segmentFile = directory.resolve("metadata.segment");
+        var cacheWithStore = cacheWithSegmentStore(segmentFile);
+        cacheWithStore.get(DOI_URL, CONTENT_TYPE, new RecordingLoader(FIRST_METADATA));
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE));
+
+        cacheWithStore.get(DOI_URL, CONTENT_TYPE, staleMetadata -> {
+            throw new IOException("Upstream unavailable");
+        });
+
+        assertThat(new MetadataSegmentStore(segmentFile, MAX_SEGMENT_BYTES).entryCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void purgeAllClearsSegmentStore() throws IOException {
+        var segmentFile = directory.resolve("metadata.segment");
+        var cacheWithStore = cacheWithSegmentStore(segmentFile);
+        cacheWithStore.get(DOI_URL, CONTENT_TYPE, new RecordingLoader(FIRST_METADATA));
+
+        cacheWithStore.purgeAll();
+
+        assertThat(new MetadataSegmentStore(segmentFile, MAX_SEGMENT_BYTES).entryCount(), is(equalTo(0)));
+    }
+
+    @Test
+    public void getTreatsFailingSegmentStoreAsMiss() throws IOException {
+        var segmentStore = mock(MetadataSegmentStore.class);
+        when(segmentStore.read(anyString())).thenThrow(new IOException("Disk full"));
+        doThrow(new IOException("Disk full")).when(segmentStore).write(anyString(), any(), anyLong());
+        var cacheWithStore = new DoiMetadataCache(MAX_ENTRIES, TTL, STALE_WHILE_REVALIDATE, NEGATIVE_TTL, clock,
+                                                  refreshExecutor, segmentStore);
+
+        var actual = cacheWithStore.get(DOI_URL, CONTENT_TYPE, new RecordingLoader(FIRST_METADATA));
+
+        assertThat(actual, is(equalTo(FIRST_METADATA)));
+    }
+
+    private DoiMetadataCache cacheWithSegmentStore(Path segmentFile) throws IOException {
+        return new DoiMetadataCache(MAX_ENTRIES, TTL, STALE_WHILE_REVALIDATE, NEGATIVE_TTL, clock, refreshExecutor,
+                                    new MetadataSegmentStore(segmentFile, MAX_SEGMENT_BYTES));
+    }
+
+    private static List<MetadataAndContentLocation> listOf(MetadataAndContentLocation... values) {
+        return Arrays.asList(values);
+    }
+
+    private static class RecordingLoader implements MetadataLoader {
+
+        private final List<MetadataAndContentLocation> results;
+        private final List<MetadataAndContentLocation> calls = new ArrayList<>();
+
+        RecordingLoader(MetadataAndContentLocation... results) {
+            this.results = new ArrayList<>(Arrays.asList(results));
+        }
+
+        @Override
+        public MetadataAndContentLocation load(MetadataAndContentLocation staleMetadata) {
+            calls.add(staleMetadata);
+            return results.size() > 1 ? results.remove(0) : results.get(0);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+import no.unit.nva.doi.utils.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class DoiPrefixRoutingTableTest {
+
+    public static final String ZENODO_DOI = "https://doi.org/10.5281/zenodo.1234";
+    public static final String OTHER_ZENODO_DOI = "10.5281/zenodo.5678";
+    public static final String CROSSREF_DOI = "https://doi.org/10.1007/s00115-004-1822-4";
+    public static final Duration TTL = Duration.ofHours(1);
+    public static final Duration NEGATIVE_TTL = Duration.ofMinutes(1);
+    public static final int MAX_ENTRIES = 2;
+
+    private MutableClock clock;
+    private RegistrationAgencyClient registrationAgencyClient;
+
+    @BeforeEach
+    public void init() {
+        clock = new MutableClock();
+        registrationAgencyClient = mock(RegistrationAgencyClient.class);
+    }
+
+    @Test
+    public void extractPrefixReturnsPrefixOfDoiUrl() {
+        assertThat(DoiPrefixRoutingTable.extractPrefix(ZENODO_DOI), is(equalTo(Optional.of("10.5281"))));
+    }
+
+    @Test
+    public void extractPrefixReturnsPrefixOfBareDoi() {
+        assertThat(DoiPrefixRoutingTable.extractPrefix(OTHER_ZENODO_DOI), is(equalTo(Optional.of("10.5281"))));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"https://doi.org/10.5281", "https://example.org/abc/def", "https://doi.org/10./abc",
+        "doi:10.5281/zenodo.1234", "not a uri/10.5281"})
+    public void extractPrefixReturnsEmptyWhenInputIsNotADoi(String input) {
+        assertThat(DoiPrefixRoutingTable.extractPrefix(input), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    public void routeReturnsUnknownAndCountsMissWhenPrefixHasNotBeenSeen() {
+        var routingTable = new DoiPrefixRoutingTable();
+
+        assertThat(routingTable.route(ZENODO_DOI), is(equalTo(RegistrationAgency.UNKNOWN)));
+        assertThat(routingTable.getMissCount(), is(equalTo(1L)));
+        assertThat(routingTable.getHitCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void routeReturnsLearntRegistrationAgencyForOtherDoisWithSamePrefix() {
+        var routingTable = new DoiPrefixRoutingTable();
+        routingTable.learn(ZENODO_DOI, RegistrationAgency.DATACITE);
+        routingTable.learn(CROSSREF_DOI, RegistrationAgency.CROSSREF);
+
+        assertThat(routingTable.route(OTHER_ZENODO_DOI), is(equalTo(RegistrationAgency.DATACITE)));
+        assertThat(routingTable.route(CROSSREF_DOI), is(equalTo(RegistrationAgency.CROSSREF)));
+        assertThat(routingTable.getHitCount(), is(equalTo(2L)));
+        assertThat(routingTable.getMissCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void routeDoesNotCountDoisWithoutPrefix() {
+        var routingTable = new DoiPrefixRoutingTable();
+
+        assertThat(routingTable.route("https://example.org"), is(equalTo(RegistrationAgency.UNKNOWN)));
+        assertThat(routingTable.getMissCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void learnIgnoresUnknownRegistrationAgency() {
+        var routingTable = new DoiPrefixRoutingTable();
+        routingTable.learn(ZENODO_DOI, RegistrationAgency.UNKNOWN);
+
+        routingTable.route(ZENODO_DOI);
+        assertThat(routingTable.getMissCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void routeForgetsRegistrationAgencyAfterTtl() {
+        var routingTable = newRoutingTable(null);
+        routingTable.learn(ZENODO_DOI, RegistrationAgency.DATACITE);
+
+        clock.advance(TTL);
+
+        assertThat(routingTable.route(ZENODO_DOI), is(equalTo(RegistrationAgency.UNKNOWN)));
+        routingTable.learn(ZENODO_DOI, RegistrationAgency.DATACITE);
+        assertThat(routingTable.route(ZENODO_DOI), is(equalTo(RegistrationAgency.DATACITE)));
+    }
+
+    @Test
+    public void routeAsksRegistrationAgencyEndpointOnceForUnseenPrefix() {
+        when(registrationAgencyClient.fetchRegistrationAgency(anyString()))
+            .thenReturn(Optional.of(RegistrationAgency.DATACITE));
+        var routingTable = newRoutingTable(registrationAgencyClient);
+
+        assertThat(routingTable.route(ZENODO_DOI), is(equalTo(RegistrationAgency.DATACITE)));
+        assertThat(routingTable.route(OTHER_ZENODO_DOI), is(equalTo(RegistrationAgency.DATACITE)));
+
+        verify(registrationAgencyClient, times(1)).fetchRegistrationAgency("10.5281");
+        assertThat(routingTable.getMissCount(), is(equalTo(1L)));
+        assertThat(routingTable.getHitCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void routeKeepsNegativeEntryForUnplacedPrefixUntilNegativeTtlHasPassed() {
+        when(registrationAgencyClient.fetchRegistrationAgency(anyString()))
+            .thenReturn(Optional.of(RegistrationAgency.UNKNOWN));
+        var routingTable = newRoutingTable(registrationAgencyClient);
+
+        routingTable.route(ZENODO_DOI);
+        routingTable.route(ZENODO_DOI);
+        verify(registrationAgencyClient, times(1)).fetchRegistrationAgency(anyString());
+
+        clock.advance(NEGATIVE_TTL);
+        routingTable.route(ZENODO_DOI);
+        verify(registrationAgencyClient, times(2)).fetchRegistrationAgency(anyString());
+    }
+
+    @Test
+    public void routeDoesNotRememberPrefixWhenRegistrationAgencyEndpointCannotBeReached() {
+        when(registrationAgencyClient.fetchRegistrationAgency(anyString())).thenReturn(Optional.empty());
+        var routingTable = newRoutingTable(registrationAgencyClient);
+
+        assertThat(routingTable.route(ZENODO_DOI), is(equalTo(RegistrationAgency.UNKNOWN)));
+        routingTable.route(ZENODO_DOI);
+
+        verify(registrationAgencyClient, times(2)).fetchRegistrationAgency(anyString());
+    }
+
+    @Test
+    public void learnReplacesNegativeEntryWhenAnAgencyAnswers() {
+        when(registrationAgencyClient.fetchRegistrationAgency(anyString()))
+            .thenReturn(Optional.of(RegistrationAgency.UNKNOWN));
+        var routingTable = newRoutingTable(registrationAgencyClient);
+
+        routingTable.route(ZENODO_DOI);
+        routingTable.learn(ZENODO_DOI, RegistrationAgency.DATACITE);
+
+        assertThat(routingTable.route(ZENODO_DOI), is(equalTo(RegistrationAgency.DATACITE)));
+    }
+
+    @Test
+    public void learnDoesNotAddPrefixesBeyondMaxEntries() {
+        var routingTable = newRoutingTable(null);
+        routingTable.learn("10.1/a", RegistrationAgency.CROSSREF);
+        routingTable.learn("10.2/a", RegistrationAgency.CROSSREF);
+        routingTable.learn("10.3/a", RegistrationAgency.CROSSREF);
+        routingTable.learn("10.1/b", RegistrationAgency.DATACITE);
+
+        assertThat(routingTable.route("10.1/c"), is(equalTo(RegistrationAgency.DATACITE)));
+        assertThat(routingTable.route("10.2/c"), is(equalTo(RegistrationAgency.CROSSREF)));
+        assertThat(routingTable.route("10.3/c"), is(equalTo(RegistrationAgency.UNKNOWN)));
+    }
+
+    @Test
+    public void learnReusesSlotOfExpiredEntry() {
+        var routingTable = newRoutingTable(null);
+        routingTable.learn("10.1/a", RegistrationAgency.CROSSREF);
+        routingTable.learn("10.2/a", RegistrationAgency.CROSSREF);
+        clock.advance(TTL);
+        routingTable.route("10.1/a");
+
+        routingTable.learn("10.3/a", RegistrationAgency.DATACITE);
+
+        assertThat(routingTable.route("10.3/a"), is(equalTo(RegistrationAgency.DATACITE)));
+    }
+
+    @Test
+    public void registrationAgencyIsFoundFromAgencyNameAndContentLocation() {
+        assertThat(RegistrationAgency.fromAgencyName("DataCite"), is(equalTo(RegistrationAgency.DATACITE)));
+        assertThat(RegistrationAgency.fromAgencyName("mEDRA"), is(equalTo(RegistrationAgency.UNKNOWN)));
+        assertThat(RegistrationAgency.fromAgencyName(null), is(equalTo(RegistrationAgency.UNKNOWN)));
+        assertThat(RegistrationAgency.fromContentLocation(CrossRefClient.CROSSREF_LINK),
+                   is(equalTo(RegistrationAgency.CROSSREF)));
+        assertThat(RegistrationAgency.fromContentLocation("content header"), is(equalTo(RegistrationAgency.UNKNOWN)));
+    }
+
+    private DoiPrefixRoutingTable newRoutingTable(RegistrationAgencyClient client) {
+        return new DoiPrefixRoutingTable(client, clock, TTL, NEGATIVE_TTL, MAX_ENTRIES);
+    }
+}
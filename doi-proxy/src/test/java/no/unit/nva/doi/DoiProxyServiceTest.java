@@ -1,13 +1,30 @@
 package no.unit.nva.doi;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import no.unit.nva.doi.fetch.exceptions.MetadataNotFoundException;
+import no.unit.nva.doi.utils.MutableClock;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +35,10 @@ public class DoiProxyServiceTest {
     public static final String EXAMPLE_DOI_URL = "https://doi.org/10.1000/182";
     public static final String CONTENT_HEADER = "content header";
     public static final String METADATA_JSON = "metadata json";
+    public static final MetadataAndContentLocation CROSSREF_METADATA =
+        new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, METADATA_JSON);
+    public static final MetadataAndContentLocation DATACITE_METADATA =
+        new MetadataAndContentLocation(DataciteClient.DATACITE_BASE_URL_STRING, METADATA_JSON);
     private CrossRefClient crossRefClient;
     private DataciteClient dataciteClient;
 
@@ -42,4 +63,324 @@ public class DoiProxyServiceTest {
         assertNotNull(metadataAndContentLocation.getJson());
     }
 
+    @Test
+    public void lookupDoiMetadataReturnsDataciteMetadataInConcurrentModeWhenCrossrefHasNoEntry()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(dataciteClient.fetchMetadataAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(DATACITE_METADATA));
+
+        var actual = concurrentDoiProxyService().lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(DATACITE_METADATA)));
+    }
+
+    @Test
+    public void lookupDoiMetadataPrefersCrossrefInConcurrentModeWhenBothAgenciesAnswer()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(CROSSREF_METADATA)));
+        when(dataciteClient.fetchMetadataAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(DATACITE_METADATA));
+
+        var actual = concurrentDoiProxyService().lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(CROSSREF_METADATA)));
+    }
+
+    @Test
+    public void lookupDoiMetadataDoesNotWaitForSlowCrossrefAndCancelsItWhenDataciteAnswersFirst()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        CompletableFuture<Optional<MetadataAndContentLocation>> pendingCrossRefLookup = new CompletableFuture<>();
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any())).thenReturn(pendingCrossRefLookup);
+        when(dataciteClient.fetchMetadataAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(DATACITE_METADATA));
+
+        var actual = concurrentDoiProxyService().lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(DATACITE_METADATA)));
+        assertThat(pendingCrossRefLookup.isCancelled(), is(true));
+    }
+
+    @Test
+    public void lookupDoiMetadataCancelsSlowDataciteLookupWhenCrossrefAnswersFirst()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        CompletableFuture<MetadataAndContentLocation> pendingDataciteLookup = new CompletableFuture<>();
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(CROSSREF_METADATA)));
+        when(dataciteClient.fetchMetadataAsync(anyString(), any())).thenReturn(pendingDataciteLookup);
+
+        var actual = concurrentDoiProxyService().lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(CROSSREF_METADATA)));
+        assertThat(pendingDataciteLookup.isCancelled(), is(true));
+    }
+
+    @Test
+    public void lookupDoiMetadataThrowsMetadataNotFoundInConcurrentModeWhenNoAgencyHasAnEntry() throws IOException {
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(dataciteClient.fetchMetadataAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new FileNotFoundException()));
+
+        var service = concurrentDoiProxyService();
+        var exception = assertThrows(MetadataNotFoundException.class,
+                                     () -> service.lookupDoiMetadata(EXAMPLE_DOI_URL,
+                                                                     DataciteContentType.DATACITE_JSON));
+
+        assertThat(exception.getMessage().contains(DoiProxyService.ERROR_READING_METADATA), is(true));
+    }
+
+    @Test
+    public void lookupDoiMetadataThrowsIoExceptionInConcurrentModeWhenDataciteFailsAndCrossrefHasNoEntry() {
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(dataciteClient.fetchMetadataAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException("Service unavailable")));
+
+        var service = concurrentDoiProxyService();
+
+        assertThrows(IOException.class,
+                     () -> service.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON));
+    }
+
+    @Test
+    public void lookupDoiMetadataDoesNotUseConcurrentLookupInSequentialMode()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.of(CROSSREF_METADATA));
+
+        var actual = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL)
+                         .lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        Assertions.assertEquals(CROSSREF_METADATA, actual);
+        verify(crossRefClient, never()).lookupDataForDoiAsync(anyString(), any());
+        verify(dataciteClient, never()).fetchMetadata(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataSkipsCrossrefForPrefixLearntToBelongToDatacite()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.empty());
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenReturn(DATACITE_METADATA);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+        var actual = doiProxyService.lookupDoiMetadata("https://doi.org/10.1000/183",
+                                                       DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(DATACITE_METADATA)));
+        verify(crossRefClient, times(1)).lookupDataForDoi(anyString());
+        verify(dataciteClient, times(2)).fetchMetadata(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataOnlyAsksCrossrefForPrefixRoutedToCrossref()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoiAsync(anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(Optional.of(CROSSREF_METADATA)));
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.of(CROSSREF_METADATA));
+        var routingTable = new DoiPrefixRoutingTable();
+        routingTable.learn(EXAMPLE_DOI_URL, RegistrationAgency.CROSSREF);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.CONCURRENT,
+                                                  routingTable);
+
+        var actual = doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(CROSSREF_METADATA)));
+        verify(crossRefClient, never()).lookupDataForDoiAsync(anyString(), any());
+        verify(dataciteClient, never()).fetchMetadataAsync(anyString(), any());
+        assertThat(routingTable.getHitCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void lookupDoiMetadataAsksEveryAgencyWhenCrossrefFailsForPrefixRoutedToCrossref()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenThrow(new IOException("Service unavailable"));
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenReturn(DATACITE_METADATA);
+        var routingTable = new DoiPrefixRoutingTable();
+        routingTable.learn(EXAMPLE_DOI_URL, RegistrationAgency.CROSSREF);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL,
+                                                  routingTable);
+
+        var actual = doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(DATACITE_METADATA)));
+        verify(crossRefClient, times(2)).lookupDataForDoi(anyString());
+    }
+
+    @Test
+    public void lookupDoiMetadataDoesNotRememberDoiWhenCrossrefFailsAndDataciteHasNoEntry() throws IOException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenThrow(new IOException("Service unavailable"));
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenThrow(new FileNotFoundException());
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        assertThrows(IOException.class,
+                     () -> doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON));
+        assertThrows(IOException.class,
+                     () -> doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON));
+
+        verify(crossRefClient, times(2)).lookupDataForDoi(anyString());
+    }
+
+    @Test
+    public void lookupDoiMetadataServesRepeatedLookupsOfSameDoiFromCache()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.of(CROSSREF_METADATA));
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+        var actual = doiProxyService.lookupDoiMetadata("10.1000/182", DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(CROSSREF_METADATA)));
+        verify(crossRefClient, times(1)).lookupDataForDoi(anyString());
+    }
+
+    @Test
+    public void lookupDoiMetadataRemembersDoisNoAgencyHasAnEntryFor() throws IOException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.empty());
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenThrow(new FileNotFoundException());
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        assertThrows(MetadataNotFoundException.class,
+                     () -> doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON));
+        assertThrows(MetadataNotFoundException.class,
+                     () -> doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON));
+
+        verify(crossRefClient, times(1)).lookupDataForDoi(anyString());
+        verify(dataciteClient, times(1)).fetchMetadata(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataRevalidatesExpiredMetadataAtTheAgencyThatDeliveredIt()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        var clock = new MutableClock();
+        var cache = new DoiMetadataCache(10, Duration.ofMinutes(1), Duration.ZERO, Duration.ofMinutes(1), clock,
+                                         Runnable::run);
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.empty());
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenReturn(DATACITE_METADATA);
+        when(dataciteClient.fetchMetadata(anyString(), any(), any())).thenReturn(DATACITE_METADATA);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL,
+                                                  new DoiPrefixRoutingTable(), cache);
+
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+        clock.advance(Duration.ofMinutes(1));
+        var actual = doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(DATACITE_METADATA)));
+        verify(dataciteClient, times(1)).fetchMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON,
+                                                       DATACITE_METADATA);
+        verify(crossRefClient, times(1)).lookupDataForDoi(anyString());
+    }
+
+    @Test
+    public void lookupDoiMetadataServesExpiredMetadataWhenRevalidationFails()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        var clock = new MutableClock();
+        var cache = new DoiMetadataCache(10, Duration.ofMinutes(1), Duration.ZERO, Duration.ofMinutes(1), clock,
+                                         Runnable::run);
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.of(CROSSREF_METADATA));
+        when(crossRefClient.lookupDataForDoi(anyString(), any())).thenThrow(new IOException("Service unavailable"));
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL,
+                                                  new DoiPrefixRoutingTable(), cache);
+
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+        clock.advance(Duration.ofMinutes(1));
+        var actual = doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(CROSSREF_METADATA)));
+        verify(crossRefClient, times(1)).lookupDataForDoi(anyString());
+        verify(crossRefClient, times(1)).lookupDataForDoi(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataLooksUpDoiAgainWhenExpiredMetadataCameFromElsewhere()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        var clock = new MutableClock();
+        var cache = new DoiMetadataCache(10, Duration.ofMinutes(1), Duration.ZERO, Duration.ofMinutes(1), clock,
+                                         Runnable::run);
+        var otherMetadata = new MetadataAndContentLocation(CONTENT_HEADER, METADATA_JSON);
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenReturn(otherMetadata);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL,
+                                                  new DoiPrefixRoutingTable(), cache);
+
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+        clock.advance(Duration.ofMinutes(1));
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        verify(dataciteClient, times(2)).fetchMetadata(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataForSeveralDoisFallsBackToDataciteForDoisMissingAtCrossref() throws IOException {
+        var otherDoiUrl = "https://doi.org/10.5555/other";
+        when(crossRefClient.fetchDataForDois(anyCollection()))
+            .thenReturn(Map.of(EXAMPLE_DOI_URL, Optional.of(CROSSREF_METADATA), otherDoiUrl, Optional.empty()));
+        when(dataciteClient.fetchMetadata(eq(otherDoiUrl), any())).thenReturn(DATACITE_METADATA);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        var actual = doiProxyService.lookupDoiMetadata(List.of(EXAMPLE_DOI_URL, otherDoiUrl),
+                                                       DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(Map.of(EXAMPLE_DOI_URL, CROSSREF_METADATA, otherDoiUrl, DATACITE_METADATA))));
+        verify(crossRefClient, times(1)).fetchDataForDois(Set.of(EXAMPLE_DOI_URL, otherDoiUrl));
+        verify(crossRefClient, never()).lookupDataForDoi(anyString());
+        verify(dataciteClient, times(1)).fetchMetadata(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataForSeveralDoisLeavesOutDoisWithoutMetadata() throws IOException {
+        when(crossRefClient.fetchDataForDois(anyCollection())).thenReturn(Map.of(EXAMPLE_DOI_URL, Optional.empty()));
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenThrow(new FileNotFoundException());
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        var actual = doiProxyService.lookupDoiMetadata(List.of(EXAMPLE_DOI_URL), DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual.isEmpty(), is(true));
+    }
+
+    @Test
+    public void lookupDoiMetadataForSeveralDoisLooksUpDoisLeftOutOfCrossrefAnswerOneByOne() throws IOException {
+        when(crossRefClient.fetchDataForDois(anyCollection())).thenReturn(Map.of());
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.of(CROSSREF_METADATA));
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+
+        var actual = doiProxyService.lookupDoiMetadata(List.of(EXAMPLE_DOI_URL), DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(Map.of(EXAMPLE_DOI_URL, CROSSREF_METADATA))));
+        verify(crossRefClient, times(1)).lookupDataForDoi(EXAMPLE_DOI_URL);
+        verify(dataciteClient, never()).fetchMetadata(anyString(), any());
+    }
+
+    @Test
+    public void lookupDoiMetadataForSeveralDoisServesCachedDoisWithoutAskingCrossref()
+        throws MetadataNotFoundException, IOException, URISyntaxException {
+        when(crossRefClient.lookupDataForDoi(anyString())).thenReturn(Optional.of(CROSSREF_METADATA));
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient);
+        doiProxyService.lookupDoiMetadata(EXAMPLE_DOI_URL, DataciteContentType.DATACITE_JSON);
+
+        var actual = doiProxyService.lookupDoiMetadata(List.of(EXAMPLE_DOI_URL), DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(Map.of(EXAMPLE_DOI_URL, CROSSREF_METADATA))));
+        verify(crossRefClient, never()).fetchDataForDois(anyCollection());
+    }
+
+    @Test
+    public void lookupDoiMetadataForSeveralDoisLooksUpDoisRoutedToDataciteOnlyAtDatacite() throws IOException {
+        var routingTable = new DoiPrefixRoutingTable();
+        routingTable.learn(EXAMPLE_DOI_URL, RegistrationAgency.DATACITE);
+        when(dataciteClient.fetchMetadata(anyString(), any())).thenReturn(DATACITE_METADATA);
+        var doiProxyService = new DoiProxyService(crossRefClient, dataciteClient, LookupMode.SEQUENTIAL,
+                                                  routingTable);
+
+        var actual = doiProxyService.lookupDoiMetadata(List.of(EXAMPLE_DOI_URL), DataciteContentType.DATACITE_JSON);
+
+        assertThat(actual, is(equalTo(Map.of(EXAMPLE_DOI_URL, DATACITE_METADATA))));
+        verify(crossRefClient, never()).fetchDataForDois(anyCollection());
+    }
+
+    private DoiProxyService concurrentDoiProxyService() {
+        return new DoiProxyService(crossRefClient, dataciteClient, LookupMode.CONCURRENT);
+    }
+
 }
@@ -0,0 +1,29 @@
+package no.unit.nva.doi;
+
+import static no.unit.nva.doi.LookupMode.DOI_LOOKUP_MODE_ENV;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.Test;
+
+public class LookupModeTest {
+
+    @Test
+    public void fromEnvironmentReturnsConfiguredModeIgnoringCase() {
+        var environment = mock(Environment.class);
+        when(environment.readEnvOpt(DOI_LOOKUP_MODE_ENV)).thenReturn(Optional.of("concurrent"));
+
+        assertEquals(LookupMode.CONCURRENT, LookupMode.fromEnvironment(environment));
+    }
+
+    @Test
+    public void fromEnvironmentReturnsSequentialWhenModeIsNotConfigured() {
+        var environment = mock(Environment.class);
+        when(environment.readEnvOpt(DOI_LOOKUP_MODE_ENV)).thenReturn(Optional.empty());
+
+        assertEquals(LookupMode.SEQUENTIAL, LookupMode.fromEnvironment(environment));
+    }
+}
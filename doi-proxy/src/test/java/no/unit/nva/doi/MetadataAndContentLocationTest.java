@@ -0,0 +1,43 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class MetadataAndContentLocationTest {
+
+    public static final String JSON = "{\"title\":\"Ærlig talt\"}";
+
+    @Test
+    public void getJsonStreamReturnsUtf8BytesOfMetadata() throws IOException {
+        var metadata = new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, JSON);
+
+        byte[] actual = metadata.getJsonStream().readAllBytes();
+
+        assertThat(actual, is(equalTo(JSON.getBytes(StandardCharsets.UTF_8))));
+        assertThat(metadata.getJsonLength(), is(equalTo(actual.length)));
+    }
+
+    @Test
+    public void fromBytesDecodesMetadataOnlyWhenAskedForString() {
+        var metadata = MetadataAndContentLocation.fromBytes(DataciteClient.DATACITE_BASE_URL_STRING,
+                                                            JSON.getBytes(StandardCharsets.UTF_8), "\"etag\"", null);
+
+        assertThat(metadata.getJson(), is(equalTo(JSON)));
+        assertThat(metadata.getEtag(), is(equalTo("\"etag\"")));
+    }
+
+    @Test
+    public void metadataWithoutJsonHasNoStreamAndNoLength() {
+        var metadata = new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, null);
+
+        assertThat(metadata.getJson(), is(nullValue()));
+        assertThat(metadata.getJsonStream(), is(nullValue()));
+        assertThat(metadata.getJsonLength(), is(equalTo(0)));
+    }
+}
@@ -0,0 +1,219 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetadataSegmentStoreTest {
+
+    public static final String KEY = "10.1000/182 application/vnd.datacite.datacite+json";
+    public static final String OTHER_KEY = "10.1000/183 application/vnd.datacite.datacite+json";
+    public static final long STORED_AT = 1_700_000_000_000L;
+    public static final long MAX_BYTES = 1024 * 1024;
+    public static final MetadataAndContentLocation METADATA =
+        new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, "{\"title\":\"Ærlig talt\"}", "\"etag\"", null);
+
+    @TempDir
+    Path directory;
+    private Path segmentFile;
+
+    @BeforeEach
+    public void init() {
+        segmentFile = directory.resolve("cache").resolve("metadata.segment");
+    }
+
+    @Test
+    public void readReturnsWrittenMetadata() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+
+        store.write(KEY, METADATA, STORED_AT);
+        var actual = store.read(KEY).orElseThrow();
+
+        assertEqualMetadata(actual.metadata(), METADATA);
+        assertThat(actual.storedAt(), is(equalTo(STORED_AT)));
+        assertThat(store.read(OTHER_KEY), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    public void readReturnsLatestRecordWhenKeyIsWrittenSeveralTimes() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        var newerMetadata = new MetadataAndContentLocation(DataciteClient.DATACITE_BASE_URL_STRING, "{}");
+
+        store.write(KEY, METADATA, STORED_AT);
+        store.write(KEY, newerMetadata, STORED_AT + 1);
+
+        assertEqualMetadata(store.read(KEY).orElseThrow().metadata(), newerMetadata);
+        assertThat(store.entryCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void storeKeepsRecordsAndTombstonesWhenReopened() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        store.write(KEY, METADATA, STORED_AT);
+        store.write(OTHER_KEY, METADATA, STORED_AT);
+        store.delete(OTHER_KEY);
+        store.delete("unknown key");
+
+        var reopened = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+
+        assertEqualMetadata(reopened.read(KEY).orElseThrow().metadata(), METADATA);
+        assertThat(reopened.read(OTHER_KEY), is(equalTo(Optional.empty())));
+        assertThat(reopened.entryCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void storeStoresMetadataCompressed() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        var largeMetadata = new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK,
+                                                           "{\"reference\":[]}".repeat(10_000));
+
+        store.write(KEY, largeMetadata, STORED_AT);
+
+        assertThat(store.sizeInBytes(), is(lessThan((long) largeMetadata.getJson().length() / 10)));
+        assertEqualMetadata(store.read(KEY).orElseThrow().metadata(), largeMetadata);
+    }
+
+    @Test
+    public void readIgnoresRecordWhoseChecksumDoesNotMatch() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        store.write(KEY, METADATA, STORED_AT);
+
+        corruptLastByte();
+
+        assertThat(store.read(KEY), is(equalTo(Optional.empty())));
+        assertThat(store.entryCount(), is(equalTo(0)));
+    }
+
+    @Test
+    public void storeCutsOffDamagedTailWhenReopened() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        store.write(KEY, METADATA, STORED_AT);
+        final long intactSize = store.sizeInBytes();
+        store.write(OTHER_KEY, METADATA, STORED_AT);
+        try (var file = new RandomAccessFile(segmentFile.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        var reopened = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+
+        assertThat(reopened.entryCount(), is(equalTo(1)));
+        assertThat(reopened.sizeInBytes(), is(equalTo(intactSize)));
+        assertEqualMetadata(reopened.read(KEY).orElseThrow().metadata(), METADATA);
+    }
+
+    @Test
+    public void storeCutsOffRecordWithCorruptChecksumWhenReopened() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        store.write(KEY, METADATA, STORED_AT);
+        corruptLastByte();
+
+        var reopened = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+
+        assertThat(reopened.entryCount(), is(equalTo(0)));
+        assertThat(reopened.sizeInBytes(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void writeCompactsSegmentKeepingNewestRecordsWhenSizeLimitIsExceeded() throws IOException {
+        long maxBytes = 2048;
+        var store = new MetadataSegmentStore(segmentFile, maxBytes);
+        for (int i = 0; i < 100; i++) {
+            store.write("key " + i, new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK, "json " + i),
+                        STORED_AT + i);
+        }
+
+        assertThat(store.sizeInBytes(), is(lessThanOrEqualTo(maxBytes)));
+        assertThat(store.read("key 99").orElseThrow().metadata().getJson(), is(equalTo("json 99")));
+        assertThat(store.read("key 0"), is(equalTo(Optional.empty())));
+        try (var files = Files.list(segmentFile.getParent())) {
+            assertThat(files.count(), is(equalTo(1L)));
+        }
+
+        var reopened = new MetadataSegmentStore(segmentFile, maxBytes);
+        assertThat(reopened.entryCount(), is(equalTo(store.entryCount())));
+    }
+
+    @Test
+    public void writeKeepsSegmentUsableWhenCompactionCannotWriteCompactedSegment() throws IOException {
+        long maxBytes = 2048;
+        var store = new MetadataSegmentStore(segmentFile, maxBytes) {
+            @Override
+            FileChannel openCompactedSegment() throws IOException {
+                FileChannel compacted = super.openCompactedSegment();
+                compacted.close();
+                return compacted;
+            }
+        };
+        int written = 0;
+        IOException failure = null;
+        while (failure == null) {
+            try {
+                store.write("key " + written, new MetadataAndContentLocation(CrossRefClient.CROSSREF_LINK,
+                                                                             "json " + written), STORED_AT + written);
+            } catch (IOException e) {
+                failure = e;
+            }
+            written++;
+        }
+
+        assertThat(failure, is(instanceOf(ClosedChannelException.class)));
+        assertThat(store.entryCount(), is(equalTo(written)));
+        assertThat(store.read("key 0").orElseThrow().metadata().getJson(), is(equalTo("json 0")));
+        try (var files = Files.list(segmentFile.getParent())) {
+            assertThat(files.count(), is(equalTo(1L)));
+        }
+
+        var reopened = new MetadataSegmentStore(segmentFile, maxBytes);
+        assertThat(reopened.entryCount(), is(equalTo(written)));
+    }
+
+    @Test
+    public void clearRemovesAllRecords() throws IOException {
+        var store = new MetadataSegmentStore(segmentFile, MAX_BYTES);
+        store.write(KEY, METADATA, STORED_AT);
+
+        store.clear();
+        store.write(OTHER_KEY, METADATA, STORED_AT);
+
+        assertThat(store.read(KEY), is(equalTo(Optional.empty())));
+        assertThat(new MetadataSegmentStore(segmentFile, MAX_BYTES).entryCount(), is(equalTo(1)));
+    }
+
+    @Test
+    public void constructorRejectsSizeLimitsTheMappingCannotAddress() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new MetadataSegmentStore(segmentFile, MetadataSegmentStore.MAX_SEGMENT_BYTES + 1));
+        assertThrows(IllegalArgumentException.class, () -> new MetadataSegmentStore(segmentFile, 0));
+    }
+
+    private void corruptLastByte() throws IOException {
+        try (var file = new RandomAccessFile(segmentFile.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+    }
+
+    private static void assertEqualMetadata(MetadataAndContentLocation actual, MetadataAndContentLocation expected) {
+        assertThat(actual.getContentHeader(), is(equalTo(expected.getContentHeader())));
+        assertThat(actual.getJson(), is(equalTo(expected.getJson())));
+        assertThat(actual.getEtag(), is(equalTo(expected.getEtag())));
+        assertThat(actual.getLastModified(), is(equalTo(expected.getLastModified())));
+    }
+}
@@ -0,0 +1,75 @@
+package no.unit.nva.doi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.doi.utils.HttpResponseStatus200;
+import no.unit.nva.doi.utils.HttpResponseStatus404;
+import no.unit.nva.doi.utils.MockHttpClient;
+import org.junit.jupiter.api.Test;
+
+public class RegistrationAgencyClientTest {
+
+    public static final String ZENODO_PREFIX = "10.5281";
+    public static final String DATACITE_RESPONSE = "[{\"DOI\": \"10.5281\", \"RA\": \"DataCite\"}]";
+    public static final String CROSSREF_RESPONSE = "[{\"DOI\": \"10.1007\", \"RA\": \"Crossref\"}]";
+    public static final String DOES_NOT_EXIST_RESPONSE =
+        "[{\"DOI\": \"10.99999\", \"status\": \"DOI does not exist\"}]";
+
+    @Test
+    public void fetchRegistrationAgencyAsksDoiOrgRaEndpointForPrefix() {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(DATACITE_RESPONSE));
+        new RegistrationAgencyClient(httpClient).fetchRegistrationAgency(ZENODO_PREFIX);
+
+        assertThat(httpClient.getHttpRequest().uri().toString(), is(equalTo("https://doi.org/ra/10.5281")));
+    }
+
+    @Test
+    public void fetchRegistrationAgencyReturnsAgencyReportedByDoiOrg() {
+        assertThat(fetchWithResponseBody(DATACITE_RESPONSE), is(equalTo(Optional.of(RegistrationAgency.DATACITE))));
+        assertThat(fetchWithResponseBody(CROSSREF_RESPONSE), is(equalTo(Optional.of(RegistrationAgency.CROSSREF))));
+    }
+
+    @Test
+    public void fetchRegistrationAgencyReturnsUnknownWhenDoiOrgDoesNotKnowThePrefix() {
+        assertThat(fetchWithResponseBody(DOES_NOT_EXIST_RESPONSE),
+                   is(equalTo(Optional.of(RegistrationAgency.UNKNOWN))));
+    }
+
+    @Test
+    public void fetchRegistrationAgencyReturnsEmptyWhenResponseIsNotJson() {
+        assertThat(fetchWithResponseBody("<html></html>"), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    public void fetchRegistrationAgencyReturnsEmptyWhenDoiOrgRespondsWithError() {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus404<>(""));
+
+        var actual = new RegistrationAgencyClient(httpClient).fetchRegistrationAgency(ZENODO_PREFIX);
+
+        assertThat(actual, is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    public void fetchRegistrationAgencyReturnsEmptyWhenDoiOrgCannotBeReached() {
+        var httpClient = mock(HttpClient.class);
+        when(httpClient.sendAsync(any(), any())).thenReturn(CompletableFuture.failedFuture(new IOException()));
+
+        var actual = new RegistrationAgencyClient(httpClient).fetchRegistrationAgency(ZENODO_PREFIX);
+
+        assertThat(actual, is(equalTo(Optional.empty())));
+    }
+
+    private static Optional<RegistrationAgency> fetchWithResponseBody(String body) {
+        var httpClient = new MockHttpClient<>(new HttpResponseStatus200<>(body));
+        return new RegistrationAgencyClient(httpClient).fetchRegistrationAgency(ZENODO_PREFIX);
+    }
+}
@@ -5,17 +5,26 @@ import java.net.http.HttpClient.Version;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.net.ssl.SSLSession;
 
 public abstract class AbstractHttpResponse<S> implements HttpResponse<S> {
 
     protected final S responseBody;
+    private final Map<String, List<String>> headers = new ConcurrentHashMap<>();
 
     public AbstractHttpResponse(S responseBody) {
         this.responseBody = responseBody;
     }
 
+    public AbstractHttpResponse<S> withHeader(String name, String value) {
+        headers.put(name, List.of(value));
+        return this;
+    }
+
     @Override
     public HttpRequest request() {
         return null;
@@ -28,7 +37,7 @@ public abstract class AbstractHttpResponse<S> implements HttpResponse<S> {
 
     @Override
     public HttpHeaders headers() {
-        return null;
+        return HttpHeaders.of(headers, (name, value) -> true);
     }
 
     @Override
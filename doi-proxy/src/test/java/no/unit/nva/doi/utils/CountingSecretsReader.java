@@ -0,0 +1,42 @@
+package no.unit.nva.doi.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import nva.commons.secrets.ErrorReadingSecretException;
+import nva.commons.secrets.SecretsReader;
+
+/**
+ * SecretsReader stand-in that hands out queued secret values and counts how often it is asked. A null value in the
+ * queue makes the corresponding fetch fail.
+ */
+public class CountingSecretsReader extends SecretsReader {
+
+    private static final String FAILURE = "<failure>";
+    private final Deque<String> values = new ArrayDeque<>();
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    private String lastValue;
+
+    public CountingSecretsReader(String... values) {
+        super(null);
+        for (String value : values) {
+            this.values.add(value == null ? FAILURE : value);
+        }
+    }
+
+    @Override
+    public synchronized String fetchSecret(String secretName, String secretKey) throws ErrorReadingSecretException {
+        fetchCount.incrementAndGet();
+        if (!values.isEmpty()) {
+            lastValue = values.poll();
+        }
+        if (FAILURE.equals(lastValue)) {
+            throw new ErrorReadingSecretException();
+        }
+        return lastValue;
+    }
+
+    public int getFetchCount() {
+        return fetchCount.get();
+    }
+}
@@ -0,0 +1,20 @@
+package no.unit.nva.doi.utils;
+
+import java.net.HttpURLConnection;
+
+public class HttpResponseStatus304<S> extends AbstractHttpResponse<S> {
+
+    public HttpResponseStatus304(S responseBody) {
+        super(responseBody);
+    }
+
+    @Override
+    public int statusCode() {
+        return HttpURLConnection.HTTP_NOT_MODIFIED;
+    }
+
+    @Override
+    public S body() {
+        return responseBody;
+    }
+}
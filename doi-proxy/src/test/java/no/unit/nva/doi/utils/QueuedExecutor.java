@@ -0,0 +1,34 @@
+package no.unit.nva.doi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that keeps submitted tasks until the test runs them.
+ */
+public class QueuedExecutor implements Executor {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public synchronized void execute(Runnable command) {
+        tasks.add(command);
+    }
+
+    public synchronized int pendingTasks() {
+        return tasks.size();
+    }
+
+    /**
+     * Runs the tasks submitted so far.
+     */
+    public void runAll() {
+        List<Runnable> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(tasks);
+            tasks.clear();
+        }
+        pending.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,64 @@
+package no.unit.nva.doi.transformer;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.transformer.model.crossrefmodel.CrossrefDate.FROM_DATE_INDEX_IN_DATE_ARRAY;
+import static no.unit.nva.doi.transformer.model.crossrefmodel.CrossrefDate.YEAR_INDEX;
+import java.util.Optional;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
+import no.unit.nva.doi.fetch.commons.publication.model.PublicationContext;
+import no.unit.nva.doi.fetch.commons.publication.model.Publisher;
+import no.unit.nva.doi.fetch.commons.publication.model.PublishingHouse;
+import no.unit.nva.doi.fetch.commons.publication.model.UnconfirmedPublisher;
+import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Journal;
+import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedJournal;
+import no.unit.nva.doi.transformer.model.crossrefmodel.CrossrefDate;
+
+/**
+ * Confirms the journals and publishers of Crossref documents in the publication channels register. They are left
+ * unconfirmed when there is no resolver, or when the register has no match.
+ */
+final class CrossRefChannels {
+
+    private final PublicationChannelResolver channelResolver;
+
+    /**
+     * Constructor for CrossRefChannels.
+     *
+     * @param channelResolver the resolver of journal and publisher ids, or null to leave them unconfirmed.
+     */
+    CrossRefChannels(PublicationChannelResolver channelResolver) {
+        this.channelResolver = channelResolver;
+    }
+
+    PublishingHouse publisher(String name) {
+        return Optional.ofNullable(channelResolver)
+                   .flatMap(resolver -> resolver.resolvePublisher(name))
+                   .<PublishingHouse>map(Publisher::new)
+                   .orElseGet(() -> new UnconfirmedPublisher(name));
+    }
+
+    /**
+     * Creates the context of a journal article, confirming the journal for the year the article was issued.
+     *
+     * @param title      the journal title.
+     * @param printIssn  the print ISSN of the journal.
+     * @param onlineIssn the online ISSN of the journal.
+     * @param issued     the date the article was issued, without which the journal is left unconfirmed.
+     * @return a confirmed or unconfirmed journal.
+     */
+    PublicationContext journal(String title, String printIssn, String onlineIssn, CrossrefDate issued) {
+        return Optional.ofNullable(channelResolver)
+                   .filter(resolver -> hasYear(issued))
+                   .flatMap(resolver -> resolver.resolveJournal(title, onlineIssn, printIssn, year(issued)))
+                   .<PublicationContext>map(Journal::new)
+                   .orElseGet(() -> new UnconfirmedJournal(title, printIssn, onlineIssn));
+    }
+
+    private static boolean hasYear(CrossrefDate issued) {
+        return nonNull(issued) && issued.hasYear(issued.getDateParts()[FROM_DATE_INDEX_IN_DATE_ARRAY]);
+    }
+
+    private static int year(CrossrefDate issued) {
+        return issued.getDateParts()[FROM_DATE_INDEX_IN_DATE_ARRAY][YEAR_INDEX];
+    }
+}
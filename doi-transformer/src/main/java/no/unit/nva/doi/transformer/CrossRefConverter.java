@@ -17,10 +17,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.Agent;
 import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
@@ -35,10 +35,8 @@ import no.unit.nva.doi.fetch.commons.publication.model.Range;
 import no.unit.nva.doi.fetch.commons.publication.model.Reference;
 import no.unit.nva.doi.fetch.commons.publication.model.Role;
 import no.unit.nva.doi.fetch.commons.publication.model.UnconfirmedOrganization;
-import no.unit.nva.doi.fetch.commons.publication.model.UnconfirmedPublisher;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Anthology;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Book;
-import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedJournal;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedSeries;
 import no.unit.nva.doi.fetch.commons.publication.model.instancetypes.AcademicArticle;
 import no.unit.nva.doi.fetch.commons.publication.model.instancetypes.AcademicChapter;
@@ -78,13 +76,25 @@ public class CrossRefConverter extends AbstractConverter {
     public static final String CANNOT_CREATE_REFERENCE_FOR_PUBLICATION = ", cannot create reference for publication";
     public static final String NULL_SERIES_NUMBER = null;
     private static final Logger logger = LoggerFactory.getLogger(CrossRefConverter.class);
+    private final CrossRefChannels channels;
 
     public CrossRefConverter() {
         this(new DoiConverter());
     }
 
     public CrossRefConverter(DoiConverter doiConverter) {
+        this(doiConverter, null);
+    }
+
+    /**
+     * Constructor for CrossRefConverter confirming journals and publishers in the publication channels register.
+     *
+     * @param doiConverter    the DOI converter.
+     * @param channelResolver the resolver of journal and publisher ids, or null to leave them unconfirmed.
+     */
+    public CrossRefConverter(DoiConverter doiConverter, PublicationChannelResolver channelResolver) {
         super(new SimpleLanguageDetector(), doiConverter);
+        this.channels = new CrossRefChannels(channelResolver);
     }
 
     public CreatePublicationRequest toPublication(CrossRefDocument document) {
@@ -231,7 +241,7 @@ public class CrossRefConverter extends AbstractConverter {
                 extractPrintIssn(document),
                 extractOnlineIssn(document)),
             NULL_SERIES_NUMBER,
-            new UnconfirmedPublisher(extractPublisherName(document)),
+            channels.publisher(extractPublisherName(document)),
             extractIsbnList(document)
         );
     }
@@ -240,13 +250,9 @@ public class CrossRefConverter extends AbstractConverter {
         return new Anthology(null);
     }
 
-    private UnconfirmedJournal createJournalContext(CrossRefDocument document) {
-        // TODO actually call the Channel Register API and get the relevant details
-        return new UnconfirmedJournal(
-            extractJournalTitle(document),
-            extractPrintIssn(document),
-            extractOnlineIssn(document)
-        );
+    private PublicationContext createJournalContext(CrossRefDocument document) {
+        return channels.journal(extractJournalTitle(document), extractPrintIssn(document),
+                                extractOnlineIssn(document), document.getIssued());
     }
 
     private List<String> extractIsbnList(CrossRefDocument document) {
@@ -258,17 +264,10 @@ public class CrossRefConverter extends AbstractConverter {
         }
         Set<String> isbnCandidates = new HashSet<>();
         if (nonNull(isbnType)) {
-            isbnCandidates.addAll(isbnType.stream()
-                                      .map(Isxn::getValue)
-                                      .map(IsbnCleaner::clean)
-                                      .filter(Objects::nonNull)
-                                      .collect(Collectors.toSet()));
+            isbnCandidates.addAll(IsbnCleaner.cleanAll(isbnType.stream().map(Isxn::getValue).toList()));
         }
         if (nonNull(isbn)) {
-            isbnCandidates.addAll(isbn.stream()
-                                      .map(IsbnCleaner::clean)
-                                      .filter(Objects::nonNull)
-                                      .collect(Collectors.toSet()));
+            isbnCandidates.addAll(IsbnCleaner.cleanAll(isbn));
         }
 
         return isbnCandidates.isEmpty() ? Collections.emptyList() : new ArrayList<>(isbnCandidates);
@@ -0,0 +1,108 @@
+package no.unit.nva.doi.transformer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.transformer.model.crossrefmodel.CrossRefDocument;
+
+/**
+ * Reads the "message" of a Crossref works response from the token stream, binding only the fields that
+ * {@link CrossRefConverter} uses. Everything else, such as the reference list, funders, licenses and links, is
+ * skipped without being materialized.
+ */
+public final class CrossRefDocumentReader {
+
+    public static final String MESSAGE_FIELD = "message";
+    public static final Set<String> CONVERTED_FIELDS = Set.of(
+        "title", "abstract", "source", "DOI", "type", "issued", "language", "subject",
+        "author", "editor", "publisher", "container-title", "page", "volume", "issue",
+        "issn-type", "ISBN", "isbn-type");
+
+    private CrossRefDocumentReader() {
+
+    }
+
+    /**
+     * Reads the Crossref document contained in a Crossref API response.
+     *
+     * @param body a Crossref API response
+     * @return the document in the "message" field, with only the converted fields set, or null if there is none
+     * @throws JsonProcessingException when the body is not a valid Crossref API response
+     */
+    public static CrossRefDocument readMessage(String body) throws JsonProcessingException {
+        try (JsonParser parser = Json.createParser(body)) {
+            return readMessage(parser);
+        } catch (IOException e) {
+            throw asJsonProcessingException(e);
+        }
+    }
+
+    /**
+     * Reads the Crossref document contained in a Crossref API response, straight from the response bytes.
+     *
+     * @param body a Crossref API response encoded as JSON
+     * @return the document in the "message" field, with only the converted fields set, or null if there is none
+     * @throws IOException when the body cannot be read or is not a valid Crossref API response
+     */
+    public static CrossRefDocument readMessage(InputStream body) throws IOException {
+        try (JsonParser parser = Json.createParser(body)) {
+            return readMessage(parser);
+        }
+    }
+
+    private static CrossRefDocument readMessage(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return parser.readValueAs(CrossRefDocument.class);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            if (MESSAGE_FIELD.equals(fieldName)) {
+                return readDocument(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    // Reading a String declares only JsonProcessingException, so other IOExceptions are wrapped the way Jackson does
+    private static JsonProcessingException asJsonProcessingException(IOException exception) {
+        return exception instanceof JsonProcessingException jsonProcessingException
+                   ? jsonProcessingException
+                   : JsonMappingException.fromUnexpectedIOE(exception);
+    }
+
+    private static CrossRefDocument readDocument(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return parser.readValueAs(CrossRefDocument.class);
+        }
+        try (TokenBuffer convertedFields = new TokenBuffer(parser)) {
+            convertedFields.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                if (CONVERTED_FIELDS.contains(fieldName)) {
+                    convertedFields.writeFieldName(fieldName);
+                    convertedFields.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            convertedFields.writeEndObject();
+            return bind(convertedFields, parser);
+        }
+    }
+
+    private static CrossRefDocument bind(TokenBuffer convertedFields, JsonParser source) throws IOException {
+        try (JsonParser parser = convertedFields.asParser(source.getCodec())) {
+            parser.nextToken();
+            return parser.readValueAs(CrossRefDocument.class);
+        }
+    }
+}
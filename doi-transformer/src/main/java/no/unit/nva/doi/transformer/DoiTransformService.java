@@ -1,13 +1,16 @@
 package no.unit.nva.doi.transformer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.io.InputStream;
 import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
 import no.unit.nva.doi.transformer.model.crossrefmodel.CrossRefDocument;
-import no.unit.nva.doi.transformer.model.crossrefmodel.CrossrefApiResponse;
 import no.unit.nva.doi.transformer.model.datacitemodel.DataciteResponse;
 import no.unit.nva.doi.transformer.utils.InvalidIssnException;
 import nva.commons.core.JacocoGenerated;
+import nva.commons.doi.DoiConverter;
 
 public class DoiTransformService {
 
@@ -19,6 +22,17 @@ public class DoiTransformService {
         this(new DataciteResponseConverter(), new CrossRefConverter());
     }
 
+    /**
+     * Constructor for DoiTransformService confirming Crossref journals and publishers in the publication channels
+     * register.
+     *
+     * @param channelResolver the resolver of journal and publisher ids, or null to leave them unconfirmed.
+     */
+    @JacocoGenerated
+    public DoiTransformService(PublicationChannelResolver channelResolver) {
+        this(new DataciteResponseConverter(), new CrossRefConverter(new DoiConverter(), channelResolver));
+    }
+
     public DoiTransformService(DataciteResponseConverter dataciteConverter, CrossRefConverter crossRefConverter) {
 
         this.dataciteConverter = dataciteConverter;
@@ -30,6 +44,26 @@ public class DoiTransformService {
         return convertInputToPublication(body, contentLocation);
     }
 
+    /**
+     * Transforms metadata read straight from the bytes of a registration agency response, without decoding it to a
+     * String first.
+     *
+     * @param body            the metadata as a JSON stream.
+     * @param contentLocation the location the metadata was fetched from.
+     * @return the publication described by the metadata.
+     * @throws IOException          when the metadata cannot be read or parsed.
+     * @throws InvalidIssnException when the metadata contains an invalid ISSN.
+     */
+    public CreatePublicationRequest transformPublication(InputStream body, String contentLocation)
+        throws IOException, InvalidIssnException {
+        MetadataLocation metadataLocation = MetadataLocation.lookup(contentLocation);
+        if (metadataLocation.equals(MetadataLocation.CROSSREF)) {
+            return crossRefConverter.toPublication(CrossRefDocumentReader.readMessage(body));
+        } else {
+            return dataciteConverter.toPublication(Json.readValue(body, DataciteResponse.class));
+        }
+    }
+
     protected CreatePublicationRequest convertInputToPublication(String body, String contentLocation)
         throws JsonProcessingException, InvalidIssnException {
 
@@ -50,7 +84,7 @@ public class DoiTransformService {
     private CreatePublicationRequest convertFromCrossRef(String body)
         throws JsonProcessingException {
 
-        CrossRefDocument document = Json.readValue(body, CrossrefApiResponse.class).getMessage();
+        CrossRefDocument document = CrossRefDocumentReader.readMessage(body);
         return crossRefConverter.toPublication(document);
     }
 }
@@ -0,0 +1,158 @@
+package no.unit.nva.doi.transformer.language;
+
+import static java.util.Objects.isNull;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import nva.commons.core.ioutils.IoUtils;
+
+/**
+ * Maps language codes to language URIs with the index generated from the language tables when building.
+ *
+ * <p>A language code of two or three letters is packed in a char, with five bits per letter. The ISO 639-3 codes are
+ * kept sorted, and the other codes are kept sorted with the position of their ISO 639-3 code. Both are looked up by
+ * binary search, and the URI of a language is only created the first time it is asked for.
+ */
+final class LanguageIndex {
+
+    private static final int BITS_PER_LETTER = 5;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+    private static final int MIN_CODE_LENGTH = 2;
+    private static final int MAX_CODE_LENGTH = 3;
+    private static final int NOT_FOUND = -1;
+
+    private final String uriPrefix;
+    private final char[] codes;
+    private final char[] aliases;
+    private final char[] aliasLanguages;
+    private final AtomicReferenceArray<URI> languageUris;
+
+    private LanguageIndex(DataInputStream input) throws IOException {
+        this.uriPrefix = input.readUTF();
+        this.codes = new char[input.readUnsignedShort()];
+        for (int index = 0; index < codes.length; index++) {
+            codes[index] = input.readChar();
+        }
+        int aliasCount = input.readUnsignedShort();
+        this.aliases = new char[aliasCount];
+        this.aliasLanguages = new char[aliasCount];
+        for (int index = 0; index < aliasCount; index++) {
+            aliases[index] = input.readChar();
+            aliasLanguages[index] = input.readChar();
+        }
+        this.languageUris = new AtomicReferenceArray<>(codes.length);
+    }
+
+    /**
+     * Reads a generated language index.
+     *
+     * @param resource the index resource.
+     * @return the language index.
+     */
+    static LanguageIndex read(Path resource) {
+        try (InputStream input = IoUtils.inputStreamFromResources(resource)) {
+            return read(input);
+        } catch (IOException e) {
+            throw new IllegalStateException(LanguageMapper.ERROR_READING_FILE + resource, e);
+        }
+    }
+
+    /**
+     * Reads a language index written by {@link LanguageIndexWriter}.
+     *
+     * @param input the index.
+     * @return the language index.
+     * @throws IOException when the index cannot be read.
+     */
+    static LanguageIndex read(InputStream input) throws IOException {
+        return new LanguageIndex(new DataInputStream(new BufferedInputStream(input)));
+    }
+
+    /**
+     * Finds the URI of the language of an ISO 639-1, ISO 639-2 or ISO 639-3 code, or of the primary language subtag
+     * of a BCP 47 language tag such as "en-GB". Letter case is ignored.
+     *
+     * @param tag a language code or tag.
+     * @return the language URI, or null when the language is unknown.
+     */
+    URI find(CharSequence tag) {
+        int packed = pack(tag);
+        if (packed == NOT_FOUND) {
+            return null;
+        }
+        int language = Arrays.binarySearch(codes, (char) packed);
+        if (language < 0) {
+            int alias = Arrays.binarySearch(aliases, (char) packed);
+            if (alias < 0) {
+                return null;
+            }
+            language = aliasLanguages[alias];
+        }
+        return uri(language);
+    }
+
+    List<URI> uris() {
+        List<URI> uris = new ArrayList<>(codes.length);
+        for (int language = 0; language < codes.length; language++) {
+            uris.add(uri(language));
+        }
+        return uris;
+    }
+
+    // Threads racing to create the same URI create equal URIs, so either may be kept
+    private URI uri(int language) {
+        URI uri = languageUris.get(language);
+        if (isNull(uri)) {
+            uri = URI.create(uriPrefix + unpack(codes[language]));
+            languageUris.set(language, uri);
+        }
+        return uri;
+    }
+
+    // Packs the letters up to the first subtag separator, which are the primary language subtag of a BCP 47 tag
+    static int pack(CharSequence tag) {
+        int packed = 0;
+        int length = 0;
+        for (int index = 0; index < tag.length() && !isSubtagSeparator(tag.charAt(index)); index++) {
+            int letter = letterNumber(tag.charAt(index));
+            length++;
+            if (letter == NOT_FOUND || length > MAX_CODE_LENGTH) {
+                return NOT_FOUND;
+            }
+            packed = packed << BITS_PER_LETTER | letter;
+        }
+        return length < MIN_CODE_LENGTH ? NOT_FOUND : packed;
+    }
+
+    private static String unpack(char packed) {
+        char[] letters = new char[MAX_CODE_LENGTH];
+        int remaining = packed;
+        for (int index = MAX_CODE_LENGTH - 1; index >= 0; index--) {
+            letters[index] = (char) ('a' - 1 + (remaining & LETTER_MASK));
+            remaining >>= BITS_PER_LETTER;
+        }
+        return new String(letters);
+    }
+
+    // Numbers the ASCII letters from 1, so that no packed two letter code equals a packed three letter code
+    private static int letterNumber(char character) {
+        if (character >= 'a' && character <= 'z') {
+            return character - 'a' + 1;
+        }
+        if (character >= 'A' && character <= 'Z') {
+            return character - 'A' + 1;
+        }
+        return NOT_FOUND;
+    }
+
+    private static boolean isSubtagSeparator(char character) {
+        return character == '-' || character == '_';
+    }
+}
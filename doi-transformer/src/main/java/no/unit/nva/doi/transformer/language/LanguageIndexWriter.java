@@ -0,0 +1,115 @@
+package no.unit.nva.doi.transformer.language;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the language tables into the index read by {@link LanguageIndex}. The build runs it with the index file to
+ * write, followed by the TSV files mapping ISO 639-1, ISO 639-2/B and ISO 639-3 codes to ISO 639-3 language URIs.
+ *
+ * <p>The index holds the URI prefix, the packed ISO 639-3 codes in sorted order, and the other packed codes in sorted
+ * order, each followed by the position of its ISO 639-3 code.
+ */
+final class LanguageIndexWriter {
+
+    public static final String URI_PREFIX = "http://lexvo.org/id/iso639-3/";
+    public static final String INVALID_LANGUAGE = "Invalid language in %s: %s";
+    public static final String UNKNOWN_LANGUAGE = "Unknown language %s for the code %s";
+    private static final String FIELD_SEPARATOR = "\t";
+    private static final Pattern CODE = Pattern.compile("[a-z]{2,3}");
+    private static final Pattern LANGUAGE_URI = Pattern.compile(Pattern.quote(URI_PREFIX) + "[a-z]{3}");
+    private static final Comparator<String> PACKED_ORDER = Comparator.comparingInt(LanguageIndex::pack);
+
+    private final Map<String, String> languages = new HashMap<>();
+
+    /**
+     * Writes the language index.
+     *
+     * @param args the index file to write, followed by the language tables.
+     * @throws IOException when a table cannot be read or the index cannot be written.
+     */
+    public static void main(String... args) throws IOException {
+        LanguageIndexWriter writer = new LanguageIndexWriter();
+        for (String table : Arrays.asList(args).subList(1, args.length)) {
+            writer.addTable(Path.of(table));
+        }
+        Path index = Path.of(args[0]);
+        Files.createDirectories(index.getParent());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(index)))) {
+            writer.write(output);
+        }
+    }
+
+    /**
+     * Adds the languages of a table. A code mapped by an earlier table is mapped to the language of the later one.
+     *
+     * @param table a TSV file with a language code and a language URI on each line.
+     * @throws IOException when the table cannot be read.
+     */
+    void addTable(Path table) throws IOException {
+        for (String line : Files.readAllLines(table, UTF_8)) {
+            addLanguage(table.getFileName().toString(), line);
+        }
+    }
+
+    /**
+     * Adds a language.
+     *
+     * @param table the name of the table the line is from.
+     * @param line  a language code and a language URI, separated by a tab.
+     * @throws IllegalArgumentException when the line is not a valid language.
+     */
+    void addLanguage(String table, String line) {
+        String[] fields = line.split(FIELD_SEPARATOR);
+        if (fields.length != 2 || !CODE.matcher(fields[0]).matches() || !LANGUAGE_URI.matcher(fields[1]).matches()) {
+            throw new IllegalArgumentException(String.format(INVALID_LANGUAGE, table, line));
+        }
+        languages.put(fields[0], fields[1].substring(URI_PREFIX.length()));
+    }
+
+    /**
+     * Writes the index of the languages added.
+     *
+     * @param output the index output.
+     * @throws IOException              when the index cannot be written.
+     * @throws IllegalArgumentException when a code is mapped to a language that is not in the tables.
+     */
+    void write(DataOutput output) throws IOException {
+        List<String> codes = languages.entrySet().stream()
+                                 .filter(language -> language.getKey().equals(language.getValue()))
+                                 .map(Map.Entry::getKey)
+                                 .sorted(PACKED_ORDER)
+                                 .toList();
+        List<String> aliases = languages.entrySet().stream()
+                                   .filter(language -> !language.getKey().equals(language.getValue()))
+                                   .map(Map.Entry::getKey)
+                                   .sorted(PACKED_ORDER)
+                                   .toList();
+        output.writeUTF(URI_PREFIX);
+        output.writeShort(codes.size());
+        for (String code : codes) {
+            output.writeChar(LanguageIndex.pack(code));
+        }
+        output.writeShort(aliases.size());
+        for (String alias : aliases) {
+            int language = Collections.binarySearch(codes, languages.get(alias), PACKED_ORDER);
+            if (language < 0) {
+                throw new IllegalArgumentException(String.format(UNKNOWN_LANGUAGE, languages.get(alias), alias));
+            }
+            output.writeChar(LanguageIndex.pack(alias));
+            output.writeShort(language);
+        }
+    }
+}
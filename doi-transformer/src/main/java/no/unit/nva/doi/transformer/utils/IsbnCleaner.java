@@ -1,21 +1,16 @@
 package no.unit.nva.doi.transformer.utils;
 
-import org.apache.commons.validator.routines.ISBNValidator;
+import no.unit.nva.doi.fetch.identifiers.StandardNumbers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
 import static java.util.Objects.isNull;
-import static java.util.Objects.nonNull;
-import static no.unit.nva.doi.transformer.utils.StringUtils.removeMultipleWhiteSpaces;
 
 
 public final class IsbnCleaner {
 
-    public static final String INVALID_CHARS = "[^[0-9]Xx]+";
-    public static final String EMPTY_STRING = "";
-
     private static final Logger logger = LoggerFactory.getLogger(IsbnCleaner.class);
     public static final String ERROR_WHEN_TRYING_TO_CLEAN_ISSN = "Error when trying to clean ISBN: {}";
 
@@ -24,43 +19,48 @@ public final class IsbnCleaner {
 
     /**
      * Takes an input string that is an ISBN candidate, tests it and formats it if possible or returns null.
+     * Whitespace, separators and invalid characters are tolerated.
+     *
      * @param value a string ISBN candidate.
      * @return A string of a valid ISBN, or null.
      */
     public static String clean(String value) {
-        String isbnCandidate = stripSeparatorAndWhitespace(value);
-        if (isNull(isbnCandidate)) {
+        if (isNull(value) || value.isBlank()) {
             return null;
         }
-        try {
-            return checkIsbn(isbnCandidate);
-        } catch (InvalidIsbnException e) {
-            logger.warn(ERROR_WHEN_TRYING_TO_CLEAN_ISSN, e.getMessage());
-            return null;
+        String isbn = StandardNumbers.normalizeIsbn(value);
+        if (isNull(isbn)) {
+            logger.warn(ERROR_WHEN_TRYING_TO_CLEAN_ISSN, value);
         }
+        return isbn;
     }
 
     /**
-     * This method removes potential formatting errors such as whitespace, non-hyphen separators,
-     * invalid characters and missing separators.
+     * Cleans ISBN candidates in bulk, dropping the invalid ones.
      *
-     * @param value an ISSN candidate.
-     * @return a formatted ISSN candidate or null.
+     * @param values ISBN candidates, possibly with repetitions.
+     * @return the distinct valid ISBNs.
      */
-    private static String stripSeparatorAndWhitespace(String value) {
-        return nonNull(value) ? removeMultipleWhiteSpaces(value).replaceAll(INVALID_CHARS, EMPTY_STRING) : null;
+    public static List<String> cleanAll(List<String> values) {
+        return StandardNumbers.normalizeIsbns(values);
     }
 
-
+    /**
+     * Returns a valid ISBN as its ten or thirteen digits, with an upper case check character, or null.
+     *
+     * @param isbn a valid ISBN.
+     * @return the normalized ISBN, or null when the input is null or empty.
+     * @throws InvalidIsbnException if the ISBN is invalid.
+     */
     public static String checkIsbn(String isbn) throws InvalidIsbnException {
         if (isNull(isbn) || isbn.isEmpty()) {
             return null;
         }
-        if (new ISBNValidator().isValid(isbn)) {
-            return isbn;
-        } else {
+        String normalized = StandardNumbers.normalizeIsbn(isbn);
+        if (isNull(normalized)) {
             throw new InvalidIsbnException(List.of(isbn));
         }
+        return normalized;
     }
 
 }
@@ -1,7 +1,7 @@
 package no.unit.nva.doi.transformer.utils;
 
 import static java.util.Objects.isNull;
-import org.apache.commons.validator.routines.ISSNValidator;
+import no.unit.nva.doi.fetch.identifiers.StandardNumbers;
 
 public final class IssnUtil {
 
@@ -9,10 +9,10 @@ public final class IssnUtil {
     }
 
     /**
-     * Returns a valid ISSN or null.
+     * Returns a valid ISSN in the form {@code 1234-567X}, or null.
      *
      * @param issn a valid ISSN
-     * @return String, validated representation of the ISSN
+     * @return String, validated and normalized representation of the ISSN
      * @throws InvalidIssnException Thrown if the ISSN is invalid
      */
     @SuppressWarnings("PMD.NullAssignment")
@@ -20,10 +20,10 @@ public final class IssnUtil {
         if (isNull(issn) || issn.isEmpty()) {
             return null;
         }
-        if (new ISSNValidator().isValid(issn)) {
-            return issn;
-        } else {
+        String normalized = StandardNumbers.normalizeIssn(issn);
+        if (isNull(normalized)) {
             throw new InvalidIssnException(issn);
         }
+        return normalized;
     }
 }
@@ -0,0 +1,242 @@
+package no.unit.nva.doi.transformer.utils;
+
+/**
+ * Extracts the text of XML markup, such as the JATS and MathML in Crossref abstracts, in a single pass without
+ * building a document.
+ *
+ * <p>Elements, comments, processing instructions and declarations are dropped and separate the text around them like
+ * a space. CDATA sections are kept as text. The predefined XML entities and character references are decoded, while
+ * other entities are kept as they are. A {@code <} that does not start markup, or markup that is never closed, is
+ * kept as text. Line breaks are normalized as an XML parser would, runs of two or more whitespace characters become
+ * one space, and the result is trimmed.
+ */
+final class MarkupStripper {
+
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
+    private static final String CDATA_START = "<![CDATA[";
+    private static final String CDATA_END = "]]>";
+    private static final String PROCESSING_INSTRUCTION_START = "<?";
+    private static final String PROCESSING_INSTRUCTION_END = "?>";
+    private static final char TAG_START = '<';
+    private static final char TAG_END = '>';
+    private static final char NO_QUOTE = 0;
+    private static final int NOT_FOUND = -1;
+    private static final int MAX_ENTITY_LENGTH = 12;
+    private static final int DECIMAL = 10;
+    private static final int HEXADECIMAL = 16;
+
+    private MarkupStripper() {
+    }
+
+    /**
+     * Returns the text of a string with XML markup.
+     *
+     * @param input a string with or without XML markup.
+     * @return the text, with whitespace collapsed and trimmed.
+     */
+    static String strip(String input) {
+        TextBuilder text = new TextBuilder(input.length());
+        int index = 0;
+        while (index < input.length()) {
+            char current = input.charAt(index);
+            switch (current) {
+                case TAG_START -> index = skipMarkup(input, index, text);
+                case '&' -> index = decodeEntity(input, index, text);
+                case '\r' -> {
+                    text.append('\n');
+                    index = input.startsWith("\n", index + 1) ? index + 2 : index + 1;
+                }
+                default -> {
+                    text.append(current);
+                    index++;
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Replaces every run of two or more whitespace characters with a single space and trims the result.
+     *
+     * @param input a string with or without consecutive whitespace.
+     * @return the string without consecutive whitespace.
+     */
+    static String collapseWhitespace(String input) {
+        TextBuilder text = new TextBuilder(input.length());
+        for (int index = 0; index < input.length(); index++) {
+            text.append(input.charAt(index));
+        }
+        return text.toString();
+    }
+
+    // Returns the index after the markup starting at index, or after the '<' when it does not start closed markup
+    private static int skipMarkup(String input, int index, TextBuilder text) {
+        if (input.startsWith(CDATA_START, index)) {
+            int end = input.indexOf(CDATA_END, index + CDATA_START.length());
+            if (end != NOT_FOUND) {
+                text.separate();
+                text.append(input, index + CDATA_START.length(), end);
+                text.separate();
+                return end + CDATA_END.length();
+            }
+        }
+        int end = findMarkupEnd(input, index);
+        if (end == NOT_FOUND) {
+            text.append(TAG_START);
+            return index + 1;
+        }
+        text.separate();
+        return end;
+    }
+
+    private static int findMarkupEnd(String input, int index) {
+        if (input.startsWith(COMMENT_START, index)) {
+            return endAfter(input, COMMENT_END, index + COMMENT_START.length());
+        }
+        if (input.startsWith(PROCESSING_INSTRUCTION_START, index)) {
+            return endAfter(input, PROCESSING_INSTRUCTION_END, index + PROCESSING_INSTRUCTION_START.length());
+        }
+        return startsTag(input, index + 1) ? findTagEnd(input, index + 1) : NOT_FOUND;
+    }
+
+    private static boolean startsTag(String input, int index) {
+        if (index >= input.length()) {
+            return false;
+        }
+        char next = input.charAt(index);
+        return Character.isLetter(next) || next == '/' || next == '!' || next == '_' || next == ':';
+    }
+
+    // Attribute values may contain '>', so quoted values are skipped
+    private static int findTagEnd(String input, int index) {
+        char quote = NO_QUOTE;
+        for (int position = index; position < input.length(); position++) {
+            char current = input.charAt(position);
+            if (quote == NO_QUOTE) {
+                if (current == '"' || current == '\'') {
+                    quote = current;
+                } else if (current == TAG_END) {
+                    return position + 1;
+                } else if (current == TAG_START) {
+                    return NOT_FOUND;
+                }
+            } else if (current == quote) {
+                quote = NO_QUOTE;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private static int endAfter(String input, String terminator, int from) {
+        int end = input.indexOf(terminator, from);
+        return end == NOT_FOUND ? NOT_FOUND : end + terminator.length();
+    }
+
+    // Returns the index after the entity starting at index, or after the '&' when it is not a known entity
+    private static int decodeEntity(String input, int index, TextBuilder text) {
+        int end = input.indexOf(';', index + 1);
+        if (end == NOT_FOUND || end - index > MAX_ENTITY_LENGTH) {
+            text.append('&');
+            return index + 1;
+        }
+        int codePoint = codePointOf(input.substring(index + 1, end));
+        if (codePoint == NOT_FOUND) {
+            text.append('&');
+            return index + 1;
+        }
+        text.appendCodePoint(codePoint);
+        return end + 1;
+    }
+
+    private static int codePointOf(String entity) {
+        return switch (entity) {
+            case "amp" -> '&';
+            case "lt" -> '<';
+            case "gt" -> '>';
+            case "quot" -> '"';
+            case "apos" -> '\'';
+            default -> characterReference(entity);
+        };
+    }
+
+    private static int characterReference(String entity) {
+        if (entity.length() < 2 || entity.charAt(0) != '#') {
+            return NOT_FOUND;
+        }
+        boolean hexadecimal = entity.charAt(1) == 'x';
+        String digits = entity.substring(hexadecimal ? 2 : 1);
+        try {
+            int codePoint = Integer.parseInt(digits, hexadecimal ? HEXADECIMAL : DECIMAL);
+            return codePoint > 0 && Character.isValidCodePoint(codePoint) && !digits.startsWith("+")
+                       ? codePoint
+                       : NOT_FOUND;
+        } catch (NumberFormatException e) {
+            return NOT_FOUND;
+        }
+    }
+
+    /**
+     * Builds text in which every run of two or more whitespace characters is one space, and a lone whitespace
+     * character is kept as it is. Whitespace before the first and after the last other character is dropped.
+     */
+    @SuppressWarnings("PMD.AvoidStringBufferField")
+    private static final class TextBuilder {
+
+        private final StringBuilder text;
+        private int pendingWhitespace;
+        private char lastWhitespace;
+
+        private TextBuilder(int capacity) {
+            this.text = new StringBuilder(capacity);
+        }
+
+        private void append(char character) {
+            if (isWhitespace(character)) {
+                pendingWhitespace++;
+                lastWhitespace = character;
+            } else {
+                flushWhitespace();
+                text.append(character);
+            }
+        }
+
+        private void append(CharSequence characters, int start, int end) {
+            for (int index = start; index < end; index++) {
+                append(characters.charAt(index));
+            }
+        }
+
+        private void appendCodePoint(int codePoint) {
+            if (Character.isBmpCodePoint(codePoint)) {
+                append((char) codePoint);
+            } else {
+                flushWhitespace();
+                text.appendCodePoint(codePoint);
+            }
+        }
+
+        // Markup separates the text around it as a space would
+        private void separate() {
+            append(' ');
+        }
+
+        private void flushWhitespace() {
+            if (pendingWhitespace > 0 && !text.isEmpty()) {
+                text.append(pendingWhitespace == 1 ? lastWhitespace : ' ');
+            }
+            pendingWhitespace = 0;
+        }
+
+        // The same characters as \s in a regular expression
+        private static boolean isWhitespace(char character) {
+            return character == ' ' || character == '\t' || character == '\n' || character == '\u000B'
+                   || character == '\f' || character == '\r';
+        }
+
+        @Override
+        public String toString() {
+            return text.toString().trim();
+        }
+    }
+}
@@ -21,6 +21,11 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
@@ -32,19 +37,23 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.Agent;
 import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
 import no.unit.nva.doi.fetch.commons.publication.model.Identity;
 import no.unit.nva.doi.fetch.commons.publication.model.MonographPages;
+import no.unit.nva.doi.fetch.commons.publication.model.Publisher;
 import no.unit.nva.doi.fetch.commons.publication.model.Range;
 import no.unit.nva.doi.fetch.commons.publication.model.UnconfirmedPublisher;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Anthology;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Book;
+import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Journal;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedJournal;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedSeries;
 import no.unit.nva.doi.fetch.commons.publication.model.instancetypes.AcademicArticle;
@@ -592,6 +601,45 @@ public class CrossRefConverterTest extends ConversionTest {
         assertThat(actualPublisher, is(equalTo(SAMPLE_PUBLISHER)));
     }
 
+    @Test
+    void toPublicationSetsConfirmedJournalWhenChannelResolverFindsJournalOfIssuedYear() {
+        var journalId = URI.create("https://api.example.org/publication-channels/journal/123/2019");
+        var channelResolver = mock(PublicationChannelResolver.class);
+        when(channelResolver.resolveJournal(any(), any(), any(), eq(EXPECTED_YEAR)))
+            .thenReturn(Optional.of(journalId));
+        var resolvingConverter = new CrossRefConverter(new DoiConverter(uri -> true), channelResolver);
+
+        var context = resolvingConverter.toPublication(sampleJournalArticle())
+                          .getEntityDescription().getReference().getPublicationContext();
+
+        assertThat(context, is(equalTo(new Journal(journalId))));
+    }
+
+    @Test
+    void toPublicationSetsUnconfirmedJournalWhenChannelResolverFindsNoJournal() {
+        var channelResolver = mock(PublicationChannelResolver.class);
+        when(channelResolver.resolveJournal(any(), any(), any(), anyInt())).thenReturn(Optional.empty());
+        var resolvingConverter = new CrossRefConverter(new DoiConverter(uri -> true), channelResolver);
+
+        var context = resolvingConverter.toPublication(sampleJournalArticle())
+                          .getEntityDescription().getReference().getPublicationContext();
+
+        assertThat(context.getClass(), is(equalTo(UnconfirmedJournal.class)));
+    }
+
+    @Test
+    void toPublicationSetsConfirmedPublisherWhenChannelResolverFindsPublisher() {
+        var publisherId = URI.create("https://api.example.org/publication-channels/publisher/456");
+        var channelResolver = mock(PublicationChannelResolver.class);
+        when(channelResolver.resolvePublisher(SAMPLE_PUBLISHER)).thenReturn(Optional.of(publisherId));
+        var resolvingConverter = new CrossRefConverter(new DoiConverter(uri -> true), channelResolver);
+
+        var context = (Book) resolvingConverter.toPublication(sampleBook())
+                                 .getEntityDescription().getReference().getPublicationContext();
+
+        assertThat(context.publisher(), is(equalTo(new Publisher(publisherId))));
+    }
+
     @Test
     @DisplayName("toPublication handles all interesting and required fields in CrossrefDocument for journal-article")
     void toPublicationHandlesAllInterestingAndRequiredFieldsInCrossrefDocumentForJournalArticle() {
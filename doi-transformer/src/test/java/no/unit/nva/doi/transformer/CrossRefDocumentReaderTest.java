@@ -0,0 +1,77 @@
+package no.unit.nva.doi.transformer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.nio.file.Path;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.doi.transformer.model.crossrefmodel.CrossRefDocument;
+import no.unit.nva.doi.transformer.model.crossrefmodel.CrossrefApiResponse;
+import nva.commons.core.ioutils.IoUtils;
+import nva.commons.doi.DoiConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CrossRefDocumentReaderTest {
+
+    public static final String CROSSREF_JSON = "crossref.json";
+    public static final String CROSSREF_BOOK_CHAPTER_JSON = "crossref_sample_book_chapter.json";
+
+    private final CrossRefConverter converter = new CrossRefConverter(new DoiConverter(uri -> true));
+
+    @ParameterizedTest
+    @ValueSource(strings = {CROSSREF_JSON, "crossrefWithAbstract.json", "crossref_sample_book.json",
+        CROSSREF_BOOK_CHAPTER_JSON, "crossref_sample_creator_sequence.json", "crossref_sample_edited_book.json"})
+    void readMessageGivesSameConversionAsBindingTheWholeResponse(String resource) throws JsonProcessingException {
+        String body = IoUtils.stringFromResources(Path.of(resource));
+        CrossRefDocument fullDocument = Json.readValue(body, CrossrefApiResponse.class).getMessage();
+
+        CreatePublicationRequest expected = converter.toPublication(fullDocument);
+        CreatePublicationRequest actual = converter.toPublication(CrossRefDocumentReader.readMessage(body));
+
+        assertThat(actual, is(equalTo(expected)));
+    }
+
+    @Test
+    void readMessageSkipsFieldsThatAreNotConverted() throws JsonProcessingException {
+        String body = IoUtils.stringFromResources(Path.of(CROSSREF_BOOK_CHAPTER_JSON));
+
+        CrossRefDocument document = CrossRefDocumentReader.readMessage(body);
+
+        assertThat(document.getTitle(), is(notNullValue()));
+        assertThat(document.getReference(), is(nullValue()));
+        assertThat(document.getLicense(), is(nullValue()));
+        assertThat(document.getLink(), is(nullValue()));
+        assertThat(document.getRelation(), is(nullValue()));
+    }
+
+    @Test
+    void readMessageReadsMessageAfterOtherFieldsWithNestedValues() throws JsonProcessingException {
+        String body = "{\"status\":\"ok\",\"facets\":{\"a\":[1,{\"b\":2}]},\"message\":{\"title\":[\"Title\"],"
+                      + "\"reference\":[{\"key\":\"ref1\"}],\"DOI\":\"10.1000/182\"},\"trailing\":true}";
+
+        CrossRefDocument document = CrossRefDocumentReader.readMessage(body);
+
+        assertThat(document.getTitle().getFirst(), is(equalTo("Title")));
+        assertThat(document.getDoi(), is(equalTo("10.1000/182")));
+        assertThat(document.getReference(), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"status\":\"ok\"}", "{\"message\":null}", "null"})
+    void readMessageReturnsNullWhenThereIsNoMessage(String body) throws JsonProcessingException {
+        assertThat(CrossRefDocumentReader.readMessage(body), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"message\":{\"title\":", "{\"message\":[]}", "[]"})
+    void readMessageThrowsWhenBodyIsNotACrossrefResponse(String body) {
+        assertThrows(JsonProcessingException.class, () -> CrossRefDocumentReader.readMessage(body));
+    }
+}
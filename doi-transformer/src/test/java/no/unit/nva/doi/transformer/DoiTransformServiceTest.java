@@ -6,6 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.stream.IntStream;
 import no.unit.nva.doi.transformer.utils.InvalidIssnException;
@@ -99,6 +103,23 @@ class DoiTransformServiceTest {
             .forEachOrdered(i -> assertEquals(i + 1, contributors.get(i).sequence()));
     }
 
+    @Test
+    void transformPublicationFromStreamGivesSamePublicationAsFromString()
+        throws IOException, InvalidIssnException {
+        DoiTransformService doiTransformService = getDoiTransformService();
+        String crossrefBody = IoUtils.stringFromResources(CROSSREF_JSON_PATH);
+        String dataciteBody = IoUtils.stringFromResources(DATACITE_JSON_PATH);
+
+        assertEquals(doiTransformService.transformPublication(crossrefBody, CROSSREF_STRING),
+                     doiTransformService.transformPublication(toStream(crossrefBody), CROSSREF_STRING));
+        assertEquals(doiTransformService.transformPublication(dataciteBody, DATACITE_STRING),
+                     doiTransformService.transformPublication(toStream(dataciteBody), DATACITE_STRING));
+    }
+
+    private static InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
     private DoiTransformService getDoiTransformService() {
         DoiConverter doiConverter = new DoiConverter(uri -> true);
         return new DoiTransformService(new DataciteResponseConverter(doiConverter),
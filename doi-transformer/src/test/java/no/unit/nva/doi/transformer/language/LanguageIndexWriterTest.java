@@ -0,0 +1,93 @@
+package no.unit.nva.doi.transformer.language;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LanguageIndexWriterTest {
+
+    public static final String TABLE = "languages.tsv";
+    public static final URI ENGLISH = URI.create("http://lexvo.org/id/iso639-3/eng");
+    public static final URI GERMAN = URI.create("http://lexvo.org/id/iso639-3/deu");
+    public static final URI NORWEGIAN_BOKMAL = URI.create("http://lexvo.org/id/iso639-3/nob");
+
+    @Test
+    void writeCreatesIndexFindingLanguagesByAllTheirCodes() throws IOException {
+        var writer = new LanguageIndexWriter();
+        writer.addLanguage(TABLE, "nob\t" + NORWEGIAN_BOKMAL);
+        writer.addLanguage(TABLE, "eng\t" + ENGLISH);
+        writer.addLanguage(TABLE, "en\t" + ENGLISH);
+        writer.addLanguage(TABLE, "deu\t" + GERMAN);
+        writer.addLanguage(TABLE, "ger\t" + GERMAN);
+        writer.addLanguage(TABLE, "nb\t" + NORWEGIAN_BOKMAL);
+
+        var index = roundTrip(writer);
+
+        assertThat(index.uris(), contains(GERMAN, ENGLISH, NORWEGIAN_BOKMAL));
+        assertThat(index.find("eng"), is(equalTo(ENGLISH)));
+        assertThat(index.find("en-GB"), is(equalTo(ENGLISH)));
+        assertThat(index.find("GER"), is(equalTo(GERMAN)));
+        assertThat(index.find("nb"), is(equalTo(NORWEGIAN_BOKMAL)));
+        assertThat(index.find("fra"), is(nullValue()));
+    }
+
+    @Test
+    void addTableMapsCodeToLanguageOfLaterTable(@TempDir Path directory) throws IOException {
+        var writer = new LanguageIndexWriter();
+        writer.addTable(table(directory, "first.tsv", "eng\t" + ENGLISH, "deu\t" + GERMAN, "en\t" + GERMAN));
+        writer.addTable(table(directory, "second.tsv", "en\t" + ENGLISH));
+
+        assertThat(roundTrip(writer).find("en"), is(equalTo(ENGLISH)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"english\thttp://lexvo.org/id/iso639-3/eng", "en\thttp://example.org/eng",
+        "en\thttp://lexvo.org/id/iso639-3/en", "en", "EN\thttp://lexvo.org/id/iso639-3/eng"})
+    void addLanguageRejectsInvalidLine(String line) {
+        var writer = new LanguageIndexWriter();
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> writer.addLanguage(TABLE, line));
+
+        assertThat(exception.getMessage(), is(equalTo(String.format(LanguageIndexWriter.INVALID_LANGUAGE, TABLE,
+                                                                    line))));
+    }
+
+    @Test
+    void writeRejectsCodeOfLanguageNotInTables() {
+        var writer = new LanguageIndexWriter();
+        writer.addLanguage(TABLE, "eng\t" + ENGLISH);
+        writer.addLanguage(TABLE, "ger\t" + GERMAN);
+
+        var exception = assertThrows(IllegalArgumentException.class, () -> roundTrip(writer));
+
+        assertThat(exception.getMessage(), is(equalTo(String.format(LanguageIndexWriter.UNKNOWN_LANGUAGE, "deu",
+                                                                    "ger"))));
+    }
+
+    private static LanguageIndex roundTrip(LanguageIndexWriter writer) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            writer.write(output);
+        }
+        return LanguageIndex.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static Path table(Path directory, String name, String... lines) throws IOException {
+        return Files.write(directory.resolve(name), List.of(lines));
+    }
+}
@@ -6,11 +6,15 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Optional;
 
 import no.unit.nva.doi.transformer.language.exceptions.LanguageUriNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class LanguageMapperTest {
 
@@ -18,6 +22,7 @@ class LanguageMapperTest {
     private static final URI expected = URI.create("http://lexvo.org/id/iso639-3/eng");
     public static final String TWO_LETTER_ISO = "en";
     public static final String ISO_639_3 = "eng";
+    public static final int NUMBER_OF_ISO_639_3_LANGUAGES = 7772;
 
     @Test
     public void getUriFromIso639ReturnsUriForTwoLetterLanguageCodes() {
@@ -43,4 +48,31 @@ class LanguageMapperTest {
 
         ;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getUriFromIso639ReturnsUriForBibliographicIso639Dash2LanguageCodes() {
+        Optional<URI> uri = LanguageMapper.getUriFromIsoAsOptional("ger");
+        assertThat(uri.orElseThrow(), is(equalTo(URI.create("http://lexvo.org/id/iso639-3/deu"))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"en-GB", "en_US", "EN", "Eng", "en-Latn-GB", "eng-US"})
+    public void getUriFromIso639ReturnsUriForThePrimaryLanguageSubtagOfBcp47Tags(String tag) {
+        Optional<URI> uri = LanguageMapper.getUriFromIsoAsOptional(tag);
+        assertThat(uri.orElseThrow(), is(equalTo(expected)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "e", "engl", "english", "-en", "e1", "ên", "en\u0130", "zz", "zzzz"})
+    public void getUriFromIso639ReturnsEmptyForInvalidOrUnknownLanguageCodes(String code) {
+        assertThat(LanguageMapper.getUriFromIsoAsOptional(code).isPresent(), is(equalTo(false)));
+    }
+
+    @Test
+    public void languageUrisReturnsTheDistinctUriOfEveryIso639Dash3Language() {
+        Collection<URI> uris = LanguageMapper.languageUris();
+        assertThat(uris.size(), is(equalTo(NUMBER_OF_ISO_639_3_LANGUAGES)));
+        assertThat(new HashSet<>(uris).size(), is(equalTo(NUMBER_OF_ISO_639_3_LANGUAGES)));
+        assertThat(uris.contains(expected), is(equalTo(true)));
+    }
+}
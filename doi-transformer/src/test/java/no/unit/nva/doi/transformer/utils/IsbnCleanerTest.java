@@ -0,0 +1,40 @@
+package no.unit.nva.doi.transformer.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IsbnCleanerTest {
+
+    @DisplayName("IsbnCleaner.checkIsbn returns the normalized ISBN, not the input")
+    @ParameterizedTest
+    @CsvSource({
+        "9783161484100, 9783161484100",
+        "ISBN 978-3-16-148410-0 foo, 9783161484100",
+        "0-8044-2957-x, 080442957X"
+    })
+    void checkIsbnReturnsNormalizedIsbnWhenInputIsValidIsbn(String value, String expected)
+        throws InvalidIsbnException {
+        assertEquals(expected, IsbnCleaner.checkIsbn(value));
+    }
+
+    @DisplayName("IsbnCleaner.checkIsbn returns null when input is null or empty")
+    @Test
+    void checkIsbnReturnsNullWhenInputIsNullOrEmpty() throws InvalidIsbnException {
+        assertNull(IsbnCleaner.checkIsbn(null));
+        assertNull(IsbnCleaner.checkIsbn(""));
+    }
+
+    @DisplayName("IsbnCleaner.checkIsbn throws when ISBN is invalid")
+    @ParameterizedTest
+    @ValueSource(strings = {"asd", "9783161484101", "080442957Y", "978-3-16-148410-0-1"})
+    void checkIsbnThrowsInvalidIsbnExceptionWhenInputIsInvalidIsbn(String value) {
+        assertThrows(InvalidIsbnException.class, () -> IsbnCleaner.checkIsbn(value));
+    }
+}
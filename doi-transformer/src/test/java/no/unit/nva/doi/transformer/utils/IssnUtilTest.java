@@ -0,0 +1,41 @@
+package no.unit.nva.doi.transformer.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IssnUtilTest {
+
+    @DisplayName("IssnUtil returns the normalized ISSN, not the input")
+    @ParameterizedTest
+    @CsvSource({
+        "1234-5679, 1234-5679",
+        "ISSN 1234 5679 foo, 1234-5679",
+        "12345679, 1234-5679",
+        "1945-662x, 1945-662X"
+    })
+    void checkIssnReturnsNormalizedIssnWhenInputIsValidIssn(String value, String expected)
+        throws InvalidIssnException {
+        assertEquals(expected, IssnUtil.checkIssn(value));
+    }
+
+    @DisplayName("IssnUtil returns null when input is null or empty")
+    @Test
+    void checkIssnReturnsNullWhenInputIsNullOrEmpty() throws InvalidIssnException {
+        assertNull(IssnUtil.checkIssn(null));
+        assertNull(IssnUtil.checkIssn(""));
+    }
+
+    @DisplayName("IssnUtil throws when ISSN is invalid")
+    @ParameterizedTest
+    @ValueSource(strings = {"asd", "12332114", "1234-123X", "X123-1234", "1234-5679-1"})
+    void checkIssnThrowsInvalidIssnExceptionWhenInputIsInvalidIssn(String value) {
+        assertThrows(InvalidIssnException.class, () -> IssnUtil.checkIssn(value));
+    }
+}
@@ -20,6 +20,40 @@ public class StringUtilsTest {
         assertThat(actualOutput, is(equalTo(expectedOutput)));
     }
 
+    @DisplayName("removeXmlTags removes JATS and MathML markup, comments and processing instructions")
+    @Test
+    public void removeXmlTagsRemovesNamespacedMarkupCommentsAndProcessingInstructions() {
+        String input = "<jats:p>Energy <mml:math xmlns:mml=\"http://www.w3.org/1998/Math/MathML\">"
+                       + "<mml:mi mathvariant=\"italic\">E</mml:mi></mml:math><!-- note --> is"
+                       + "<?xml-stylesheet href=\"a>b\"?> conserved</jats:p>";
+        String actualOutput = StringUtils.removeXmlTags(input);
+        assertThat(actualOutput, is(equalTo("Energy E is conserved")));
+    }
+
+    @DisplayName("removeXmlTags decodes XML entities and character references and keeps CDATA text")
+    @Test
+    public void removeXmlTagsDecodesEntitiesAndKeepsCdataText() {
+        String input = "<p>R&amp;D &lt;&#945;&#x3B2;&gt; &nbsp;<![CDATA[a < b]]></p>";
+        String actualOutput = StringUtils.removeXmlTags(input);
+        assertThat(actualOutput, is(equalTo("R&D <αβ> &nbsp; a < b")));
+    }
+
+    @DisplayName("removeXmlTags removes tags from malformed markup and keeps a stray less-than sign")
+    @Test
+    public void removeXmlTagsRemovesTagsFromMalformedMarkup() {
+        String input = "<p>First line<br>second line where x < 3 & y<2</p><p>unclosed";
+        String actualOutput = StringUtils.removeXmlTags(input);
+        assertThat(actualOutput, is(equalTo("First line second line where x < 3 & y<2 unclosed")));
+    }
+
+    @DisplayName("removeXmlTags collapses runs of whitespace and keeps single line breaks")
+    @Test
+    public void removeXmlTagsCollapsesRunsOfWhitespace() {
+        String input = "\r\n<p>one\r\ntwo \t three</p>\n";
+        String actualOutput = StringUtils.removeXmlTags(input);
+        assertThat(actualOutput, is(equalTo("one\ntwo three")));
+    }
+
     @Test
     @DisplayName("parsePage returns a begin and end page for pages split with dash")
     public void parsePageReturnsABeginAndEndPageForPagesSplitWithDash() {
@@ -0,0 +1,132 @@
+package no.unit.nva.doi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.file.Path;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import nva.commons.core.ioutils.IoUtils;
+
+/**
+ * Documents the benchmarks transform: the Crossref and Datacite samples of the transformer tests, and synthetic
+ * documents much larger than the samples, with thousands of authors and references.
+ */
+final class BenchmarkInputs {
+
+    public static final String CROSSREF_ARTICLE = "crossref.json";
+    public static final String CROSSREF_BOOK = "crossref_sample_book.json";
+    public static final String CROSSREF_WITH_ABSTRACT = "crossrefWithAbstract.json";
+    public static final String DATACITE_RESPONSE = "datacite_response.json";
+    public static final String SYNTHETIC = "synthetic";
+    public static final int SYNTHETIC_AUTHORS = 5_000;
+    public static final int SYNTHETIC_REFERENCES = 5_000;
+    public static final int SYNTHETIC_ABSTRACT_PARAGRAPHS = 200;
+    private static final String MESSAGE = "message";
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Reads a Crossref response, or creates a synthetic one.
+     *
+     * @param name a Crossref sample of the transformer tests, or {@link #SYNTHETIC}.
+     * @return the response as JSON.
+     * @throws JsonProcessingException when the sample cannot be read.
+     */
+    static String crossrefDocument(String name) throws JsonProcessingException {
+        return SYNTHETIC.equals(name) ? syntheticCrossrefDocument() : resource(name);
+    }
+
+    /**
+     * Reads a Datacite response, or creates a synthetic one.
+     *
+     * @param name a Datacite sample of the transformer tests, or {@link #SYNTHETIC}.
+     * @return the response as JSON.
+     * @throws JsonProcessingException when the sample cannot be read.
+     */
+    static String dataciteDocument(String name) throws JsonProcessingException {
+        return SYNTHETIC.equals(name) ? syntheticDataciteDocument() : resource(name);
+    }
+
+    /**
+     * Reads the JATS abstract of the Crossref sample with an abstract, or creates a large synthetic one with MathML.
+     *
+     * @param name {@link #CROSSREF_WITH_ABSTRACT} or {@link #SYNTHETIC}.
+     * @return the abstract with its markup.
+     * @throws JsonProcessingException when the sample cannot be read.
+     */
+    static String jatsAbstract(String name) throws JsonProcessingException {
+        return SYNTHETIC.equals(name) ? syntheticJatsAbstract() : sampleJatsAbstract();
+    }
+
+    static String resource(String name) {
+        return IoUtils.stringFromResources(Path.of(name));
+    }
+
+    private static String sampleJatsAbstract() throws JsonProcessingException {
+        return Json.readTree(resource(CROSSREF_WITH_ABSTRACT)).path(MESSAGE).path("abstract").asText();
+    }
+
+    private static String syntheticCrossrefDocument() throws JsonProcessingException {
+        ObjectNode document = (ObjectNode) Json.readTree(resource(CROSSREF_WITH_ABSTRACT));
+        ObjectNode message = (ObjectNode) document.get(MESSAGE);
+        ArrayNode authors = message.putArray("author");
+        for (int index = 0; index < SYNTHETIC_AUTHORS; index++) {
+            ObjectNode author = authors.addObject()
+                                    .put("given", "Given" + index)
+                                    .put("family", "Family" + index)
+                                    .put("sequence", index == 0 ? "first" : "additional");
+            author.putArray("affiliation").addObject().put("name", "Department " + index % 100 + ", University");
+        }
+        ArrayNode references = message.putArray("reference");
+        for (int index = 0; index < SYNTHETIC_REFERENCES; index++) {
+            references.addObject()
+                .put("key", "ref" + index)
+                .put("author", "Family" + index + " G")
+                .put("year", String.valueOf(1950 + index % 70))
+                .put("article-title", "Referenced article number " + index)
+                .put("DOI", "10.1000/reference." + index);
+        }
+        message.put("abstract", syntheticJatsAbstract());
+        return Json.writeValueAsString(document);
+    }
+
+    private static String syntheticDataciteDocument() throws JsonProcessingException {
+        ObjectNode document = (ObjectNode) Json.readTree(resource(DATACITE_RESPONSE));
+        ArrayNode creators = document.putArray("creators");
+        ArrayNode contributors = document.putArray("contributors");
+        for (int index = 0; index < SYNTHETIC_AUTHORS; index++) {
+            creators.addObject()
+                .put("name", "Family" + index + ", Given" + index)
+                .put("nameType", "Personal")
+                .put("givenName", "Given" + index)
+                .put("familyName", "Family" + index)
+                .putArray("affiliation");
+            contributors.addObject()
+                .put("name", "Contributor" + index)
+                .put("familyName", "Contributor" + index)
+                .putArray("affiliation");
+        }
+        ArrayNode relatedIdentifiers = document.withArrayProperty("relatedIdentifiers");
+        for (int index = 0; index < SYNTHETIC_REFERENCES; index++) {
+            relatedIdentifiers.addObject()
+                .put("relatedIdentifier", "10.1000/reference." + index)
+                .put("relatedIdentifierType", "DOI")
+                .put("relationType", "References");
+        }
+        return Json.writeValueAsString(document);
+    }
+
+    private static String syntheticJatsAbstract() {
+        StringBuilder jats = new StringBuilder("<jats:title>Abstract</jats:title>\n");
+        for (int index = 0; index < SYNTHETIC_ABSTRACT_PARAGRAPHS; index++) {
+            jats.append("<jats:p>Paragraph ").append(index)
+                .append(" shows that <jats:italic>energy</jats:italic> &amp; mass relate as ")
+                .append("<mml:math xmlns:mml=\"http://www.w3.org/1998/Math/MathML\"><mml:mi>E</mml:mi>")
+                .append("<mml:mo>=</mml:mo><mml:mi>m</mml:mi><mml:msup><mml:mi>c</mml:mi><mml:mn>2</mml:mn>")
+                .append("</mml:msup></mml:math>,\n   for &lt;&#946;&gt; &#x2264; 1 in ")
+                .append("<jats:sc>STM</jats:sc>.</jats:p>\n");
+        }
+        return jats.toString();
+    }
+}
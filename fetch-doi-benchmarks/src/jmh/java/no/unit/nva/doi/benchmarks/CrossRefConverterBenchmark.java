@@ -0,0 +1,45 @@
+package no.unit.nva.doi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.doi.transformer.CrossRefConverter;
+import no.unit.nva.doi.transformer.CrossRefDocumentReader;
+import no.unit.nva.doi.transformer.model.crossrefmodel.CrossRefDocument;
+import nva.commons.doi.DoiConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts parsed Crossref documents to publications, without confirming journals and publishers in the publication
+ * channels register.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CrossRefConverterBenchmark {
+
+    @Param({BenchmarkInputs.CROSSREF_ARTICLE, BenchmarkInputs.CROSSREF_BOOK, BenchmarkInputs.CROSSREF_WITH_ABSTRACT,
+        BenchmarkInputs.SYNTHETIC})
+    public String document;
+
+    private CrossRefConverter converter;
+    private CrossRefDocument crossRefDocument;
+
+    @Setup
+    public void readDocument() throws JsonProcessingException {
+        converter = new CrossRefConverter(new DoiConverter());
+        crossRefDocument = CrossRefDocumentReader.readMessage(BenchmarkInputs.crossrefDocument(document));
+    }
+
+    @Benchmark
+    public CreatePublicationRequest toPublication() {
+        return converter.toPublication(crossRefDocument);
+    }
+}
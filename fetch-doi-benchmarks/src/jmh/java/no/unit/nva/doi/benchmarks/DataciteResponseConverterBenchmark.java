@@ -0,0 +1,44 @@
+package no.unit.nva.doi.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.concurrent.TimeUnit;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.doi.transformer.DataciteResponseConverter;
+import no.unit.nva.doi.transformer.model.datacitemodel.DataciteResponse;
+import no.unit.nva.doi.transformer.utils.InvalidIssnException;
+import nva.commons.doi.DoiConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts parsed Datacite responses to publications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataciteResponseConverterBenchmark {
+
+    @Param({BenchmarkInputs.DATACITE_RESPONSE, BenchmarkInputs.SYNTHETIC})
+    public String document;
+
+    private DataciteResponseConverter converter;
+    private DataciteResponse dataciteResponse;
+
+    @Setup
+    public void readDocument() throws JsonProcessingException {
+        converter = new DataciteResponseConverter(new DoiConverter());
+        dataciteResponse = Json.readValue(BenchmarkInputs.dataciteDocument(document), DataciteResponse.class);
+    }
+
+    @Benchmark
+    public CreatePublicationRequest toPublication() throws InvalidIssnException {
+        return converter.toPublication(dataciteResponse);
+    }
+}
@@ -0,0 +1,68 @@
+package no.unit.nva.doi.benchmarks;
+
+import static no.unit.nva.doi.transformer.MetadataLocation.CROSSREF_STRING;
+import static no.unit.nva.doi.transformer.MetadataLocation.DATACITE_STRING;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.doi.transformer.CrossRefConverter;
+import no.unit.nva.doi.transformer.DataciteResponseConverter;
+import no.unit.nva.doi.transformer.DoiTransformService;
+import no.unit.nva.doi.transformer.utils.InvalidIssnException;
+import nva.commons.doi.DoiConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Transforms raw registration agency responses to publications, parsing included, both from a String and straight
+ * from the bytes of the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DoiTransformServiceBenchmark {
+
+    private static final String CROSSREF_PREFIX = "crossref:";
+    private static final String DATACITE_PREFIX = "datacite:";
+
+    @Param({CROSSREF_PREFIX + BenchmarkInputs.CROSSREF_ARTICLE, CROSSREF_PREFIX + BenchmarkInputs.SYNTHETIC,
+        DATACITE_PREFIX + BenchmarkInputs.DATACITE_RESPONSE, DATACITE_PREFIX + BenchmarkInputs.SYNTHETIC})
+    public String document;
+
+    private DoiTransformService service;
+    private String contentLocation;
+    private String body;
+    private byte[] bodyBytes;
+
+    @Setup
+    public void readDocument() throws IOException {
+        service = new DoiTransformService(new DataciteResponseConverter(new DoiConverter()),
+                                          new CrossRefConverter(new DoiConverter()));
+        if (document.startsWith(CROSSREF_PREFIX)) {
+            contentLocation = CROSSREF_STRING;
+            body = BenchmarkInputs.crossrefDocument(document.substring(CROSSREF_PREFIX.length()));
+        } else {
+            contentLocation = DATACITE_STRING;
+            body = BenchmarkInputs.dataciteDocument(document.substring(DATACITE_PREFIX.length()));
+        }
+        bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CreatePublicationRequest transformPublicationFromString() throws IOException, InvalidIssnException {
+        return service.transformPublication(body, contentLocation);
+    }
+
+    @Benchmark
+    public CreatePublicationRequest transformPublicationFromBytes() throws IOException, InvalidIssnException {
+        return service.transformPublication(new ByteArrayInputStream(bodyBytes), contentLocation);
+    }
+}
@@ -0,0 +1,141 @@
+package no.unit.nva.doi.benchmarks;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
+import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.doi.fetch.commons.publication.model.Identity;
+import no.unit.nva.doi.fetch.commons.publication.model.Reference;
+import no.unit.nva.doi.fetch.commons.publication.model.Role;
+import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Book;
+import no.unit.nva.doi.fetch.commons.publication.model.instancetypes.AcademicMonograph;
+import no.unit.nva.metadata.extractors.ExtractionAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Collects the given number of contributors, tags and ISBNs of a book, the values the extractors add one statement at
+ * a time. They are collected with {@link ExtractionAccumulator}, and with a copy of what the contributor, tag and
+ * document type extractors did before it, which copied the field and rebuilt the book for every statement. Values
+ * that would be equal in both are created in setup, so the difference is the cost of collecting them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExtractionAccumulatorBenchmark {
+
+    private static final String ISBN_PREFIX = "978";
+    private static final int ISBN_BODY_LENGTH = 9;
+
+    @Param({"10", "1000"})
+    public int entries;
+
+    private List<Contributor> contributors;
+    private List<String> tags;
+    private List<String> isbns;
+
+    @Setup
+    public void createValues() {
+        contributors = new ArrayList<>();
+        tags = new ArrayList<>();
+        isbns = new ArrayList<>();
+        for (int index = 0; index < entries; index++) {
+            contributors.add(new Contributor(new Role("Creator"),
+                                             new Identity(null, "Family" + index + ", Given" + index, "Personal",
+                                                          null),
+                                             Collections.emptyList(), null));
+            tags.add("Subject " + index);
+            isbns.add(isbn13(index));
+        }
+    }
+
+    @Benchmark
+    public EntityDescription accumulate() {
+        EntityDescription entityDescription = bookDescription();
+        ExtractionAccumulator accumulator = new ExtractionAccumulator();
+        for (int index = 0; index < entries; index++) {
+            accumulator.addContributor(contributors.get(index));
+            accumulator.addTag(tags.get(index));
+            accumulator.addIsbn(isbns.get(index));
+        }
+        accumulator.writeTo(entityDescription);
+        return entityDescription;
+    }
+
+    @Benchmark
+    public EntityDescription copyPerStatement() {
+        EntityDescription entityDescription = bookDescription();
+        for (int index = 0; index < entries; index++) {
+            CopyPerStatement.addContributor(entityDescription, contributors.get(index));
+            CopyPerStatement.addTag(entityDescription, tags.get(index));
+            CopyPerStatement.addIsbn(entityDescription.getReference(), isbns.get(index));
+        }
+        return entityDescription;
+    }
+
+    private static EntityDescription bookDescription() {
+        EntityDescription entityDescription = new EntityDescription();
+        entityDescription.setReference(new Reference(new Book(null, null, null, List.of()),
+                                                     new AcademicMonograph(null), null));
+        return entityDescription;
+    }
+
+    private static String isbn13(int index) {
+        String body = ISBN_PREFIX + String.format("%0" + ISBN_BODY_LENGTH + "d", index);
+        int sum = 0;
+        for (int position = 0; position < body.length(); position++) {
+            sum += (body.charAt(position) - '0') * (position % 2 == 0 ? 1 : 3);
+        }
+        return body + (10 - sum % 10) % 10;
+    }
+
+    /**
+     * The field updates of ContributorExtractor, TagExtractor and DocumentTypeExtractor before the accumulator.
+     */
+    private static final class CopyPerStatement {
+
+        private static void addContributor(EntityDescription entityDescription, Contributor contributor) {
+            List<Contributor> contributorList = entityDescription.getContributors();
+            if (isNull(contributorList)) {
+                var newList = new ArrayList<Contributor>();
+                newList.add(contributor);
+                entityDescription.setContributors(newList);
+            } else {
+                var newContributorList = new ArrayList<>(entityDescription.getContributors());
+                newContributorList.add(contributor);
+                entityDescription.setContributors(newContributorList);
+            }
+        }
+
+        private static void addTag(EntityDescription entityDescription, String tag) {
+            List<String> tags = new ArrayList<>();
+            List<String> existingTags = entityDescription.getTags();
+            if (nonNull(existingTags) && !existingTags.isEmpty()) {
+                tags.addAll(existingTags);
+            }
+            tags.add(tag);
+            entityDescription.setTags(List.of(tags.toArray(new String[]{})));
+        }
+
+        private static void addIsbn(Reference reference, String isbn) {
+            Book context = (Book) reference.getPublicationContext();
+            List<String> existingIsbnList = context.isbnList();
+            List<String> isbnList = nonNull(existingIsbnList) ? new ArrayList<>(existingIsbnList) : new ArrayList<>();
+            if (!isbnList.contains(isbn)) {
+                isbnList.add(isbn);
+                reference.setPublicationContext(new Book(context.series(), context.seriesNumber(),
+                                                         context.publisher(), isbnList));
+            }
+        }
+    }
+}
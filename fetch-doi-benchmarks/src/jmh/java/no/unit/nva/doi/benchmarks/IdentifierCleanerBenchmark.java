@@ -0,0 +1,77 @@
+package no.unit.nva.doi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.fetch.identifiers.StandardNumbers;
+import no.unit.nva.doi.transformer.utils.IsbnCleaner;
+import no.unit.nva.doi.transformer.utils.IssnCleaner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cleans ISSNs and ISBNs as they are found in registration agency responses, one at a time and in bulk.
+ *
+ * <p>All candidates are valid, so that the cleaners do not log, and are formatted the ways the samples of the
+ * transformer tests are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdentifierCleanerBenchmark {
+
+    private static final List<String> ISSNS = List.of("0317-8471", "03178471", "ISSN 1050-124X", " 2049-3630 ");
+    private static final List<String> ISBNS = List.of("978-0-306-40615-7", "9780306406157", "0-306-40615-2",
+                                                      "ISBN 0 8044 2957 X", "979-10-90636-07-1");
+    private static final int BULK_REPETITIONS = 200;
+
+    private List<String> bulkIssns;
+    private List<String> bulkIsbns;
+
+    @Setup
+    public void createBulkCandidates() {
+        bulkIssns = new ArrayList<>();
+        bulkIsbns = new ArrayList<>();
+        for (int repetition = 0; repetition < BULK_REPETITIONS; repetition++) {
+            bulkIssns.addAll(ISSNS);
+            bulkIsbns.addAll(ISBNS);
+        }
+    }
+
+    @Benchmark
+    public void cleanIssn(Blackhole blackhole) {
+        for (String issn : ISSNS) {
+            blackhole.consume(IssnCleaner.clean(issn));
+        }
+    }
+
+    @Benchmark
+    public void cleanIsbn(Blackhole blackhole) {
+        for (String isbn : ISBNS) {
+            blackhole.consume(IsbnCleaner.clean(isbn));
+        }
+    }
+
+    @Benchmark
+    public void toIsbn13(Blackhole blackhole) {
+        for (String isbn : ISBNS) {
+            blackhole.consume(StandardNumbers.toIsbn13(isbn));
+        }
+    }
+
+    @Benchmark
+    public List<String> normalizeIssnsInBulk() {
+        return StandardNumbers.normalizeIssns(bulkIssns);
+    }
+
+    @Benchmark
+    public List<String> cleanIsbnsInBulk() {
+        return IsbnCleaner.cleanAll(bulkIsbns);
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.doi.benchmarks;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.transformer.language.LanguageMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Maps ISO 639 codes and BCP 47 tags to language URIs, for known and unknown languages, and lists all language URIs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LanguageMapperBenchmark {
+
+    private static final List<String> CODES = List.of("eng", "nob", "nno", "en", "nb", "en-GB", "ger", "unknown");
+
+    @Benchmark
+    public void getUriFromIsoAsOptional(Blackhole blackhole) {
+        for (String code : CODES) {
+            blackhole.consume(LanguageMapper.getUriFromIsoAsOptional(code));
+        }
+    }
+
+    @Benchmark
+    public Collection<URI> languageUris() {
+        return LanguageMapper.languageUris();
+    }
+}
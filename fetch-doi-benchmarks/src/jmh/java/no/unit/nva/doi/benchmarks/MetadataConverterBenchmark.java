@@ -0,0 +1,73 @@
+package no.unit.nva.doi.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.metadata.MetadataConverter;
+import no.unit.nva.metadata.type.Bibo;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generates publication requests from the document model of a landing page with the given number of creators,
+ * contributors and subjects.
+ *
+ * <p>The converter filters the model in place, so every invocation converts a fresh copy of the model. The cost of the
+ * copy alone is measured by {@link #copyModel()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetadataConverterBenchmark {
+
+    private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+    private static final IRI DOCUMENT = VALUE_FACTORY.createIRI("https://example.org/article");
+
+    @Param({"10", "5000"})
+    public int entries;
+
+    private Model template;
+
+    @Setup
+    public void createModel() {
+        template = new LinkedHashModel();
+        add(DcTerms.TITLE.getIri(), "Energy and mass in the " + entries + " samples");
+        add(DcTerms.DATE.getIri(), "2020-02-29");
+        add(DcTerms.LANGUAGE.getIri(), "en");
+        add(DcTerms.ABSTRACT.getIri(), "An abstract of the article");
+        add(DcTerms.DESCRIPTION.getIri(), "A description of the article");
+        add(Bibo.DOI.getIri(), "https://doi.org/10.1000/182");
+        add(Bibo.ISSN.getIri(), "0317-8471");
+        for (int index = 0; index < entries; index++) {
+            add(DcTerms.CREATOR.getIri(), "Family" + index + ", Given" + index);
+            add(DcTerms.CONTRIBUTOR.getIri(), "Contributor" + index + ", Given" + index);
+            add(DcTerms.SUBJECT.getIri(), "Subject " + index);
+        }
+    }
+
+    @Benchmark
+    public Optional<CreatePublicationRequest> generateCreatePublicationRequest() {
+        return new MetadataConverter(new LinkedHashModel(template)).generateCreatePublicationRequest();
+    }
+
+    @Benchmark
+    public Model copyModel() {
+        return new LinkedHashModel(template);
+    }
+
+    private void add(IRI predicate, String value) {
+        template.add(DOCUMENT, predicate, VALUE_FACTORY.createLiteral(value));
+    }
+}
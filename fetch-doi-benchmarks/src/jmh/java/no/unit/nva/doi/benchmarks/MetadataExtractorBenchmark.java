@@ -0,0 +1,123 @@
+package no.unit.nva.doi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.metadata.extractors.AbstractExtractor;
+import no.unit.nva.metadata.extractors.ContributorExtractor;
+import no.unit.nva.metadata.extractors.DateExtractor;
+import no.unit.nva.metadata.extractors.DescriptionExtractor;
+import no.unit.nva.metadata.extractors.DocumentTypeExtractor;
+import no.unit.nva.metadata.extractors.DoiExtractor;
+import no.unit.nva.metadata.extractors.ExtractionAccumulator;
+import no.unit.nva.metadata.extractors.ExtractionPair;
+import no.unit.nva.metadata.extractors.LanguageExtractor;
+import no.unit.nva.metadata.extractors.MetadataExtractor;
+import no.unit.nva.metadata.extractors.TagExtractor;
+import no.unit.nva.metadata.extractors.TitleExtractor;
+import no.unit.nva.metadata.type.Bibo;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Hands the statements of a document model to the extractors, with {@link MetadataExtractor} routing each statement
+ * to the extractors of its predicate, and with a copy of the dispatch it replaced, which kept the extractors in a
+ * HashSet and ran all of them on every statement. The model has the given number of creators, contributors and
+ * subjects, and Dublin Core terms no extractor handles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetadataExtractorBenchmark {
+
+    private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+    private static final IRI DOCUMENT = VALUE_FACTORY.createIRI("https://example.org/article");
+
+    @Param({"10", "5000"})
+    public int entries;
+
+    private List<Statement> statements;
+
+    @Setup
+    public void createStatements() {
+        statements = new ArrayList<>();
+        add(DcTerms.TITLE.getIri(), "Energy and mass in the " + entries + " samples");
+        add(DcTerms.DATE.getIri(), "2020-02-29");
+        add(DcTerms.LANGUAGE.getIri(), "en");
+        add(DcTerms.ABSTRACT.getIri(), "An abstract of the article");
+        add(DcTerms.DESCRIPTION.getIri(), "A description of the article");
+        add(Bibo.DOI.getIri(), "https://doi.org/10.1000/182");
+        add(Bibo.ISSN.getIri(), "0317-8471");
+        for (int index = 0; index < entries; index++) {
+            add(DcTerms.CREATOR.getIri(), "Family" + index + ", Given" + index);
+            add(DcTerms.CONTRIBUTOR.getIri(), "Contributor" + index + ", Given" + index);
+            add(DcTerms.SUBJECT.getIri(), "Subject " + index);
+            add(DcTerms.PUBLISHER.getIri(), "Publisher " + index);
+            add(DcTerms.RIGHTS.getIri(), "Rights " + index);
+        }
+    }
+
+    @Benchmark
+    public EntityDescription dispatchByPredicate() {
+        EntityDescription entityDescription = new EntityDescription();
+        MetadataExtractor extractor = new MetadataExtractor(entityDescription, true)
+                                          .withExtractor(AbstractExtractor.PREDICATES, AbstractExtractor.apply)
+                                          .withExtractor(ContributorExtractor.PREDICATES, ContributorExtractor.apply)
+                                          .withExtractor(DateExtractor.PREDICATES, DateExtractor.apply)
+                                          .withExtractor(DescriptionExtractor.PREDICATES, DescriptionExtractor.apply)
+                                          .withExtractor(DocumentTypeExtractor.PREDICATES,
+                                                         DocumentTypeExtractor.apply)
+                                          .withExtractor(DoiExtractor.PREDICATES, DoiExtractor.apply)
+                                          .withExtractor(LanguageExtractor.PREDICATES, LanguageExtractor.apply)
+                                          .withExtractor(TagExtractor.PREDICATES, TagExtractor.apply)
+                                          .withExtractor(TitleExtractor.PREDICATES, TitleExtractor.apply);
+        for (Statement statement : statements) {
+            extractor.extract(statement);
+        }
+        extractor.finish();
+        return entityDescription;
+    }
+
+    @Benchmark
+    public EntityDescription dispatchToAllExtractors() {
+        Set<Function<ExtractionPair, EntityDescription>> extractors = new HashSet<>();
+        extractors.add(AbstractExtractor.apply);
+        extractors.add(ContributorExtractor.apply);
+        extractors.add(DateExtractor.apply);
+        extractors.add(DescriptionExtractor.apply);
+        extractors.add(DocumentTypeExtractor.apply);
+        extractors.add(DoiExtractor.apply);
+        extractors.add(LanguageExtractor.apply);
+        extractors.add(TagExtractor.apply);
+        extractors.add(TitleExtractor.apply);
+        EntityDescription entityDescription = new EntityDescription();
+        ExtractionAccumulator accumulator = new ExtractionAccumulator();
+        for (Statement statement : statements) {
+            ExtractionPair extractionPair = new ExtractionPair(statement, entityDescription, accumulator, true);
+            for (Function<ExtractionPair, EntityDescription> extractor : extractors) {
+                extractor.apply(extractionPair);
+            }
+        }
+        accumulator.writeTo(entityDescription);
+        return entityDescription;
+    }
+
+    private void add(IRI predicate, String value) {
+        statements.add(VALUE_FACTORY.createStatement(DOCUMENT, predicate, VALUE_FACTORY.createLiteral(value)));
+    }
+}
@@ -0,0 +1,98 @@
+package no.unit.nva.doi.benchmarks;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.metadata.type.Citation;
+import no.unit.nva.metadata.type.DcTerms;
+import no.unit.nva.metadata.type.OntologyProperty;
+import no.unit.nva.metadata.type.OntologyPropertyIndex;
+import no.unit.nva.metadata.type.RawMetaTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Maps the predicate names Any23 finds on a landing page to ontology properties, with {@link OntologyPropertyIndex}
+ * and with a copy of the lookup it replaced, which scanned {@link Citation}, {@link DcTerms} and {@link RawMetaTag} in
+ * turn for every triple.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OntologyPropertyIndexBenchmark {
+
+    // Known and unknown names in the mix of a typical landing page
+    private static final String[] NAMES = {
+        "citation_title", "citation_author", "citation_author", "citation_publication_date", "citation_doi",
+        "citation_issn", "DC.Title", "DC.creator", "dcterms.abstract", "description", "doi", "viewport",
+        "og:title", "og:type", "twitter:card", "robots", "citation_pdf_url", "citation_journal_title"
+    };
+
+    @Benchmark
+    public int lookupWithIndex() {
+        int found = 0;
+        for (String name : NAMES) {
+            if (OntologyPropertyIndex.lookup(name).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lookupWithLinearScan() {
+        int found = 0;
+        for (String name : NAMES) {
+            if (LinearScan.getMappedOntologyProperty(name).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The lookup of OntologyPropertyTripleHandler and the type enums before the index.
+     */
+    private static final class LinearScan {
+
+        private static final String EMPTY_STRING = "";
+        // The private local names of the Dublin Core terms, which the scan compared against
+        private static final String[] DC_TERM_NAMES = Arrays.stream(DcTerms.values())
+                                                          .map(term -> term.getIri().getLocalName())
+                                                          .toArray(String[]::new);
+
+        private static Optional<OntologyProperty> getMappedOntologyProperty(String property) {
+            Optional<Citation> citationValue = Arrays.stream(Citation.values())
+                                                   .filter(tag -> tag.getMetaTagName().equalsIgnoreCase(property))
+                                                   .findAny();
+            if (citationValue.isPresent()) {
+                return Optional.of(citationValue.get().getMapping());
+            }
+            Optional<DcTerms> dcTermsValue = getTermByValue(property);
+            if (dcTermsValue.isPresent()) {
+                return Optional.of(dcTermsValue.get());
+            }
+            return Arrays.stream(RawMetaTag.values())
+                       .filter(tag -> tag.getMetaTagName().equalsIgnoreCase(property))
+                       .findAny()
+                       .map(RawMetaTag::getMapping);
+        }
+
+        private static Optional<DcTerms> getTermByValue(String candidate) {
+            String term = replaceInternalPrefixes(candidate);
+            return Arrays.stream(DcTerms.values())
+                       .filter(dcTerm -> DC_TERM_NAMES[dcTerm.ordinal()].equalsIgnoreCase(term))
+                       .findAny();
+        }
+
+        private static String replaceInternalPrefixes(String input) {
+            String replaced = input.toLowerCase(Locale.ROOT).replace(DcTerms.DCTERMS, EMPTY_STRING);
+            return replaced.replace(DcTerms.DC, EMPTY_STRING);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package no.unit.nva.doi.benchmarks;
+
+import static java.util.Objects.isNull;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import no.unit.nva.doi.transformer.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Extracts the text of the JATS abstract of a Crossref sample, and of a large synthetic abstract with MathML. The
+ * single pass of {@link StringUtils} is compared with a copy of the versions it replaced: tags removed by parsing the
+ * abstract into a DOM and collecting its text nodes with XPath, and whitespace collapsed by replacing pairs with a
+ * regex until nothing changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StringUtilsBenchmark {
+
+    @Param({BenchmarkInputs.CROSSREF_WITH_ABSTRACT, BenchmarkInputs.SYNTHETIC})
+    public String document;
+
+    private String jatsAbstract;
+    private String text;
+
+    @Setup
+    public void readAbstract() throws JsonProcessingException {
+        jatsAbstract = BenchmarkInputs.jatsAbstract(document);
+        text = jatsAbstract.replace('<', ' ').replace('>', ' ');
+    }
+
+    @Benchmark
+    public String removeXmlTags() {
+        return StringUtils.removeXmlTags(jatsAbstract);
+    }
+
+    @Benchmark
+    public String removeXmlTagsWithDom() {
+        return DomStringUtils.removeXmlTags(jatsAbstract);
+    }
+
+    @Benchmark
+    public String removeMultipleWhiteSpaces() {
+        return StringUtils.removeMultipleWhiteSpaces(text);
+    }
+
+    @Benchmark
+    public String removeMultipleWhiteSpacesWithRegexLoop() {
+        return DomStringUtils.removeMultipleWhiteSpaces(text);
+    }
+
+    /**
+     * The removeXmlTags and removeMultipleWhiteSpaces of StringUtils before the single pass.
+     */
+    private static final class DomStringUtils {
+
+        private static final String SPACE = " ";
+        private static final String DOUBLE_WHITESPACE = "\\s\\s";
+        private static final String PATH_TO_TEXT = "//text()";
+        private static final String BASIC_OUTER_XML_TAGS_TEMPLATE = "<naive>%s</naive>";
+
+        private static String removeXmlTags(String input) {
+            String output = null;
+            DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newDefaultInstance();
+            try {
+                Document document = createXmlDocumentFromInput(input, documentBuilderFactory);
+                NodeList nodeList = getDocumentNodes(document);
+                output = textWithoutXmlTags(nodeList);
+            } catch (XPathExpressionException | ParserConfigurationException | IOException | SAXException e) {
+                System.out.println(e.getMessage());
+            } finally {
+                if (isNull(output)) {
+                    output = input;
+                }
+            }
+            return removeMultipleWhiteSpaces(output).trim();
+        }
+
+        private static String textWithoutXmlTags(NodeList nodeList) {
+            StringBuilder stringBuilder = new StringBuilder();
+            for (int counter = 0; counter < nodeList.getLength(); counter++) {
+                stringBuilder.append(SPACE).append(nodeList.item(counter).getTextContent());
+            }
+            return stringBuilder.toString();
+        }
+
+        private static NodeList getDocumentNodes(Document document) throws XPathExpressionException {
+            XPathFactory xpathFactory = XPathFactory.newDefaultInstance();
+            XPath xpath = xpathFactory.newXPath();
+            XPathExpression expr = xpath.compile(PATH_TO_TEXT);
+            return (NodeList) expr.evaluate(document, XPathConstants.NODESET);
+        }
+
+        private static Document createXmlDocumentFromInput(String input,
+                                                           DocumentBuilderFactory documentBuilderFactory)
+            throws ParserConfigurationException, SAXException, IOException {
+            DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+            try (Reader reader = new StringReader(String.format(BASIC_OUTER_XML_TAGS_TEMPLATE, input))) {
+                InputSource inputSource = new InputSource(reader);
+                inputSource.setEncoding(StandardCharsets.UTF_8.name());
+                Document document = documentBuilder.parse(inputSource);
+                document.getDocumentElement().normalize();
+                return document;
+            }
+        }
+
+        private static String removeMultipleWhiteSpaces(String input) {
+            String buffer = input.trim();
+            String result = buffer.replaceAll(DOUBLE_WHITESPACE, SPACE);
+            while (!result.equals(buffer)) {
+                buffer = result;
+                result = buffer.replaceAll(DOUBLE_WHITESPACE, SPACE);
+            }
+            return result;
+        }
+    }
+}
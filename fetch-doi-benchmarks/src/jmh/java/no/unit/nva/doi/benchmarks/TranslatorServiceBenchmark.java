@@ -0,0 +1,104 @@
+package no.unit.nva.doi.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.metadata.service.TranslatorService;
+import org.apache.any23.Any23;
+import org.apache.any23.extractor.ExtractionException;
+import org.apache.any23.extractor.ExtractorRegistryImpl;
+import org.apache.any23.filter.IgnoreAccidentalRDFa;
+import org.apache.any23.source.ByteArrayDocumentSource;
+import org.apache.any23.writer.CountingTripleHandler;
+import org.apache.any23.writer.ReportingTripleHandler;
+import org.apache.any23.writer.TripleHandlerException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Extracts the triples of a synthetic landing page with Any23, the way {@link TranslatorService} does once the page
+ * has been downloaded. The baseline is the configuration the service had before it ran an extractor profile: every
+ * registered extractor, with MIME type detection. It is compared with the profile of the service, with and without
+ * detection. A page is handed to Any23 without its content type when the type is detected.
+ *
+ * <p>Every registered extractor without detection is left out: the RDF syntax extractors would then parse the HTML
+ * page, and the TriX parser fails against the RDF4J version of the build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranslatorServiceBenchmark {
+
+    public static final String ALL_EXTRACTORS_DETECTING = "all-detecting";
+    public static final String PROFILE_DETECTING = "profile-detecting";
+    public static final String PROFILE = "profile";
+    private static final String PAGE_URI = "https://example.org/article";
+    private static final String CONTENT_TYPE = "text/html";
+    private static final int PARAGRAPHS = 100;
+
+    @Param({ALL_EXTRACTORS_DETECTING, PROFILE_DETECTING, PROFILE})
+    public String configuration;
+
+    private Any23 translator;
+    private String contentType;
+    private byte[] page;
+
+    @Setup
+    public void createTranslator() {
+        translator = ALL_EXTRACTORS_DETECTING.equals(configuration)
+                         ? new Any23()
+                         : new Any23(ExtractorRegistryImpl.getInstance()
+                                         .getExtractorGroup(TranslatorService.DEFAULT_EXTRACTORS));
+        if (PROFILE.equals(configuration)) {
+            translator.setMIMETypeDetector(null);
+            contentType = CONTENT_TYPE;
+        }
+        page = landingPage().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int extract() throws IOException, ExtractionException, TripleHandlerException {
+        CountingTripleHandler counter = new CountingTripleHandler();
+        try (ReportingTripleHandler handler = new ReportingTripleHandler(
+            new IgnoreAccidentalRDFa(counter, TranslatorService.SUPPRESS_CSS_TRIPLES))) {
+            translator.extract(new ByteArrayDocumentSource(page, PAGE_URI, contentType), handler);
+        }
+        return counter.getCount();
+    }
+
+    // A page like the landing pages of publishers: citation meta tags and JSON-LD in the head, RDFa in the body
+    private static String landingPage() {
+        StringBuilder html = new StringBuilder(
+            "<!DOCTYPE html>\n<html lang=\"en\" prefix=\"dc: http://purl.org/dc/terms/\"><head>\n"
+            + "<meta charset=\"utf-8\">\n<title>Energy and mass in the samples</title>\n"
+            + "<meta name=\"citation_title\" content=\"Energy and mass in the samples\">\n"
+            + "<meta name=\"citation_doi\" content=\"10.1000/182\">\n"
+            + "<meta name=\"citation_issn\" content=\"0317-8471\">\n"
+            + "<meta name=\"citation_publication_date\" content=\"2020/02/29\">\n"
+            + "<meta name=\"dc.title\" content=\"Energy and mass in the samples\">\n"
+            + "<link rel=\"canonical\" href=\"" + PAGE_URI + "\">\n"
+            + "<link rel=\"stylesheet\" href=\"/styles/site.css\">\n"
+            + "<script type=\"application/ld+json\">{\"@context\": \"https://schema.org\", "
+            + "\"@type\": \"ScholarlyArticle\", \"name\": \"Energy and mass in the samples\", "
+            + "\"datePublished\": \"2020-02-29\"}</script>\n");
+        for (int index = 0; index < 10; index++) {
+            html.append("<meta name=\"citation_author\" content=\"Family").append(index)
+                .append(", Given").append(index).append("\">\n");
+        }
+        html.append("</head>\n<body>\n<article about=\"").append(PAGE_URI).append("\">\n")
+            .append("<h1 property=\"dc:title\">Energy and mass in the samples</h1>\n")
+            .append("<p>Published <span property=\"dc:date\">2020-02-29</span></p>\n");
+        for (int index = 0; index < PARAGRAPHS; index++) {
+            html.append("<p class=\"paragraph\">Paragraph ").append(index)
+                .append(" shows that <em>energy</em> and mass relate as <a href=\"/figures/").append(index)
+                .append("\">figure ").append(index).append("</a> shows, for every sample in the series.</p>\n");
+        }
+        return html.append("</article>\n</body>\n</html>\n").toString();
+    }
+}
@@ -0,0 +1,116 @@
+package no.unit.nva.doi.fetch.cache;
+
+import static java.util.Objects.nonNull;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory map whose entries expire after a time to live. When the map is full, the least recently used
+ * entry is evicted. All methods are thread-safe.
+ *
+ * <p>Values must not be null. A cache that remembers keys without a value, such as lookups without a match, can keep
+ * an empty {@link java.util.Optional} as value.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class TtlLruCache<K, V> {
+
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final Map<K, Entry<V>> entries;
+    private final Clock clock;
+
+    /**
+     * Constructor for TtlLruCache.
+     *
+     * @param maxEntries the largest number of entries kept.
+     * @param clock      the clock deciding when entries expire.
+     */
+    public TtlLruCache(int maxEntries, Clock clock) {
+        this.entries = new LruMap<>(maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key.
+     * @return the value, or null when there is no entry for the key or the entry has expired.
+     */
+    public V get(K key) {
+        Entry<V> entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        return nonNull(entry) && clock.millis() < entry.expiresAt() ? entry.value() : null;
+    }
+
+    /**
+     * Stores the value of a key for the time to live.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @param ttl   how long the value is returned by {@link #get}.
+     */
+    public void put(K key, V value, Duration ttl) {
+        long expiresAt = clock.millis() + ttl.toMillis();
+        synchronized (this) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    /**
+     * Stores the value of a key until it is evicted or removed, for values whose expiry the caller decides.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, NEVER));
+    }
+
+    /**
+     * Stores the value of a key until it is evicted or removed, unless the key already has an entry.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public synchronized void putIfAbsent(K key, V value) {
+        entries.putIfAbsent(key, new Entry<>(value, NEVER));
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+
+    }
+
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+
+        private LruMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
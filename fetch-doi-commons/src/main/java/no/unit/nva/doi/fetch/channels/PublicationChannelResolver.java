@@ -0,0 +1,224 @@
+package no.unit.nva.doi.fetch.channels;
+
+import static java.util.Objects.nonNull;
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.fetch.cache.TtlLruCache;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.paths.UriWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the ids of journals and publishers in the publication channels register.
+ *
+ * <p>A journal is looked up by electronic ISSN, printed ISSN and name. All candidate queries are sent at once, and the
+ * first candidate with a match in that order of priority wins. Answers are cached by query term and year, and terms
+ * without a match are remembered for a shorter time. Failed queries are not cached.
+ */
+public class PublicationChannelResolver {
+
+    public static final String API_HOST_ENV = "API_HOST";
+    public static final String PUBLICATION_CHANNELS_PATH = "publication-channels";
+    public static final String JOURNAL_PATH = "journal";
+    public static final String PUBLISHER_PATH = "publisher";
+    public static final String QUERY_PARAM_QUERY = "query";
+    public static final String QUERY_PARAM_YEAR = "year";
+    public static final int DEFAULT_MAX_ENTRIES = 5_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(6);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(15);
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final String QUERY_FAILED = "Publication channels query failed: {}";
+    private static final String ACCEPT = "Accept";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String ID_FIELD = "id";
+    private static final int NO_YEAR = 0;
+    private static final Logger logger = LoggerFactory.getLogger(PublicationChannelResolver.class);
+
+    private final HttpClient httpClient;
+    private final URI journalUri;
+    private final URI publisherUri;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final TtlLruCache<ChannelKey, Optional<URI>> ids;
+
+    /**
+     * Constructor for PublicationChannelResolver.
+     *
+     * @param httpClient   the client used for queries to the publication channels register.
+     * @param journalUri   the URI of the journal search.
+     * @param publisherUri the URI of the publisher search.
+     */
+    public PublicationChannelResolver(HttpClient httpClient, URI journalUri, URI publisherUri) {
+        this(httpClient, journalUri, publisherUri, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL,
+             Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for PublicationChannelResolver.
+     *
+     * @param httpClient   the client used for queries to the publication channels register.
+     * @param journalUri   the URI of the journal search.
+     * @param publisherUri the URI of the publisher search.
+     * @param maxEntries   the largest number of answers kept in the cache.
+     * @param ttl          how long a found channel id is served from the cache.
+     * @param negativeTtl  how long a term without a match is remembered.
+     * @param clock        the clock deciding when cached answers expire.
+     */
+    public PublicationChannelResolver(HttpClient httpClient, URI journalUri, URI publisherUri, int maxEntries,
+                                      Duration ttl, Duration negativeTtl, Clock clock) {
+        this.httpClient = httpClient;
+        this.journalUri = journalUri;
+        this.publisherUri = publisherUri;
+        this.ids = new TtlLruCache<>(maxEntries, clock);
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Returns the resolver shared by everything running in this container, querying the publication channels register
+     * at API_HOST.
+     *
+     * @param environment the environment.
+     * @return the shared resolver, or an empty Optional when API_HOST is not set.
+     */
+    @JacocoGenerated
+    public static Optional<PublicationChannelResolver> shared(Environment environment) {
+        return environment.readEnvOpt(API_HOST_ENV).map(SharedResolver::forHost);
+    }
+
+    public static URI journalSearchUri(String apiHost) {
+        return UriWrapper.fromHost(apiHost).addChild(PUBLICATION_CHANNELS_PATH).addChild(JOURNAL_PATH).getUri();
+    }
+
+    public static URI publisherSearchUri(String apiHost) {
+        return UriWrapper.fromHost(apiHost).addChild(PUBLICATION_CHANNELS_PATH).addChild(PUBLISHER_PATH).getUri();
+    }
+
+    /**
+     * Finds the id of a journal, trying its electronic ISSN, its printed ISSN and its name in that order.
+     *
+     * @param name           the name of the journal, or null.
+     * @param electronicIssn the electronic ISSN of the journal, or null.
+     * @param printedIssn    the printed ISSN of the journal, or null.
+     * @param year           the year the journal should be registered for.
+     * @return the id of the journal, or an empty Optional when there is no match.
+     */
+    public Optional<URI> resolveJournal(String name, String electronicIssn, String printedIssn, int year) {
+        List<CompletableFuture<Optional<URI>>> candidates =
+            Stream.of(electronicIssn, printedIssn, name)
+                .filter(Objects::nonNull)
+                .map(String::strip)
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .map(term -> lookup(JOURNAL_PATH, term, year))
+                .toList();
+        for (CompletableFuture<Optional<URI>> candidate : candidates) {
+            Optional<URI> id = candidate.join();
+            if (id.isPresent()) {
+                return id;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the id of a publisher by its name.
+     *
+     * @param name the name of the publisher, or null.
+     * @return the id of the publisher, or an empty Optional when there is no match.
+     */
+    public Optional<URI> resolvePublisher(String name) {
+        return Optional.ofNullable(name)
+                   .map(String::strip)
+                   .filter(term -> !term.isEmpty())
+                   .flatMap(term -> lookup(PUBLISHER_PATH, term, NO_YEAR).join());
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private CompletableFuture<Optional<URI>> lookup(String type, String term, int year) {
+        ChannelKey key = new ChannelKey(type, term.toLowerCase(Locale.ROOT), year);
+        Optional<URI> cached = ids.get(key);
+        if (nonNull(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return httpClient.sendAsync(createRequest(type, term, year), HttpResponse.BodyHandlers.ofString())
+                   .thenApply(response -> store(key, parseResponse(response)))
+                   .exceptionally(PublicationChannelResolver::logQueryError);
+    }
+
+    private HttpRequest createRequest(String type, String term, int year) {
+        var searchUri = JOURNAL_PATH.equals(type) ? journalUri : publisherUri;
+        var query = UriWrapper.fromUri(searchUri)
+                        .addQueryParameter(QUERY_PARAM_QUERY, URLEncoder.encode(term, StandardCharsets.UTF_8));
+        if (year != NO_YEAR) {
+            query = query.addQueryParameter(QUERY_PARAM_YEAR, Integer.toString(year));
+        }
+        return HttpRequest.newBuilder(query.getUri())
+                   .header(ACCEPT, APPLICATION_JSON)
+                   .timeout(REQUEST_TIMEOUT)
+                   .GET()
+                   .build();
+    }
+
+    private static Optional<URI> parseResponse(HttpResponse<String> response) {
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("Unexpected status code: " + response.statusCode());
+        }
+        return attempt(() -> Json.readTree(response.body()))
+                   .toOptional()
+                   .map(channels -> channels.path(0).path(ID_FIELD))
+                   .map(JsonNode::textValue)
+                   .map(URI::create);
+    }
+
+    private Optional<URI> store(ChannelKey key, Optional<URI> id) {
+        ids.put(key, id, id.isPresent() ? ttl : negativeTtl);
+        return id;
+    }
+
+    private static Optional<URI> logQueryError(Throwable exception) {
+        logger.warn(QUERY_FAILED, exception.getMessage());
+        return Optional.empty();
+    }
+
+    private record ChannelKey(String type, String term, int year) {
+
+    }
+
+    @JacocoGenerated
+    private static final class SharedResolver {
+
+        private static PublicationChannelResolver instance;
+
+        private static synchronized PublicationChannelResolver forHost(String apiHost) {
+            if (instance == null) {
+                instance = new PublicationChannelResolver(
+                    HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build(), journalSearchUri(apiHost),
+                    publisherSearchUri(apiHost));
+            }
+            return instance;
+        }
+    }
+}
@@ -5,11 +5,13 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Anthology;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Book;
+import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Journal;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedJournal;
 
 @JsonTypeInfo(use = Id.NAME, property = "type")
 @JsonSubTypes({
     @JsonSubTypes.Type(name = "UnconfirmedJournal", value = UnconfirmedJournal.class),
+    @JsonSubTypes.Type(name = "Journal", value = Journal.class),
     @JsonSubTypes.Type(name = "Book", value = Book.class),
     @JsonSubTypes.Type(name = "Anthology", value = Anthology.class)
 })
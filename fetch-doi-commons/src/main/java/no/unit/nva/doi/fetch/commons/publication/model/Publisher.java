@@ -0,0 +1,11 @@
+package no.unit.nva.doi.fetch.commons.publication.model;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
+import java.net.URI;
+import nva.commons.core.JacocoGenerated;
+
+@JacocoGenerated
+@JsonTypeInfo(use = Id.NAME, property = "type")
+public record Publisher(URI id) implements PublishingHouse {
+}
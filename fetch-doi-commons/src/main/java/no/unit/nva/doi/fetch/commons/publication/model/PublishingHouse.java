@@ -6,7 +6,8 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.Id;
 
 @JsonTypeInfo(use = Id.NAME, property = "type")
 @JsonSubTypes({
-    @JsonSubTypes.Type(name = "UnconfirmedPublisher", value = UnconfirmedPublisher.class)
+    @JsonSubTypes.Type(name = "UnconfirmedPublisher", value = UnconfirmedPublisher.class),
+    @JsonSubTypes.Type(name = "Publisher", value = Publisher.class)
 })
 public interface PublishingHouse {
 
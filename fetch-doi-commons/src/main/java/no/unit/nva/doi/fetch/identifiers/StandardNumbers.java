@@ -0,0 +1,239 @@
+package no.unit.nva.doi.fetch.identifiers;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Normalizes and validates ISSNs, ISBN-10s and ISBN-13s.
+ *
+ * <p>A candidate is read in a single scan that keeps only its digits and check characters, so separators, spaces,
+ * prefixes such as "ISSN" and other formatting are ignored. The check digit is then verified, and a String is only
+ * created for a valid number. The bulk methods reuse one buffer for all candidates.
+ */
+// The char arrays are buffers of a fixed length, not lists of arguments
+@SuppressWarnings("PMD.UseVarargs")
+public final class StandardNumbers {
+
+    public static final int ISSN_LENGTH = 8;
+    public static final int ISBN10_LENGTH = 10;
+    public static final int ISBN13_LENGTH = 13;
+    private static final int ISSN_FIRST_PART_LENGTH = 4;
+    private static final char ISSN_DELIMITER = '-';
+    private static final char CHECK_CHARACTER_TEN = 'X';
+    private static final int ELEVEN = 11;
+    private static final int TEN = 10;
+    private static final int ISBN13_ODD_WEIGHT = 3;
+    private static final String ISBN13_PREFIX_978 = "978";
+    private static final String ISBN13_PREFIX_979 = "979";
+    private static final int TOO_LONG = -1;
+
+    private StandardNumbers() {
+    }
+
+    /**
+     * Normalizes an ISSN candidate to the form {@code 1234-567X}.
+     *
+     * @param candidate an ISSN in any formatting, or null.
+     * @return the normalized ISSN, or null when the candidate is not a valid ISSN.
+     */
+    public static String normalizeIssn(CharSequence candidate) {
+        return issnOf(candidate, new char[ISSN_LENGTH]);
+    }
+
+    /**
+     * Normalizes an ISBN candidate to its ten or thirteen digits, with an upper case check character.
+     *
+     * @param candidate an ISBN-10 or ISBN-13 in any formatting, or null.
+     * @return the normalized ISBN, or null when the candidate is not a valid ISBN.
+     */
+    public static String normalizeIsbn(CharSequence candidate) {
+        return isbnOf(candidate, new char[ISBN13_LENGTH]);
+    }
+
+    /**
+     * Normalizes an ISBN candidate to an ISBN-13, converting an ISBN-10 to its ISBN-13 with the 978 prefix.
+     *
+     * @param candidate an ISBN-10 or ISBN-13 in any formatting, or null.
+     * @return the ISBN-13, or null when the candidate is not a valid ISBN.
+     */
+    public static String toIsbn13(CharSequence candidate) {
+        return isbn13Of(candidate, new char[ISBN13_LENGTH]);
+    }
+
+    /**
+     * Normalizes ISSN candidates as by {@link #normalizeIssn(CharSequence)}.
+     *
+     * @param candidates ISSN candidates, possibly with repetitions and nulls.
+     * @return the distinct valid ISSNs in the order they were first found.
+     */
+    public static List<String> normalizeIssns(Iterable<? extends CharSequence> candidates) {
+        char[] buffer = new char[ISSN_LENGTH];
+        Set<String> issns = new LinkedHashSet<>();
+        for (CharSequence candidate : candidates) {
+            addIfValid(issns, issnOf(candidate, buffer));
+        }
+        return new ArrayList<>(issns);
+    }
+
+    /**
+     * Normalizes ISBN candidates as by {@link #normalizeIsbn(CharSequence)}.
+     *
+     * @param candidates ISBN candidates, possibly with repetitions and nulls.
+     * @return the distinct valid ISBNs in the order they were first found.
+     */
+    public static List<String> normalizeIsbns(Iterable<? extends CharSequence> candidates) {
+        char[] buffer = new char[ISBN13_LENGTH];
+        Set<String> isbns = new LinkedHashSet<>();
+        for (CharSequence candidate : candidates) {
+            addIfValid(isbns, isbnOf(candidate, buffer));
+        }
+        return new ArrayList<>(isbns);
+    }
+
+    /**
+     * Converts ISBN candidates as by {@link #toIsbn13(CharSequence)}.
+     *
+     * @param candidates ISBN candidates, possibly with repetitions and nulls.
+     * @return the distinct valid ISBN-13s in the order they were first found.
+     */
+    public static List<String> toIsbn13s(Iterable<? extends CharSequence> candidates) {
+        char[] buffer = new char[ISBN13_LENGTH];
+        Set<String> isbns = new LinkedHashSet<>();
+        for (CharSequence candidate : candidates) {
+            addIfValid(isbns, isbn13Of(candidate, buffer));
+        }
+        return new ArrayList<>(isbns);
+    }
+
+    private static void addIfValid(Set<String> numbers, String number) {
+        if (nonNull(number)) {
+            numbers.add(number);
+        }
+    }
+
+    private static String issnOf(CharSequence candidate, char[] buffer) {
+        if (collect(candidate, buffer) != ISSN_LENGTH || !isIssn(buffer)) {
+            return null;
+        }
+        return new StringBuilder(ISSN_LENGTH + 1)
+                   .append(buffer, 0, ISSN_FIRST_PART_LENGTH)
+                   .append(ISSN_DELIMITER)
+                   .append(buffer, ISSN_FIRST_PART_LENGTH, ISSN_LENGTH - ISSN_FIRST_PART_LENGTH)
+                   .toString();
+    }
+
+    private static String isbnOf(CharSequence candidate, char[] buffer) {
+        int length = collect(candidate, buffer);
+        return isIsbn(buffer, length) ? new String(buffer, 0, length) : null;
+    }
+
+    private static String isbn13Of(CharSequence candidate, char[] buffer) {
+        int length = collect(candidate, buffer);
+        if (!isIsbn(buffer, length)) {
+            return null;
+        }
+        if (length == ISBN10_LENGTH) {
+            convertIsbn10ToIsbn13(buffer);
+        }
+        return new String(buffer, 0, ISBN13_LENGTH);
+    }
+
+    // Keeps the digits and check characters of the candidate, and gives up once it is longer than the buffer allows
+    private static int collect(CharSequence candidate, char[] buffer) {
+        if (isNull(candidate)) {
+            return 0;
+        }
+        int length = 0;
+        for (int index = 0; index < candidate.length(); index++) {
+            char current = Character.toUpperCase(candidate.charAt(index));
+            if (isDigit(current) || current == CHECK_CHARACTER_TEN) {
+                if (length == buffer.length) {
+                    return TOO_LONG;
+                }
+                buffer[length++] = current;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isIssn(char[] issn) {
+        if (!allDigits(issn, ISSN_LENGTH - 1)) {
+            return false;
+        }
+        int sum = 0;
+        for (int index = 0; index < ISSN_LENGTH - 1; index++) {
+            sum += digit(issn[index]) * (ISSN_LENGTH - index);
+        }
+        return checkCharacter(issn[ISSN_LENGTH - 1]) == (ELEVEN - sum % ELEVEN) % ELEVEN;
+    }
+
+    private static boolean isIsbn(char[] isbn, int length) {
+        return length == ISBN10_LENGTH && isIsbn10(isbn) || length == ISBN13_LENGTH && isIsbn13(isbn);
+    }
+
+    private static boolean isIsbn10(char[] isbn) {
+        if (!allDigits(isbn, ISBN10_LENGTH - 1)) {
+            return false;
+        }
+        int sum = 0;
+        for (int index = 0; index < ISBN10_LENGTH - 1; index++) {
+            sum += digit(isbn[index]) * (ISBN10_LENGTH - index);
+        }
+        return (sum + checkCharacter(isbn[ISBN10_LENGTH - 1])) % ELEVEN == 0;
+    }
+
+    private static boolean isIsbn13(char[] isbn) {
+        return allDigits(isbn, ISBN13_LENGTH)
+               && (startsWith(isbn, ISBN13_PREFIX_978) || startsWith(isbn, ISBN13_PREFIX_979))
+               && isbn13CheckDigit(isbn) == digit(isbn[ISBN13_LENGTH - 1]);
+    }
+
+    // The ISBN-10 is moved behind the 978 prefix and its check character replaced by an ISBN-13 check digit
+    private static void convertIsbn10ToIsbn13(char[] isbn) {
+        System.arraycopy(isbn, 0, isbn, ISBN13_PREFIX_978.length(), ISBN10_LENGTH - 1);
+        ISBN13_PREFIX_978.getChars(0, ISBN13_PREFIX_978.length(), isbn, 0);
+        isbn[ISBN13_LENGTH - 1] = (char) ('0' + isbn13CheckDigit(isbn));
+    }
+
+    private static int isbn13CheckDigit(char[] isbn) {
+        int sum = 0;
+        for (int index = 0; index < ISBN13_LENGTH - 1; index++) {
+            sum += digit(isbn[index]) * (index % 2 == 0 ? 1 : ISBN13_ODD_WEIGHT);
+        }
+        return (TEN - sum % TEN) % TEN;
+    }
+
+    private static boolean allDigits(char[] characters, int length) {
+        for (int index = 0; index < length; index++) {
+            if (!isDigit(characters[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(char[] characters, String prefix) {
+        for (int index = 0; index < prefix.length(); index++) {
+            if (characters[index] != prefix.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checkCharacter(char character) {
+        return character == CHECK_CHARACTER_TEN ? TEN : digit(character);
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static int digit(char character) {
+        return character - '0';
+    }
+}
@@ -0,0 +1,66 @@
+package no.unit.nva.doi.fetch.model;
+
+import java.net.URL;
+
+/**
+ * The outcome of importing one of the URLs of a batch: either the summary of the created publication, or the status
+ * code and message of the error that stopped the import.
+ */
+public class BatchItemResult {
+
+    private URL doiUrl;
+    private Integer statusCode;
+    private Summary summary;
+    private String error;
+
+    public BatchItemResult() {
+
+    }
+
+    private BatchItemResult(URL doiUrl, Integer statusCode, Summary summary, String error) {
+        setDoiUrl(doiUrl);
+        setStatusCode(statusCode);
+        setSummary(summary);
+        setError(error);
+    }
+
+    public static BatchItemResult success(URL doiUrl, int statusCode, Summary summary) {
+        return new BatchItemResult(doiUrl, statusCode, summary, null);
+    }
+
+    public static BatchItemResult failure(URL doiUrl, int statusCode, String error) {
+        return new BatchItemResult(doiUrl, statusCode, null, error);
+    }
+
+    public URL getDoiUrl() {
+        return doiUrl;
+    }
+
+    public void setDoiUrl(URL doiUrl) {
+        this.doiUrl = doiUrl;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(Integer statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public Summary getSummary() {
+        return summary;
+    }
+
+    public void setSummary(Summary summary) {
+        this.summary = summary;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,22 @@
+package no.unit.nva.doi.fetch.model;
+
+import java.net.URL;
+import java.util.List;
+
+public class BatchRequestBody {
+
+    public static final String DOI_URLS_FIELD = "doiUrls";
+
+    private List<URL> doiUrls;
+
+    public BatchRequestBody() {
+    }
+
+    public List<URL> getDoiUrls() {
+        return doiUrls;
+    }
+
+    public void setDoiUrls(List<URL> doiUrls) {
+        this.doiUrls = doiUrls;
+    }
+}
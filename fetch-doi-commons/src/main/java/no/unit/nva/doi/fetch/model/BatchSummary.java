@@ -0,0 +1,24 @@
+package no.unit.nva.doi.fetch.model;
+
+import java.util.List;
+
+public class BatchSummary {
+
+    private List<BatchItemResult> results;
+
+    public BatchSummary() {
+
+    }
+
+    public BatchSummary(List<BatchItemResult> results) {
+        this.results = results;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
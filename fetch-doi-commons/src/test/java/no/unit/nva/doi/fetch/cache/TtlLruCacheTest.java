@@ -0,0 +1,77 @@
+package no.unit.nva.doi.fetch.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.Clock;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TtlLruCacheTest {
+
+    public static final Duration TTL = Duration.ofMinutes(60);
+
+    private Clock clock;
+    private TtlLruCache<String, String> cache;
+
+    @BeforeEach
+    void init() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        cache = new TtlLruCache<>(2, clock);
+    }
+
+    @Test
+    void shouldReturnValueUntilItExpires() {
+        cache.put("key", "value", TTL);
+        when(clock.millis()).thenReturn(TTL.minusMillis(1).toMillis());
+        var beforeExpiry = cache.get("key");
+        when(clock.millis()).thenReturn(TTL.toMillis());
+
+        assertThat(beforeExpiry, equalTo("value"));
+        assertThat(cache.get("key"), nullValue());
+    }
+
+    @Test
+    void shouldKeepValueWithoutTtlUntilItIsRemoved() {
+        cache.put("key", "value");
+        when(clock.millis()).thenReturn(Long.MAX_VALUE - 1);
+        var beforeRemoval = cache.get("key");
+        cache.remove("key");
+
+        assertThat(beforeRemoval, equalTo("value"));
+        assertThat(cache.get("key"), nullValue());
+    }
+
+    @Test
+    void shouldNotReplaceValueWhenPutIfAbsent() {
+        cache.put("key", "first");
+        cache.putIfAbsent("key", "second");
+
+        assertThat(cache.get("key"), equalTo("first"));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntry() {
+        cache.put("first", "value", TTL);
+        cache.put("second", "value", TTL);
+        cache.get("first");
+        cache.put("third", "value", TTL);
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("first"), equalTo("value"));
+        assertThat(cache.get("second"), nullValue());
+    }
+
+    @Test
+    void shouldRemoveAllEntriesWhenCleared() {
+        cache.put("first", "value", TTL);
+        cache.put("second", "value");
+        cache.clear();
+
+        assertThat(cache.size(), equalTo(0));
+    }
+}
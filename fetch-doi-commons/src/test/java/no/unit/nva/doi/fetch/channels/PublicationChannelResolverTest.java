@@ -0,0 +1,194 @@
+package no.unit.nva.doi.fetch.channels;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PublicationChannelResolverTest {
+
+    public static final String ONLINE_ISSN = "1234-5678";
+    public static final String PRINT_ISSN = "8765-4321";
+    public static final String JOURNAL_NAME = "TestingJournal";
+    public static final String PUBLISHER_NAME = "TestingPress";
+    public static final int YEAR = 2020;
+    public static final String FAILING_TERM = "failing";
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration NEGATIVE_TTL = Duration.ofMinutes(1);
+    private static final Duration QUERY_WAIT = Duration.ofSeconds(5);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final Map<String, String> channelIds = new ConcurrentHashMap<>();
+    private final List<String> receivedQueries = new CopyOnWriteArrayList<>();
+    private HttpServer channelRegister;
+    private Clock clock;
+    private PublicationChannelResolver resolver;
+
+    @BeforeEach
+    void startChannelRegisterStandIn() throws IOException {
+        channelRegister = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        channelRegister.createContext("/", this::search);
+        channelRegister.setExecutor(Executors.newCachedThreadPool());
+        channelRegister.start();
+        var apiHost = "http://localhost:" + channelRegister.getAddress().getPort();
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        resolver = new PublicationChannelResolver(HttpClient.newHttpClient(),
+                                                  URI.create(apiHost + "/journal"),
+                                                  URI.create(apiHost + "/publisher"),
+                                                  100, TTL, NEGATIVE_TTL, clock);
+    }
+
+    @AfterEach
+    void stopChannelRegisterStandIn() {
+        channelRegister.stop(0);
+    }
+
+    @Test
+    void resolveJournalPrefersElectronicIssnOverPrintedIssnAndName() throws InterruptedException {
+        channelIds.put("/journal " + ONLINE_ISSN, "https://example.org/journal/online");
+        channelIds.put("/journal " + PRINT_ISSN, "https://example.org/journal/print");
+        channelIds.put("/journal " + JOURNAL_NAME, "https://example.org/journal/name");
+
+        var id = resolver.resolveJournal(JOURNAL_NAME, ONLINE_ISSN, PRINT_ISSN, YEAR);
+
+        assertThat(id, is(equalTo(Optional.of(URI.create("https://example.org/journal/online")))));
+        awaitReceivedQueries(3);
+        assertThat(receivedQueries, containsInAnyOrder("/journal " + ONLINE_ISSN + " " + YEAR,
+                                                       "/journal " + PRINT_ISSN + " " + YEAR,
+                                                       "/journal " + JOURNAL_NAME + " " + YEAR));
+    }
+
+    @Test
+    void resolveJournalFallsBackToNameWhenNoIssnMatches() {
+        channelIds.put("/journal " + JOURNAL_NAME, "https://example.org/journal/name");
+
+        var id = resolver.resolveJournal(JOURNAL_NAME, ONLINE_ISSN, PRINT_ISSN, YEAR);
+
+        assertThat(id, is(equalTo(Optional.of(URI.create("https://example.org/journal/name")))));
+    }
+
+    @Test
+    void resolveJournalServesRepeatedQueriesFromCacheIgnoringCase() {
+        channelIds.put("/journal " + JOURNAL_NAME, "https://example.org/journal/name");
+
+        resolver.resolveJournal(JOURNAL_NAME, null, null, YEAR);
+        var id = resolver.resolveJournal(JOURNAL_NAME.toUpperCase(), null, null, YEAR);
+
+        assertThat(id, is(equalTo(Optional.of(URI.create("https://example.org/journal/name")))));
+        assertThat(receivedQueries.size(), is(equalTo(1)));
+        assertThat(resolver.size(), is(equalTo(1)));
+    }
+
+    @Test
+    void resolveJournalRemembersMissingJournalUntilNegativeTtlExpires() {
+        resolver.resolveJournal(JOURNAL_NAME, null, null, YEAR);
+        resolver.resolveJournal(JOURNAL_NAME, null, null, YEAR);
+        assertThat(receivedQueries.size(), is(equalTo(1)));
+
+        when(clock.millis()).thenReturn(NEGATIVE_TTL.toMillis());
+        channelIds.put("/journal " + JOURNAL_NAME, "https://example.org/journal/name");
+        var id = resolver.resolveJournal(JOURNAL_NAME, null, null, YEAR);
+
+        assertThat(id, is(equalTo(Optional.of(URI.create("https://example.org/journal/name")))));
+        assertThat(receivedQueries.size(), is(equalTo(2)));
+    }
+
+    @Test
+    void resolveJournalDoesNotCacheFailedQueries() {
+        assertThat(resolver.resolveJournal(FAILING_TERM, null, null, YEAR), is(equalTo(Optional.empty())));
+        assertThat(resolver.resolveJournal(FAILING_TERM, null, null, YEAR), is(equalTo(Optional.empty())));
+
+        assertThat(receivedQueries.size(), is(equalTo(2)));
+        assertThat(resolver.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void resolvePublisherQueriesPublisherSearchWithoutYear() {
+        channelIds.put("/publisher " + PUBLISHER_NAME, "https://example.org/publisher/1");
+
+        var id = resolver.resolvePublisher(PUBLISHER_NAME);
+
+        assertThat(id, is(equalTo(Optional.of(URI.create("https://example.org/publisher/1")))));
+        assertThat(receivedQueries, containsInAnyOrder("/publisher " + PUBLISHER_NAME));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"  "})
+    void resolverSendsNoQueryForMissingTerms(String term) {
+        assertThat(resolver.resolvePublisher(term), is(equalTo(Optional.empty())));
+        assertThat(resolver.resolveJournal(term, term, term, YEAR), is(equalTo(Optional.empty())));
+        assertThat(receivedQueries, is(empty()));
+    }
+
+    @Test
+    void searchUrisPointToPublicationChannelsOfApiHost() {
+        assertThat(PublicationChannelResolver.journalSearchUri("api.example.org"),
+                   is(equalTo(URI.create("https://api.example.org/publication-channels/journal"))));
+        assertThat(PublicationChannelResolver.publisherSearchUri("api.example.org"),
+                   is(equalTo(URI.create("https://api.example.org/publication-channels/publisher"))));
+    }
+
+    // The best match is returned without waiting for the other queries, which may still be on their way
+    private void awaitReceivedQueries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + QUERY_WAIT.toNanos();
+        while (receivedQueries.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var parameters = queryParameters(exchange.getRequestURI().getRawQuery());
+            var term = parameters.get(PublicationChannelResolver.QUERY_PARAM_QUERY);
+            var year = parameters.get(PublicationChannelResolver.QUERY_PARAM_YEAR);
+            var path = exchange.getRequestURI().getPath();
+            receivedQueries.add(path + " " + term + (year == null ? "" : " " + year));
+            if (FAILING_TERM.equals(term)) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_INTERNAL_ERROR, -1);
+                return;
+            }
+            var id = channelIds.get(path + " " + term);
+            var body = id == null ? "[]" : "[{\"id\":\"" + id + "\"}]";
+            byte[] response = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.length);
+            exchange.getResponseBody().write(response);
+        }
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        var parameters = new ConcurrentHashMap<String, String>();
+        for (String parameter : rawQuery.split("&")) {
+            var nameAndValue = parameter.split("=", 2);
+            parameters.put(nameAndValue[0], URLDecoder.decode(nameAndValue[1], StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+}
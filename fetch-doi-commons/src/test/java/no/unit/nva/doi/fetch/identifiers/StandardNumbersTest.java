@@ -0,0 +1,81 @@
+package no.unit.nva.doi.fetch.identifiers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StandardNumbersTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "0018-9219, 0018-9219",
+        "00189219, 0018-9219",
+        "ISSN 0018 9219, 0018-9219",
+        "0018–9219, 0018-9219",
+        "1945-662x, 1945-662X",
+        "2052-2916, 2052-2916"
+    })
+    void normalizeIssnReturnsHyphenatedIssnForValidIssnInAnyFormatting(String candidate, String expected) {
+        assertThat(StandardNumbers.normalizeIssn(candidate), is(equalTo(expected)));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"asd", "12332114", "1234-123X", "X123-1234", "0018-92190", "0018-921"})
+    void normalizeIssnReturnsNullForInvalidIssn(String candidate) {
+        assertThat(StandardNumbers.normalizeIssn(candidate), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "978-82-450-0364-2, 9788245003642",
+        "ISBN 978 82 02 52981 9, 9788202529819",
+        "1-62705-011-6, 1627050116",
+        "0-8044-2957-x, 080442957X",
+        "9791032305690, 9791032305690"
+    })
+    void normalizeIsbnReturnsDigitsOfValidIsbnInAnyFormatting(String candidate, String expected) {
+        assertThat(StandardNumbers.normalizeIsbn(candidate), is(equalTo(expected)));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"2002", "9788245003643", "9771234567898", "1627050117", "X627050116",
+        "97882450036420", "9xz-8b-4asdas50-0364-2"})
+    void normalizeIsbnReturnsNullForInvalidIsbn(String candidate) {
+        assertThat(StandardNumbers.normalizeIsbn(candidate), is(nullValue()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "1627050116, 9781627050111",
+        "0-8044-2957-X, 9780804429573",
+        "978-1-62705-012-8, 9781627050128"
+    })
+    void toIsbn13ConvertsIsbn10AndKeepsIsbn13(String candidate, String expected) {
+        assertThat(StandardNumbers.toIsbn13(candidate), is(equalTo(expected)));
+    }
+
+    @Test
+    void toIsbn13ReturnsNullForInvalidIsbn() {
+        assertThat(StandardNumbers.toIsbn13("1627050117"), is(nullValue()));
+    }
+
+    @Test
+    void bulkMethodsReturnDistinctValidNumbersInOrder() {
+        assertThat(StandardNumbers.normalizeIssns(Arrays.asList("2052-2916", null, "0969 0700", "20522916", "2002")),
+                   contains("2052-2916", "0969-0700"));
+        assertThat(StandardNumbers.normalizeIsbns(Arrays.asList("1627050116", "2002", null, "978-1-62705-011-1")),
+                   contains("1627050116", "9781627050111"));
+        assertThat(StandardNumbers.toIsbn13s(Arrays.asList("1627050116", "2002", null, "978-1-62705-011-1")),
+                   contains("9781627050111"));
+    }
+}
@@ -0,0 +1,42 @@
+package no.unit.nva.doi.fetch.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.identifiers.SortableIdentifier;
+import org.junit.jupiter.api.Test;
+
+public class BatchSummaryTest {
+
+    @Test
+    public void canMapBatchSummary() throws JsonProcessingException, MalformedURLException {
+        Summary summary = new Summary.Builder()
+            .withIdentifier(SortableIdentifier.next())
+            .withTitle("title")
+            .build();
+        BatchSummary batchSummary = new BatchSummary(List.of(
+            BatchItemResult.success(new URL("https://doi.org/10.1000/182"), 200, summary),
+            BatchItemResult.failure(new URL("http://example.org"), 502, "No metadata found")));
+
+        BatchSummary mapped = Json.readValue(Json.writeValueAsString(batchSummary), BatchSummary.class);
+
+        assertThat(mapped.getResults().get(0).getSummary().getTitle(), is(equalTo("title")));
+        assertThat(mapped.getResults().get(1).getStatusCode(), is(equalTo(502)));
+        assertThat(mapped.getResults().get(1).getError(), is(equalTo("No metadata found")));
+    }
+
+    @Test
+    public void canMapBatchRequestBody() throws JsonProcessingException, MalformedURLException {
+        BatchRequestBody requestBody = new BatchRequestBody();
+        requestBody.setDoiUrls(List.of(new URL("https://doi.org/10.1000/182")));
+
+        BatchRequestBody mapped = Json.readValue(Json.writeValueAsString(requestBody), BatchRequestBody.class);
+
+        assertThat(mapped.getDoiUrls().getFirst().toString(), is(equalTo("https://doi.org/10.1000/182")));
+    }
+}
@@ -1,8 +1,13 @@
 package no.sikt.nva.doi.fetch.jsonconfig;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import no.unit.nva.commons.json.JsonUtils;
 
 @SuppressWarnings({"PMD.ShortClassName"})
@@ -18,6 +23,10 @@ public final class Json {
         return OBJECT_MAPPER.readValue(input, valueType);
     }
 
+    public static <T> T readValue(InputStream input, Class<T> valueType) throws IOException {
+        return OBJECT_MAPPER.readValue(input, valueType);
+    }
+
     public static String writeValueAsString(Object value) throws JsonProcessingException {
         return OBJECT_MAPPER.writeValueAsString(value);
     }
@@ -26,6 +35,18 @@ public final class Json {
         return OBJECT_MAPPER.readTree(input);
     }
 
+    public static JsonParser createParser(String input) throws IOException {
+        return OBJECT_MAPPER.createParser(input);
+    }
+
+    public static JsonParser createParser(InputStream input) throws IOException {
+        return OBJECT_MAPPER.createParser(input);
+    }
+
+    public static JsonGenerator createGenerator(OutputStream output) throws IOException {
+        return OBJECT_MAPPER.createGenerator(output);
+    }
+
     public static JsonNode convertValue(Object fromValue, Class<JsonNode> jsonNodeClass) {
         return OBJECT_MAPPER.convertValue(fromValue, jsonNodeClass);
     }
@@ -13,8 +13,7 @@ import no.unit.nva.metadata.extractors.LanguageExtractor;
 import no.unit.nva.metadata.extractors.MetadataExtractor;
 import no.unit.nva.metadata.extractors.TagExtractor;
 import no.unit.nva.metadata.extractors.TitleExtractor;
-import no.unit.nva.metadata.filters.FilterDuplicateContributors;
-import no.unit.nva.metadata.filters.FilterShorterTitles;
+import no.unit.nva.metadata.filters.FilterStage;
 import no.unit.nva.metadata.type.DcTerms;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Statement;
@@ -22,11 +21,23 @@ import org.eclipse.rdf4j.model.Statement;
 public class MetadataConverter {
 
     private final Model metadata;
+    private final FilterStage filterStage;
     private final EntityDescription entityDescription;
     private final int emptyDescriptionHash;
 
     public MetadataConverter(Model metadata) {
+        this(metadata, FilterStage.withDefaultFilters());
+    }
+
+    /**
+     * Constructor for MetadataConverter.
+     *
+     * @param metadata    the document model, which is filtered in place.
+     * @param filterStage the filters removing unwanted statements before the transformation.
+     */
+    public MetadataConverter(Model metadata, FilterStage filterStage) {
         this.metadata = metadata;
+        this.filterStage = filterStage;
         this.entityDescription = new EntityDescription();
         this.emptyDescriptionHash = entityDescription.hashCode();
     }
@@ -41,6 +52,7 @@ public class MetadataConverter {
         for (Statement statement : metadata) {
             extractor.extract(statement);
         }
+        extractor.finish();
 
         return entityDescriptionIsPopulated()
                 ? Optional.of(wrapEntityDescriptionWithCreatePublicationRequest())
@@ -58,21 +70,20 @@ public class MetadataConverter {
     }
 
     private void prepareDataForTransformation() {
-        metadata.removeIf(statement -> FilterShorterTitles.apply(metadata, statement));
-        metadata.removeIf(statement -> FilterDuplicateContributors.apply(metadata, statement));
+        filterStage.apply(metadata);
     }
 
     private MetadataExtractor configureExtractor() {
         return new MetadataExtractor(entityDescription, hasAbstractPropertyInDocumentModel())
-                .withExtractor(AbstractExtractor.apply)
-                .withExtractor(ContributorExtractor.apply)
-                .withExtractor(DateExtractor.apply)
-                .withExtractor(DescriptionExtractor.apply)
-                .withExtractor(DocumentTypeExtractor.apply)
-                .withExtractor(DoiExtractor.apply)
-                .withExtractor(LanguageExtractor.apply)
-                .withExtractor(TagExtractor.apply)
-                .withExtractor(TitleExtractor.apply);
+                .withExtractor(AbstractExtractor.PREDICATES, AbstractExtractor.apply)
+                .withExtractor(ContributorExtractor.PREDICATES, ContributorExtractor.apply)
+                .withExtractor(DateExtractor.PREDICATES, DateExtractor.apply)
+                .withExtractor(DescriptionExtractor.PREDICATES, DescriptionExtractor.apply)
+                .withExtractor(DocumentTypeExtractor.PREDICATES, DocumentTypeExtractor.apply)
+                .withExtractor(DoiExtractor.PREDICATES, DoiExtractor.apply)
+                .withExtractor(LanguageExtractor.PREDICATES, LanguageExtractor.apply)
+                .withExtractor(TagExtractor.PREDICATES, TagExtractor.apply)
+                .withExtractor(TitleExtractor.PREDICATES, TitleExtractor.apply);
     }
 
     private boolean hasAbstractPropertyInDocumentModel() {
@@ -1,7 +1,10 @@
 package no.unit.nva.metadata.extractors;
 
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
 
 /**
  * Extractor for journal abstracts.
@@ -9,6 +12,7 @@ import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
 public final class AbstractExtractor {
 
     public static final Function<ExtractionPair, EntityDescription> apply = AbstractExtractor::extract;
+    public static final Set<IRI> PREDICATES = Set.of(DcTerms.ABSTRACT.getIri(), DcTerms.DESCRIPTION.getIri());
 
     private AbstractExtractor() {
 
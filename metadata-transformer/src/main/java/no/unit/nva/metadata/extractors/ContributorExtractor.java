@@ -1,18 +1,19 @@
 package no.unit.nva.metadata.extractors;
 
-import static java.util.Objects.isNull;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
 import no.unit.nva.doi.fetch.commons.publication.model.Identity;
 import no.unit.nva.doi.fetch.commons.publication.model.Role;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
 
 public final class ContributorExtractor {
 
     public static final Function<ExtractionPair, EntityDescription> apply = ContributorExtractor::extract;
+    public static final Set<IRI> PREDICATES = Set.of(DcTerms.CREATOR.getIri(), DcTerms.CONTRIBUTOR.getIri());
 
     private ContributorExtractor() {
 
@@ -26,18 +27,7 @@ public final class ContributorExtractor {
     }
 
     private static void addContributor(ExtractionPair extractionPair) {
-        Contributor contributor = createContributorWithoutCorrespondingAuthorInfo(extractionPair);
-        EntityDescription entityDescription = extractionPair.getEntityDescription();
-        List<Contributor> contributorList = entityDescription.getContributors();
-        if (isNull(contributorList)) {
-            var newList = new ArrayList<Contributor>();
-            newList.add(contributor);
-            entityDescription.setContributors(newList);
-        } else {
-            var newContributorList = new ArrayList<>(entityDescription.getContributors());
-            newContributorList.add(contributor);
-            entityDescription.setContributors(newContributorList);
-        }
+        extractionPair.getAccumulator().addContributor(createContributorWithoutCorrespondingAuthorInfo(extractionPair));
     }
 
     private static Contributor createContributorWithoutCorrespondingAuthorInfo(ExtractionPair extractionPair) {
@@ -1,9 +1,11 @@
 package no.unit.nva.metadata.extractors;
 
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
 import no.unit.nva.doi.fetch.commons.publication.model.PublicationDate;
 import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
 
 public final class DateExtractor {
@@ -11,6 +13,7 @@ public final class DateExtractor {
     public static final int FULL_DATE = 3;
     public static final int YEAR_ONLY = 1;
     public static final Function<ExtractionPair, EntityDescription> apply = DateExtractor::extract;
+    public static final Set<IRI> PREDICATES = Set.of(DcTerms.DATE.getIri());
     public static final int YEAR_PART = 0;
     public static final int MONTH_PART = 1;
     public static final int DAY_PART = 2;
@@ -3,9 +3,9 @@ package no.unit.nva.metadata.extractors;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static nva.commons.core.attempt.Try.attempt;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
 import no.unit.nva.doi.fetch.commons.publication.model.PublicationContext;
@@ -15,18 +15,18 @@ import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Book;
 import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.UnconfirmedJournal;
 import no.unit.nva.doi.fetch.commons.publication.model.instancetypes.AcademicArticle;
 import no.unit.nva.doi.fetch.commons.publication.model.instancetypes.AcademicMonograph;
-import org.apache.commons.validator.routines.ISBNValidator;
-import org.apache.commons.validator.routines.ISSNValidator;
+import no.unit.nva.doi.fetch.identifiers.StandardNumbers;
+import no.unit.nva.metadata.type.Bibo;
+import org.eclipse.rdf4j.model.IRI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public final class DocumentTypeExtractor {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentTypeExtractor.class);
-    private static final String SPACES_AND_HYPHENS_REGEX = "[ -]";
-    private static final ISBNValidator ISBN_VALIDATOR = new ISBNValidator();
 
     public static final Function<ExtractionPair, EntityDescription> apply = extractOrConsumeError();
+    public static final Set<IRI> PREDICATES = Set.of(Bibo.ISBN.getIri(), Bibo.ISSN.getIri());
 
     private DocumentTypeExtractor() {
 
@@ -55,16 +55,13 @@ public final class DocumentTypeExtractor {
         Reference reference = ExtractorUtil.getReference(extractionPair.getEntityDescription());
         String isxn = extractionPair.getStatementLiteral();
         if (extractionPair.isBook()) {
-            generateInstanceAndContextForBook(isxn, reference);
+            generateInstanceAndContextForBook(isxn, reference, extractionPair.getAccumulator());
         }
         generateInstanceAndContextForJournal(isxn, reference);
     }
 
     private static String validateIsbn(String isbn) throws InvalidIsbnException {
-        var sanitizedIsbn = isbn.replaceAll(SPACES_AND_HYPHENS_REGEX, "");
-        var validatedIsbn = ISBN_VALIDATOR.validate(sanitizedIsbn);
-
-        return Optional.ofNullable(validatedIsbn).orElseThrow(() -> new InvalidIsbnException(isbn));
+        return Optional.ofNullable(StandardNumbers.toIsbn13(isbn)).orElseThrow(() -> new InvalidIsbnException(isbn));
     }
 
     private static void generateInstanceAndContextForJournal(String issn, Reference reference)
@@ -82,42 +79,20 @@ public final class DocumentTypeExtractor {
         if (isNull(issn) || issn.isEmpty()) {
             return null;
         }
-        if (new ISSNValidator().isValid(issn)) {
-            return issn;
-        } else {
-            throw new InvalidIssnException(issn);
-        }
+        return Optional.ofNullable(StandardNumbers.normalizeIssn(issn))
+                   .orElseThrow(() -> new InvalidIssnException(issn));
     }
 
-    private static void generateInstanceAndContextForBook(String isbn, Reference reference) {
+    // The ISBNs of the book are collected in the accumulator and written to the book when extraction is finished
+    private static void generateInstanceAndContextForBook(String isbn, Reference reference,
+                                                          ExtractionAccumulator accumulator) {
         var validatedIsbn = attempt(() -> validateIsbn(isbn)).toOptional();
-        PublicationContext context = reference.getPublicationContext();
-        if (hasExistingInstanceAndContext(reference.getPublicationInstance(), context)) {
-            List<String> existingIsbnList = ((Book) context).isbnList();
-            List<String> isbnList = nonNull(existingIsbnList) ? new ArrayList<>(existingIsbnList) : new ArrayList<>();
-
-            validatedIsbn.ifPresent(
-                presentIsbn -> reference.setPublicationContext(
-                    addNonPreexistingIsbn(presentIsbn, (Book) context, isbnList)));
-        } else {
-            var academicMonograph = new AcademicMonograph(null);
-            var isbnList = validatedIsbn.stream().toList();
-            Book contextType = new Book(null, null, null, isbnList);
-            reference.setPublicationInstance(academicMonograph);
-            reference.setPublicationContext(contextType);
-        }
-    }
-
-    private static Book addNonPreexistingIsbn(String isbn, Book context, List<String> isbnList) {
-        if (isbnList.contains(isbn)) {
-            return context;
-        } else {
-            isbnList.add(isbn);
-            return new Book(context.series(),
-                            context.seriesNumber(),
-                            context.publisher(),
-                            isbnList);
+        if (!hasExistingInstanceAndContext(reference.getPublicationInstance(), reference.getPublicationContext())) {
+            accumulator.clearIsbns();
+            reference.setPublicationInstance(new AcademicMonograph(null));
+            reference.setPublicationContext(new Book(null, null, null, List.of()));
         }
+        validatedIsbn.ifPresent(accumulator::addIsbn);
     }
 
     private static boolean hasExistingInstanceAndContext(PublicationInstance instance,
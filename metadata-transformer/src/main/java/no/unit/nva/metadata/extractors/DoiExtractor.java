@@ -1,11 +1,15 @@
 package no.unit.nva.metadata.extractors;
 
 import java.net.URI;
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.metadata.type.Bibo;
+import org.eclipse.rdf4j.model.IRI;
 
 public final class DoiExtractor {
     public static final Function<ExtractionPair, EntityDescription> apply = DoiExtractor::extract;
+    public static final Set<IRI> PREDICATES = Set.of(Bibo.DOI.getIri());
 
     private DoiExtractor() {
 
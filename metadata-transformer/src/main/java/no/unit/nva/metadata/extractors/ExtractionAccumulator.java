@@ -0,0 +1,63 @@
+package no.unit.nva.metadata.extractors;
+
+import static java.util.Objects.nonNull;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
+import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.doi.fetch.commons.publication.model.Reference;
+import no.unit.nva.doi.fetch.commons.publication.model.contexttypes.Book;
+
+/**
+ * Collects the values of fields that are built from several statements: contributors, tags and the ISBNs of a book.
+ * The values are written to the entity description once, when all statements have been extracted, instead of the
+ * field being copied and rebuilt for every statement. Contributors and tags are kept as they come, repetitions
+ * included, while an ISBN is kept once.
+ */
+public final class ExtractionAccumulator {
+
+    private final List<Contributor> contributors = new ArrayList<>();
+    private final List<String> tags = new ArrayList<>();
+    private final Set<String> isbns = new LinkedHashSet<>();
+
+    public void addContributor(Contributor contributor) {
+        contributors.add(contributor);
+    }
+
+    public void addTag(String tag) {
+        tags.add(tag);
+    }
+
+    public void addIsbn(String isbn) {
+        isbns.add(isbn);
+    }
+
+    /**
+     * Forgets the ISBNs collected so far, when the book they belonged to has been replaced.
+     */
+    public void clearIsbns() {
+        isbns.clear();
+    }
+
+    /**
+     * Writes the collected values to an entity description. The ISBNs are written to the book of its reference, if it
+     * has one.
+     *
+     * @param entityDescription the entity description being extracted.
+     */
+    public void writeTo(EntityDescription entityDescription) {
+        if (!contributors.isEmpty()) {
+            entityDescription.setContributors(new ArrayList<>(contributors));
+        }
+        if (!tags.isEmpty()) {
+            entityDescription.setTags(List.copyOf(tags));
+        }
+        Reference reference = entityDescription.getReference();
+        if (nonNull(reference) && reference.getPublicationContext() instanceof Book book) {
+            reference.setPublicationContext(new Book(book.series(), book.seriesNumber(), book.publisher(),
+                                                     List.copyOf(isbns)));
+        }
+    }
+}
@@ -20,13 +20,16 @@ public class ExtractionPair {
             DcTerms.SPATIAL.getIri(), DcTerms.SUBJECT.getIri());
     private final Statement statement;
     private final EntityDescription entityDescription;
+    private final ExtractionAccumulator accumulator;
     private final boolean abstractPropertyExists;
 
     public ExtractionPair(Statement statement,
                           EntityDescription entityDescription,
+                          ExtractionAccumulator accumulator,
                           boolean abstractPropertyExists) {
         this.statement = statement;
         this.entityDescription = entityDescription;
+        this.accumulator = accumulator;
         this.abstractPropertyExists = abstractPropertyExists;
     }
 
@@ -42,6 +45,10 @@ public class ExtractionPair {
         return entityDescription;
     }
 
+    public ExtractionAccumulator getAccumulator() {
+        return accumulator;
+    }
+
     public boolean hasLiteralObject() {
         return statement.getObject() instanceof Literal;
     }
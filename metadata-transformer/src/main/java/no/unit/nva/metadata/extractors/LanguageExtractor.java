@@ -3,9 +3,12 @@ package no.unit.nva.metadata.extractors;
 import java.net.URI;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.metadata.type.DcTerms;
 import nva.commons.core.StringUtils;
+import org.eclipse.rdf4j.model.IRI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,6 +17,7 @@ public final class LanguageExtractor {
     public static final String LEXVO_ORG = "http://lexvo.org/id/iso639-3/";
     public static final String ISO3_LANGUAGE_CODE_UNDEFINED = "und";
     public static final Function<ExtractionPair, EntityDescription> apply = LanguageExtractor::extract;
+    public static final Set<IRI> PREDICATES = Set.of(DcTerms.LANGUAGE.getIri());
 
     private LanguageExtractor() {
 
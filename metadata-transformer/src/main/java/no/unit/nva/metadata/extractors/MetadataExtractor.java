@@ -1,32 +1,65 @@
 package no.unit.nva.metadata.extractors;
 
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
+/**
+ * Hands statements to the extractors interested in their predicate. Each extractor is registered with the predicates
+ * it handles, and the extractors of a predicate are run in the order they were registered. Fields built from several
+ * statements are collected while extracting and written to the entity description by {@link #finish()}.
+ */
 public class MetadataExtractor {
     private final boolean abstractPropertyExists;
     private final EntityDescription entityDescription;
-    private final Set<Function<ExtractionPair, EntityDescription>> extractorList = new HashSet<>();
+    private final ExtractionAccumulator accumulator = new ExtractionAccumulator();
+    private final Map<IRI, List<Function<ExtractionPair, EntityDescription>>> extractorsByPredicate = new HashMap<>();
 
     public MetadataExtractor(EntityDescription entityDescription, boolean abstractPropertyExists) {
         this.entityDescription = entityDescription;
         this.abstractPropertyExists = abstractPropertyExists;
     }
 
-    public MetadataExtractor withExtractor(Function<ExtractionPair, EntityDescription> extractor) {
-        extractorList.add(extractor);
+    /**
+     * Registers an extractor for statements with any of the given predicates.
+     *
+     * @param predicates the predicates the extractor handles.
+     * @param extractor  the extractor.
+     * @return this MetadataExtractor.
+     */
+    public MetadataExtractor withExtractor(Set<IRI> predicates,
+                                           Function<ExtractionPair, EntityDescription> extractor) {
+        for (IRI predicate : predicates) {
+            extractorsByPredicate.computeIfAbsent(predicate, ignored -> new ArrayList<>()).add(extractor);
+        }
         return this;
     }
 
     public void extract(Statement statement) {
-        ExtractionPair extractionPair = new ExtractionPair(statement, entityDescription, abstractPropertyExists);
-
-        for (Function<ExtractionPair, EntityDescription> extractor : extractorList) {
+        List<Function<ExtractionPair, EntityDescription>> extractors =
+            extractorsByPredicate.get(statement.getPredicate());
+        if (extractors == null) {
+            return;
+        }
+        ExtractionPair extractionPair =
+            new ExtractionPair(statement, entityDescription, accumulator, abstractPropertyExists);
+        for (Function<ExtractionPair, EntityDescription> extractor : extractors) {
             extractor.apply(extractionPair);
         }
     }
+
+    /**
+     * Writes the values collected from several statements to the entity description. Called once, after the last
+     * statement has been extracted.
+     */
+    public void finish() {
+        accumulator.writeTo(entityDescription);
+    }
 }
@@ -1,13 +1,13 @@
 package no.unit.nva.metadata.extractors;
 
-import static java.util.Objects.nonNull;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import org.eclipse.rdf4j.model.IRI;
 
 public final class TagExtractor {
     public static final Function<ExtractionPair, EntityDescription> apply = TagExtractor::extract;
+    public static final Set<IRI> PREDICATES = ExtractionPair.TAG_IRIS;
 
     private TagExtractor() {
 
@@ -21,13 +21,6 @@ public final class TagExtractor {
     }
 
     private static void addTag(ExtractionPair extractionPair) {
-        List<String> tags = new ArrayList<>();
-        EntityDescription entityDescription = extractionPair.getEntityDescription();
-        List<String> existingTags = entityDescription.getTags();
-        if (nonNull(existingTags) && !existingTags.isEmpty()) {
-            tags.addAll(existingTags);
-        }
-        tags.add(extractionPair.getStatementLiteral());
-        entityDescription.setTags(List.of(tags.toArray(new String[]{})));
+        extractionPair.getAccumulator().addTag(extractionPair.getStatementLiteral());
     }
 }
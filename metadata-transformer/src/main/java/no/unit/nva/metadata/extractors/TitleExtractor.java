@@ -1,11 +1,15 @@
 package no.unit.nva.metadata.extractors;
 
+import java.util.Set;
 import java.util.function.Function;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
 
 public final class TitleExtractor {
 
     public static final Function<ExtractionPair, EntityDescription> apply = TitleExtractor::extract;
+    public static final Set<IRI> PREDICATES = Set.of(DcTerms.TITLE.getIri());
 
     private TitleExtractor() {
 
@@ -1,18 +1,34 @@
 package no.unit.nva.metadata.filters;
 
+import java.util.HashSet;
+import java.util.Set;
 import no.unit.nva.metadata.type.DcTerms;
-import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 
-public final class FilterDuplicateContributors {
+/**
+ * Filters triples with property dcterms:contributor from the document model when the same subject has the same value
+ * as dcterms:creator.
+ */
+public final class FilterDuplicateContributors implements StatementFilter {
 
-    private FilterDuplicateContributors() {
+    private final Set<Creator> creators = new HashSet<>();
 
+    @Override
+    public void inspect(Statement statement) {
+        if (DcTerms.CREATOR.getIri().equals(statement.getPredicate())) {
+            creators.add(new Creator(statement.getSubject(), statement.getObject()));
+        }
     }
 
-    public static boolean apply(Model model, Statement statement) {
+    @Override
+    public boolean shouldRemove(Statement statement) {
         return DcTerms.CONTRIBUTOR.getIri().equals(statement.getPredicate())
-               && model.contains(statement.getSubject(),
-                                 DcTerms.CREATOR.getIri(), statement.getObject());
+               && creators.contains(new Creator(statement.getSubject(), statement.getObject()));
+    }
+
+    private record Creator(Resource subject, Value name) {
+
     }
 }
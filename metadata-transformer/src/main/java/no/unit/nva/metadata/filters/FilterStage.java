@@ -0,0 +1,58 @@
+package no.unit.nva.metadata.filters;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Removes unwanted statements from a document model in two passes over the model. In the first pass every filter
+ * inspects every statement, and in the second a statement is removed when any of the filters asks for it. Every
+ * filter therefore decides on the model as it was before filtering.
+ */
+public final class FilterStage {
+
+    private final List<Supplier<StatementFilter>> filters;
+
+    /**
+     * Constructor for FilterStage.
+     *
+     * @param filters the factories of the filters, each called once for every model filtered.
+     */
+    public FilterStage(List<Supplier<StatementFilter>> filters) {
+        this.filters = List.copyOf(filters);
+    }
+
+    /**
+     * Returns the stage removing shorter titles and contributors that are also creators.
+     *
+     * @return the default filter stage.
+     */
+    public static FilterStage withDefaultFilters() {
+        return new FilterStage(List.of(FilterShorterTitles::new, FilterDuplicateContributors::new));
+    }
+
+    /**
+     * Removes the statements the filters of this stage ask for from a model.
+     *
+     * @param model the model to filter.
+     */
+    public void apply(Model model) {
+        List<StatementFilter> modelFilters = filters.stream().map(Supplier::get).toList();
+        for (Statement statement : model) {
+            for (StatementFilter filter : modelFilters) {
+                filter.inspect(statement);
+            }
+        }
+        model.removeIf(statement -> shouldRemove(modelFilters, statement));
+    }
+
+    private static boolean shouldRemove(List<StatementFilter> modelFilters, Statement statement) {
+        for (StatementFilter filter : modelFilters) {
+            if (filter.shouldRemove(statement)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package no.unit.nva.metadata.filters;
+
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * A filter removing statements from a document model before it is transformed. A filter is shown every statement of
+ * the model before it is asked which statements to remove, so it can base its decisions on aggregates of the whole
+ * model. A filter instance is used for one model only.
+ */
+public interface StatementFilter {
+
+    /**
+     * Shows the filter a statement of the model. Called once for every statement before any call to
+     * {@link #shouldRemove(Statement)}.
+     *
+     * @param statement a statement of the model.
+     */
+    void inspect(Statement statement);
+
+    /**
+     * Decides whether a statement is removed from the model.
+     *
+     * @param statement a statement of the model.
+     * @return true when the statement should be removed.
+     */
+    boolean shouldRemove(Statement statement);
+}
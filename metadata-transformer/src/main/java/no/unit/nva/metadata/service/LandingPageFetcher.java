@@ -0,0 +1,326 @@
+package no.unit.nva.metadata.service;
+
+import static java.util.Objects.nonNull;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Downloads landing pages for metadata extraction. Only HTML and XHTML pages are read: a response of any other
+ * content type, or with any other status than 200, is cancelled before its body is read. A body larger than the
+ * byte budget is cancelled as soon as it exceeds it, and the whole exchange must finish within the read timeout.
+ *
+ * <p>When only the head of a page is wanted, reading stops at the first {@code </head>} and the rest of the response
+ * is cancelled.
+ */
+final class LandingPageFetcher {
+
+    public static final int DEFAULT_MAX_PAGE_BYTES = 5 * 1024 * 1024;
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(15);
+    public static final Set<String> SUPPORTED_CONTENT_TYPES = Set.of("text/html", "application/xhtml+xml");
+    public static final String UNEXPECTED_STATUS_MESSAGE = "Landing page %s responded with status %d";
+    public static final String UNSUPPORTED_CONTENT_TYPE_MESSAGE = "Landing page %s has unsupported content type %s";
+    public static final String PAGE_TOO_LARGE_MESSAGE = "Landing page exceeds the limit of %d bytes";
+    public static final String TIMEOUT_MESSAGE = "Landing page %s was not read within %s";
+    public static final long UNKNOWN_LENGTH = -1L;
+    private static final byte[] HEAD_END_TAG = "</head>".getBytes(StandardCharsets.US_ASCII);
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String USER_AGENT = "User-Agent";
+    private static final String ACCEPT = "Accept";
+    private static final String ACCEPTED_TYPES = "text/html,application/xhtml+xml";
+    private static final String PARAMETER_SEPARATOR = ";";
+
+    private final HttpClient httpClient;
+    private final String userAgent;
+    private final int maxPageBytes;
+    private final Duration readTimeout;
+
+    LandingPageFetcher(HttpClient httpClient, String userAgent, int maxPageBytes, Duration readTimeout) {
+        if (maxPageBytes < 0) {
+            throw new IllegalArgumentException("maxPageBytes must not be negative: " + maxPageBytes);
+        }
+        this.httpClient = httpClient;
+        this.userAgent = userAgent;
+        this.maxPageBytes = maxPageBytes;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Creates a client suitable for fetching landing pages, following redirects and giving up connecting after
+     * {@link #DEFAULT_CONNECT_TIMEOUT}.
+     *
+     * @return a new HttpClient.
+     */
+    static HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                   .followRedirects(HttpClient.Redirect.NORMAL)
+                   .connectTimeout(DEFAULT_CONNECT_TIMEOUT)
+                   .build();
+    }
+
+    /**
+     * Downloads a landing page.
+     *
+     * @param uri the landing page.
+     * @return the page, with the URI it was finally read from after redirects.
+     * @throws IOException          when the page cannot be read, is not an HTML page or is too large.
+     * @throws InterruptedException when interrupted while waiting for the page.
+     */
+    LandingPage fetch(URI uri) throws IOException, InterruptedException {
+        return send(createRequest(uri), new PageReading(false));
+    }
+
+    /**
+     * Downloads a landing page up to and including the end of its head. Pages without a {@code </head>} are read in
+     * full.
+     *
+     * @param uri the landing page.
+     * @return the head of the page, or the whole page when it has no end of head.
+     * @throws IOException          when the page cannot be read, is not an HTML page or is too large.
+     * @throws InterruptedException when interrupted while waiting for the page.
+     */
+    LandingPage fetchHead(URI uri) throws IOException, InterruptedException {
+        return send(createRequest(uri), new PageReading(true));
+    }
+
+    private HttpRequest createRequest(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                   .header(USER_AGENT, userAgent)
+                   .header(ACCEPT, ACCEPTED_TYPES)
+                   .timeout(readTimeout)
+                   .GET()
+                   .build();
+    }
+
+    // A cancelled exchange fails with an error of its own, so why it was cancelled is read from the page reading
+    private LandingPage send(HttpRequest request, PageReading reading) throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<byte[]>> response =
+            httpClient.sendAsync(request, boundedPageBody(request.uri(), reading));
+        try {
+            HttpResponse<byte[]> page = response.get(readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return reading.toPage(page.uri(), page.body());
+        } catch (ExecutionException e) {
+            if (nonNull(reading.rejection)) {
+                throw reading.rejection;
+            }
+            if (nonNull(reading.head)) {
+                return reading.toPage(request.uri(), reading.head);
+            }
+            throw e.getCause() instanceof IOException cause ? cause : new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new HttpTimeoutException(String.format(TIMEOUT_MESSAGE, request.uri(), readTimeout));
+        }
+    }
+
+    private BodyHandler<byte[]> boundedPageBody(URI uri, PageReading reading) {
+        return responseInfo -> {
+            reading.contentType = contentType(responseInfo.headers()).orElse(null);
+            reading.declaredLength = responseInfo.headers().firstValueAsLong(CONTENT_LENGTH).orElse(UNKNOWN_LENGTH);
+            return new BoundedPageSubscriber(maxPageBytes, checkReadable(uri, responseInfo, reading.contentType),
+                                             reading);
+        };
+    }
+
+    private static IOException checkReadable(URI uri, ResponseInfo responseInfo, String contentType) {
+        if (responseInfo.statusCode() != HttpURLConnection.HTTP_OK) {
+            return new IOException(String.format(UNEXPECTED_STATUS_MESSAGE, uri, responseInfo.statusCode()));
+        }
+        return isSupported(contentType)
+                   ? null
+                   : new IOException(String.format(UNSUPPORTED_CONTENT_TYPE_MESSAGE, uri, contentType));
+    }
+
+    private static Optional<String> contentType(HttpHeaders headers) {
+        return headers.firstValue(CONTENT_TYPE);
+    }
+
+    // Pages without a declared content type are read and left to the MIME type detection of Any23
+    private static boolean isSupported(String contentType) {
+        return Optional.ofNullable(contentType)
+                   .map(type -> type.split(PARAMETER_SEPARATOR, 2)[0].strip().toLowerCase(Locale.ROOT))
+                   .map(SUPPORTED_CONTENT_TYPES::contains)
+                   .orElse(true);
+    }
+
+    /**
+     * A downloaded landing page.
+     *
+     * @param uri            the URI the page was read from.
+     * @param contentType    the declared content type of the page, or null.
+     * @param body           the page, or only its head when headOnly is set.
+     * @param headOnly       whether reading stopped at the end of the head.
+     * @param declaredLength the declared length of the whole page, or {@link #UNKNOWN_LENGTH}.
+     */
+    record LandingPage(URI uri, String contentType, byte[] body, boolean headOnly, long declaredLength) {
+
+    }
+
+    /**
+     * What is learned about a page while it is read: its headers, and why reading stopped early.
+     */
+    private static final class PageReading {
+
+        private final boolean stopAfterHead;
+        private volatile String contentType;
+        private volatile long declaredLength = UNKNOWN_LENGTH;
+        private volatile IOException rejection;
+        private volatile byte[] head;
+
+        private PageReading(boolean stopAfterHead) {
+            this.stopAfterHead = stopAfterHead;
+        }
+
+        private LandingPage toPage(URI uri, byte[] body) {
+            return new LandingPage(uri, contentType, body, nonNull(head), declaredLength);
+        }
+    }
+
+    /**
+     * Collects at most maxBytes bytes of a response body. A response that is not to be read, or that turns out to be
+     * too large, is cancelled and the reason recorded as the rejection of the page. When only the head is wanted, the
+     * response is cancelled once the end of the head has been received.
+     */
+    private static final class BoundedPageSubscriber implements BodySubscriber<byte[]> {
+
+        private final long maxBytes;
+        private final IOException unreadable;
+        private final PageReading reading;
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private long receivedBytes;
+        private int matchedHeadEndBytes;
+
+        private BoundedPageSubscriber(long maxBytes, IOException unreadable, PageReading reading) {
+            this.maxBytes = maxBytes;
+            this.unreadable = unreadable;
+            this.reading = reading;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (nonNull(unreadable)) {
+                reject(unreadable);
+            } else if (reading.declaredLength > maxBytes && !reading.stopAfterHead) {
+                rejectTooLargeBody();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                int headEnd = reading.stopAfterHead ? findHeadEnd(item) : -1;
+                ByteBuffer received = headEnd < 0 ? item : item.duplicate().limit(headEnd);
+                receivedBytes += received.remaining();
+                buffers.add(received);
+                if (receivedBytes > maxBytes) {
+                    rejectTooLargeBody();
+                    return;
+                }
+                if (headEnd >= 0) {
+                    completeWithHead();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            buffers.clear();
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!body.isDone()) {
+                body.complete(joinBuffers());
+            }
+        }
+
+        // Returns the index just after the end of the head in the buffer, or -1 when the head does not end in it
+        private int findHeadEnd(ByteBuffer buffer) {
+            for (int index = buffer.position(); index < buffer.limit(); index++) {
+                byte current = toLowerCase(buffer.get(index));
+                if (current == HEAD_END_TAG[matchedHeadEndBytes]) {
+                    matchedHeadEndBytes++;
+                } else {
+                    matchedHeadEndBytes = current == HEAD_END_TAG[0] ? 1 : 0;
+                }
+                if (matchedHeadEndBytes == HEAD_END_TAG.length) {
+                    return index + 1;
+                }
+            }
+            return -1;
+        }
+
+        private static byte toLowerCase(byte character) {
+            return character >= 'A' && character <= 'Z' ? (byte) (character + 'a' - 'A') : character;
+        }
+
+        private byte[] joinBuffers() {
+            byte[] bytes = new byte[(int) receivedBytes];
+            int offset = 0;
+            for (ByteBuffer buffer : buffers) {
+                int length = buffer.remaining();
+                buffer.get(bytes, offset, length);
+                offset += length;
+            }
+            buffers.clear();
+            return bytes;
+        }
+
+        private void completeWithHead() {
+            byte[] head = joinBuffers();
+            reading.head = head;
+            body.complete(head);
+            subscription.cancel();
+        }
+
+        private void rejectTooLargeBody() {
+            reject(new IOException(String.format(PAGE_TOO_LARGE_MESSAGE, maxBytes)));
+        }
+
+        private void reject(IOException reason) {
+            reading.rejection = reason;
+            buffers.clear();
+            body.completeExceptionally(reason);
+            subscription.cancel();
+        }
+    }
+}
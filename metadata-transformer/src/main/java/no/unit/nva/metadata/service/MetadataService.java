@@ -1,81 +1,56 @@
 package no.unit.nva.metadata.service;
 
-import static java.util.Objects.nonNull;
-import static nva.commons.core.attempt.Try.attempt;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.net.HttpHeaders;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.HttpURLConnection;
 import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URLEncoder;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Stream;
-import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import java.util.Set;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
 import no.unit.nva.metadata.MetadataConverter;
+import no.unit.nva.metadata.service.OntologyPropertyTripleHandler.MappedTriple;
 import no.unit.nva.metadata.type.Bibo;
-import no.unit.nva.metadata.type.Citation;
 import no.unit.nva.metadata.type.DcTerms;
 import no.unit.nva.metadata.type.OntologyProperty;
-import no.unit.nva.metadata.type.RawMetaTag;
-import nva.commons.apigateway.MediaTypes;
 import nva.commons.core.Environment;
-import nva.commons.core.SingletonCollector;
-import nva.commons.core.paths.UriWrapper;
 import org.apache.any23.extractor.ExtractionException;
-import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
-import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.impl.TreeModel;
-import org.eclipse.rdf4j.repository.Repository;
-import org.eclipse.rdf4j.repository.RepositoryConnection;
-import org.eclipse.rdf4j.repository.RepositoryResult;
-import org.eclipse.rdf4j.repository.sail.SailRepository;
-import org.eclipse.rdf4j.rio.RDFFormat;
-import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Extracts publication metadata from landing pages. Everything an extraction needs is created per call, so one
+ * instance can serve any number of concurrent and repeated extractions.
+ */
 public class MetadataService {
-    
+
     public static final ValueFactory valueFactory = SimpleValueFactory.getInstance();
     public static final String API_HOST = new Environment().readEnv("API_HOST");
-    private static final String EMPTY_BASE_URI = "";
     private static final Logger logger = LoggerFactory.getLogger(MetadataService.class);
     private static final String DOI_DISPLAY_REGEX = "(doi:|doc:|http(s)?://(dx\\.)?doi\\.org/)?10\\.\\d{4,9}+/.*";
     private static final String SHORT_DOI_REGEX = "^http(s)?://doi.org/[^/]+(/)?$";
     private static final String DOI_PREFIX = "https://doi.org/";
-    private static final String HEAD = "HEAD";
-    private static final String LOCATION = "location";
-    private static final int MOVED_PERMANENTLY = 301;
     private static final String DOI_FIRST_PART = "10";
-    private static final String HTTPS = "https";
-    private static final String HTTP = "http";
-    public static final String QUERY_PARAM_QUERY = "query";
-    public static final String QUERY_PARAM_YEAR = "year";
-    private final HttpClient httpClient;
+    public static final String QUERY_PARAM_QUERY = PublicationChannelResolver.QUERY_PARAM_QUERY;
+    public static final String QUERY_PARAM_YEAR = PublicationChannelResolver.QUERY_PARAM_YEAR;
+    private static final Set<OntologyProperty> IDENTIFYING_PROPERTIES =
+        Set.of(Bibo.DOI, Bibo.ISSN, Bibo.ISBN, DcTerms.IDENTIFIER, DcTerms.CREATOR, DcTerms.CONTRIBUTOR, DcTerms.DATE,
+               DcTerms.ISSUED);
     private final TranslatorService translatorService;
-    private final Repository db = new SailRepository(new MemoryStore());
-    private final URI publicationChannelsHostUri;
-    private final URI publicationChannelsHostUriPublisher;
-    
+    private final ShortDoiResolver shortDoiResolver;
+    private final PublicationChannelResolver publicationChannelResolver;
+
     public MetadataService() {
         this(getDefaultHttpClient(), defaultPublicationChannelsHostUri(), defaultPublicationChannelsHostUriPublisher());
     }
-    
+
     /**
      * Deprecated constructor.
      *
@@ -86,15 +61,64 @@ public class MetadataService {
     public MetadataService(HttpClient httpClient) {
         this(httpClient, defaultPublicationChannelsHostUri(), defaultPublicationChannelsHostUriPublisher());
     }
-    
+
     public MetadataService(HttpClient httpClient, URI publicationChannelsHostUri,
                            URI publicationChannelsHostUriPublisher) {
-        this.translatorService = new TranslatorService();
-        this.httpClient = httpClient;
-        this.publicationChannelsHostUri = publicationChannelsHostUri;
-        this.publicationChannelsHostUriPublisher = publicationChannelsHostUriPublisher;
+        this(new TranslatorService(), httpClient, publicationChannelsHostUri, publicationChannelsHostUriPublisher);
     }
-    
+
+    /**
+     * Constructor for MetadataService.
+     *
+     * @param httpClient                 the client used for resolving short DOIs.
+     * @param publicationChannelResolver the resolver finding journal ids in the publication channels register.
+     */
+    public MetadataService(HttpClient httpClient, PublicationChannelResolver publicationChannelResolver) {
+        this(new TranslatorService(), httpClient, publicationChannelResolver);
+    }
+
+    /**
+     * Constructor for MetadataService downloading landing pages with the given translator service.
+     *
+     * @param translatorService the service downloading landing pages and extracting their metadata.
+     */
+    public MetadataService(TranslatorService translatorService) {
+        this(translatorService, getDefaultHttpClient(), defaultPublicationChannelsHostUri(),
+             defaultPublicationChannelsHostUriPublisher());
+    }
+
+    /**
+     * Constructor for MetadataService using a publication channel resolver that may be shared with other services,
+     * such as {@link PublicationChannelResolver#shared}, so that they share its cache.
+     *
+     * @param translatorService          the service downloading landing pages and extracting their metadata.
+     * @param publicationChannelResolver the resolver finding journal ids in the publication channels register.
+     */
+    public MetadataService(TranslatorService translatorService,
+                           PublicationChannelResolver publicationChannelResolver) {
+        this(translatorService, getDefaultHttpClient(), publicationChannelResolver);
+    }
+
+    /**
+     * Constructor for MetadataService.
+     *
+     * @param translatorService          the service downloading landing pages and extracting their metadata.
+     * @param httpClient                 the client used for resolving short DOIs.
+     * @param publicationChannelResolver the resolver finding journal ids in the publication channels register.
+     */
+    public MetadataService(TranslatorService translatorService, HttpClient httpClient,
+                           PublicationChannelResolver publicationChannelResolver) {
+        this.translatorService = translatorService;
+        this.shortDoiResolver = new ShortDoiResolver(httpClient);
+        this.publicationChannelResolver = publicationChannelResolver;
+    }
+
+    private MetadataService(TranslatorService translatorService, HttpClient httpClient,
+                            URI publicationChannelsHostUri, URI publicationChannelsHostUriPublisher) {
+        this(translatorService, httpClient, new PublicationChannelResolver(httpClient, publicationChannelsHostUri,
+                                                                           publicationChannelsHostUriPublisher));
+    }
+
     /**
      * Construct a CreatePublicationRequest for metadata extracted from a supplied URI.
      *
@@ -111,197 +135,123 @@ public class MetadataService {
             throw new RuntimeException(e);
         }
     }
-    
+
+    /**
+     * Fetches the journal id from publication-channels, trying the electronic ISSN, the printed ISSN and the name in
+     * that order. The queries are sent concurrently and their answers cached.
+     *
+     * @param name           the name of the journal
+     * @param electronicIssn the electronic ISSN of the journal
+     * @param printedIssn    the printed ISSN of the journal
+     * @param year           the publication year
+     * @return the journal id, or an empty Optional when there is no match
+     */
     public Optional<URI> fetchJournalIdFromPublicationChannel(String name,
                                                               String electronicIssn,
                                                               String printedIssn,
                                                               int year) {
-        return Stream
-                   .of(electronicIssn, printedIssn, name)
-                   .map(queryTerm -> fetchPublicationIdentifierFromPublicationChannels(queryTerm, year))
-                   .flatMap(Optional::stream)
-                   .findFirst();
+        return publicationChannelResolver.resolveJournal(name, electronicIssn, printedIssn, year);
     }
-    
+
     public static URI defaultPublicationChannelsHostUri() {
-        return UriWrapper.fromHost(API_HOST).addChild("publication-channels").addChild("journal").getUri();
+        return PublicationChannelResolver.journalSearchUri(API_HOST);
     }
-    
+
     public static URI defaultPublicationChannelsHostUriPublisher() {
-        return UriWrapper.fromHost(API_HOST).addChild("publication-channels").addChild("publisher").getUri();
+        return PublicationChannelResolver.publisherSearchUri(API_HOST);
     }
-    
+
     private static HttpClient getDefaultHttpClient() {
         return HttpClient.newBuilder()
                    .followRedirects(HttpClient.Redirect.NEVER)
                    .build();
     }
-    
-    private ByteArrayInputStream loadExtractedData() {
-        return new ByteArrayInputStream(translatorService.getOutputStream().toByteArray());
-    }
-    
-    private Model getMetadata(URI uri) throws ExtractionException, IOException, URISyntaxException,
-                                              InterruptedException {
-        translatorService.loadMetadataFromUri(uri);
-        try (RepositoryConnection repositoryConnection = db.getConnection()) {
-            repositoryConnection.add(loadExtractedData(), EMPTY_BASE_URI, RDFFormat.JSONLD);
-            try (RepositoryResult<Statement> statements = repositoryConnection.getStatements(null, null, null)) {
-                return normalizeStatements(statements);
-            }
+
+    private Model getMetadata(URI uri) throws ExtractionException, IOException, InterruptedException {
+        try {
+            return normalizeTriples(extractTriples(uri));
         } finally {
-            db.shutDown();
+            translatorService.logStatistics();
         }
     }
-    
+
+    // Landing pages keep their metadata in the head, so the body is only read when the head does not identify the
+    // publication. A page title alone does not, since every page has one.
     @SuppressWarnings("PMD.CloseResource")
-    private Model normalizeStatements(RepositoryResult<Statement> statements) throws IOException, InterruptedException {
+    private List<MappedTriple> extractTriples(URI uri) throws ExtractionException, IOException, InterruptedException {
+        OntologyPropertyTripleHandler headHandler = new OntologyPropertyTripleHandler();
+        boolean headOnly = translatorService.loadHeadMetadataFromUri(uri, headHandler);
+        if (!headOnly || headHandler.getTriples().stream().anyMatch(MetadataService::isIdentifying)) {
+            return headHandler.getTriples();
+        }
+        OntologyPropertyTripleHandler pageHandler = new OntologyPropertyTripleHandler();
+        translatorService.loadMetadataFromUri(uri, pageHandler);
+        return pageHandler.getTriples();
+    }
+
+    private static boolean isIdentifying(MappedTriple triple) {
+        return IDENTIFYING_PROPERTIES.contains(triple.property());
+    }
+
+    // Short DOIs are resolved together before the triples are normalized, so normalizing never waits on a request
+    private Model normalizeTriples(List<MappedTriple> triples) {
+        Map<String, Optional<String>> resolvedShortDois = shortDoiResolver.resolveAll(collectShortDois(triples));
         Model model = new TreeModel();
-        for (Statement statement : statements) {
-            extractKnownProperties(model, statement);
+        for (MappedTriple triple : triples) {
+            extractKnownProperties(model, triple, resolvedShortDois);
         }
         return model;
     }
-    
-    private void extractKnownProperties(Model model, Statement statement) throws IOException, InterruptedException {
-        OntologyProperty ontologyProperty = getMappedOntologyProperty(statement);
-        Value value = extractValue(ontologyProperty, statement.getObject());
-        OntologyProperty mappedProperty = mapToSpecificProperty(ontologyProperty, value);
-        if (nonNull(ontologyProperty)) {
-            model.add(statement.getSubject(), mappedProperty.getIri(), value);
-        }
+
+    private List<String> collectShortDois(List<MappedTriple> triples) {
+        return triples.stream()
+                   .filter(triple -> isPotentialDoiProperty(triple.property()))
+                   .map(triple -> triple.object().stringValue())
+                   .filter(this::isShortDoi)
+                   .toList();
     }
-    
+
+    // A DOI that cannot be made out, such as a short DOI that does not redirect, is left out of the model
+    private void extractKnownProperties(Model model, MappedTriple triple,
+                                        Map<String, Optional<String>> resolvedShortDois) {
+        OntologyProperty ontologyProperty = triple.property();
+        extractValue(ontologyProperty, triple.object(), resolvedShortDois)
+            .ifPresent(value -> model.add(triple.subject(), mapToSpecificProperty(ontologyProperty, value).getIri(),
+                                          value));
+    }
+
     private OntologyProperty mapToSpecificProperty(OntologyProperty ontologyProperty, Value value) {
         return value.toString().startsWith(DOI_PREFIX) ? Bibo.DOI : ontologyProperty;
     }
-    
-    private Value extractValue(OntologyProperty ontologyProperty, Value object) throws IOException,
-                                                                                       InterruptedException {
+
+    private Optional<Value> extractValue(OntologyProperty ontologyProperty, Value object,
+                                         Map<String, Optional<String>> resolvedShortDois) {
         if (isPotentialDoiProperty(ontologyProperty) && isDoiString(object)) {
-            return extractDoi(object.stringValue());
+            return extractDoi(object.stringValue(), resolvedShortDois);
         } else {
-            return object;
+            return Optional.of(object);
         }
     }
-    
+
     private boolean isPotentialDoiProperty(OntologyProperty ontologyProperty) {
         return Bibo.DOI.equals(ontologyProperty) || DcTerms.IDENTIFIER.equals(ontologyProperty);
     }
-    
-    private OntologyProperty getMappedOntologyProperty(Statement statement) {
-        String property = statement.getPredicate().getLocalName();
-        Optional<Citation> citationValue = Citation.getTagByString(property);
-        Optional<DcTerms> dcTermsValue = DcTerms.getTermByValue(property);
-        Optional<RawMetaTag> rawMetaTag = RawMetaTag.getTagByString(property);
-        
-        OntologyProperty ontologyProperty = null;
-        if (citationValue.isPresent()) {
-            ontologyProperty = citationValue.get().getMapping();
-        } else if (dcTermsValue.isPresent()) {
-            ontologyProperty = dcTermsValue.get();
-        } else if (rawMetaTag.isPresent()) {
-            ontologyProperty = rawMetaTag.get().getMapping();
-        }
-        return ontologyProperty;
-    }
-    
-    private IRI extractDoi(String value) throws IOException, InterruptedException {
-        Optional<String> doiString = isShortDoi(value) ? fetchDoiUriFromShortDoi(value)
+
+    private Optional<Value> extractDoi(String value, Map<String, Optional<String>> resolvedShortDois) {
+        Optional<String> doiString = isShortDoi(value) ? resolvedShortDois.get(value)
                                          : Optional.of(DOI_PREFIX + value.substring(value.indexOf(DOI_FIRST_PART)));
-        return doiString.map(valueFactory::createIRI).orElse(null);
+        return doiString.map(valueFactory::createIRI);
     }
-    
-    private Optional<String> fetchDoiUriFromShortDoi(String value) throws IOException, InterruptedException {
-        String uri = value.startsWith(HTTPS) ? value : value.replace(HTTP, HTTPS);
-        HttpRequest request = HttpRequest.newBuilder()
-                                  .uri(URI.create(uri))
-                                  .method(HEAD, HttpRequest.BodyPublishers.noBody())
-                                  .build();
-        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
-        return response.statusCode() == MOVED_PERMANENTLY ? response.headers().firstValue(LOCATION) : Optional.empty();
-    }
-    
+
     private boolean isDoiString(Value object) {
         String value = object.stringValue();
         return value.toLowerCase(Locale.ROOT).matches(DOI_DISPLAY_REGEX) || isShortDoi(value);
     }
-    
+
     private boolean isShortDoi(String value) {
         return value.matches(SHORT_DOI_REGEX);
     }
-    
-    private Optional<URI> fetchPublicationIdentifierFromPublicationChannels(
-        String publicationQueryTerm, int year) {
-        return Optional.ofNullable(publicationQueryTerm)
-                   .flatMap(queryTerm -> queryPublicationChannelForJournal(queryTerm, year));
-    }
-    
-    private Optional<URI> queryPublicationChannelForJournal(String term, int year) {
-        return attempt(() -> sendQueryToPublicationChannelsProxy(term, year))
-                   .map(this::parseResponseFromPublicationChannelsProxy)
-                   .toOptional()
-                   .flatMap(Function.identity());
-    }
-    
-    private Optional<URI> queryPublicationChannelForPublisher(String term) {
-        return attempt(() -> sendQueryToPublicationChannelsProxy(term))
-                   .map(this::parseResponseFromPublicationChannelsProxy)
-                   .toOptional()
-                   .flatMap(Function.identity());
-    }
-    
-    private Optional<URI> parseResponseFromPublicationChannelsProxy(HttpResponse<String> response) {
-        if (HttpURLConnection.HTTP_OK == response.statusCode()) {
-            return getIdOfFirstElement(response);
-        }
-        return Optional.empty();
-    }
-    
-    private Optional<URI> getIdOfFirstElement(HttpResponse<String> response) {
-        return attempt(() -> Json.readTree(response.body()))
-                   .map(ArrayNode.class::cast)
-                   .map(array -> array.get(0))
-                   .map(ObjectNode.class::cast)
-                   .map(node -> node.get("id"))
-                   .map(JsonNode::textValue)
-                   .map(URI::create)
-                   .toOptional();
-    }
-    
-    private HttpResponse<String> sendQueryToPublicationChannelsProxy(String term, int year)
-        throws IOException, InterruptedException {
-        var searchTerm = URLEncoder.encode(term, StandardCharsets.UTF_8);
-        var uri = UriWrapper.fromUri(publicationChannelsHostUri)
-                      .addQueryParameter(QUERY_PARAM_QUERY, searchTerm)
-                      .addQueryParameter(QUERY_PARAM_YEAR, Integer.toString(year))
-                      .getUri();
-        
-        var request = HttpRequest.newBuilder()
-                          .uri(uri)
-                          .headers(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, MediaTypes.APPLICATION_JSON_LD.toString())
-                          .GET()
-                          .build();
-        
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-    }
-    
-    private HttpResponse<String> sendQueryToPublicationChannelsProxy(String term)
-        throws IOException, InterruptedException {
-        var searchTerm = URLEncoder.encode(term, StandardCharsets.UTF_8);
-        var uri = UriWrapper.fromUri(publicationChannelsHostUriPublisher)
-                      .addQueryParameter(QUERY_PARAM_QUERY, searchTerm)
-                      .getUri();
-        
-        var request = HttpRequest.newBuilder()
-                          .uri(uri)
-                          .headers(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, MediaTypes.APPLICATION_JSON_LD.toString())
-                          .GET()
-                          .build();
-        
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-    }
-    
+
     /**
      * Fetches publisherId as URI from publication-channels by publisherName only with exact single match or returns
      * null.
@@ -310,9 +260,6 @@ public class MetadataService {
      * @return jsonString representing the publisher
      */
     public URI fetchPublisherIdFromPublicationChannel(String publisherName) {
-        return Optional.ofNullable(publisherName)
-                   .flatMap(this::queryPublicationChannelForPublisher)
-                   .stream()
-                   .collect(SingletonCollector.collectOrElse(null));
+        return publicationChannelResolver.resolvePublisher(publisherName).orElse(null);
     }
 }
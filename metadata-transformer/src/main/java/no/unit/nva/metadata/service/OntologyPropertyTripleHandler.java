@@ -0,0 +1,81 @@
+package no.unit.nva.metadata.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import no.unit.nva.metadata.type.OntologyProperty;
+import no.unit.nva.metadata.type.OntologyPropertyIndex;
+import org.apache.any23.extractor.ExtractionContext;
+import org.apache.any23.writer.TripleHandler;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Receives the triples extracted by Any23 and keeps those whose predicate maps to a known ontology property, in the
+ * order they were emitted. All other triples are dropped as they arrive, so nothing is serialized or stored for them.
+ */
+final class OntologyPropertyTripleHandler implements TripleHandler {
+
+    private final List<MappedTriple> triples = new ArrayList<>();
+
+    /**
+     * Returns the triples with a known ontology property received so far.
+     *
+     * @return the mapped triples, in the order they were received.
+     */
+    List<MappedTriple> getTriples() {
+        return triples;
+    }
+
+    @Override
+    public void startDocument(IRI documentIri) {
+        // Triples are kept regardless of the document they come from
+    }
+
+    @Override
+    public void openContext(ExtractionContext context) {
+        // Triples are kept regardless of the extraction context
+    }
+
+    @Override
+    public void receiveTriple(Resource subject, IRI predicate, Value object, IRI graph, ExtractionContext context) {
+        OntologyPropertyIndex.lookup(predicate.getLocalName())
+            .ifPresent(property -> triples.add(new MappedTriple(subject, property, object)));
+    }
+
+    @Override
+    public void receiveNamespace(String prefix, String uri, ExtractionContext context) {
+        // Properties are matched on their local name, so namespaces are not needed
+    }
+
+    @Override
+    public void closeContext(ExtractionContext context) {
+        // Triples are kept regardless of the extraction context
+    }
+
+    @Override
+    public void endDocument(IRI documentIri) {
+        // Triples are kept regardless of the document they come from
+    }
+
+    @Override
+    public void setContentLength(long contentLength) {
+        // The content length is not needed
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    /**
+     * A received triple with its predicate mapped to a known ontology property.
+     *
+     * @param subject  the subject of the triple.
+     * @param property the ontology property of the predicate.
+     * @param object   the object of the triple.
+     */
+    record MappedTriple(Resource subject, OntologyProperty property, Value object) {
+
+    }
+}
@@ -0,0 +1,113 @@
+package no.unit.nva.metadata.service;
+
+import static java.util.Objects.nonNull;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.doi.fetch.cache.TtlLruCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Expands short DOIs such as {@code https://doi.org/abc12} to the DOIs they redirect to.
+ *
+ * <p>All short DOIs of a page are resolved at once: each distinct short DOI is asked for once, and the requests are
+ * sent concurrently. Answers are cached with a TTL, and short DOIs that do not redirect are remembered for a shorter
+ * time. Failed requests are not cached.
+ */
+final class ShortDoiResolver {
+
+    public static final int DEFAULT_MAX_ENTRIES = 5_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(15);
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    public static final String RESOLUTION_FAILED = "Short DOI {} could not be resolved: {}";
+    private static final String HEAD = "HEAD";
+    private static final String LOCATION = "location";
+    private static final int MOVED_PERMANENTLY = 301;
+    private static final String HTTPS = "https";
+    private static final String HTTP = "http";
+    private static final Logger logger = LoggerFactory.getLogger(ShortDoiResolver.class);
+
+    private final HttpClient httpClient;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final TtlLruCache<String, Optional<String>> dois;
+
+    ShortDoiResolver(HttpClient httpClient) {
+        this(httpClient, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL, Clock.systemUTC());
+    }
+
+    ShortDoiResolver(HttpClient httpClient, int maxEntries, Duration ttl, Duration negativeTtl, Clock clock) {
+        this.httpClient = httpClient;
+        this.dois = new TtlLruCache<>(maxEntries, clock);
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Resolves short DOIs concurrently.
+     *
+     * @param shortDois the short DOIs, possibly with repetitions.
+     * @return the DOI each distinct short DOI redirects to, or an empty Optional when it does not redirect or the
+     *     request failed.
+     */
+    Map<String, Optional<String>> resolveAll(Collection<String> shortDois) {
+        Map<String, CompletableFuture<Optional<String>>> requests = new LinkedHashMap<>();
+        for (String shortDoi : shortDois) {
+            requests.computeIfAbsent(shortDoi, this::resolve);
+        }
+        Map<String, Optional<String>> dois = new LinkedHashMap<>();
+        requests.forEach((shortDoi, doi) -> dois.put(shortDoi, doi.join()));
+        return dois;
+    }
+
+    int size() {
+        return dois.size();
+    }
+
+    private CompletableFuture<Optional<String>> resolve(String shortDoi) {
+        String uri = shortDoi.startsWith(HTTPS) ? shortDoi : shortDoi.replace(HTTP, HTTPS);
+        String key = uri.toLowerCase(Locale.ROOT);
+        Optional<String> cached = dois.get(key);
+        if (nonNull(cached)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return httpClient.sendAsync(createRequest(uri), HttpResponse.BodyHandlers.discarding())
+                   .thenApply(response -> store(key, redirectLocation(response)))
+                   .exceptionally(exception -> logResolutionError(shortDoi, exception));
+    }
+
+    private static HttpRequest createRequest(String uri) {
+        return HttpRequest.newBuilder()
+                   .uri(URI.create(uri))
+                   .timeout(REQUEST_TIMEOUT)
+                   .method(HEAD, HttpRequest.BodyPublishers.noBody())
+                   .build();
+    }
+
+    private static Optional<String> redirectLocation(HttpResponse<Void> response) {
+        return response.statusCode() == MOVED_PERMANENTLY
+                   ? response.headers().firstValue(LOCATION)
+                   : Optional.empty();
+    }
+
+    private Optional<String> store(String key, Optional<String> doi) {
+        dois.put(key, doi, doi.isPresent() ? ttl : negativeTtl);
+        return doi;
+    }
+
+    private static Optional<String> logResolutionError(String shortDoi, Throwable exception) {
+        logger.warn(RESOLUTION_FAILED, shortDoi, exception.getMessage());
+        return Optional.empty();
+    }
+}
@@ -1,63 +1,196 @@
 package no.unit.nva.metadata.service;
 
+import static java.util.Objects.nonNull;
 import org.apache.any23.Any23;
 import org.apache.any23.extractor.ExtractionException;
+import org.apache.any23.extractor.ExtractorGroup;
+import org.apache.any23.extractor.ExtractorRegistryImpl;
+import org.apache.any23.extractor.html.EmbeddedJSONLDExtractorFactory;
+import org.apache.any23.extractor.html.HTMLMetaExtractorFactory;
+import org.apache.any23.extractor.html.HeadLinkExtractorFactory;
+import org.apache.any23.extractor.html.TitleExtractorFactory;
+import org.apache.any23.extractor.microdata.MicrodataExtractorFactory;
+import org.apache.any23.extractor.rdfa.RDFa11ExtractorFactory;
 import org.apache.any23.filter.IgnoreAccidentalRDFa;
+import org.apache.any23.source.ByteArrayDocumentSource;
 import org.apache.any23.source.DocumentSource;
-import org.apache.any23.source.HTTPDocumentSource;
-import org.apache.any23.writer.JSONLDWriter;
 import org.apache.any23.writer.ReportingTripleHandler;
 import org.apache.any23.writer.TripleHandler;
 import org.apache.any23.writer.TripleHandlerException;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.metadata.service.LandingPageFetcher.LandingPage;
+import nva.commons.core.JacocoGenerated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Extracts RDF triples from landing pages with Any23. Pages are downloaded with a shared HttpClient and handed to
+ * Any23 from memory, either in full or only up to the end of their head. Only the extractors of the configured
+ * profile are run, and the MIME type of a page is detected only when the page does not declare its content type.
+ * The service keeps no state between calls apart from its statistics and can be used from several threads at once.
+ */
 public class TranslatorService {
 
     public static final String NVA_USER_AGENT = "NVA-user-agent";
     public static final String FAILED_TO_EXTRACT_TRIPLES_FROM_DOCUMENT = "Failed to extract triples from the document";
     public static final boolean SUPPRESS_CSS_TRIPLES = true;
-    private ByteArrayOutputStream outputStream;
+    public static final List<String> DEFAULT_EXTRACTORS = List.of(HTMLMetaExtractorFactory.NAME,
+                                                                  TitleExtractorFactory.NAME,
+                                                                  HeadLinkExtractorFactory.NAME,
+                                                                  EmbeddedJSONLDExtractorFactory.NAME,
+                                                                  MicrodataExtractorFactory.NAME,
+                                                                  RDFa11ExtractorFactory.NAME);
+    public static final String PAGE_STATISTICS_MESSAGE =
+        "Landing pages read head only: {}, in full: {}, bytes read: {}, declared bytes left unread: {}";
+    private static final Logger logger = LoggerFactory.getLogger(TranslatorService.class);
+    private final LandingPageFetcher landingPageFetcher;
+    private final Any23 translator;
+    private final Any23 detectingTranslator;
+    private final LongAdder headOnlyPages = new LongAdder();
+    private final LongAdder fullPages = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesNotRead = new LongAdder();
+
+    @JacocoGenerated
+    public TranslatorService() {
+        this(SharedHttpClient.INSTANCE);
+    }
+
+    /**
+     * Constructor for TranslatorService.
+     *
+     * @param httpClient the client used for downloading landing pages.
+     */
+    public TranslatorService(HttpClient httpClient) {
+        this(httpClient, LandingPageFetcher.DEFAULT_MAX_PAGE_BYTES, LandingPageFetcher.DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * Constructor for TranslatorService.
+     *
+     * @param httpClient   the client used for downloading landing pages.
+     * @param maxPageBytes the largest landing page that is read.
+     * @param readTimeout  how long reading a landing page may take.
+     */
+    public TranslatorService(HttpClient httpClient, int maxPageBytes, Duration readTimeout) {
+        this(httpClient, maxPageBytes, readTimeout, DEFAULT_EXTRACTORS);
+    }
+
+    /**
+     * Constructor for TranslatorService.
+     *
+     * @param httpClient     the client used for downloading landing pages.
+     * @param maxPageBytes   the largest landing page that is read.
+     * @param readTimeout    how long reading a landing page may take.
+     * @param extractorNames the names of the Any23 extractors run on each page.
+     * @throws IllegalArgumentException if an extractor name is not registered with Any23.
+     */
+    public TranslatorService(HttpClient httpClient, int maxPageBytes, Duration readTimeout,
+                             List<String> extractorNames) {
+        this.landingPageFetcher = new LandingPageFetcher(httpClient, NVA_USER_AGENT, maxPageBytes, readTimeout);
+        ExtractorGroup extractors = ExtractorRegistryImpl.getInstance().getExtractorGroup(extractorNames);
+        this.translator = new Any23(extractors);
+        this.translator.setMIMETypeDetector(null);
+        this.detectingTranslator = new Any23(extractors);
+    }
+
+    /**
+     * Dereference and process metadata from URI to RDF, passing every extracted triple to the given handler.
+     *
+     * @param uri           URI to be dereferenced.
+     * @param tripleHandler the handler receiving the extracted triples.
+     * @throws IOException          If the page cannot be read, is not an HTML page or is too large.
+     * @throws ExtractionException  If the extraction fails.
+     * @throws InterruptedException If interrupted while downloading the page.
+     */
+    public void loadMetadataFromUri(URI uri, TripleHandler tripleHandler)
+        throws IOException, ExtractionException, InterruptedException {
+        extract(landingPageFetcher.fetch(uri), tripleHandler);
+    }
 
     /**
-     * Returns a ByteArrayOutputStream of the extracted metadata.
+     * Dereference a URI and process the metadata in the head of the page, passing every extracted triple to the given
+     * handler. The page is read only up to the end of its head, so metadata in the body is not seen.
      *
-     * @return ByteArrayOutputStream
+     * @param uri           URI to be dereferenced.
+     * @param tripleHandler the handler receiving the extracted triples.
+     * @return true when only the head was read, false when the page had no end of head and was read in full.
+     * @throws IOException          If the page cannot be read, is not an HTML page or is too large.
+     * @throws ExtractionException  If the extraction fails.
+     * @throws InterruptedException If interrupted while downloading the page.
      */
-    public ByteArrayOutputStream getOutputStream() {
-        return outputStream;
+    public boolean loadHeadMetadataFromUri(URI uri, TripleHandler tripleHandler)
+        throws IOException, ExtractionException, InterruptedException {
+        LandingPage page = landingPageFetcher.fetchHead(uri);
+        extract(page, tripleHandler);
+        return page.headOnly();
+    }
+
+    public long getHeadOnlyPageCount() {
+        return headOnlyPages.sum();
+    }
+
+    public long getFullPageCount() {
+        return fullPages.sum();
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
     }
 
     /**
-     * Dereference and process metadata from URI to RDF.
+     * Returns how many bytes of the pages read head only were left unread, counting only pages declaring their length.
      *
-     * @param uri URI to be dereferenced.
-     * @throws URISyntaxException  If the URI is invalid.
-     * @throws IOException         If the IO fails.
-     * @throws ExtractionException If the extraction fails.
+     * @return the number of declared bytes that were not read.
      */
-    public void loadMetadataFromUri(URI uri) throws URISyntaxException, IOException, ExtractionException {
-        try (TripleHandler handler = createTripleHandler()) {
-            Any23 translator = createAny23();
-            DocumentSource source = new HTTPDocumentSource(translator.getHTTPClient(), uri.toString());
-            translator.extract(source, handler);
+    public long getBytesNotRead() {
+        return bytesNotRead.sum();
+    }
+
+    public void logStatistics() {
+        logger.info(PAGE_STATISTICS_MESSAGE, getHeadOnlyPageCount(), getFullPageCount(), getBytesRead(),
+                    getBytesNotRead());
+    }
+
+    private void extract(LandingPage page, TripleHandler tripleHandler) throws IOException, ExtractionException {
+        record(page);
+        try (TripleHandler handler = createTripleHandler(tripleHandler)) {
+            DocumentSource source = new ByteArrayDocumentSource(page.body(), page.uri().toString(),
+                                                                page.contentType());
+            translatorFor(page).extract(source, handler);
         } catch (TripleHandlerException e) {
             throw new RuntimeException(FAILED_TO_EXTRACT_TRIPLES_FROM_DOCUMENT);
         }
     }
 
-    private Any23 createAny23() {
-        Any23 translator = new Any23();
-        translator.setHTTPUserAgent(NVA_USER_AGENT);
-        return translator;
+    // A page declaring its content type has already been checked to be HTML, so it needs no detection
+    private Any23 translatorFor(LandingPage page) {
+        return nonNull(page.contentType()) ? translator : detectingTranslator;
     }
 
-    private ReportingTripleHandler createTripleHandler() {
-        outputStream = new ByteArrayOutputStream();
-        JSONLDWriter rdfWriterHandler = new JSONLDWriter(outputStream);
-        return new ReportingTripleHandler(new IgnoreAccidentalRDFa(rdfWriterHandler, SUPPRESS_CSS_TRIPLES));
+    private void record(LandingPage page) {
+        bytesRead.add(page.body().length);
+        if (page.headOnly()) {
+            headOnlyPages.increment();
+            bytesNotRead.add(Math.max(0, page.declaredLength() - page.body().length));
+        } else {
+            fullPages.increment();
+        }
+    }
+
+    private ReportingTripleHandler createTripleHandler(TripleHandler tripleHandler) {
+        return new ReportingTripleHandler(new IgnoreAccidentalRDFa(tripleHandler, SUPPRESS_CSS_TRIPLES));
+    }
+
+    @JacocoGenerated
+    private static final class SharedHttpClient {
+
+        private static final HttpClient INSTANCE = LandingPageFetcher.newHttpClient();
     }
 }
@@ -1,8 +1,5 @@
 package no.unit.nva.metadata.type;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 public enum Citation implements MetaTagSet {
     AUTHOR("author", DcTerms.CONTRIBUTOR),
     COVER_DATE("cover_date", DcTerms.DATE),
@@ -32,10 +29,4 @@ public enum Citation implements MetaTagSet {
     public OntologyProperty getMapping() {
         return mapping;
     }
-
-    public static Optional<Citation> getTagByString(String candidate) {
-        return Arrays.stream(values())
-                .filter(property -> property.getMetaTagName().equalsIgnoreCase(candidate))
-                .findAny();
-    }
 }
@@ -3,10 +3,6 @@ package no.unit.nva.metadata.type;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 
-import java.util.Arrays;
-import java.util.Locale;
-import java.util.Optional;
-
 public enum DcTerms implements OntologyProperty {
     ABSTRACT("abstract"),
     ACCESS_RIGHTS("accessRights"),
@@ -67,7 +63,6 @@ public enum DcTerms implements OntologyProperty {
     private static final String DCTERMS_PREFIX = "http://purl.org/dc/terms/";
     public static final String DC = "dc.";
     public static final String DCTERMS = "dcterms.";
-    public static final String EMPTY_STRING = "";
 
     private final String localName;
 
@@ -83,16 +78,4 @@ public enum DcTerms implements OntologyProperty {
     public String getMetaTagName() {
         return "DC." + localName;
     }
-
-    public static Optional<DcTerms> getTermByValue(String candidate) {
-        String term = replaceInternalPrefixes(candidate);
-        return Arrays.stream(values())
-                .filter(dcTerm -> dcTerm.localName.equalsIgnoreCase(term))
-                .findAny();
-    }
-
-    private static String replaceInternalPrefixes(String input) {
-        String replaced = input.toLowerCase(Locale.ROOT).replace(DCTERMS, EMPTY_STRING);
-        return replaced.replace(DC, EMPTY_STRING);
-    }
 }
@@ -0,0 +1,51 @@
+package no.unit.nva.metadata.type;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps the names of meta tags and predicates to ontology properties, ignoring case. The index is built once from
+ * {@link Citation}, {@link DcTerms} and {@link RawMetaTag}, in that order of precedence. Dublin Core terms are found by
+ * their local name, with or without a {@code dc.} or {@code dcterms.} prefix.
+ */
+public final class OntologyPropertyIndex {
+
+    private static final Map<String, OntologyProperty> PROPERTIES = createIndex();
+
+    private OntologyPropertyIndex() {
+
+    }
+
+    /**
+     * Finds the ontology property of a name.
+     *
+     * @param name the name of a meta tag, or the local name of a predicate.
+     * @return the ontology property, or an empty Optional when the name is not known.
+     */
+    public static Optional<OntologyProperty> lookup(String name) {
+        return Optional.ofNullable(PROPERTIES.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    private static Map<String, OntologyProperty> createIndex() {
+        Map<String, OntologyProperty> index = new HashMap<>();
+        for (Citation citation : Citation.values()) {
+            add(index, citation.getMetaTagName(), citation.getMapping());
+        }
+        for (DcTerms term : DcTerms.values()) {
+            String localName = term.getIri().getLocalName();
+            add(index, localName, term);
+            add(index, DcTerms.DC + localName, term);
+            add(index, DcTerms.DCTERMS + localName, term);
+        }
+        for (RawMetaTag tag : RawMetaTag.values()) {
+            add(index, tag.getMetaTagName(), tag.getMapping());
+        }
+        return Map.copyOf(index);
+    }
+
+    private static void add(Map<String, OntologyProperty> index, String name, OntologyProperty property) {
+        index.putIfAbsent(name.toLowerCase(Locale.ROOT), property);
+    }
+}
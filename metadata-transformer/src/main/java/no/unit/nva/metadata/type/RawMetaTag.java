@@ -1,8 +1,5 @@
 package no.unit.nva.metadata.type;
 
-import java.util.Arrays;
-import java.util.Optional;
-
 public enum RawMetaTag implements MetaTagSet {
     DOI("doi", Bibo.DOI);
 
@@ -23,10 +20,4 @@ public enum RawMetaTag implements MetaTagSet {
     public OntologyProperty getMapping() {
         return mapping;
     }
-
-    public static Optional<RawMetaTag> getTagByString(String candidate) {
-        return Arrays.stream(values())
-                .filter(property -> property.getMetaTagName().equalsIgnoreCase(candidate))
-                .findAny();
-    }
 }
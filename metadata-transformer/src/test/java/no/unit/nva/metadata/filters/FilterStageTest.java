@@ -0,0 +1,88 @@
+package no.unit.nva.metadata.filters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.util.List;
+import java.util.function.Supplier;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.impl.TreeModel;
+import org.junit.jupiter.api.Test;
+
+class FilterStageTest {
+
+    private static final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+    private static final Resource DOCUMENT = valueFactory.createIRI("https://example.org/article");
+    private static final Resource OTHER_DOCUMENT = valueFactory.createIRI("https://example.org/other");
+
+    @Test
+    void applyKeepsOnlyLongestTitlesAmongManyTitles() {
+        Model model = new TreeModel();
+        for (int length = 1; length <= 200; length++) {
+            model.add(DOCUMENT, DcTerms.TITLE.getIri(), valueFactory.createLiteral("t".repeat(length)));
+        }
+        model.add(DOCUMENT, DcTerms.TITLE.getIri(), valueFactory.createLiteral("u".repeat(200)));
+        model.add(DOCUMENT, DcTerms.TITLE.getIri(), valueFactory.createIRI("https://example.org/a-much-longer-title"));
+
+        FilterStage.withDefaultFilters().apply(model);
+
+        assertThat(objects(model), containsInAnyOrder(valueFactory.createLiteral("t".repeat(200)),
+                                                      valueFactory.createLiteral("u".repeat(200)),
+                                                      valueFactory.createIRI(
+                                                          "https://example.org/a-much-longer-title")));
+    }
+
+    @Test
+    void applyRemovesContributorsThatAreCreatorsOfSameSubject() {
+        var name = valueFactory.createLiteral("Doe, Jane");
+        var otherName = valueFactory.createLiteral("Roe, Richard");
+        Model model = new TreeModel();
+        model.add(DOCUMENT, DcTerms.CREATOR.getIri(), name);
+        model.add(DOCUMENT, DcTerms.CONTRIBUTOR.getIri(), name);
+        model.add(DOCUMENT, DcTerms.CONTRIBUTOR.getIri(), otherName);
+        model.add(OTHER_DOCUMENT, DcTerms.CONTRIBUTOR.getIri(), name);
+
+        FilterStage.withDefaultFilters().apply(model);
+
+        assertThat(model.size(), is(equalTo(3)));
+        assertThat(model.contains(DOCUMENT, DcTerms.CONTRIBUTOR.getIri(), name), is(false));
+    }
+
+    @Test
+    void applyRunsEveryFilterOnModelAsItWasBeforeFiltering() {
+        Model model = new TreeModel();
+        model.add(DOCUMENT, DcTerms.TITLE.getIri(), valueFactory.createLiteral("A title"));
+        model.add(DOCUMENT, DcTerms.SUBJECT.getIri(), valueFactory.createLiteral("Tag"));
+        Supplier<StatementFilter> removeAll = RemoveAllWhenTitleSeen::new;
+
+        new FilterStage(List.of(removeAll, FilterShorterTitles::new)).apply(model);
+
+        assertThat(model.isEmpty(), is(true));
+    }
+
+    private static List<Value> objects(Model model) {
+        return model.stream().map(Statement::getObject).toList();
+    }
+
+    private static final class RemoveAllWhenTitleSeen implements StatementFilter {
+
+        private boolean titleSeen;
+
+        @Override
+        public void inspect(Statement statement) {
+            titleSeen |= DcTerms.TITLE.getIri().equals(statement.getPredicate());
+        }
+
+        @Override
+        public boolean shouldRemove(Statement statement) {
+            return titleSeen;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package no.unit.nva.metadata.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LandingPageFetcherTest {
+
+    public static final String HTML = "<html><head><title>A page</title></head></html>";
+    public static final int MAX_PAGE_BYTES = 1024;
+    public static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration SHORT_READ_TIMEOUT = Duration.ofMillis(200);
+
+    private WireMockServer wireMockServer;
+    private LandingPageFetcher fetcher;
+
+    @BeforeEach
+    void initialize() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        fetcher = new LandingPageFetcher(LandingPageFetcher.newHttpClient(), TranslatorService.NVA_USER_AGENT,
+                                         MAX_PAGE_BYTES, READ_TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"text/html", "text/html; charset=UTF-8", "application/xhtml+xml"})
+    void fetchReturnsHtmlPageWithItsContentType(String contentType) throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/article"))
+                                   .willReturn(aResponse().withHeader("Content-Type", contentType).withBody(HTML)));
+
+        var page = fetcher.fetch(uri("/article"));
+
+        assertThat(new String(page.body(), StandardCharsets.UTF_8), is(equalTo(HTML)));
+        assertThat(page.contentType(), is(equalTo(contentType)));
+    }
+
+    @Test
+    void fetchReadsPageWithoutDeclaredContentType() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/article")).willReturn(aResponse().withBody(HTML)));
+
+        var page = fetcher.fetch(uri("/article"));
+
+        assertThat(page.contentType(), is(nullValue()));
+        assertThat(page.body().length, is(equalTo(HTML.length())));
+    }
+
+    @Test
+    void fetchFollowsRedirectsAndReturnsFinalUri() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/moved"))
+                                   .willReturn(aResponse().withStatus(HttpURLConnection.HTTP_MOVED_PERM)
+                                                   .withHeader("Location", uri("/article").toString())
+                                                   .withBody("")));
+        wireMockServer.stubFor(get(urlEqualTo("/article"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html").withBody(HTML)));
+
+        var page = fetcher.fetch(uri("/moved"));
+
+        assertThat(page.uri(), is(equalTo(uri("/article"))));
+    }
+
+    @Test
+    void fetchRejectsPageOfUnsupportedContentType() {
+        wireMockServer.stubFor(get(urlEqualTo("/article.pdf"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "application/pdf")
+                                                   .withBody(new byte[MAX_PAGE_BYTES * 4])));
+
+        var exception = assertThrows(IOException.class, () -> fetcher.fetch(uri("/article.pdf")));
+
+        assertThat(exception.getMessage(), containsString("application/pdf"));
+    }
+
+    @Test
+    void fetchRejectsResponseWithOtherStatusThanOk() {
+        wireMockServer.stubFor(get(urlEqualTo("/missing"))
+                                   .willReturn(aResponse().withStatus(HttpURLConnection.HTTP_NOT_FOUND)
+                                                   .withHeader("Content-Type", "text/html").withBody(HTML)));
+
+        var exception = assertThrows(IOException.class, () -> fetcher.fetch(uri("/missing")));
+
+        assertThat(exception.getMessage(), containsString(String.valueOf(HttpURLConnection.HTTP_NOT_FOUND)));
+    }
+
+    @Test
+    void fetchRejectsPageLargerThanByteBudget() {
+        wireMockServer.stubFor(get(urlEqualTo("/large"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html")
+                                                   .withBody(new byte[MAX_PAGE_BYTES + 1])));
+
+        var exception = assertThrows(IOException.class, () -> fetcher.fetch(uri("/large")));
+
+        assertThat(exception.getMessage(), containsString(String.valueOf(MAX_PAGE_BYTES)));
+    }
+
+    @Test
+    void fetchGivesUpOnPageNotReadWithinReadTimeout() {
+        wireMockServer.stubFor(get(urlEqualTo("/slow"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html").withBody(HTML)
+                                                   .withFixedDelay((int) SHORT_READ_TIMEOUT.toMillis() * 5)));
+        var impatientFetcher = new LandingPageFetcher(LandingPageFetcher.newHttpClient(),
+                                                      TranslatorService.NVA_USER_AGENT, MAX_PAGE_BYTES,
+                                                      SHORT_READ_TIMEOUT);
+
+        var exception = assertThrows(IOException.class, () -> impatientFetcher.fetch(uri("/slow")));
+
+        assertThat(exception, is(instanceOf(HttpTimeoutException.class)));
+    }
+
+    @Test
+    void fetchHeadStopsReadingAtEndOfHeadInAnyCase() throws Exception {
+        var head = "<html><HEAD><title>A page</title></Head>";
+        var body = "<body>" + "text ".repeat(MAX_PAGE_BYTES) + "</body></html>";
+        wireMockServer.stubFor(get(urlEqualTo("/article"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html")
+                                                   .withBody(head + body)));
+
+        var page = fetcher.fetchHead(uri("/article"));
+
+        assertThat(new String(page.body(), StandardCharsets.UTF_8), is(equalTo(head)));
+        assertThat(page.headOnly(), is(true));
+    }
+
+    @Test
+    void fetchHeadReadsWholePageWithoutEndOfHead() throws Exception {
+        var html = "<html><body><p>No head</p></body></html>";
+        wireMockServer.stubFor(get(urlEqualTo("/article"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html").withBody(html)));
+
+        var page = fetcher.fetchHead(uri("/article"));
+
+        assertThat(new String(page.body(), StandardCharsets.UTF_8), is(equalTo(html)));
+        assertThat(page.headOnly(), is(false));
+    }
+
+    @Test
+    void fetchHeadRejectsHeadLargerThanByteBudget() {
+        wireMockServer.stubFor(get(urlEqualTo("/large"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html")
+                                                   .withBody("<head>" + "a".repeat(MAX_PAGE_BYTES) + "</head>")));
+
+        var exception = assertThrows(IOException.class, () -> fetcher.fetchHead(uri("/large")));
+
+        assertThat(exception.getMessage(), containsString(String.valueOf(MAX_PAGE_BYTES)));
+    }
+
+    @Test
+    void constructorRejectsNegativeByteBudget() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new LandingPageFetcher(LandingPageFetcher.newHttpClient(), TranslatorService.NVA_USER_AGENT,
+                                                  -1, READ_TIMEOUT));
+    }
+
+    private URI uri(String path) {
+        return URI.create(wireMockServer.baseUrl() + path);
+    }
+}
@@ -27,11 +27,13 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.in;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -47,14 +49,22 @@ import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.sikt.nva.testing.http.WiremockHttpClient;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
 import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
@@ -122,6 +132,9 @@ public class MetadataServiceTest {
     public static final String SECOND_ISBN_ISBN13_VARIANT = "9781627050128";
     public static final String ONLINE_ISSN = "2052-2916";
     public static final String PRINT_ISSN = "0969-0700";
+    public static final int CONCURRENT_PAGES = 24;
+    public static final int CONCURRENT_EXTRACTIONS = 8;
+    public static final int REPEATED_ROUNDS = 3;
     private static final TestAppender logger = LogUtils.getTestingAppenderForRootLogger();
     private WireMockServer wireMockServer;
 
@@ -166,6 +179,101 @@ public class MetadataServiceTest {
         assertThat(actualPublisherUri, is(expectedPublisherUri));
     }
 
+    @Test
+    void shouldAnswerJournalIdFromCacheOfResolverSharedWithOtherServices() {
+        var expectedJournalName = randomString();
+        var expectedYear = randomInteger();
+        var queryUri = createExpectedQueryUriForJournalName(expectedJournalName, String.valueOf(expectedYear));
+        var expectedJournalUri = mockedPublicationChannelsReturnsUri(queryUri);
+        var sharedResolver = new PublicationChannelResolver(httpClient, serverUriJournal, serverUriPublisher);
+        sharedResolver.resolveJournal(expectedJournalName, null, null, expectedYear);
+
+        var metadataService = new MetadataService(httpClient, sharedResolver);
+        var actualId = metadataService.fetchJournalIdFromPublicationChannel(expectedJournalName, null, null,
+                                                                            expectedYear)
+                           .orElseThrow();
+
+        assertThat(actualId, is(expectedJournalUri));
+        assertThat(wireMockServer.getAllServeEvents().size(), is(equalTo(1)));
+    }
+
+    @Test
+    void generateCreatePublicationRequestDownloadsLandingPageWithInjectedTranslatorService() {
+        configureFor("localhost", wireMockServer.port());
+        stubFor(get(urlEqualTo("/article/injected"))
+                    .willReturn(aResponse()
+                                    .withHeader("Content-Type", "text/html")
+                                    .withBody(createHtml(new MetaTagPair(CITATION_TITLE, "Injected")))));
+        var translatorService = new TranslatorService(LandingPageFetcher.newHttpClient());
+        var sharedResolver = new PublicationChannelResolver(httpClient, serverUriJournal, serverUriPublisher);
+        var metadataService = new MetadataService(translatorService, httpClient, sharedResolver);
+
+        var request = metadataService.generateCreatePublicationRequest(
+            URI.create(String.format(URI_TEMPLATE, wireMockServer.port(), "injected"))).orElseThrow();
+
+        assertThat(request.getEntityDescription().getMainTitle(), is(equalTo("Injected")));
+        assertThat(translatorService.getBytesRead(), is(greaterThan(0L)));
+    }
+
+    @Test
+    void generateCreatePublicationRequestKeepsResultsOfConcurrentAndRepeatedCallsOnOneInstanceApart()
+        throws Exception {
+        configureFor("localhost", wireMockServer.port());
+        List<URI> pages = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_PAGES; i++) {
+            stubFor(get(urlEqualTo("/article/page-" + i))
+                        .willReturn(aResponse()
+                                        .withHeader("Content-Type", "text/html")
+                                        .withBody(createHtml(new MetaTagPair(CITATION_TITLE, pageTitle(i))))));
+            pages.add(URI.create(String.format(URI_TEMPLATE, wireMockServer.port(), "page-" + i)));
+        }
+        var metadataService = new MetadataService();
+
+        List<Callable<String>> extractions = new ArrayList<>();
+        for (int round = 0; round < REPEATED_ROUNDS; round++) {
+            pages.forEach(page -> extractions.add(() -> metadataService.generateCreatePublicationRequest(page)
+                                                            .orElseThrow()
+                                                            .getEntityDescription()
+                                                            .getMainTitle()));
+        }
+        List<String> titles = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_EXTRACTIONS)) {
+            for (Future<String> title : executor.invokeAll(extractions)) {
+                titles.add(title.get());
+            }
+        }
+
+        for (int i = 0; i < titles.size(); i++) {
+            assertThat(titles.get(i), is(equalTo(pageTitle(i % CONCURRENT_PAGES))));
+        }
+    }
+
+    @Test
+    void generateCreatePublicationRequestReadsWholePageWhenHeadHasNoMetadata() {
+        var html = html(head(title()),
+                        body(span(FAKE_TITLE).attr("property", "dc:title"))
+                            .attr("xmlns:dc", "http://purl.org/dc/terms/")
+                            .attr("about", "https://example.org/article")).render();
+        var uri = prepareWebServerAndReturnUriToMetadata(html);
+
+        var request = new MetadataService().generateCreatePublicationRequest(uri).orElseThrow();
+
+        assertThat(request.getEntityDescription().getMainTitle(), is(equalTo(FAKE_TITLE)));
+    }
+
+    @Test
+    void generateCreatePublicationRequestReadsWholePageWhenHeadOnlyHasTitle() {
+        var html = html(head(title(FAKE_TITLE)),
+                        body(span(VALID_DATE).attr("property", "dc:date"))
+                            .attr("xmlns:dc", "http://purl.org/dc/terms/")
+                            .attr("about", "https://example.org/article")).render();
+        var uri = prepareWebServerAndReturnUriToMetadata(html);
+
+        var request = new MetadataService().generateCreatePublicationRequest(uri).orElseThrow();
+
+        assertThat(request.getEntityDescription().getPublicationDate().year(), is(equalTo(VALID_DATE)));
+    }
+
     @ParameterizedTest(name = "#{index} - {0}")
     @MethodSource({
         "provideMetadataWithLowercasePrefixes",
@@ -201,6 +309,15 @@ public class MetadataServiceTest {
         assertThat(actual, containsInAnyOrder(expected));
     }
 
+    @Test
+    void getCreatePublicationRequestKeepsTagRepeatedUnderDifferentTerms() {
+        List<MetaTagPair> metaTags = List.of(new MetaTagPair("dcterms.coverage", "Oslo"),
+                                             new MetaTagPair("dcterms.spatial", "Oslo"),
+                                             new MetaTagPair("dc.subject", "Subject"));
+        List<String> actual = getCreatePublicationRequest(metaTags).getEntityDescription().getTags();
+        assertThat(actual, containsInAnyOrder("Oslo", "Oslo", "Subject"));
+    }
+
     @ParameterizedTest(name = "getCreatePublication ignores case of {0}")
     @ArgumentsSource(DcContentCaseArgumentsProvider.class)
     void getCreatePublicationReturnsValueWhenContentPrefixHasAnyCase(String tagAttribute,
@@ -330,6 +447,24 @@ public class MetadataServiceTest {
         assertThat(actual, equalTo(expected));
     }
 
+    @Test
+    void getCreatePublicationRequestLeavesOutShortDoiWhenResolvingItFails() {
+        HttpClient failingHttpClient = mock(HttpClient.class);
+        when(failingHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.failedFuture(new HttpTimeoutException("request timed out")));
+        CreatePublicationRequest request = getCreatePublicationRequestWithShortDoi(failingHttpClient);
+        assertThat(request.getEntityDescription().getMainTitle(), is(equalTo(FAKE_TITLE)));
+        assertThat(request.getEntityDescription().getReference(), is(nullValue()));
+    }
+
+    @Test
+    void getCreatePublicationRequestLeavesOutShortDoiWhenItDoesNotRedirect() {
+        CreatePublicationRequest request =
+            getCreatePublicationRequestWithShortDoi(setUpShortDoiResponse(HttpURLConnection.HTTP_NOT_FOUND));
+        assertThat(request.getEntityDescription().getMainTitle(), is(equalTo(FAKE_TITLE)));
+        assertThat(request.getEntityDescription().getReference(), is(nullValue()));
+    }
+
     @Test
     void getCreatePublicationRequestReturnsSingleHttpsDoiWhenInputContainsManyValidDois() {
         List<MetaTagPair> doimetaTagPairs = List.of(
@@ -557,6 +692,10 @@ public class MetadataServiceTest {
         return Arguments.of(testDescription, createHtml(metadata), expected);
     }
 
+    private static String pageTitle(int page) {
+        return "Title of page " + page;
+    }
+
     private static String createHtml(MetaTagPair tagPair) {
         return createHtml(null, List.of(tagPair));
     }
@@ -680,6 +819,24 @@ public class MetadataServiceTest {
         return metadataService.generateCreatePublicationRequest(uri);
     }
 
+    private CreatePublicationRequest getCreatePublicationRequestWithShortDoi(HttpClient shortDoiHttpClient) {
+        String html = createHtml(FAKE_TITLE, List.of(new MetaTagPair(DC_IDENTIFIER, "https://doi.org/bwfc")));
+        URI uri = prepareWebServerAndReturnUriToMetadata(html);
+        return new MetadataService(shortDoiHttpClient, serverUriJournal, serverUriPublisher)
+                   .generateCreatePublicationRequest(uri)
+                   .orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpClient setUpShortDoiResponse(int statusCode) {
+        HttpClient mockHttpClient = mock(HttpClient.class);
+        HttpResponse<Void> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
+        return mockHttpClient;
+    }
+
     @SuppressWarnings("unchecked")
     private HttpClient setUpMockingForShortDoi(String expected) throws IOException, InterruptedException {
         HttpClient mockHttpClient = mock(HttpClient.class);
@@ -687,7 +844,8 @@ public class MetadataServiceTest {
         when(response.statusCode()).thenReturn(MOVED_PERMANENTLY);
         HttpHeaders headers = HttpHeaders.of(Map.of(LOCATION, List.of(expected)), new TestBipredicate());
         when(response.headers()).thenReturn(headers);
-        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class))).thenReturn(response);
+        when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+            .thenReturn(CompletableFuture.completedFuture(response));
         return mockHttpClient;
     }
 
@@ -0,0 +1,52 @@
+package no.unit.nva.metadata.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import no.unit.nva.metadata.service.OntologyPropertyTripleHandler.MappedTriple;
+import no.unit.nva.metadata.type.Bibo;
+import no.unit.nva.metadata.type.DcTerms;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.jupiter.api.Test;
+
+class OntologyPropertyTripleHandlerTest {
+
+    private static final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+    private static final IRI DOCUMENT = valueFactory.createIRI("https://example.org/article");
+    private static final Resource SUBJECT = valueFactory.createBNode();
+
+    @Test
+    void receiveTripleKeepsTriplesWithKnownPropertiesInOrderOfArrival() {
+        var handler = new OntologyPropertyTripleHandler();
+        var title = valueFactory.createLiteral("A title");
+        var doi = valueFactory.createLiteral("10.1000/182");
+
+        handler.startDocument(DOCUMENT);
+        handler.openContext(null);
+        handler.receiveNamespace("dc", "http://purl.org/dc/terms/", null);
+        handler.receiveTriple(SUBJECT, valueFactory.createIRI("http://purl.org/dc/terms/title"), title, DOCUMENT, null);
+        handler.receiveTriple(SUBJECT, valueFactory.createIRI("https://example.org/vocab#citation_doi"), doi,
+                              DOCUMENT, null);
+        handler.closeContext(null);
+        handler.endDocument(DOCUMENT);
+        handler.setContentLength(0);
+        handler.close();
+
+        assertThat(handler.getTriples(), contains(new MappedTriple(SUBJECT, DcTerms.TITLE, title),
+                                                  new MappedTriple(SUBJECT, Bibo.DOI, doi)));
+    }
+
+    @Test
+    void receiveTripleDropsTriplesWithUnknownProperties() {
+        var handler = new OntologyPropertyTripleHandler();
+
+        handler.receiveTriple(SUBJECT, valueFactory.createIRI("https://example.org/vocab#stylesheet"),
+                              valueFactory.createLiteral("main.css"), DOCUMENT, null);
+
+        assertThat(handler.getTriples(), is(empty()));
+    }
+}
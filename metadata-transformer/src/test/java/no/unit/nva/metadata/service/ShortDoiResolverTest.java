@@ -0,0 +1,117 @@
+package no.unit.nva.metadata.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShortDoiResolverTest {
+
+    public static final String SHORT_DOI = "https://doi.org/abc12";
+    public static final String UNKNOWN_SHORT_DOI = "https://doi.org/zzz99";
+    public static final String FAILING_SHORT_DOI = "https://doi.org/fail1";
+    public static final String DOI = "https://doi.org/10.1000/182";
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration NEGATIVE_TTL = Duration.ofMinutes(1);
+
+    private HttpClient httpClient;
+    private Clock clock;
+    private ShortDoiResolver resolver;
+
+    @BeforeEach
+    void initialize() {
+        httpClient = mock(HttpClient.class);
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        respondTo(SHORT_DOI, CompletableFuture.completedFuture(response(HttpURLConnection.HTTP_MOVED_PERM, DOI)));
+        respondTo(UNKNOWN_SHORT_DOI,
+                  CompletableFuture.completedFuture(response(HttpURLConnection.HTTP_NOT_FOUND, null)));
+        respondTo(FAILING_SHORT_DOI, CompletableFuture.failedFuture(new IOException("Connection refused")));
+        resolver = new ShortDoiResolver(httpClient, 100, TTL, NEGATIVE_TTL, clock);
+    }
+
+    @Test
+    void resolveAllSendsOneRequestPerDistinctShortDoi() {
+        var dois = resolver.resolveAll(List.of(SHORT_DOI, UNKNOWN_SHORT_DOI, SHORT_DOI));
+
+        assertThat(dois, is(equalTo(Map.of(SHORT_DOI, Optional.of(DOI), UNKNOWN_SHORT_DOI, Optional.empty()))));
+        verifyRequestsFor(SHORT_DOI, 1);
+        verifyRequestsFor(UNKNOWN_SHORT_DOI, 1);
+    }
+
+    @Test
+    void resolveAllServesRepeatedShortDoisFromCacheIgnoringSchemeAndCase() {
+        resolver.resolveAll(List.of(SHORT_DOI));
+        var dois = resolver.resolveAll(List.of("http://doi.org/ABC12"));
+
+        assertThat(dois, is(equalTo(Map.of("http://doi.org/ABC12", Optional.of(DOI)))));
+        verifyRequestsFor(SHORT_DOI, 1);
+        assertThat(resolver.size(), is(equalTo(1)));
+    }
+
+    @Test
+    void resolveAllRemembersShortDoiWithoutRedirectUntilNegativeTtlExpires() {
+        resolver.resolveAll(List.of(UNKNOWN_SHORT_DOI));
+        resolver.resolveAll(List.of(UNKNOWN_SHORT_DOI));
+        verifyRequestsFor(UNKNOWN_SHORT_DOI, 1);
+
+        when(clock.millis()).thenReturn(NEGATIVE_TTL.toMillis());
+        resolver.resolveAll(List.of(UNKNOWN_SHORT_DOI));
+
+        verifyRequestsFor(UNKNOWN_SHORT_DOI, 2);
+    }
+
+    @Test
+    void resolveAllDoesNotCacheFailedRequests() {
+        assertThat(resolver.resolveAll(List.of(FAILING_SHORT_DOI)).get(FAILING_SHORT_DOI),
+                   is(equalTo(Optional.empty())));
+        resolver.resolveAll(List.of(FAILING_SHORT_DOI));
+
+        verifyRequestsFor(FAILING_SHORT_DOI, 2);
+        assertThat(resolver.size(), is(equalTo(0)));
+    }
+
+    private void respondTo(String shortDoi, CompletableFuture<HttpResponse<Void>> response) {
+        when(httpClient.sendAsync(argThat(request -> hasUri(request, shortDoi)),
+                                  any(HttpResponse.BodyHandler.class)))
+            .thenAnswer(invocation -> response);
+    }
+
+    private void verifyRequestsFor(String shortDoi, int count) {
+        verify(httpClient, times(count)).sendAsync(argThat(request -> hasUri(request, shortDoi)),
+                                                   any(HttpResponse.BodyHandler.class));
+    }
+
+    private static boolean hasUri(HttpRequest request, String uri) {
+        return request != null && request.uri().equals(URI.create(uri));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<Void> response(int statusCode, String location) {
+        HttpResponse<Void> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        var headers = location == null ? Map.<String, List<String>>of() : Map.of("location", List.of(location));
+        when(response.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        return response;
+    }
+}
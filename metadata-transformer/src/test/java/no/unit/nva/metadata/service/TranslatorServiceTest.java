@@ -0,0 +1,83 @@
+package no.unit.nva.metadata.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import java.net.URI;
+import java.util.List;
+import no.unit.nva.metadata.service.OntologyPropertyTripleHandler.MappedTriple;
+import no.unit.nva.metadata.type.DcTerms;
+import no.unit.nva.metadata.type.OntologyProperty;
+import org.apache.any23.extractor.html.TitleExtractorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TranslatorServiceTest {
+
+    public static final String HTML = "<html><head><title>A page</title>"
+                                      + "<meta name=\"citation_title\" content=\"An article\"></head>"
+                                      + "<body><p>Text</p></body></html>";
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void initialize() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void loadMetadataFromUriRunsOnlyConfiguredExtractors() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/article"))
+                                   .willReturn(aResponse().withHeader("Content-Type", "text/html").withBody(HTML)));
+        var translatorService = new TranslatorService(LandingPageFetcher.newHttpClient(),
+                                                      LandingPageFetcher.DEFAULT_MAX_PAGE_BYTES,
+                                                      LandingPageFetcher.DEFAULT_READ_TIMEOUT,
+                                                      List.of(TitleExtractorFactory.NAME));
+        var handler = new OntologyPropertyTripleHandler();
+
+        translatorService.loadMetadataFromUri(uri("/article"), handler);
+
+        assertThat(properties(handler), contains(DcTerms.TITLE));
+    }
+
+    @Test
+    void loadMetadataFromUriDetectsTypeOfPageWithoutDeclaredContentType() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/article")).willReturn(aResponse().withBody(HTML)));
+        var translatorService = new TranslatorService(LandingPageFetcher.newHttpClient());
+        var handler = new OntologyPropertyTripleHandler();
+
+        translatorService.loadMetadataFromUri(uri("/article"), handler);
+
+        assertThat(properties(handler), containsInAnyOrder(DcTerms.TITLE, DcTerms.TITLE));
+    }
+
+    @Test
+    void constructorRejectsUnknownExtractor() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new TranslatorService(LandingPageFetcher.newHttpClient(),
+                                                 LandingPageFetcher.DEFAULT_MAX_PAGE_BYTES,
+                                                 LandingPageFetcher.DEFAULT_READ_TIMEOUT,
+                                                 List.of("no-such-extractor")));
+    }
+
+    private static List<OntologyProperty> properties(OntologyPropertyTripleHandler handler) {
+        return handler.getTriples().stream().map(MappedTriple::property).toList();
+    }
+
+    private URI uri(String path) {
+        return URI.create(wireMockServer.baseUrl() + path);
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.metadata.type;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import java.util.Optional;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class OntologyPropertyIndexTest {
+
+    @ParameterizedTest(name = "{0} is found as {1}")
+    @CsvSource({
+        "citation_title, TITLE",
+        "CITATION_AUTHOR, CONTRIBUTOR",
+        "title, TITLE",
+        "DC.Title, TITLE",
+        "dcterms.dateAccepted, DATE_ACCEPTED",
+        "DCTERMS.ABSTRACT, ABSTRACT"
+    })
+    void lookupFindsDublinCoreTermsOfNamesIgnoringCase(String name, DcTerms expected) {
+        assertThat(OntologyPropertyIndex.lookup(name), is(equalTo(Optional.of(expected))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"citation_doi", "DOI", "Citation_ISBN", "citation_issn"})
+    void lookupFindsBibliographicPropertiesOfCitationAndRawTags(String name) {
+        assertThat(OntologyPropertyIndex.lookup(name).map(Bibo.class::isInstance), is(equalTo(Optional.of(true))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"viewport", "og:title", "dc.lnaguage", "citation_"})
+    void lookupFindsNothingForUnknownNames(String name) {
+        assertThat(OntologyPropertyIndex.lookup(name), is(equalTo(Optional.empty())));
+    }
+}
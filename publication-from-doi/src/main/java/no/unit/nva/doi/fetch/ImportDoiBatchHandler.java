@@ -0,0 +1,116 @@
+package no.unit.nva.doi.fetch;
+
+import static java.util.Objects.isNull;
+import static nva.commons.core.attempt.Try.attempt;
+import com.amazonaws.services.lambda.runtime.Context;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import no.unit.nva.clients.cristin.CristinClient;
+import no.unit.nva.doi.DoiProxyService;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
+import no.unit.nva.doi.fetch.exceptions.MalformedRequestException;
+import no.unit.nva.doi.fetch.model.BatchRequestBody;
+import no.unit.nva.doi.fetch.model.BatchSummary;
+import no.unit.nva.doi.fetch.service.BatchImportService;
+import no.unit.nva.doi.fetch.service.FetchDoiService;
+import no.unit.nva.doi.fetch.service.PublicationConverter;
+import no.unit.nva.doi.fetch.service.PublicationPersistenceService;
+import no.unit.nva.doi.transformer.DoiTransformService;
+import no.unit.nva.metadata.service.MetadataService;
+import nva.commons.apigateway.ApiGatewayHandler;
+import nva.commons.apigateway.RequestInfo;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.apigateway.exceptions.UnauthorizedException;
+import nva.commons.core.Environment;
+import nva.commons.core.JacocoGenerated;
+import nva.commons.core.paths.UriWrapper;
+
+/**
+ * Imports a list of DOIs or URLs in one request, creating a publication for each and reporting a summary or an error
+ * per item. The batch size is capped so that a batch is imported within the API Gateway timeout.
+ */
+public class ImportDoiBatchHandler extends ApiGatewayHandler<BatchRequestBody, BatchSummary> {
+
+    public static final int MAX_BATCH_SIZE = 25;
+    public static final String EMPTY_BATCH_ERROR = "doiUrls can not be null or empty";
+    public static final String NULL_DOI_URL_ERROR = "doiUrls can not contain null";
+    public static final String BATCH_TOO_LARGE_ERROR = "doiUrls can contain at most " + MAX_BATCH_SIZE + " entries";
+    private static final String CALLER_SEPARATOR = "@";
+    private final transient String publicationApiHost;
+    private final transient BatchImportService batchImportService;
+
+    @SuppressWarnings("unused")
+    @JacocoGenerated
+    public ImportDoiBatchHandler() {
+        this(new Environment());
+    }
+
+    @JacocoGenerated
+    public ImportDoiBatchHandler(Environment environment) {
+        this(new PublicationConverter(),
+             new DoiTransformService(PublicationChannelResolver.shared(environment).orElse(null)),
+             new DoiProxyService(environment), new PublicationPersistenceService(), CristinClient.defaultClient(),
+             ImportDoiHandler.getMetadataService(environment), environment);
+    }
+
+    public ImportDoiBatchHandler(PublicationConverter publicationConverter,
+                                 DoiTransformService doiTransformService,
+                                 DoiProxyService doiProxyService,
+                                 PublicationPersistenceService publicationPersistenceService,
+                                 CristinClient cristinClient,
+                                 MetadataService metadataService,
+                                 Environment environment) {
+        super(BatchRequestBody.class, environment);
+        this.publicationApiHost = environment.readEnv(ImportDoiHandler.PUBLICATION_API_HOST_ENV);
+        var fetchDoiService = new FetchDoiService(doiTransformService, doiProxyService, cristinClient,
+                                                  metadataService);
+        this.batchImportService = new BatchImportService(fetchDoiService, publicationPersistenceService,
+                                                         publicationConverter,
+                                                         BatchImportService.concurrencyFromEnvironment(environment));
+    }
+
+    @Override
+    protected void validateRequest(BatchRequestBody requestBody, RequestInfo requestInfo, Context context)
+        throws ApiGatewayException {
+        validate(requestBody);
+    }
+
+    @Override
+    protected BatchSummary processInput(BatchRequestBody input, RequestInfo requestInfo, Context context)
+        throws ApiGatewayException {
+        var apiUrl = urlToPublicationProxy();
+        var authHeader = requestInfo.getAuthHeader();
+        var timeLeft = Duration.ofMillis(context.getRemainingTimeInMillis());
+        return new BatchSummary(batchImportService.importAll(input.getDoiUrls(), apiUrl, authHeader,
+                                                             callerOf(requestInfo), timeLeft));
+    }
+
+    @Override
+    protected Integer getSuccessStatusCode(BatchRequestBody input, BatchSummary output) {
+        return HttpURLConnection.HTTP_OK;
+    }
+
+    // The caller is identified by who they are, not by their token, which rotates and must not be kept
+    private static String callerOf(RequestInfo requestInfo) throws UnauthorizedException {
+        return requestInfo.getUserName() + CALLER_SEPARATOR + requestInfo.getCurrentCustomer();
+    }
+
+    private URI urlToPublicationProxy() {
+        return attempt(() -> UriWrapper.fromHost(publicationApiHost).getUri())
+                   .orElseThrow(failure -> new IllegalStateException(failure.getException()));
+    }
+
+    private void validate(BatchRequestBody input) throws MalformedRequestException {
+        if (isNull(input) || isNull(input.getDoiUrls()) || input.getDoiUrls().isEmpty()) {
+            throw new MalformedRequestException(EMPTY_BATCH_ERROR);
+        }
+        if (input.getDoiUrls().stream().anyMatch(Objects::isNull)) {
+            throw new MalformedRequestException(NULL_DOI_URL_ERROR);
+        }
+        if (input.getDoiUrls().size() > MAX_BATCH_SIZE) {
+            throw new MalformedRequestException(BATCH_TOO_LARGE_ERROR);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.net.URI;
 import no.sikt.nva.doi.fetch.jsonconfig.Json;
 import no.unit.nva.clients.cristin.CristinClient;
 import no.unit.nva.doi.DoiProxyService;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
 import no.unit.nva.doi.fetch.commons.publication.model.PublicationResponse;
 import no.unit.nva.doi.fetch.exceptions.CreatePublicationException;
@@ -21,6 +22,7 @@ import no.unit.nva.doi.fetch.service.PublicationConverter;
 import no.unit.nva.doi.fetch.service.PublicationPersistenceService;
 import no.unit.nva.doi.transformer.DoiTransformService;
 import no.unit.nva.metadata.service.MetadataService;
+import no.unit.nva.metadata.service.TranslatorService;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -45,9 +47,10 @@ public class ImportDoiHandler extends ApiGatewayHandler<RequestBody, Summary> {
 
     @JacocoGenerated
     public ImportDoiHandler(Environment environment) {
-        this(new PublicationConverter(), new DoiTransformService(),
+        this(new PublicationConverter(),
+             new DoiTransformService(PublicationChannelResolver.shared(environment).orElse(null)),
              new DoiProxyService(environment), new PublicationPersistenceService(), CristinClient.defaultClient(),
-             getMetadataService(), environment);
+             getMetadataService(environment), environment);
     }
 
     public ImportDoiHandler(PublicationConverter publicationConverter,
@@ -95,8 +98,11 @@ public class ImportDoiHandler extends ApiGatewayHandler<RequestBody, Summary> {
     }
 
     @JacocoGenerated
-    private static MetadataService getMetadataService() {
-        return new MetadataService();
+    static MetadataService getMetadataService(Environment environment) {
+        var translatorService = new TranslatorService();
+        return PublicationChannelResolver.shared(environment)
+                   .map(resolver -> new MetadataService(translatorService, resolver))
+                   .orElseGet(() -> new MetadataService(translatorService));
     }
 
     @JacocoGenerated
@@ -6,12 +6,14 @@ import com.amazonaws.services.lambda.runtime.Context;
 import java.net.HttpURLConnection;
 import no.unit.nva.clients.cristin.CristinClient;
 import no.unit.nva.doi.DoiProxyService;
+import no.unit.nva.doi.fetch.channels.PublicationChannelResolver;
 import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
 import no.unit.nva.doi.fetch.exceptions.MalformedRequestException;
 import no.unit.nva.doi.fetch.model.RequestBody;
 import no.unit.nva.doi.fetch.service.FetchDoiService;
 import no.unit.nva.doi.transformer.DoiTransformService;
 import no.unit.nva.metadata.service.MetadataService;
+import no.unit.nva.metadata.service.TranslatorService;
 import nva.commons.apigateway.ApiGatewayHandler;
 import nva.commons.apigateway.RequestInfo;
 import nva.commons.apigateway.exceptions.ApiGatewayException;
@@ -31,9 +33,9 @@ public class PreviewDoiHandler extends ApiGatewayHandler<RequestBody, CreatePubl
 
     @JacocoGenerated
     public PreviewDoiHandler(Environment environment) {
-        this(new DoiTransformService(),
+        this(new DoiTransformService(PublicationChannelResolver.shared(environment).orElse(null)),
              new DoiProxyService(environment), CristinClient.defaultClient(),
-             getMetadataService(), environment);
+             getMetadataService(environment), environment);
     }
 
     public PreviewDoiHandler(DoiTransformService doiTransformService,
@@ -66,8 +68,11 @@ public class PreviewDoiHandler extends ApiGatewayHandler<RequestBody, CreatePubl
     }
 
     @JacocoGenerated
-    private static MetadataService getMetadataService() {
-        return new MetadataService();
+    private static MetadataService getMetadataService(Environment environment) {
+        var translatorService = new TranslatorService();
+        return PublicationChannelResolver.shared(environment)
+                   .map(resolver -> new MetadataService(translatorService, resolver))
+                   .orElseGet(() -> new MetadataService(translatorService));
     }
 
     private void validate(RequestBody input) throws MalformedRequestException {
@@ -0,0 +1,227 @@
+package no.unit.nva.doi.fetch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import no.sikt.nva.doi.fetch.jsonconfig.Json;
+import no.unit.nva.doi.fetch.DoiValidator;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.doi.fetch.model.BatchItemResult;
+import no.unit.nva.doi.fetch.model.Summary;
+import nva.commons.apigateway.exceptions.ApiGatewayException;
+import nva.commons.core.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports a batch of DOIs or URLs. Every distinct URL is fetched, transformed and persisted on its own, with at most
+ * a fixed number of URLs in flight at a time, and the outcome of each is reported separately. No import is started
+ * once the import budget is used up, and the batch is answered before the time left of the request runs out, so that
+ * it is answered within the API Gateway timeout. The URLs not imported by then are reported as unavailable and can
+ * be sent again; imports still running are stopped. Imports that succeeded are recorded in an {@link ImportLedger},
+ * so that sending a URL again does not create a second publication.
+ */
+public class BatchImportService {
+
+    public static final String BATCH_IMPORT_CONCURRENCY_ENV = "BATCH_IMPORT_CONCURRENCY";
+    public static final int DEFAULT_CONCURRENCY = 8;
+    public static final Duration DEFAULT_IMPORT_BUDGET = Duration.ofSeconds(20);
+    public static final Duration RESPONSE_MARGIN = Duration.ofSeconds(2);
+    public static final String IMPORT_NOT_STARTED = "Not imported within the time limit of the request, send it again";
+    public static final String IMPORT_NOT_FINISHED =
+        "Not finished within the time limit of the request, send it again";
+    public static final String IMPORT_NOT_FINISHED_LOG_MESSAGE = "Import of {} was not finished in time";
+    private static final String KEY_SEPARATOR = " ";
+    public static final String IMPORT_FAILED = "Import failed";
+    public static final String IMPORT_FAILED_LOG_MESSAGE = "Import of {} failed";
+    private static final Logger logger = LoggerFactory.getLogger(BatchImportService.class);
+
+    private final FetchDoiService fetchDoiService;
+    private final PublicationPersistenceService publicationPersistenceService;
+    private final PublicationConverter publicationConverter;
+    private final int concurrency;
+    private final ImportLedger importLedger;
+    private final Duration importBudget;
+    private final Clock clock;
+
+    /**
+     * Constructor for BatchImportService.
+     *
+     * @param fetchDoiService               the service creating publications from DOIs and URLs.
+     * @param publicationPersistenceService the service storing the publications.
+     * @param publicationConverter          the converter from stored publications to summaries.
+     * @param concurrency                   the largest number of URLs imported at the same time.
+     */
+    public BatchImportService(FetchDoiService fetchDoiService,
+                              PublicationPersistenceService publicationPersistenceService,
+                              PublicationConverter publicationConverter,
+                              int concurrency) {
+        this(fetchDoiService, publicationPersistenceService, publicationConverter, concurrency, new ImportLedger(),
+             DEFAULT_IMPORT_BUDGET, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for BatchImportService.
+     *
+     * @param fetchDoiService               the service creating publications from DOIs and URLs.
+     * @param publicationPersistenceService the service storing the publications.
+     * @param publicationConverter          the converter from stored publications to summaries.
+     * @param concurrency                   the largest number of URLs imported at the same time.
+     * @param importLedger                  the record of imports that succeeded earlier.
+     * @param importBudget                  how long after the batch started new imports may be started.
+     * @param clock                         the clock measuring the import budget.
+     */
+    public BatchImportService(FetchDoiService fetchDoiService,
+                              PublicationPersistenceService publicationPersistenceService,
+                              PublicationConverter publicationConverter,
+                              int concurrency,
+                              ImportLedger importLedger,
+                              Duration importBudget,
+                              Clock clock) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.fetchDoiService = fetchDoiService;
+        this.publicationPersistenceService = publicationPersistenceService;
+        this.publicationConverter = publicationConverter;
+        this.concurrency = concurrency;
+        this.importLedger = importLedger;
+        this.importBudget = importBudget;
+        this.clock = clock;
+    }
+
+    /**
+     * Reads the number of URLs imported at the same time from the environment variable BATCH_IMPORT_CONCURRENCY.
+     *
+     * @param environment the environment.
+     * @return the configured concurrency, or {@link #DEFAULT_CONCURRENCY} when it is not set.
+     */
+    public static int concurrencyFromEnvironment(Environment environment) {
+        return environment.readEnvOpt(BATCH_IMPORT_CONCURRENCY_ENV)
+                   .map(Integer::parseInt)
+                   .orElse(DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Imports each distinct URL once. DOIs are compared ignoring case, since DOI names are case-insensitive. The
+     * metadata of all DOIs is prefetched together before the URLs are imported one by one. A URL the same caller
+     * imported before is answered with the earlier result.
+     *
+     * @param urls          the DOIs or URLs to import.
+     * @param apiUrl        the URL of the publication API.
+     * @param authorization the authorization header to pass on to the publication API.
+     * @param caller        identifies the caller, such as its user name and customer, but not its credentials.
+     * @param timeLeft      how long the request may run before it has to be answered.
+     * @return one result per distinct URL, in the order the URLs were first given.
+     */
+    @SuppressWarnings("PMD.CloseResource")
+    public List<BatchItemResult> importAll(Collection<URL> urls, URI apiUrl, String authorization, String caller,
+                                           Duration timeLeft) {
+        List<URL> distinctUrls = distinct(urls);
+        if (distinctUrls.isEmpty()) {
+            return List.of();
+        }
+        Instant now = clock.instant();
+        Instant answerBy = now.plus(timeLeft).minus(RESPONSE_MARGIN);
+        Instant startBy = earliest(now.plus(importBudget), answerBy);
+        fetchDoiService.prefetchDoiMetadata(distinctUrls);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, distinctUrls.size()));
+        try {
+            List<CompletableFuture<BatchItemResult>> results = distinctUrls.stream()
+                .map(url -> CompletableFuture.supplyAsync(
+                    () -> importBeforeDeadline(url, apiUrl, authorization, caller, startBy), executor))
+                .toList();
+            List<BatchItemResult> answers = new ArrayList<>(results.size());
+            for (int index = 0; index < results.size(); index++) {
+                answers.add(awaitResult(distinctUrls.get(index), results.get(index), answerBy));
+            }
+            return answers;
+        } finally {
+            // Imports still running would outlive the request, so they are interrupted rather than waited for
+            executor.shutdownNow();
+        }
+    }
+
+    private BatchItemResult importBeforeDeadline(URL url, URI apiUrl, String authorization, String caller,
+                                                 Instant deadline) {
+        if (!clock.instant().isBefore(deadline)) {
+            return BatchItemResult.failure(url, HttpURLConnection.HTTP_UNAVAILABLE, IMPORT_NOT_STARTED);
+        }
+        return importLedger.importOnce(caller + KEY_SEPARATOR + deduplicationKey(url),
+                                       () -> importOne(url, apiUrl, authorization));
+    }
+
+    private BatchItemResult awaitResult(URL url, CompletableFuture<BatchItemResult> result, Instant answerBy) {
+        try {
+            long millisLeft = Math.max(0, Duration.between(clock.instant(), answerBy).toMillis());
+            return result.get(millisLeft, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return notFinished(url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return notFinished(url);
+        } catch (ExecutionException e) {
+            return internalError(url, e);
+        }
+    }
+
+    private static BatchItemResult notFinished(URL url) {
+        logger.warn(IMPORT_NOT_FINISHED_LOG_MESSAGE, url);
+        return BatchItemResult.failure(url, HttpURLConnection.HTTP_UNAVAILABLE, IMPORT_NOT_FINISHED);
+    }
+
+    private static Instant earliest(Instant first, Instant second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private BatchItemResult importOne(URL url, URI apiUrl, String authorization) {
+        try {
+            CreatePublicationRequest request = fetchDoiService.newCreatePublicationRequest(url);
+            var response = publicationPersistenceService.createPublication(request, apiUrl, authorization);
+            Summary summary = publicationConverter.toSummary(Json.convertValue(response, JsonNode.class));
+            return BatchItemResult.success(url, HttpURLConnection.HTTP_OK, summary);
+        } catch (ApiGatewayException e) {
+            logger.warn(IMPORT_FAILED_LOG_MESSAGE, url, e);
+            return BatchItemResult.failure(url, e.getStatusCode(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return internalError(url, e);
+        } catch (Exception e) {
+            return internalError(url, e);
+        }
+    }
+
+    private static BatchItemResult internalError(URL url, Exception exception) {
+        logger.error(IMPORT_FAILED_LOG_MESSAGE, url, exception);
+        return BatchItemResult.failure(url, HttpURLConnection.HTTP_INTERNAL_ERROR, IMPORT_FAILED);
+    }
+
+    private static List<URL> distinct(Collection<URL> urls) {
+        Map<String, URL> distinctUrls = new LinkedHashMap<>();
+        for (URL url : urls) {
+            distinctUrls.putIfAbsent(deduplicationKey(url), url);
+        }
+        return List.copyOf(distinctUrls.values());
+    }
+
+    private static String deduplicationKey(URL url) {
+        String externalForm = url.toExternalForm();
+        return DoiValidator.validate(url) ? externalForm.toLowerCase(Locale.ROOT) : externalForm;
+    }
+}
@@ -0,0 +1,78 @@
+package no.unit.nva.doi.fetch.service;
+
+import static java.util.Objects.nonNull;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import no.unit.nva.clients.cristin.CristinPersonDto;
+import no.unit.nva.doi.fetch.cache.TtlLruCache;
+
+/**
+ * Bounded in-memory cache of the Cristin persons found for ORCIDs, shared by all imports and previews served by the
+ * same container. ORCIDs Cristin has no person for are remembered as well, for a shorter time, since a researcher may
+ * be registered in Cristin later. Entries are evicted in least recently used order.
+ */
+public class CristinPersonCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(10);
+
+    private final TtlLruCache<String, Optional<CristinPersonDto>> persons;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CristinPersonCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for CristinPersonCache.
+     *
+     * @param maxEntries  the largest number of ORCIDs kept in the cache.
+     * @param ttl         how long a person found in Cristin is served from the cache.
+     * @param negativeTtl how long an ORCID without a person in Cristin is remembered.
+     * @param clock       the clock deciding when entries expire.
+     */
+    public CristinPersonCache(int maxEntries, Duration ttl, Duration negativeTtl, Clock clock) {
+        this.persons = new TtlLruCache<>(maxEntries, clock);
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Returns the Cristin person of an ORCID, calling the lookup when the cache has no live entry for it. Failing
+     * lookups are not cached.
+     *
+     * @param orcId  the ORCID.
+     * @param lookup finds the person in Cristin.
+     * @return the person, or an empty Optional when Cristin has no person with the ORCID.
+     */
+    public Optional<CristinPersonDto> getPerson(String orcId, Function<String, Optional<CristinPersonDto>> lookup) {
+        Optional<CristinPersonDto> cached = persons.get(orcId);
+        if (nonNull(cached)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Optional<CristinPersonDto> person = lookup.apply(orcId);
+        persons.put(orcId, person, person.isPresent() ? ttl : negativeTtl);
+        return person;
+    }
+
+    public int size() {
+        return persons.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
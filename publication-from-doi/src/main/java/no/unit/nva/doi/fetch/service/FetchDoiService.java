@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Collection;
 import java.util.List;
 import no.unit.nva.clients.cristin.CristinClient;
 import no.unit.nva.doi.DataciteContentType;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 public class FetchDoiService {
 
     public static final String NO_METADATA_FOUND = "No metadata found for imported uri";
+    public static final String PREFETCH_FAILED = "Prefetching metadata of {} DOIs failed";
     private static final Logger logger = LoggerFactory.getLogger(FetchDoiService.class);
     private final transient DoiTransformService doiTransformService;
     private final transient DoiProxyService doiProxyService;
@@ -60,6 +62,25 @@ public class FetchDoiService {
         return request;
     }
 
+    /**
+     * Looks up the metadata of all DOIs among the URLs in one go, so that importing them one by one afterwards is
+     * served from the metadata cache of the DOI proxy. Failures are only logged, since every DOI is looked up again
+     * when it is imported.
+     *
+     * @param urls the DOIs and other URLs about to be imported.
+     */
+    public void prefetchDoiMetadata(Collection<URL> urls) {
+        List<String> dois = urls.stream().filter(this::urlIsValidDoi).map(URL::toString).toList();
+        if (dois.isEmpty()) {
+            return;
+        }
+        try {
+            doiProxyService.lookupDoiMetadata(dois, DataciteContentType.DATACITE_JSON);
+        } catch (IOException | RuntimeException e) {
+            logger.warn(PREFETCH_FAILED, dois.size(), e);
+        }
+    }
+
     private boolean urlIsValidDoi(URL url) {
         return DoiValidator.validate(url);
     }
@@ -96,7 +117,7 @@ public class FetchDoiService {
             doiUrl.toString(), DataciteContentType.DATACITE_JSON);
 
         return doiTransformService.transformPublication(
-            metadataAndContentLocation.getJson(),
+            metadataAndContentLocation.getJsonStream(),
             metadataAndContentLocation.getContentHeader());
     }
 
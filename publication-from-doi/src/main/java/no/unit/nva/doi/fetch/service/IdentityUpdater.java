@@ -2,9 +2,19 @@ package no.unit.nva.doi.fetch.service;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
-import static no.unit.nva.doi.fetch.commons.publication.model.VerificationStatus.NOT_VERIFIED;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import no.unit.nva.clients.cristin.CristinClient;
 import no.unit.nva.clients.cristin.CristinPersonDto;
 import no.unit.nva.doi.fetch.commons.publication.model.Contributor;
@@ -19,8 +29,13 @@ import org.slf4j.LoggerFactory;
 public final class IdentityUpdater {
 
     public static final String PROBLEM_UPDATING_IDENTITY_MESSAGE = "Problem updating Identity, ignoring and moving on";
+    public static final String LOOKUP_DEADLINE_EXCEEDED_MESSAGE =
+        "Cristin lookup of orcid {} did not finish within {}, ignoring and moving on";
     private static final Logger logger = LoggerFactory.getLogger(IdentityUpdater.class);
-    public static final int MAX_CONTRIBUTORS_TO_LOOKUP = 100;
+    public static final int MAX_CONTRIBUTORS_TO_LOOKUP = 500;
+    public static final int MAX_CONCURRENT_LOOKUPS = 16;
+    public static final Duration DEFAULT_LOOKUP_DEADLINE = Duration.ofSeconds(5);
+    private static final CristinPersonCache PERSON_CACHE = new CristinPersonCache();
 
     private IdentityUpdater() {
     }
@@ -35,11 +50,29 @@ public final class IdentityUpdater {
      */
     public static CreatePublicationRequest enrichPublicationCreators(CristinClient cristinClient,
                                                                      CreatePublicationRequest publication) {
+        return enrichPublicationCreators(cristinClient, publication, PERSON_CACHE, DEFAULT_LOOKUP_DEADLINE);
+    }
 
+    /**
+     * Tries to update the Identities that have an Orcid and no identifier. The Orcids are looked up in parallel, and
+     * Identities whose lookup does not finish before the deadline are left unchanged.
+     *
+     * @param cristinClient  instantiated CristinClient
+     * @param publication    publication which need updating Identity
+     * @param personCache    the cache of persons already looked up in Cristin
+     * @param lookupDeadline how long to wait for all lookups together
+     * @return an updated publication with identifiers added to identities or the original if unchanged or exception
+     *             occurs for some reason
+     */
+    public static CreatePublicationRequest enrichPublicationCreators(CristinClient cristinClient,
+                                                                     CreatePublicationRequest publication,
+                                                                     CristinPersonCache personCache,
+                                                                     Duration lookupDeadline) {
         var possibleContributors = extractPossibleContributors(publication);
-        possibleContributors.ifPresent(contributors -> tryUpdatingContributorsOrLogError(cristinClient,
-                                                                                         publication,
-                                                                                         contributors));
+        possibleContributors.ifPresent(
+            contributors -> tryUpdatingContributorsOrLogError(new PersonLookup(cristinClient, personCache,
+                                                                               lookupDeadline),
+                                                              publication, contributors));
         return publication;
     }
 
@@ -49,17 +82,17 @@ public final class IdentityUpdater {
                    .map(EntityDescription::getContributors);
     }
 
-    private static void tryUpdatingContributorsOrLogError(CristinClient cristinClient,
+    private static void tryUpdatingContributorsOrLogError(PersonLookup personLookup,
                                                           CreatePublicationRequest publication,
                                                           List<Contributor> contributors) {
         try {
-            updateContributors(cristinClient, publication, contributors);
+            updateContributors(personLookup, publication, contributors);
         } catch (Exception e) {
             logger.info(PROBLEM_UPDATING_IDENTITY_MESSAGE, e);
         }
     }
 
-    private static void updateContributors(CristinClient cristinClient, CreatePublicationRequest publication,
+    private static void updateContributors(PersonLookup personLookup, CreatePublicationRequest publication,
                                            List<Contributor> contributors) {
         var contributorsWithOnlyOrcid = contributors.stream()
                                             .filter(IdentityUpdater::hasOrcidButNotIdentifier).toList();
@@ -69,9 +102,16 @@ public final class IdentityUpdater {
             return;
         }
 
-        contributorsWithOnlyOrcid
-            .forEach(contributor -> updateIdentifierIfFoundFromOrcid(cristinClient, contributor.identity())
-        );
+        Map<String, List<Identity>> identitiesByOrcid = contributorsWithOnlyOrcid.stream()
+                                                            .map(Contributor::identity)
+                                                            .collect(Collectors.groupingBy(IdentityUpdater::orcIdOf,
+                                                                                           LinkedHashMap::new,
+                                                                                           Collectors.toList()));
+
+        Map<String, CristinPersonDto> persons = personLookup.findPersons(List.copyOf(identitiesByOrcid.keySet()));
+        identitiesByOrcid.forEach(
+            (orcId, identities) -> Optional.ofNullable(persons.get(orcId))
+                                       .ifPresent(person -> identities.forEach(identity -> update(identity, person))));
     }
 
     private static boolean hasOrcidButNotIdentifier(Contributor contributor) {
@@ -79,12 +119,72 @@ public final class IdentityUpdater {
         return nonNull(identity) && isNull(identity.getId()) && nonNull(identity.getOrcId());
     }
 
-    private static void updateIdentifierIfFoundFromOrcid(CristinClient cristinClient, Identity identity) {
-        var orcId = UriWrapper.fromUri(identity.getOrcId()).getLastPathElement();
-        var person = cristinClient.getPerson(orcId);
-        if (person.isPresent()) {
-            identity.setId(person.map(CristinPersonDto::id).orElse(null));
-            identity.setVerificationStatus(person.map(CristinPersonDto::verified).map(VerificationStatus::fromBoolean).orElse(NOT_VERIFIED));
+    private static String orcIdOf(Identity identity) {
+        return UriWrapper.fromUri(identity.getOrcId()).getLastPathElement();
+    }
+
+    private static void update(Identity identity, CristinPersonDto person) {
+        identity.setId(person.id());
+        identity.setVerificationStatus(VerificationStatus.fromBoolean(Boolean.TRUE.equals(person.verified())));
+    }
+
+    /**
+     * Looks up the Cristin persons of several Orcids on virtual threads, with at most {@link #MAX_CONCURRENT_LOOKUPS}
+     * requests to Cristin at a time.
+     */
+    private record PersonLookup(CristinClient cristinClient, CristinPersonCache personCache, Duration deadline) {
+
+        // The executor is shut down now rather than closed, as closing waits for lookups past the deadline
+        @SuppressWarnings("PMD.CloseResource")
+        private Map<String, CristinPersonDto> findPersons(List<String> orcIds) {
+            if (orcIds.isEmpty()) {
+                return Map.of();
+            }
+            Semaphore permits = new Semaphore(MAX_CONCURRENT_LOOKUPS);
+            List<Callable<Optional<CristinPersonDto>>> lookups = orcIds.stream()
+                                                                     .map(orcId -> lookup(orcId, permits))
+                                                                     .toList();
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            try {
+                List<Future<Optional<CristinPersonDto>>> results =
+                    executor.invokeAll(lookups, deadline.toMillis(), TimeUnit.MILLISECONDS);
+                Map<String, CristinPersonDto> persons = new HashMap<>();
+                for (int i = 0; i < orcIds.size(); i++) {
+                    String orcId = orcIds.get(i);
+                    resultOf(orcId, results.get(i)).ifPresent(person -> persons.put(orcId, person));
+                }
+                return persons;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Map.of();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private Callable<Optional<CristinPersonDto>> lookup(String orcId, Semaphore permits) {
+            return () -> {
+                permits.acquire();
+                try {
+                    return personCache.getPerson(orcId, cristinClient::getPerson);
+                } finally {
+                    permits.release();
+                }
+            };
+        }
+
+        private Optional<CristinPersonDto> resultOf(String orcId, Future<Optional<CristinPersonDto>> result) {
+            return switch (result.state()) {
+                case SUCCESS -> result.resultNow();
+                case FAILED -> {
+                    logger.info(PROBLEM_UPDATING_IDENTITY_MESSAGE, result.exceptionNow());
+                    yield Optional.empty();
+                }
+                default -> {
+                    logger.info(LOOKUP_DEADLINE_EXCEEDED_MESSAGE, orcId, deadline);
+                    yield Optional.empty();
+                }
+            };
         }
     }
 }
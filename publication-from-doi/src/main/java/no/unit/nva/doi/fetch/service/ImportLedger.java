@@ -0,0 +1,73 @@
+package no.unit.nva.doi.fetch.service;
+
+import static java.util.Objects.nonNull;
+import java.net.HttpURLConnection;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import no.unit.nva.doi.fetch.cache.TtlLruCache;
+import no.unit.nva.doi.fetch.model.BatchItemResult;
+
+/**
+ * Bounded in-memory record of the publications created by batch imports served by the same container, so that a
+ * client retrying a batch gets the publication created by the first attempt instead of a duplicate. Only successful
+ * imports are recorded; a failed import is attempted again. Entries are evicted in least recently used order.
+ */
+public class ImportLedger {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    private final TtlLruCache<String, BatchItemResult> results;
+    private final Duration ttl;
+    private final LongAdder hits = new LongAdder();
+
+    public ImportLedger() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor for ImportLedger.
+     *
+     * @param maxEntries the largest number of imports remembered.
+     * @param ttl        how long an import is remembered.
+     * @param clock      the clock deciding when entries expire.
+     */
+    public ImportLedger(int maxEntries, Duration ttl, Clock clock) {
+        this.results = new TtlLruCache<>(maxEntries, clock);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the recorded result of an import, calling the importer when the import has not succeeded before.
+     *
+     * @param key      identifies the import, such as the caller and the normalized DOI.
+     * @param importer imports the DOI.
+     * @return the result of the earlier successful import, or of the importer.
+     */
+    public BatchItemResult importOnce(String key, Supplier<BatchItemResult> importer) {
+        BatchItemResult recorded = results.get(key);
+        if (nonNull(recorded)) {
+            hits.increment();
+            return recorded;
+        }
+        BatchItemResult result = importer.get();
+        if (isSuccess(result)) {
+            results.put(key, result, ttl);
+        }
+        return result;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    private static boolean isSuccess(BatchItemResult result) {
+        return nonNull(result.getSummary()) && result.getStatusCode() == HttpURLConnection.HTTP_OK;
+    }
+}
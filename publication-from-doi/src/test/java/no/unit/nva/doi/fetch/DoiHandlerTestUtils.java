@@ -91,7 +91,7 @@ public class DoiHandlerTestUtils {
     DoiTransformService mockDoiTransformServiceReturningSuccessfulResult()
         throws IOException, InvalidIssnException {
         DoiTransformService service = mock(DoiTransformService.class);
-        when(service.transformPublication(anyString(), anyString()))
+        when(service.transformPublication(any(InputStream.class), anyString()))
             .thenReturn(getPublication());
         return service;
     }
@@ -0,0 +1,132 @@
+package no.unit.nva.doi.fetch;
+
+import static com.google.common.net.HttpHeaders.AUTHORIZATION;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static no.unit.nva.doi.fetch.RestApiConfig.restServiceObjectMapper;
+import static no.unit.nva.testutils.RandomDataGenerator.randomString;
+import static no.unit.nva.testutils.RandomDataGenerator.randomUri;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.clients.cristin.CristinClient;
+import no.unit.nva.doi.fetch.model.BatchItemResult;
+import no.unit.nva.doi.fetch.model.BatchRequestBody;
+import no.unit.nva.doi.fetch.model.BatchSummary;
+import no.unit.nva.doi.fetch.service.PublicationConverter;
+import no.unit.nva.doi.fetch.service.PublicationPersistenceService;
+import no.unit.nva.testutils.HandlerRequestBuilder;
+import no.unit.nva.testutils.TestHeaders;
+import nva.commons.apigateway.GatewayResponse;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+
+class ImportDoiBatchHandlerTest extends DoiHandlerTestUtils {
+
+    public static final String SOME_API_KEY = "some api key";
+    public static final int REMAINING_TIME_MILLIS = 29_000;
+    private Context context;
+    private ByteArrayOutputStream output;
+    private PublicationPersistenceService publicationPersistenceService;
+    private ImportDoiBatchHandler handler;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        context = getMockContext();
+        when(context.getRemainingTimeInMillis()).thenReturn(REMAINING_TIME_MILLIS);
+        output = new ByteArrayOutputStream();
+        publicationPersistenceService = mock(PublicationPersistenceService.class);
+        handler = new ImportDoiBatchHandler(new PublicationConverter(),
+                                            mockDoiTransformServiceReturningSuccessfulResult(),
+                                            mockDoiProxyServiceReceivingSuccessfulResult(),
+                                            publicationPersistenceService, mock(CristinClient.class),
+                                            mockMetadataServiceReturningSuccessfulResult(), new Environment());
+    }
+
+    @Test
+    void handleRequestReturnsSummaryForEachDistinctUrl() throws Exception {
+        var doi = new URL(VALID_DOI);
+        var webPage = new URL(VALID_NON_DOI);
+
+        handler.handleRequest(batchRequest(List.of(doi, webPage, doi)), output, context);
+
+        GatewayResponse<BatchSummary> response = parseGatewayResponse(output.toString(), BatchSummary.class);
+        assertThat(response.getStatusCode(), is(equalTo(HTTP_OK)));
+        List<BatchItemResult> results = response.getBodyObject(BatchSummary.class).getResults();
+        assertThat(results.stream().map(result -> result.getDoiUrl().toString()).toList(),
+                   contains(VALID_DOI, VALID_NON_DOI));
+        assertThat(results.getFirst().getSummary().getIdentifier(), is(notNullValue()));
+        verify(publicationPersistenceService, times(2)).createPublication(any(), any(), eq(SOME_API_KEY));
+    }
+
+    @Test
+    void handleRequestReturnsBadRequestForEmptyBatch() throws Exception {
+        handler.handleRequest(batchRequest(Collections.emptyList()), output, context);
+
+        assertBadRequest(ImportDoiBatchHandler.EMPTY_BATCH_ERROR);
+    }
+
+    @Test
+    void handleRequestReturnsBadRequestForBatchContainingNull() throws Exception {
+        var urls = new ArrayList<URL>();
+        urls.add(null);
+
+        handler.handleRequest(batchRequest(urls), output, context);
+
+        assertBadRequest(ImportDoiBatchHandler.NULL_DOI_URL_ERROR);
+    }
+
+    @Test
+    void handleRequestReturnsBadRequestForTooLargeBatch() throws Exception {
+        var urls = new ArrayList<URL>();
+        for (int i = 0; i <= ImportDoiBatchHandler.MAX_BATCH_SIZE; i++) {
+            urls.add(new URL(VALID_NON_DOI + "/" + i));
+        }
+
+        handler.handleRequest(batchRequest(urls), output, context);
+
+        assertBadRequest(ImportDoiBatchHandler.BATCH_TOO_LARGE_ERROR);
+    }
+
+    private void assertBadRequest(String expectedDetail) throws JsonProcessingException {
+        GatewayResponse<Problem> response = parseFailureResponse(output);
+        assertThat(response.getStatusCode(), is(equalTo(HTTP_BAD_REQUEST)));
+        assertThat(getProblemDetail(response), containsString(expectedDetail));
+    }
+
+    private static InputStream batchRequest(List<URL> urls) throws JsonProcessingException, MalformedURLException {
+        var requestBody = new BatchRequestBody();
+        requestBody.setDoiUrls(urls);
+        Map<String, String> requestHeaders = new HashMap<>();
+        requestHeaders.put(AUTHORIZATION, SOME_API_KEY);
+        requestHeaders.putAll(TestHeaders.getRequestHeaders());
+        return new HandlerRequestBuilder<BatchRequestBody>(restServiceObjectMapper)
+                   .withBody(requestBody)
+                   .withHeaders(requestHeaders)
+                   .withUserName(randomString())
+                   .withCurrentCustomer(randomUri())
+                   .build();
+    }
+}
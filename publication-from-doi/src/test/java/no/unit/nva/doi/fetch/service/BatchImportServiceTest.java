@@ -0,0 +1,311 @@
+package no.unit.nva.doi.fetch.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.clients.cristin.CristinClient;
+import no.unit.nva.doi.DataciteContentType;
+import no.unit.nva.doi.DoiProxyService;
+import no.unit.nva.doi.fetch.commons.publication.model.CreatePublicationRequest;
+import no.unit.nva.doi.fetch.commons.publication.model.EntityDescription;
+import no.unit.nva.doi.fetch.exceptions.MetadataNotFoundException;
+import no.unit.nva.doi.fetch.model.BatchItemResult;
+import no.unit.nva.doi.transformer.DoiTransformService;
+import no.unit.nva.metadata.service.MetadataService;
+import nva.commons.core.Environment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchImportServiceTest {
+
+    public static final String AUTHORIZATION = "Bearer token";
+    public static final String ROTATED_AUTHORIZATION = "Bearer rotated token";
+    public static final String CALLER = "user@https://api.example.org/customer/1";
+    public static final String OTHER_CALLER = "other@https://api.example.org/customer/1";
+    public static final String FAILING_TITLE = "Rejected by publication API";
+    public static final int CONCURRENCY = 2;
+    public static final Duration TIME_LEFT = Duration.ofSeconds(29);
+    private static final long STALLED_IMPORT_MILLIS = 10_000;
+    private static final long STAND_IN_LATENCY_MILLIS = 20;
+
+    private HttpServer publicationApi;
+    private URI publicationApiUrl;
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+    private final AtomicInteger maxRequestsInFlight = new AtomicInteger();
+    private FetchDoiService fetchDoiService;
+    private BatchImportService batchImportService;
+
+    @BeforeEach
+    void startPublicationApiStandIn() throws IOException {
+        publicationApi = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        publicationApi.createContext("/" + PublicationPersistenceService.PATH, this::createPublication);
+        publicationApi.setExecutor(Executors.newCachedThreadPool());
+        publicationApi.start();
+        publicationApiUrl = URI.create("http://localhost:" + publicationApi.getAddress().getPort());
+        fetchDoiService = mock(FetchDoiService.class);
+        batchImportService = new BatchImportService(fetchDoiService,
+                                                    new PublicationPersistenceService(HttpClient.newHttpClient()),
+                                                    new PublicationConverter(), CONCURRENCY);
+    }
+
+    @AfterEach
+    void stopPublicationApiStandIn() {
+        publicationApi.stop(0);
+    }
+
+    @Test
+    void importAllCreatesOnePublicationPerDistinctUrlInInputOrder() throws Exception {
+        var doi = new URL("https://doi.org/10.1109/5.771073");
+        var sameDoiInOtherCase = new URL("https://DOI.org/10.1109/5.771073");
+        var webPage = new URL("http://example.org/metadata");
+        whenFetchingAnyUrlReturn(publicationWithTitle("Title"));
+
+        var results = batchImportService.importAll(List.of(doi, webPage, sameDoiInOtherCase, webPage),
+                                                   publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT);
+
+        assertThat(results.stream().map(result -> result.getDoiUrl().toString()).toList(),
+                   contains(doi.toString(), webPage.toString()));
+        assertThat(results.stream().map(BatchItemResult::getStatusCode).toList(),
+                   contains(HttpURLConnection.HTTP_OK, HttpURLConnection.HTTP_OK));
+        assertThat(results.getFirst().getSummary().getIdentifier(), is(notNullValue()));
+        assertThat(receivedRequests.get(), is(equalTo(2)));
+        verify(fetchDoiService, times(1)).newCreatePublicationRequest(sameUrl(doi));
+    }
+
+    @Test
+    void importAllKeepsNoMoreUrlsInFlightThanConfigured() throws Exception {
+        whenFetchingAnyUrlReturn(publicationWithTitle("Title"));
+
+        var results = batchImportService.importAll(urls(10), publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT);
+
+        assertThat(results.size(), is(equalTo(10)));
+        assertThat(maxRequestsInFlight.get(), is(lessThanOrEqualTo(CONCURRENCY)));
+        assertThat(maxRequestsInFlight.get(), is(greaterThan(0)));
+    }
+
+    @Test
+    void importAllReportsErrorOfEachFailingUrlAndImportsTheRest() throws Exception {
+        var rejected = new URL("http://example.org/rejected");
+        var missing = new URL("http://example.org/missing");
+        var broken = new URL("http://example.org/broken");
+        var accepted = new URL("http://example.org/accepted");
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(rejected)))
+            .thenReturn(publicationWithTitle(FAILING_TITLE));
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(missing)))
+            .thenThrow(new MetadataNotFoundException(FetchDoiService.NO_METADATA_FOUND));
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(broken)))
+            .thenThrow(new IllegalStateException("bug"));
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(accepted)))
+            .thenReturn(publicationWithTitle("Title"));
+
+        var results = batchImportService.importAll(List.of(rejected, missing, broken, accepted),
+                                                   publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT);
+
+        assertThat(results.stream().map(BatchItemResult::getStatusCode).toList(),
+                   contains(HttpURLConnection.HTTP_BAD_GATEWAY, HttpURLConnection.HTTP_BAD_GATEWAY,
+                            HttpURLConnection.HTTP_INTERNAL_ERROR, HttpURLConnection.HTTP_OK));
+        assertThat(results.get(0).getError(), containsString(PublicationPersistenceService.WARNING_MESSAGE));
+        assertThat(results.get(1).getError(), is(equalTo(FetchDoiService.NO_METADATA_FOUND)));
+        assertThat(results.get(2).getError(), is(equalTo(BatchImportService.IMPORT_FAILED)));
+        assertThat(results.get(2).getSummary(), is(nullValue()));
+        assertThat(results.get(3).getSummary(), is(notNullValue()));
+    }
+
+    @Test
+    void importAllPrefetchesMetadataOfAllDoisAndImportsThemEvenWhenPrefetchingFails() throws Exception {
+        var doi = new URL("https://doi.org/10.1109/5.771073");
+        var webPage = new URL("http://example.org/metadata");
+        var doiProxyService = mock(DoiProxyService.class);
+        when(doiProxyService.lookupDoiMetadata(anyCollection(), any())).thenThrow(new IOException("unreachable"));
+        when(doiProxyService.lookupDoiMetadata(anyString(), any()))
+            .thenThrow(new MetadataNotFoundException(FetchDoiService.NO_METADATA_FOUND));
+        var fetchDoiService = new FetchDoiService(mock(DoiTransformService.class), doiProxyService,
+                                                  mock(CristinClient.class), mock(MetadataService.class));
+        var service = new BatchImportService(fetchDoiService,
+                                             new PublicationPersistenceService(HttpClient.newHttpClient()),
+                                             new PublicationConverter(), CONCURRENCY);
+
+        var results = service.importAll(List.of(doi), publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT);
+        fetchDoiService.prefetchDoiMetadata(List.of(webPage));
+
+        assertThat(results.getFirst().getError(), is(equalTo(FetchDoiService.NO_METADATA_FOUND)));
+        verify(doiProxyService, times(1)).lookupDoiMetadata(List.of(doi.toString()), DataciteContentType.DATACITE_JSON);
+    }
+
+    @Test
+    void importAllDoesNotCreatePublicationAgainWhenSameCallerSendsBatchAgainWithRotatedToken() throws Exception {
+        var doi = new URL("https://doi.org/10.1109/5.771073");
+        var rejected = new URL("http://example.org/rejected");
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(doi))).thenReturn(publicationWithTitle("Title"));
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(rejected)))
+            .thenReturn(publicationWithTitle(FAILING_TITLE));
+
+        var first = batchImportService.importAll(List.of(doi, rejected), publicationApiUrl, AUTHORIZATION, CALLER,
+                                                 TIME_LEFT);
+        var second = batchImportService.importAll(List.of(doi, rejected), publicationApiUrl, ROTATED_AUTHORIZATION,
+                                                  CALLER, TIME_LEFT);
+
+        assertThat(second.getFirst().getSummary(), is(equalTo(first.getFirst().getSummary())));
+        assertThat(second.get(1).getStatusCode(), is(equalTo(HttpURLConnection.HTTP_BAD_GATEWAY)));
+        assertThat(receivedRequests.get(), is(equalTo(3)));
+    }
+
+    @Test
+    void importAllCreatesPublicationAgainWhenAnotherCallerSendsSameUrl() throws Exception {
+        var doi = new URL("https://doi.org/10.1109/5.771073");
+        whenFetchingAnyUrlReturn(publicationWithTitle("Title"));
+
+        batchImportService.importAll(List.of(doi), publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT);
+        var other = batchImportService.importAll(List.of(doi), publicationApiUrl, AUTHORIZATION, OTHER_CALLER,
+                                                 TIME_LEFT);
+
+        assertThat(other.getFirst().getStatusCode(), is(equalTo(HttpURLConnection.HTTP_OK)));
+        assertThat(receivedRequests.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void importAllReportsUrlsAsUnavailableWhenImportBudgetIsUsedUp() throws Exception {
+        whenFetchingAnyUrlReturn(publicationWithTitle("Title"));
+        var service = new BatchImportService(fetchDoiService,
+                                             new PublicationPersistenceService(HttpClient.newHttpClient()),
+                                             new PublicationConverter(), CONCURRENCY, new ImportLedger(),
+                                             Duration.ZERO, Clock.systemUTC());
+
+        var results = service.importAll(urls(3), publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT);
+
+        assertThat(results.stream().map(BatchItemResult::getStatusCode).distinct().toList(),
+                   contains(HttpURLConnection.HTTP_UNAVAILABLE));
+        assertThat(results.getFirst().getError(), is(equalTo(BatchImportService.IMPORT_NOT_STARTED)));
+        assertThat(receivedRequests.get(), is(equalTo(0)));
+    }
+
+    @Test
+    void importAllReportsImportsStillRunningWhenTimeIsUpAsUnavailableAndReturnsTheRest() throws Exception {
+        var stalled = new URL("http://example.org/stalled");
+        var imported = new URL("http://example.org/imported");
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(stalled))).thenAnswer(invocation -> {
+            Thread.sleep(STALLED_IMPORT_MILLIS);
+            return publicationWithTitle("Stalled");
+        });
+        when(fetchDoiService.newCreatePublicationRequest(sameUrl(imported))).thenReturn(publicationWithTitle("Title"));
+        var timeLeft = BatchImportService.RESPONSE_MARGIN.plusMillis(500);
+        long started = System.nanoTime();
+
+        var results = batchImportService.importAll(List.of(stalled, imported), publicationApiUrl, AUTHORIZATION,
+                                                   CALLER, timeLeft);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started).toMillis(), is(lessThan(STALLED_IMPORT_MILLIS)));
+        assertThat(results.getFirst().getStatusCode(), is(equalTo(HttpURLConnection.HTTP_UNAVAILABLE)));
+        assertThat(results.getFirst().getError(), is(equalTo(BatchImportService.IMPORT_NOT_FINISHED)));
+        assertThat(results.get(1).getStatusCode(), is(equalTo(HttpURLConnection.HTTP_OK)));
+        assertThat(receivedRequests.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void importAllReturnsNoResultsForEmptyBatch() {
+        assertThat(batchImportService.importAll(List.of(), publicationApiUrl, AUTHORIZATION, CALLER, TIME_LEFT),
+                   is(empty()));
+    }
+
+    @Test
+    void constructorRejectsConcurrencyBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new BatchImportService(fetchDoiService, mock(PublicationPersistenceService.class),
+                                                  new PublicationConverter(), 0));
+    }
+
+    @Test
+    void concurrencyFromEnvironmentReturnsConfiguredValueOrDefault() {
+        var configured = mock(Environment.class);
+        when(configured.readEnvOpt(BatchImportService.BATCH_IMPORT_CONCURRENCY_ENV)).thenReturn(Optional.of("3"));
+        var unconfigured = mock(Environment.class);
+        when(unconfigured.readEnvOpt(BatchImportService.BATCH_IMPORT_CONCURRENCY_ENV)).thenReturn(Optional.empty());
+
+        assertThat(BatchImportService.concurrencyFromEnvironment(configured), is(equalTo(3)));
+        assertThat(BatchImportService.concurrencyFromEnvironment(unconfigured),
+                   is(equalTo(BatchImportService.DEFAULT_CONCURRENCY)));
+    }
+
+    private void createPublication(HttpExchange exchange) throws IOException {
+        receivedRequests.incrementAndGet();
+        maxRequestsInFlight.accumulateAndGet(requestsInFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            sleep();
+            boolean rejected = body.contains(FAILING_TITLE)
+                               || !AUTHORIZATION.equals(exchange.getRequestHeaders().getFirst("Authorization"));
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(rejected ? HttpURLConnection.HTTP_BAD_REQUEST : HttpURLConnection.HTTP_CREATED,
+                                         response.length);
+            exchange.getResponseBody().write(response);
+        } finally {
+            requestsInFlight.decrementAndGet();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(STAND_IN_LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void whenFetchingAnyUrlReturn(CreatePublicationRequest request) throws Exception {
+        when(fetchDoiService.newCreatePublicationRequest(any())).thenReturn(request);
+    }
+
+    // URL.equals resolves host names, so URLs are matched on their string form
+    private static URL sameUrl(URL expected) {
+        return argThat(url -> url != null && url.toString().equals(expected.toString()));
+    }
+
+    private static List<URL> urls(int count) throws IOException {
+        var urls = new ArrayList<URL>();
+        for (int i = 0; i < count; i++) {
+            urls.add(new URL("http://example.org/metadata/" + i));
+        }
+        return urls;
+    }
+
+    private static CreatePublicationRequest publicationWithTitle(String title) {
+        return new CreatePublicationRequest.Builder()
+                   .withEntityDescription(new EntityDescription.Builder().withMainTitle(title).build())
+                   .build();
+    }
+}
@@ -0,0 +1,83 @@
+package no.unit.nva.doi.fetch.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.clients.cristin.CristinPersonDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CristinPersonCacheTest {
+
+    public static final String ORCID = "0000-1111-2222-3333";
+    public static final Optional<CristinPersonDto> PERSON = Optional.of(
+        new CristinPersonDto(URI.create("https://api.dev.nva.aws.unit.no/cristin/person/123456"), Set.of(), Set.of(),
+                             Set.of(), true));
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private Clock clock;
+    private CristinPersonCache personCache;
+
+    @BeforeEach
+    void init() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        personCache = new CristinPersonCache(2, Duration.ofMinutes(60), Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void shouldServeFoundPersonFromCacheUntilItExpires() {
+        personCache.getPerson(ORCID, this::findPerson);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(59).toMillis());
+        var cached = personCache.getPerson(ORCID, this::findPerson);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(60).toMillis());
+        personCache.getPerson(ORCID, this::findPerson);
+
+        assertThat(cached, equalTo(PERSON));
+        assertThat(lookups.get(), equalTo(2));
+        assertThat(personCache.getHitCount(), equalTo(1L));
+        assertThat(personCache.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    void shouldRememberMissingPersonForShorterTime() {
+        personCache.getPerson(ORCID, this::findNobody);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(9).toMillis());
+        var cached = personCache.getPerson(ORCID, this::findNobody);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(10).toMillis());
+        personCache.getPerson(ORCID, this::findNobody);
+
+        assertThat(cached, equalTo(Optional.empty()));
+        assertThat(lookups.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedOrcidWhenFull() {
+        personCache.getPerson("first", this::findPerson);
+        personCache.getPerson("second", this::findPerson);
+        personCache.getPerson("first", this::findPerson);
+        personCache.getPerson("third", this::findPerson);
+        personCache.getPerson("first", this::findPerson);
+        personCache.getPerson("second", this::findPerson);
+
+        assertThat(personCache.size(), equalTo(2));
+        assertThat(lookups.get(), equalTo(4));
+    }
+
+    private Optional<CristinPersonDto> findPerson(String orcId) {
+        lookups.incrementAndGet();
+        return PERSON;
+    }
+
+    private Optional<CristinPersonDto> findNobody(String orcId) {
+        lookups.incrementAndGet();
+        return Optional.empty();
+    }
+}
@@ -7,14 +7,22 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import no.unit.nva.clients.cristin.CristinClient;
@@ -128,7 +136,9 @@ class IdentityUpdaterTest {
 
     @Test
     public void shouldNotEnrichContributorsWhenMoreThanTenUnverifiedContributorsExist() {
-        var identities = Stream.generate(this::createIdentityWithOrcid).limit(101).toList();
+        var identities = Stream.generate(this::createIdentityWithOrcid)
+                             .limit(IdentityUpdater.MAX_CONTRIBUTORS_TO_LOOKUP + 1)
+                             .toList();
         var publication = createPublicationWithIdentities(identities);
         var cristinClient = mock(CristinClient.class);
         var sampleIdentifier = URI.create(SAMPLE_IDENTITY_IDENTIFIER);
@@ -140,6 +150,110 @@ class IdentityUpdaterTest {
         assertThat(updatedPublication, equalTo(publication));
     }
 
+    @Test
+    public void shouldLookUpEachOrcidOnceWhenSeveralContributorsShareIt() {
+        var otherOrcid = "https://orcid.org/0000-4444-5555-6666";
+        var identities = List.of(createIdentityWithOrcid(), new Identity(null, null, null, otherOrcid),
+                                 createIdentityWithOrcid());
+        var cristinClient = mock(CristinClient.class);
+        when(cristinClient.getPerson(anyString()))
+            .thenReturn(createPersonWithId(URI.create(SAMPLE_IDENTITY_IDENTIFIER)));
+
+        enrich(cristinClient, createPublicationWithIdentities(identities), new CristinPersonCache());
+
+        assertThat(identities, Every.everyItem(HasPropertyWithValue.hasProperty(
+            "id", equalTo(URI.create(SAMPLE_IDENTITY_IDENTIFIER)))));
+        verify(cristinClient, times(1)).getPerson("0000-1111-2222-3333");
+        verify(cristinClient, times(1)).getPerson("0000-4444-5555-6666");
+    }
+
+    @Test
+    public void shouldServeFoundAndMissingPersonsFromCacheWhenEnrichingAgain() {
+        var missingOrcid = "https://orcid.org/0000-4444-5555-6666";
+        var cristinClient = mock(CristinClient.class);
+        when(cristinClient.getPerson(anyString())).thenReturn(Optional.empty());
+        when(cristinClient.getPerson(eq("0000-1111-2222-3333")))
+            .thenReturn(createPersonWithId(URI.create(SAMPLE_IDENTITY_IDENTIFIER)));
+        var personCache = new CristinPersonCache();
+
+        enrich(cristinClient, createPublicationWithIdentities(
+            List.of(createIdentityWithOrcid(), new Identity(null, null, null, missingOrcid))), personCache);
+        var identities = List.of(createIdentityWithOrcid(), new Identity(null, null, null, missingOrcid));
+        enrich(cristinClient, createPublicationWithIdentities(identities), personCache);
+
+        assertThat(identities.getFirst().getId(), equalTo(URI.create(SAMPLE_IDENTITY_IDENTIFIER)));
+        assertThat(identities.getLast().getId(), equalTo(null));
+        verify(cristinClient, times(2)).getPerson(anyString());
+        assertThat(personCache.getHitCount(), equalTo(2L));
+    }
+
+    @Test
+    public void shouldLookUpOrcidsConcurrently() {
+        var bothLookupsStarted = new CountDownLatch(2);
+        var cristinClient = mock(CristinClient.class);
+        when(cristinClient.getPerson(anyString())).thenAnswer(invocation -> {
+            bothLookupsStarted.countDown();
+            return bothLookupsStarted.await(5, TimeUnit.SECONDS)
+                       ? createPersonWithId(URI.create(SAMPLE_IDENTITY_IDENTIFIER))
+                       : Optional.empty();
+        });
+        var identities = List.of(createIdentityWithOrcid(),
+                                 new Identity(null, null, null, "https://orcid.org/0000-4444-5555-6666"));
+
+        IdentityUpdater.enrichPublicationCreators(cristinClient, createPublicationWithIdentities(identities),
+                                                  new CristinPersonCache(), Duration.ofSeconds(10));
+
+        assertThat(identities, Every.everyItem(HasPropertyWithValue.hasProperty(
+            "id", equalTo(URI.create(SAMPLE_IDENTITY_IDENTIFIER)))));
+    }
+
+    @Test
+    public void shouldLeaveIdentityUnchangedWhenLookupDoesNotFinishBeforeDeadline() {
+        var cristinClient = mock(CristinClient.class);
+        when(cristinClient.getPerson(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(10));
+            return createPersonWithId(URI.create(SAMPLE_IDENTITY_IDENTIFIER));
+        });
+        var identity = createIdentityWithOrcid();
+        var personCache = new CristinPersonCache();
+
+        IdentityUpdater.enrichPublicationCreators(cristinClient, createPublicationWithIdentity(identity),
+                                                  personCache, Duration.ofMillis(50));
+
+        assertThat(identity.getId(), equalTo(null));
+        assertThat(personCache.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldUpdateOtherContributorsWhenLookupOfOneOrcidFails() {
+        var failingOrcid = "https://orcid.org/0000-4444-5555-6666";
+        var cristinClient = mock(CristinClient.class);
+        when(cristinClient.getPerson(anyString()))
+            .thenReturn(createPersonWithId(URI.create(SAMPLE_IDENTITY_IDENTIFIER)));
+        when(cristinClient.getPerson(eq("0000-4444-5555-6666"))).thenThrow(new IllegalStateException());
+        var identities = List.of(new Identity(null, null, null, failingOrcid), createIdentityWithOrcid());
+
+        enrich(cristinClient, createPublicationWithIdentities(identities), new CristinPersonCache());
+
+        assertThat(identities.getFirst().getId(), equalTo(null));
+        assertThat(identities.getLast().getId(), equalTo(URI.create(SAMPLE_IDENTITY_IDENTIFIER)));
+    }
+
+    @Test
+    public void shouldNotLookUpAnythingWhenNoContributorHasOnlyOrcid() {
+        var cristinClient = mock(CristinClient.class);
+
+        enrich(cristinClient, createPublicationWithIdentity(new Identity()), new CristinPersonCache());
+
+        verify(cristinClient, never()).getPerson(anyString());
+    }
+
+    private static void enrich(CristinClient cristinClient, CreatePublicationRequest publication,
+                               CristinPersonCache personCache) {
+        IdentityUpdater.enrichPublicationCreators(cristinClient, publication, personCache,
+                                                  IdentityUpdater.DEFAULT_LOOKUP_DEADLINE);
+    }
+
     private List<URI> getIdentifiers(CreatePublicationRequest publication) {
         return getContributors(publication)
                    .map(Contributor::identity)
@@ -0,0 +1,78 @@
+package no.unit.nva.doi.fetch.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.doi.fetch.model.BatchItemResult;
+import no.unit.nva.doi.fetch.model.Summary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ImportLedgerTest {
+
+    public static final String KEY = "Bearer token https://doi.org/10.1109/5.771073";
+
+    private final AtomicInteger imports = new AtomicInteger();
+    private Clock clock;
+    private ImportLedger importLedger;
+    private URL url;
+
+    @BeforeEach
+    void init() throws MalformedURLException {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        importLedger = new ImportLedger(2, Duration.ofMinutes(60), clock);
+        url = new URL("https://doi.org/10.1109/5.771073");
+    }
+
+    @Test
+    void shouldServeSuccessfulImportUntilItExpires() {
+        final var first = importLedger.importOnce(KEY, this::importSuccessfully);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(59).toMillis());
+        var recorded = importLedger.importOnce(KEY, this::importSuccessfully);
+        when(clock.millis()).thenReturn(Duration.ofMinutes(60).toMillis());
+        importLedger.importOnce(KEY, this::importSuccessfully);
+
+        assertThat(recorded, equalTo(first));
+        assertThat(imports.get(), equalTo(2));
+        assertThat(importLedger.getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    void shouldImportAgainAfterFailedImport() {
+        importLedger.importOnce(KEY, this::failToImport);
+        importLedger.importOnce(KEY, this::failToImport);
+
+        assertThat(imports.get(), equalTo(2));
+        assertThat(importLedger.size(), equalTo(0));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedImport() {
+        importLedger.importOnce("first", this::importSuccessfully);
+        importLedger.importOnce("second", this::importSuccessfully);
+        importLedger.importOnce("first", this::importSuccessfully);
+        importLedger.importOnce("third", this::importSuccessfully);
+        importLedger.importOnce("first", this::importSuccessfully);
+
+        assertThat(importLedger.size(), equalTo(2));
+        assertThat(imports.get(), equalTo(3));
+    }
+
+    private BatchItemResult importSuccessfully() {
+        imports.incrementAndGet();
+        return BatchItemResult.success(url, HttpURLConnection.HTTP_OK, new Summary());
+    }
+
+    private BatchItemResult failToImport() {
+        imports.incrementAndGet();
+        return BatchItemResult.failure(url, HttpURLConnection.HTTP_BAD_GATEWAY, "Inserting publication failed.");
+    }
+}